@@ -0,0 +1,39 @@
+package com.vvr.cleanarch.benchmarks;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Deterministic task fixtures, so every run of a benchmark measures the same data
+final class BenchmarkTasks {
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private BenchmarkTasks() {
+    }
+
+    // Tasks spread over the last 30 days with every status, some never updated. Ids are left
+    // null when the tasks are meant to be saved.
+    static List<Task> generate(int count, boolean withIds) {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime createdAt = now.minusSeconds(random.nextLong(30L * 24 * 3600));
+            LocalDateTime updatedAt = random.nextInt(4) == 0 ? null : createdAt.plusSeconds(random.nextLong(3600));
+            tasks.add(new Task(
+                    withIds ? (long) i + 1 : null,
+                    "Task " + Long.toString(random.nextLong(1L << 40), 36),
+                    "Description of task " + i + " used by the benchmarks",
+                    STATUSES[random.nextInt(STATUSES.length)],
+                    createdAt,
+                    updatedAt,
+                    withIds ? 0L : null));
+        }
+        return tasks;
+    }
+}
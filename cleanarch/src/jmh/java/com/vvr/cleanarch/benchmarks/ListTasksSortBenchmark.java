@@ -0,0 +1,48 @@
+package com.vvr.cleanarch.benchmarks;
+
+import com.vvr.cleanarch.application.usecases.ListTasksUseCase;
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.repositories.TaskSort;
+import com.vvr.cleanarch.infrastructure.memory.InMemoryTaskRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Full, unpaginated listings in each sort order. Ordering lives in the repository; the in-memory
+// adapter walks its createdAt index and sorts for the other orders, so this measures that sort
+// without database noise.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ListTasksSortBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int tasks;
+
+    @Param({"createdAt", "updatedAt", "title"})
+    public String sort;
+
+    private ListTasksUseCase listTasksUseCase;
+    private TaskSort taskSort;
+
+    @Setup
+    public void setUp() {
+        InMemoryTaskRepository repository = new InMemoryTaskRepository();
+        repository.saveAll(BenchmarkTasks.generate(tasks, false));
+        listTasksUseCase = new ListTasksUseCase(repository);
+        taskSort = TaskSort.fromKey(sort);
+    }
+
+    @Benchmark
+    public List<Task> listAll() {
+        return listTasksUseCase.execute(null, taskSort);
+    }
+}
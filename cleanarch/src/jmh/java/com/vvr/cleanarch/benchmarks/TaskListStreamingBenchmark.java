@@ -0,0 +1,76 @@
+package com.vvr.cleanarch.benchmarks;
+
+import com.vvr.cleanarch.CleanarchApplication;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import com.vvr.cleanarch.domain.repositories.TaskSort;
+import com.vvr.cleanarch.infrastructure.persistence.TaskRepositoryImpl;
+import com.vvr.cleanarch.presentation.dto.TaskResponse;
+import com.vvr.cleanarch.presentation.json.TaskJsonArrayWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Whole-table listing from H2 to JSON bytes, reported per row: "entities" is the path through
+// Hibernate entities, Task and TaskResponse, "rows" the JDBC scan written straight into a
+// JsonGenerator. Run with -PjmhProfilers=gc; gc.alloc.rate.norm is then bytes allocated per row.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskListStreamingBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private ConfigurableApplicationContext context;
+    private TaskRepository repository;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CleanarchApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("tasks.cache.enabled=false", "tasks.metrics.enabled=false",
+                        "logging.level.root=warn")
+                .run();
+        repository = context.getBean(TaskRepositoryImpl.class);
+        repository.saveAll(BenchmarkTasks.generate(ROWS, false));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void entities() {
+        LocalDateTime now = LocalDateTime.now();
+        List<TaskResponse> responses = repository.findAll(TaskSort.CREATED_AT).stream()
+                .map(task -> TaskResponse.from(task, now))
+                .toList();
+        jsonMapper.writeValue(OutputStream.nullOutputStream(), responses);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void rows() {
+        TaskJsonArrayWriter writer = TaskJsonArrayWriter.open(OutputStream.nullOutputStream(), jsonMapper,
+                LocalDateTime.now());
+        repository.forEachRow(null, TaskSort.CREATED_AT, writer::write);
+        writer.finish();
+    }
+}
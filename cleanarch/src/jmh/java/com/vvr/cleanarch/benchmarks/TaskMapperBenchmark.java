@@ -0,0 +1,48 @@
+package com.vvr.cleanarch.benchmarks;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.infrastructure.persistence.TaskEntity;
+import com.vvr.cleanarch.infrastructure.persistence.TaskMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskMapperBenchmark {
+
+    private static final int TASKS = 1_000;
+
+    private final TaskMapper mapper = new TaskMapper();
+    private List<Task> tasks;
+    private List<TaskEntity> entities;
+
+    @Setup
+    public void setUp() {
+        tasks = BenchmarkTasks.generate(TASKS, true);
+        entities = tasks.stream().map(mapper::toEntity).toList();
+    }
+
+    @Benchmark
+    public void toEntity(Blackhole blackhole) {
+        for (Task task : tasks) {
+            blackhole.consume(mapper.toEntity(task));
+        }
+    }
+
+    @Benchmark
+    public void toDomain(Blackhole blackhole) {
+        for (TaskEntity entity : entities) {
+            blackhole.consume(mapper.toDomain(entity));
+        }
+    }
+}
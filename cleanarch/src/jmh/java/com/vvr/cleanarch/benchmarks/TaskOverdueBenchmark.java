@@ -0,0 +1,54 @@
+package com.vvr.cleanarch.benchmarks;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// isOverdue() reads the clock on every call; responses now evaluate isOverdue(now) against one
+// clock read per request. Both are measured over a listing's worth of tasks.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskOverdueBenchmark {
+
+    private static final int TASKS = 1_000;
+
+    private List<Task> tasks;
+
+    @Setup
+    public void setUp() {
+        tasks = BenchmarkTasks.generate(TASKS, true);
+    }
+
+    @Benchmark
+    public int countOverdue() {
+        int overdue = 0;
+        for (Task task : tasks) {
+            if (task.isOverdue()) {
+                overdue++;
+            }
+        }
+        return overdue;
+    }
+
+    @Benchmark
+    public int countOverdueWithOneClockRead() {
+        LocalDateTime now = LocalDateTime.now();
+        int overdue = 0;
+        for (Task task : tasks) {
+            if (task.isOverdue(now)) {
+                overdue++;
+            }
+        }
+        return overdue;
+    }
+}
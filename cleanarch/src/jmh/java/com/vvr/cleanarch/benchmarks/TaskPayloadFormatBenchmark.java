@@ -0,0 +1,85 @@
+package com.vvr.cleanarch.benchmarks;
+
+import com.vvr.cleanarch.presentation.binary.TaskBinaryCodec;
+import com.vvr.cleanarch.presentation.binary.TaskBinaryFormat;
+import com.vvr.cleanarch.presentation.dto.TaskResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+// Encode and decode cost of a task listing in each format the API can send. The payload sizes,
+// raw and deflated, are printed once per trial since JMH only reports time.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskPayloadFormatBenchmark {
+
+    private static final TypeReference<List<TaskResponse>> TASK_LIST = new TypeReference<>() {
+    };
+
+    @Param({"JSON", "CBOR", "SMILE", "PROTOBUF"})
+    public String format;
+
+    @Param({"50", "500"})
+    public int size;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final TaskBinaryCodec codec = new TaskBinaryCodec(ZoneId.systemDefault());
+    private TaskBinaryFormat binaryFormat;
+    private List<TaskResponse> responses;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        binaryFormat = format.equals("JSON") ? null : TaskBinaryFormat.valueOf(format);
+        LocalDateTime now = LocalDateTime.now();
+        responses = BenchmarkTasks.generate(size, true).stream()
+                .map(task -> TaskResponse.from(task, now))
+                .toList();
+        encoded = encode();
+        System.out.printf("%n%s x %d tasks: %d bytes, %d deflated%n",
+                format, size, encoded.length, deflatedSize(encoded));
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return binaryFormat == null
+                ? jsonMapper.writeValueAsBytes(responses)
+                : codec.encode(binaryFormat, responses);
+    }
+
+    @Benchmark
+    public List<TaskResponse> decode() {
+        return binaryFormat == null
+                ? jsonMapper.readValue(encoded, TASK_LIST)
+                : codec.decodeList(binaryFormat, encoded);
+    }
+
+    // What the payload costs on the wire when the connection compresses it anyway
+    private static int deflatedSize(byte[] bytes) {
+        Deflater deflater = new Deflater();
+        deflater.setInput(bytes);
+        deflater.finish();
+        byte[] buffer = new byte[bytes.length + 64];
+        int size = 0;
+        while (!deflater.finished()) {
+            size += deflater.deflate(buffer);
+        }
+        deflater.end();
+        return size;
+    }
+}
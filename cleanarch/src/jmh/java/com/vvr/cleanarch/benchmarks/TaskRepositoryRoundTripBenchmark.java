@@ -0,0 +1,79 @@
+package com.vvr.cleanarch.benchmarks;
+
+import com.vvr.cleanarch.CleanarchApplication;
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import com.vvr.cleanarch.infrastructure.memory.InMemoryTaskRepository;
+import com.vvr.cleanarch.infrastructure.persistence.TaskRepositoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Storage adapter round trips in-process: "jpa" is TaskRepositoryImpl over H2 (mapping, Hibernate
+// session, JDBC) inside a Spring context without the web layer, "inmemory" the map-based adapter.
+// The task cache and metrics decorators are disabled so lookups measure the adapter itself.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskRepositoryRoundTripBenchmark {
+
+    private static final int SEEDED_TASKS = 10_000;
+
+    @Param({"jpa", "inmemory"})
+    public String store;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository repository;
+    private long[] ids;
+
+    @Setup
+    public void setUp() {
+        if (store.equals("jpa")) {
+            context = new SpringApplicationBuilder(CleanarchApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .properties("tasks.cache.enabled=false", "tasks.metrics.enabled=false",
+                            "logging.level.root=warn")
+                    .run();
+            repository = context.getBean(TaskRepositoryImpl.class);
+        } else {
+            repository = new InMemoryTaskRepository();
+        }
+        List<Task> saved = repository.saveAll(BenchmarkTasks.generate(SEEDED_TASKS, false));
+        ids = saved.stream().mapToLong(Task::getId).toArray();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Optional<Task> findById() {
+        return repository.findById(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public Optional<Task> saveThenFindById() {
+        Task saved = repository.save(new Task(null, "Round trip", "Saved by the benchmark",
+                TaskStatus.PENDING, LocalDateTime.now(), null));
+        return repository.findById(saved.getId());
+    }
+}
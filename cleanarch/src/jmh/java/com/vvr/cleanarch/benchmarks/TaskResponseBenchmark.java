@@ -0,0 +1,56 @@
+package com.vvr.cleanarch.benchmarks;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.presentation.dto.TaskResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The two steps of every listing response: Task -> TaskResponse, then List<TaskResponse> -> JSON
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskResponseBenchmark {
+
+    @Param({"50", "500", "10000"})
+    public int size;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private List<Task> tasks;
+    private List<TaskResponse> responses;
+
+    @Setup
+    public void setUp() {
+        tasks = BenchmarkTasks.generate(size, true);
+        LocalDateTime now = LocalDateTime.now();
+        responses = tasks.stream().map(task -> TaskResponse.from(task, now)).toList();
+    }
+
+    // Like a request, each invocation reads the clock once for the whole list
+    @Benchmark
+    public List<TaskResponse> from() {
+        LocalDateTime now = LocalDateTime.now();
+        return tasks.stream().map(task -> TaskResponse.from(task, now)).toList();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return jsonMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] fromAndSerialize() {
+        LocalDateTime now = LocalDateTime.now();
+        return jsonMapper.writeValueAsBytes(tasks.stream().map(task -> TaskResponse.from(task, now)).toList());
+    }
+}
@@ -0,0 +1,65 @@
+package com.vvr.cleanarch.benchmarks;
+
+import com.vvr.cleanarch.application.search.TaskSearchHits;
+import com.vvr.cleanarch.application.search.TaskSearchIndex;
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Ranked first page of GET /api/tasks/search over an index of Portuguese-looking tasks, for a
+// whole word, a partial word, a short prefix and a two-word query
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TaskSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "relatório", "reunião", "cliente", "orçamento", "revisão", "entrega", "planilha", "contrato",
+            "análise", "pagamento", "fornecedor", "migração", "servidor", "atualização", "documentação",
+            "apresentação", "campanha", "auditoria", "integração", "configuração", "treinamento", "backup",
+            "implantação", "homologação", "estoque", "logística", "manutenção", "licença", "cobrança", "suporte"
+    };
+
+    @Param({"10000", "100000"})
+    private int tasks;
+
+    @Param({"orcamento", "integra", "re", "revisao contrato"})
+    private String query;
+
+    private TaskSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.now();
+        index = new TaskSearchIndex();
+        for (int i = 0; i < tasks; i++) {
+            index.index(new Task((long) i + 1, words(random, 3), words(random, 12),
+                    TaskStatus.PENDING, now, null, 0L));
+        }
+    }
+
+    @Benchmark
+    public TaskSearchHits search() {
+        return index.search(query, 0, 20);
+    }
+
+    private static String words(SplittableRandom random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
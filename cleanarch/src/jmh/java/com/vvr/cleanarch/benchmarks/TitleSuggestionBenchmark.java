@@ -0,0 +1,55 @@
+package com.vvr.cleanarch.benchmarks;
+
+import com.vvr.cleanarch.application.search.TitleSuggestionIndex;
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Top 10 suggestions of GET /api/tasks/suggest for prefixes of one, a few and many characters,
+// over mostly distinct titles made of a verb, an object and a number
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TitleSuggestionBenchmark {
+
+    private static final String[] VERBS = {"Revisar", "Enviar", "Comprar", "Agendar", "Atualizar", "Pagar", "Corrigir", "Preparar"};
+    private static final String[] OBJECTS = {"relatório", "contrato", "orçamento", "planilha", "apresentação", "fatura", "servidor", "reunião"};
+
+    @Param({"100000", "1000000"})
+    private int titles;
+
+    @Param({"r", "revis", "revisar contrato 12"})
+    private String prefix;
+
+    private TitleSuggestionIndex index;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime start = LocalDateTime.now().minusDays(365);
+        index = new TitleSuggestionIndex();
+        for (int i = 0; i < titles; i++) {
+            String title = VERBS[random.nextInt(VERBS.length)] + " " + OBJECTS[random.nextInt(OBJECTS.length)]
+                    + " " + random.nextInt(titles);
+            index.index(new Task((long) i + 1, title, null, TaskStatus.PENDING,
+                    start.plusSeconds(random.nextLong(365L * 24 * 3600)), null, 0L));
+        }
+    }
+
+    @Benchmark
+    public List<String> suggest() {
+        return index.suggest(prefix, 10);
+    }
+}
@@ -0,0 +1,250 @@
+package com.vvr.cleanarch.loadtest;
+
+import com.vvr.cleanarch.CleanarchApplication;
+import com.vvr.cleanarch.loadtest.WorkloadMix.Operation;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-loop load test of /api/tasks: boots the application on a random port and sends requests at
+// a fixed rate, whatever the response times, with a weighted mix of create/list/get/complete/delete.
+// Requests go out asynchronously, so a slow response never delays the next send, and every latency
+// is counted from the request's scheduled send time (see OperationStats).
+//
+// Arguments are key=value pairs:
+//   rate         requests per second (default 1000)
+//   duration     measured run (default 60s), after warmUp (default 10s)
+//   mix          operation weights (default WorkloadMix.DEFAULT)
+//   profile      Spring profiles to boot with, e.g. inmemory, wal or virtual (default none)
+//   maxInFlight  cap on outstanding requests (default 10000)
+//   reportDir    where the .hgrm percentile distributions are written (default build/reports/loadtest)
+public final class LoadGenerator {
+
+    private static final int SEEDED_TASKS = 1_000;
+
+    private final HttpClient http;
+    private final String baseUrl;
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    // Tasks that can still be completed or deleted; each is handed to at most one such request
+    private final Queue<Long> openTasks = new ConcurrentLinkedQueue<>();
+    private final AtomicLong highestId = new AtomicLong();
+
+    private LoadGenerator(HttpClient http, String baseUrl) {
+        this.http = http;
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value but got " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        int rate = Integer.parseInt(options.getOrDefault("rate", "1000"));
+        Duration duration = DurationStyle.detectAndParse(options.getOrDefault("duration", "60s"));
+        Duration warmUp = DurationStyle.detectAndParse(options.getOrDefault("warmUp", "10s"));
+        WorkloadMix mix = WorkloadMix.parse(options.getOrDefault("mix", WorkloadMix.DEFAULT));
+        String profile = options.getOrDefault("profile", "");
+        int maxInFlight = Integer.parseInt(options.getOrDefault("maxInFlight", "10000"));
+        Path reportDir = Path.of(options.getOrDefault("reportDir", "build/reports/loadtest"));
+
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(CleanarchApplication.class)
+                .properties("server.port=0", "logging.level.root=warn");
+        if (!profile.isBlank()) {
+            builder.profiles(profile.split(","));
+        }
+
+        try (ConfigurableApplicationContext application = builder.run();
+             ExecutorService callbacks = Executors.newVirtualThreadPerTaskExecutor()) {
+            String baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port") + "/api/tasks";
+            HttpClient http = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .executor(callbacks)
+                    .build();
+            LoadGenerator generator = new LoadGenerator(http, baseUrl);
+            generator.seed();
+
+            generator.run(mix, rate, warmUp, maxInFlight);
+            Map<Operation, OperationStats> stats = generator.run(mix, rate, duration, maxInFlight);
+
+            System.out.printf("%nprofile=%s rate=%d/s duration=%s warm-up=%s mix=%s%n",
+                    profile.isBlank() ? "default" : profile, rate, duration, warmUp, mix);
+            report(stats, duration, System.out);
+            writeDistributions(stats, reportDir);
+        }
+    }
+
+    private void seed() throws IOException, InterruptedException {
+        for (int i = 0; i < SEEDED_TASKS; i++) {
+            HttpResponse<String> created = http.send(create(), HttpResponse.BodyHandlers.ofString());
+            rememberCreated(created);
+        }
+    }
+
+    private Map<Operation, OperationStats> run(WorkloadMix mix, int rate, Duration duration, int maxInFlight) {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        SplittableRandom random = new SplittableRandom();
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / (double) rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intendedStart = start + (long) (i * intervalNanos);
+            if (intendedStart >= end) {
+                break;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            // Waiting here when the cap is reached still counts against the request's latency
+            inFlight.acquireUninterruptibly();
+            send(mix.pick(random), random, intendedStart, stats, inFlight);
+        }
+        inFlight.acquireUninterruptibly(maxInFlight);
+        return stats;
+    }
+
+    private void send(Operation operation, SplittableRandom random, long intendedStart,
+                      Map<Operation, OperationStats> stats, Semaphore inFlight) {
+        Long openTask = operation == Operation.COMPLETE || operation == Operation.DELETE ? openTasks.poll() : null;
+        if (openTask == null && (operation == Operation.COMPLETE || operation == Operation.DELETE)) {
+            // Nothing left to complete or delete; keep the rate by creating instead
+            operation = Operation.CREATE;
+        }
+        HttpRequest request = switch (operation) {
+            case CREATE -> create();
+            case LIST -> get("?limit=20");
+            case GET -> get("/" + (1 + random.nextLong(Math.max(1, highestId.get()))));
+            case COMPLETE -> HttpRequest.newBuilder(URI.create(baseUrl + "/" + openTask + "/complete"))
+                    .method("PATCH", HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case DELETE -> HttpRequest.newBuilder(URI.create(baseUrl + "/" + openTask)).DELETE().build();
+        };
+        Operation sent = operation;
+        long actualStart = System.nanoTime();
+        http.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, failure) -> {
+            long completed = System.nanoTime();
+            stats.get(sent).record(intendedStart, actualStart, completed, response == null ? -1 : response.statusCode());
+            if (sent == Operation.CREATE && response != null) {
+                rememberCreated(response);
+            }
+            inFlight.release();
+        });
+    }
+
+    private HttpRequest create() {
+        return HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"title\":\"Load test task\",\"description\":\"Created by LoadGenerator\"}"))
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build();
+    }
+
+    private void rememberCreated(HttpResponse<String> response) {
+        if (response.statusCode() != 201) {
+            return;
+        }
+        long id = jsonMapper.readTree(response.body()).get("id").asLong();
+        highestId.accumulateAndGet(id, Math::max);
+        openTasks.add(id);
+    }
+
+    private static void report(Map<Operation, OperationStats> stats, Duration duration, PrintStream out) {
+        out.printf("%-9s %9s %9s %6s %6s %6s %9s %9s %9s %9s %12s%n", "operation", "count", "2xx/3xx", "4xx", "5xx",
+                "failed", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms");
+        Histogram all = new Histogram(3);
+        Histogram allService = new Histogram(3);
+        long successful = 0;
+        long clientErrors = 0;
+        long serverErrors = 0;
+        long failed = 0;
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operation = entry.getValue();
+            if (operation.count() == 0) {
+                continue;
+            }
+            row(out, entry.getKey().name().toLowerCase(Locale.ROOT), operation.responseTime(), operation.serviceTime(),
+                    operation.successful(), operation.clientErrors(), operation.serverErrors(), operation.failed());
+            all.add(operation.responseTime());
+            allService.add(operation.serviceTime());
+            successful += operation.successful();
+            clientErrors += operation.clientErrors();
+            serverErrors += operation.serverErrors();
+            failed += operation.failed();
+        }
+        row(out, "total", all, allService, successful, clientErrors, serverErrors, failed);
+        out.printf("throughput: %.1f responses/s%n", all.getTotalCount() / (duration.toNanos() / 1e9));
+    }
+
+    private static void row(PrintStream out, String name, Histogram responseTime, Histogram serviceTime,
+                            long successful, long clientErrors, long serverErrors, long failed) {
+        out.printf("%-9s %9d %9d %6d %6d %6d %9.2f %9.2f %9.2f %9.2f %12.2f%n", name, responseTime.getTotalCount(),
+                successful, clientErrors, serverErrors, failed,
+                millis(responseTime.getValueAtPercentile(50)),
+                millis(responseTime.getValueAtPercentile(99)),
+                millis(responseTime.getValueAtPercentile(99.9)),
+                millis(responseTime.getMaxValue()),
+                millis(serviceTime.getValueAtPercentile(99)));
+    }
+
+    // Full percentile distributions in HdrHistogram's .hgrm format, in milliseconds, one file per
+    // operation, so runs can be plotted and compared later
+    private static void writeDistributions(Map<Operation, OperationStats> stats, Path reportDir) throws IOException {
+        Files.createDirectories(reportDir);
+        String run = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            if (entry.getValue().count() == 0) {
+                continue;
+            }
+            Path file = reportDir.resolve(run + "-" + entry.getKey().name().toLowerCase(Locale.ROOT) + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                entry.getValue().responseTime().outputPercentileDistribution(out, 1e6);
+            }
+        }
+        System.out.println("percentile distributions written to " + reportDir.toAbsolutePath());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
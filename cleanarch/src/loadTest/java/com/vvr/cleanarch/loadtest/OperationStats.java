@@ -0,0 +1,66 @@
+package com.vvr.cleanarch.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latencies and outcomes of one operation type. Response time is measured from the moment the
+// request was scheduled to be sent, which corrects for coordinated omission: when the service
+// stalls, requests that should have gone out during the stall are charged for the wait. Service
+// time, from the actual send, is kept alongside for comparison.
+final class OperationStats {
+
+    private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    private final Histogram responseTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+    private final Histogram serviceTime = new ConcurrentHistogram(HIGHEST_TRACKABLE_NANOS, 3);
+    private final LongAdder successful = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    // status is the HTTP status code, or -1 when no response arrived
+    void record(long intendedStart, long actualStart, long completed, int status) {
+        responseTime.recordValue(Math.min(completed - intendedStart, HIGHEST_TRACKABLE_NANOS));
+        serviceTime.recordValue(Math.min(completed - actualStart, HIGHEST_TRACKABLE_NANOS));
+        if (status < 0) {
+            failed.increment();
+        } else if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        } else {
+            successful.increment();
+        }
+    }
+
+    Histogram responseTime() {
+        return responseTime;
+    }
+
+    Histogram serviceTime() {
+        return serviceTime;
+    }
+
+    long count() {
+        return responseTime.getTotalCount();
+    }
+
+    long successful() {
+        return successful.sum();
+    }
+
+    long clientErrors() {
+        return clientErrors.sum();
+    }
+
+    long serverErrors() {
+        return serverErrors.sum();
+    }
+
+    long failed() {
+        return failed.sum();
+    }
+}
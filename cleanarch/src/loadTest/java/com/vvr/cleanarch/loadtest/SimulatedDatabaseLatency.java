@@ -0,0 +1,77 @@
+package com.vvr.cleanarch.loadtest;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+
+// Makes the in-memory H2 database behave like one across a network: every statement execution
+// first sleeps for benchmark.simulated-latency. Without it H2 answers in microseconds and the
+// request threads are never the bottleneck the benchmark is about.
+//
+// Registered explicitly as an application source by the benchmark, never by component scanning.
+class SimulatedDatabaseLatency implements BeanPostProcessor, EnvironmentAware {
+
+    private static final Set<String> EXECUTE_METHODS =
+            Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private Duration latency = Duration.ZERO;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        latency = environment.getProperty("benchmark.simulated-latency", Duration.class, Duration.ZERO);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !latency.isZero()) {
+            return proxy(DataSource.class, dataSource, (method, result) ->
+                    result instanceof Connection connection ? proxy(Connection.class, connection, this::wrapStatement) : result);
+        }
+        return bean;
+    }
+
+    private Object wrapStatement(Method method, Object result) {
+        if (!(result instanceof Statement statement)) {
+            return result;
+        }
+        Class<? extends Statement> type = statement instanceof CallableStatement ? CallableStatement.class
+                : statement instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, (proxy, invoked, args) -> {
+            if (EXECUTE_METHODS.contains(invoked.getName())) {
+                Thread.sleep(latency.toMillis());
+            }
+            return invoke(statement, invoked, args);
+        });
+    }
+
+    private interface ResultWrapper {
+        Object wrap(Method method, Object result);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, ResultWrapper wrapper) {
+        InvocationHandler handler = (proxy, method, args) -> wrapper.wrap(method, invoke(target, method, args));
+        return (T) Proxy.newProxyInstance(SimulatedDatabaseLatency.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
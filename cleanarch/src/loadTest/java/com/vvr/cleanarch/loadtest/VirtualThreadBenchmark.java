@@ -0,0 +1,160 @@
+package com.vvr.cleanarch.loadtest;
+
+import com.vvr.cleanarch.CleanarchApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Boots the application once with Tomcat's platform-thread pool and once with the "virtual"
+// profile, drives each with the same number of closed-loop HTTP clients and prints throughput and
+// latency percentiles side by side. Every JDBC statement is slowed down by SimulatedDatabaseLatency,
+// so request threads spend their time waiting on the database, as they do in production.
+//
+// Closed-loop by design: it models a fixed population of users, each waiting for its answer, which
+// is what exhausts a fixed thread pool. For open-loop, coordinated-omission-corrected numbers use
+// LoadGenerator.
+//
+// Arguments: clients (default 1000), measured duration (default 30s), database latency (default 20ms).
+public final class VirtualThreadBenchmark {
+
+    private static final int SEEDED_TASKS = 1_000;
+    private static final Duration WARM_UP = Duration.ofSeconds(10);
+
+    private VirtualThreadBenchmark() {
+    }
+
+    private enum Mode {
+        PLATFORM, VIRTUAL
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        Duration duration = args.length > 1 ? DurationStyle.detectAndParse(args[1]) : Duration.ofSeconds(30);
+        Duration databaseLatency = args.length > 2 ? DurationStyle.detectAndParse(args[2]) : Duration.ofMillis(20);
+
+        List<String> rows = new ArrayList<>();
+        for (Mode mode : Mode.values()) {
+            rows.add(run(mode, clients, duration, databaseLatency));
+        }
+
+        System.out.printf("%n%d clients, %s measured after %s warm-up, %s per JDBC statement%n",
+                clients, duration, WARM_UP, databaseLatency);
+        System.out.printf("%-9s %10s %8s %12s %9s %9s %9s%n", "threads", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        rows.forEach(System.out::println);
+    }
+
+    private static String run(Mode mode, int clients, Duration duration, Duration databaseLatency) throws Exception {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(CleanarchApplication.class, SimulatedDatabaseLatency.class)
+                .properties(
+                        "server.port=0",
+                        // Every lookup has to reach the database, not the task cache
+                        "tasks.cache.enabled=false",
+                        "logging.level.root=warn",
+                        "benchmark.simulated-latency=" + databaseLatency.toMillis() + "ms");
+        if (mode == Mode.VIRTUAL) {
+            builder.profiles("virtual");
+        }
+
+        try (ConfigurableApplicationContext application = builder.run()) {
+            String baseUrl = "http://localhost:" + application.getEnvironment().getProperty("local.server.port") + "/api/tasks";
+            try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+                HttpClient http = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(10))
+                        .executor(clientThreads)
+                        .build();
+                seed(http, baseUrl);
+                drive(http, baseUrl, clients, WARM_UP);
+                return drive(http, baseUrl, clients, duration).format(mode.name().toLowerCase());
+            }
+        }
+    }
+
+    private static void seed(HttpClient http, String baseUrl) throws Exception {
+        for (int i = 0; i < SEEDED_TASKS; i++) {
+            HttpRequest create = HttpRequest.newBuilder(URI.create(baseUrl))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"title\":\"Benchmark task " + i + "\",\"description\":\"Seeded by VirtualThreadBenchmark\"}"))
+                    .build();
+            http.send(create, HttpResponse.BodyHandlers.discarding());
+        }
+    }
+
+    // Each client sends its next request as soon as the previous answer arrives: 90% lookups by id,
+    // 10% first pages of the listing
+    private static Result drive(HttpClient http, String baseUrl, int clients, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        LongAdder errors = new LongAdder();
+        Histogram latencies = new ConcurrentHistogram(TimeUnit.MINUTES.toNanos(10), 3);
+        long started = System.nanoTime();
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                clientThreads.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < deadline) {
+                        String path = random.nextInt(10) == 0
+                                ? "?limit=20"
+                                : "/" + (1 + random.nextInt(SEEDED_TASKS));
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                                .timeout(Duration.ofSeconds(60))
+                                .GET()
+                                .build();
+                        long sent = System.nanoTime();
+                        try {
+                            int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status != 200) {
+                                errors.increment();
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        latencies.recordValue(Math.min(System.nanoTime() - sent, latencies.getHighestTrackableValue()));
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+        return new Result(latencies, errors.sum(), elapsed);
+    }
+
+    private static final class Result {
+
+        private final Histogram latencies;
+        private final long errors;
+        private final long elapsedNanos;
+
+        Result(Histogram latencies, long errors, long elapsedNanos) {
+            this.latencies = latencies;
+            this.errors = errors;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        String format(String threads) {
+            double throughput = latencies.getTotalCount() / (elapsedNanos / 1e9);
+            return String.format("%-9s %10d %8d %12.1f %9.1f %9.1f %9.1f", threads, latencies.getTotalCount(), errors, throughput,
+                    millis(latencies.getValueAtPercentile(50)),
+                    millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getMaxValue()));
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+    }
+}
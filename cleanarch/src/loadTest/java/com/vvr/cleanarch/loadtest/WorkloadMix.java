@@ -0,0 +1,55 @@
+package com.vvr.cleanarch.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Relative weights of the operations a load test sends, e.g. "create=20,list=10,get=50,complete=10,delete=10"
+final class WorkloadMix {
+
+    enum Operation {
+        CREATE, LIST, GET, COMPLETE, DELETE
+    }
+
+    static final String DEFAULT = "create=20,list=10,get=50,complete=10,delete=10";
+
+    private final Map<Operation, Integer> weights;
+    private final Operation[] cumulative;
+
+    private WorkloadMix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("Workload mix needs at least one positive weight");
+        }
+        this.cumulative = new Operation[total];
+        int index = 0;
+        for (Map.Entry<Operation, Integer> weight : weights.entrySet()) {
+            for (int i = 0; i < weight.getValue(); i++) {
+                cumulative[index++] = weight.getKey();
+            }
+        }
+    }
+
+    static WorkloadMix parse(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid workload mix entry: " + entry);
+            }
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(parts[1].trim()));
+        }
+        return new WorkloadMix(weights);
+    }
+
+    Operation pick(SplittableRandom random) {
+        return cumulative[random.nextInt(cumulative.length)];
+    }
+
+    @Override
+    public String toString() {
+        return weights.toString();
+    }
+}
@@ -0,0 +1,35 @@
+package com.vvr.cleanarch.application.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Requisição para criar várias tarefas de uma só vez")
+public class BatchCreateTaskRequest {
+
+    public static final int MAX_TASKS = 10_000;
+
+    @Schema(description = "Tarefas a serem criadas", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotEmpty(message = "Tasks are required")
+    @Size(max = MAX_TASKS, message = "At most 10000 tasks can be created per batch")
+    @Valid
+    private List<CreateTaskRequest> tasks;
+
+    public BatchCreateTaskRequest() {
+    }
+
+    public BatchCreateTaskRequest(List<CreateTaskRequest> tasks) {
+        this.tasks = tasks;
+    }
+
+    public List<CreateTaskRequest> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<CreateTaskRequest> tasks) {
+        this.tasks = tasks;
+    }
+}
@@ -0,0 +1,12 @@
+package com.vvr.cleanarch.application.dto;
+
+public enum BulkStatusOutcome {
+    UPDATED,
+    NOT_FOUND,
+    // The task is COMPLETED or CANCELLED and cannot change status
+    NOT_ALLOWED,
+    // The guarded UPDATE, which runs first, did not take the task, yet the status read afterwards to
+    // explain the leftovers shows it could change: another writer moved it in between. It was left
+    // as they set it.
+    CONFLICT
+}
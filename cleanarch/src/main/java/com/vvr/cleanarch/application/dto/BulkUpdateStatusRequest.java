@@ -0,0 +1,58 @@
+package com.vvr.cleanarch.application.dto;
+
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+@Schema(description = "Requisição para alterar o status de várias tarefas. Informe 'ids' ou 'currentStatus'.")
+public class BulkUpdateStatusRequest {
+
+    public static final int MAX_IDS = 10_000;
+
+    @Schema(description = "IDs das tarefas a alterar", example = "[1, 2, 3]")
+    @Size(max = MAX_IDS, message = "At most 10000 ids can be updated per request")
+    private List<Long> ids;
+
+    @Schema(description = "Alterar todas as tarefas que estão neste status", example = "IN_PROGRESS")
+    private TaskStatus currentStatus;
+
+    @Schema(description = "Novo status das tarefas", example = "COMPLETED", requiredMode = Schema.RequiredMode.REQUIRED)
+    @NotNull(message = "Status is required")
+    private TaskStatus status;
+
+    public BulkUpdateStatusRequest() {
+    }
+
+    public BulkUpdateStatusRequest(List<Long> ids, TaskStatus currentStatus, TaskStatus status) {
+        this.ids = ids;
+        this.currentStatus = currentStatus;
+        this.status = status;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public TaskStatus getCurrentStatus() {
+        return currentStatus;
+    }
+
+    public void setCurrentStatus(TaskStatus currentStatus) {
+        this.currentStatus = currentStatus;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+}
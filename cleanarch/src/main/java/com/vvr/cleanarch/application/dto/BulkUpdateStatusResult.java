@@ -0,0 +1,23 @@
+package com.vvr.cleanarch.application.dto;
+
+import java.util.Map;
+
+public class BulkUpdateStatusResult {
+
+    private final int updatedCount;
+    // Outcome per requested id, in request order; empty when the update selected tasks by status
+    private final Map<Long, BulkStatusOutcome> outcomes;
+
+    public BulkUpdateStatusResult(int updatedCount, Map<Long, BulkStatusOutcome> outcomes) {
+        this.updatedCount = updatedCount;
+        this.outcomes = outcomes;
+    }
+
+    public int getUpdatedCount() {
+        return updatedCount;
+    }
+
+    public Map<Long, BulkStatusOutcome> getOutcomes() {
+        return outcomes;
+    }
+}
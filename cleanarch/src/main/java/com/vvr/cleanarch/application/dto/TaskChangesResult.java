@@ -0,0 +1,38 @@
+package com.vvr.cleanarch.application.dto;
+
+import com.vvr.cleanarch.domain.entities.Task;
+
+import java.util.List;
+
+public class TaskChangesResult {
+
+    // Current state of each task written since the token, oldest change first
+    private final List<Task> tasks;
+    private final List<Long> deletedIds;
+    private final String nextToken;
+    // More changes are waiting; request again with nextToken right away
+    private final boolean hasMore;
+
+    public TaskChangesResult(List<Task> tasks, List<Long> deletedIds, String nextToken, boolean hasMore) {
+        this.tasks = tasks;
+        this.deletedIds = deletedIds;
+        this.nextToken = nextToken;
+        this.hasMore = hasMore;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public List<Long> getDeletedIds() {
+        return deletedIds;
+    }
+
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+}
@@ -0,0 +1,60 @@
+package com.vvr.cleanarch.application.dto;
+
+import com.vvr.cleanarch.domain.exceptions.InvalidPageRequestException;
+import com.vvr.cleanarch.domain.repositories.TaskChangeCursor;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Delta sync position handed to clients as an opaque token: where to resume in the change log,
+ * and since when the client's copy is known to be complete. Deletions before that instant may
+ * have been purged, which is how an expired token is recognised.
+ */
+public final class TaskChangesToken {
+
+    private static final String SEPARATOR = "|";
+
+    private final TaskChangeCursor cursor;
+    private final LocalDateTime validFrom;
+
+    public TaskChangesToken(TaskChangeCursor cursor, LocalDateTime validFrom) {
+        this.cursor = cursor;
+        this.validFrom = validFrom;
+    }
+
+    // A client without a copy has nothing a purged deletion could leave behind
+    public static TaskChangesToken start(LocalDateTime now) {
+        return new TaskChangesToken(TaskChangeCursor.START, now);
+    }
+
+    public static TaskChangesToken decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new InvalidPageRequestException("Invalid sync token: " + token);
+            }
+            return new TaskChangesToken(
+                    new TaskChangeCursor(Long.parseLong(parts[0]), Long.parseLong(parts[1])),
+                    LocalDateTime.parse(parts[2]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidPageRequestException("Invalid sync token: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = cursor.getSequence() + SEPARATOR + cursor.getId() + SEPARATOR + validFrom;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public TaskChangeCursor getCursor() {
+        return cursor;
+    }
+
+    public LocalDateTime getValidFrom() {
+        return validFrom;
+    }
+}
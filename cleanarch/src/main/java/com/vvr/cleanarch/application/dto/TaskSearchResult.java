@@ -0,0 +1,26 @@
+package com.vvr.cleanarch.application.dto;
+
+import com.vvr.cleanarch.domain.entities.Task;
+
+import java.util.List;
+
+public class TaskSearchResult {
+
+    // Best match first
+    private final List<Task> tasks;
+    // Matches across all pages
+    private final int total;
+
+    public TaskSearchResult(List<Task> tasks, int total) {
+        this.tasks = tasks;
+        this.total = total;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,35 @@
+package com.vvr.cleanarch.application.events;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+
+import java.util.List;
+
+// In-process view kept next to the repository (search index, feeds, ...). The use cases call it
+// after each write has been applied, on the writing thread, so implementations must be quick
+// and thread-safe. Listeners override only the changes they care about.
+public interface TaskChangeListener {
+
+    default void created(List<Task> tasks) {
+    }
+
+    // The task as stored after the write; concurrent writes may be reported out of order, so
+    // compare versions before replacing newer state
+    default void updated(Task task) {
+    }
+
+    // A single task moved from previousStatus to its current status; by default just an update
+    default void statusChanged(Task task, TaskStatus previousStatus) {
+        updated(task);
+    }
+
+    // Set-based status change, which does not return the tasks it touched. ids lists the tasks
+    // now in status when the update selected them by id (previousStatus is then null, as they
+    // may have come from different statuses); it is empty when the update moved every task in
+    // previousStatus.
+    default void statusChangedInBulk(List<Long> ids, TaskStatus previousStatus, TaskStatus status, int count) {
+    }
+
+    default void deleted(Long taskId) {
+    }
+}
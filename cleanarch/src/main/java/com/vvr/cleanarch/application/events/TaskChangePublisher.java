@@ -0,0 +1,49 @@
+package com.vvr.cleanarch.application.events;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+
+import java.util.List;
+
+// Fans the writes made by the use cases out to every registered TaskChangeListener
+public class TaskChangePublisher {
+
+    private final List<TaskChangeListener> listeners;
+
+    public TaskChangePublisher(List<TaskChangeListener> listeners) {
+        this.listeners = List.copyOf(listeners);
+    }
+
+    public void created(List<Task> tasks) {
+        for (TaskChangeListener listener : listeners) {
+            listener.created(tasks);
+        }
+    }
+
+    public void updated(Task task) {
+        for (TaskChangeListener listener : listeners) {
+            listener.updated(task);
+        }
+    }
+
+    public void statusChanged(Task task, TaskStatus previousStatus) {
+        for (TaskChangeListener listener : listeners) {
+            listener.statusChanged(task, previousStatus);
+        }
+    }
+
+    public void statusChangedInBulk(List<Long> ids, TaskStatus previousStatus, TaskStatus status, int count) {
+        if (count == 0) {
+            return;
+        }
+        for (TaskChangeListener listener : listeners) {
+            listener.statusChangedInBulk(ids, previousStatus, status, count);
+        }
+    }
+
+    public void deleted(Long taskId) {
+        for (TaskChangeListener listener : listeners) {
+            listener.deleted(taskId);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.vvr.cleanarch.application.events;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Counter bumped by every write the use cases report, so anything derived from the stored tasks
+// can be tagged with the version it was read at and dropped once that is no longer current.
+// The bump comes after the write has been applied (and committed), so a result read at a version
+// may already include a newer write, but never misses one made before the version was read.
+public class TaskDataVersion implements TaskChangeListener {
+
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    @Override
+    public void created(List<Task> tasks) {
+        version.incrementAndGet();
+    }
+
+    @Override
+    public void updated(Task task) {
+        version.incrementAndGet();
+    }
+
+    @Override
+    public void statusChangedInBulk(List<Long> ids, TaskStatus previousStatus, TaskStatus status, int count) {
+        version.incrementAndGet();
+    }
+
+    @Override
+    public void deleted(Long taskId) {
+        version.incrementAndGet();
+    }
+}
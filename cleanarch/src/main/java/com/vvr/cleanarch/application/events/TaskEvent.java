@@ -0,0 +1,97 @@
+package com.vvr.cleanarch.application.events;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+
+import java.util.List;
+
+// One entry of the change feed. Which fields are set depends on the type: tasks for CREATED,
+// UPDATED and STATUS_CHANGED, taskId for DELETED, ids and counts for BULK_STATUS_CHANGED.
+public class TaskEvent {
+
+    private final String id;
+    private final TaskEventType type;
+    private final List<Task> tasks;
+    private final Long taskId;
+    private final List<Long> ids;
+    private final TaskStatus previousStatus;
+    private final TaskStatus status;
+    private final int count;
+
+    private TaskEvent(String id, TaskEventType type, List<Task> tasks, Long taskId, List<Long> ids,
+                      TaskStatus previousStatus, TaskStatus status, int count) {
+        this.id = id;
+        this.type = type;
+        this.tasks = tasks;
+        this.taskId = taskId;
+        this.ids = ids;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.count = count;
+    }
+
+    static TaskEvent created(String id, List<Task> tasks) {
+        return new TaskEvent(id, TaskEventType.CREATED, copies(tasks), null, List.of(), null, null, tasks.size());
+    }
+
+    static TaskEvent updated(String id, Task task) {
+        return new TaskEvent(id, TaskEventType.UPDATED, List.of(task.copy()), task.getId(), List.of(), null,
+                task.getStatus(), 1);
+    }
+
+    static TaskEvent statusChanged(String id, Task task, TaskStatus previousStatus) {
+        return new TaskEvent(id, TaskEventType.STATUS_CHANGED, List.of(task.copy()), task.getId(), List.of(),
+                previousStatus, task.getStatus(), 1);
+    }
+
+    static TaskEvent statusChangedInBulk(String id, List<Long> ids, TaskStatus previousStatus, TaskStatus status, int count) {
+        return new TaskEvent(id, TaskEventType.BULK_STATUS_CHANGED, List.of(), null, List.copyOf(ids),
+                previousStatus, status, count);
+    }
+
+    static TaskEvent deleted(String id, Long taskId) {
+        return new TaskEvent(id, TaskEventType.DELETED, List.of(), taskId, List.of(), null, null, 1);
+    }
+
+    static TaskEvent reset(String id) {
+        return new TaskEvent(id, TaskEventType.RESET, List.of(), null, List.of(), null, null, 0);
+    }
+
+    // Listeners get the use case's own objects; the feed keeps them for a while, so it takes copies
+    private static List<Task> copies(List<Task> tasks) {
+        return tasks.stream().map(Task::copy).toList();
+    }
+
+    // Value for the SSE id field and the Last-Event-ID header of a reconnect
+    public String getId() {
+        return id;
+    }
+
+    public TaskEventType getType() {
+        return type;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public TaskStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,218 @@
+package com.vvr.cleanarch.application.events;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+// Change feed behind GET /api/tasks/events. Every change the use cases report becomes a numbered
+// TaskEvent, kept in a short history ring and offered to the ring buffer of each subscriber.
+// Publishing never waits for a subscriber: one whose buffer is full is evicted and has to
+// reconnect, resuming from the history with the id of the last event it received.
+//
+// Numbering, the history and the fan-out happen under one lock, so every subscriber sees events
+// in id order. A ReentrantLock rather than synchronized keeps virtual threads from pinning.
+public class TaskEventFeed implements TaskChangeListener {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Ids are "<boot>-<sequence>", so an id from before a restart is never taken for a current one
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final TaskEvent[] history;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Set<Subscription> subscriptions = new LinkedHashSet<>();
+    private final LongAdder evictions = new LongAdder();
+    // Index of the oldest event in history and how many it holds
+    private int historyStart;
+    private int historyCount;
+    private long sequence;
+
+    public TaskEventFeed(int historySize, int bufferSize, int maxSubscribers) {
+        if (historySize < 0 || bufferSize < 1 || maxSubscribers < 0) {
+            throw new IllegalArgumentException("Invalid event feed sizes");
+        }
+        this.history = new TaskEvent[historySize];
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    // Empty when maxSubscribers are already connected. With a lastEventId, the events published
+    // after it are replayed first; when they are no longer all in the history (or the id comes
+    // from another run) a single RESET event tells the client to reload instead.
+    public Optional<Subscription> subscribe(String lastEventId) {
+        lock.lock();
+        try {
+            if (subscriptions.size() >= maxSubscribers) {
+                return Optional.empty();
+            }
+            Subscription subscription = new Subscription(bufferSize);
+            if (lastEventId != null) {
+                List<TaskEvent> missed = eventsAfter(lastEventId);
+                if (missed == null || missed.size() > bufferSize) {
+                    subscription.buffer.add(TaskEvent.reset(idOf(sequence)));
+                } else {
+                    subscription.buffer.addAll(missed);
+                }
+            }
+            subscriptions.add(subscription);
+            return Optional.of(subscription);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int subscriberCount() {
+        lock.lock();
+        try {
+            return subscriptions.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Subscribers dropped for not keeping up, since startup
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    @Override
+    public void created(List<Task> tasks) {
+        publish(id -> TaskEvent.created(id, tasks));
+    }
+
+    @Override
+    public void updated(Task task) {
+        publish(id -> TaskEvent.updated(id, task));
+    }
+
+    @Override
+    public void statusChanged(Task task, TaskStatus previousStatus) {
+        publish(id -> TaskEvent.statusChanged(id, task, previousStatus));
+    }
+
+    @Override
+    public void statusChangedInBulk(List<Long> ids, TaskStatus previousStatus, TaskStatus status, int count) {
+        publish(id -> TaskEvent.statusChangedInBulk(id, ids, previousStatus, status, count));
+    }
+
+    @Override
+    public void deleted(Long taskId) {
+        publish(id -> TaskEvent.deleted(id, taskId));
+    }
+
+    private void publish(Function<String, TaskEvent> eventWithId) {
+        lock.lock();
+        try {
+            sequence++;
+            TaskEvent event = eventWithId.apply(idOf(sequence));
+            remember(event);
+            Iterator<Subscription> iterator = subscriptions.iterator();
+            while (iterator.hasNext()) {
+                Subscription subscription = iterator.next();
+                if (!subscription.buffer.offer(event)) {
+                    subscription.evicted = true;
+                    iterator.remove();
+                    evictions.increment();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void remember(TaskEvent event) {
+        if (history.length == 0) {
+            return;
+        }
+        if (historyCount < history.length) {
+            history[(historyStart + historyCount) % history.length] = event;
+            historyCount++;
+        } else {
+            history[historyStart] = event;
+            historyStart = (historyStart + 1) % history.length;
+        }
+    }
+
+    // Events published after lastEventId, oldest first; null when that point cannot be resumed from
+    private List<TaskEvent> eventsAfter(String lastEventId) {
+        int separator = lastEventId.lastIndexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(bootId)) {
+            return null;
+        }
+        long lastSequence;
+        try {
+            lastSequence = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        long missed = sequence - lastSequence;
+        if (missed < 0 || missed > historyCount) {
+            return null;
+        }
+        List<TaskEvent> events = new ArrayList<>((int) missed);
+        for (int i = historyCount - (int) missed; i < historyCount; i++) {
+            events.add(history[(historyStart + i) % history.length]);
+        }
+        return events;
+    }
+
+    private String idOf(long eventSequence) {
+        return bootId + "-" + eventSequence;
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        lock.lock();
+        try {
+            subscriptions.remove(subscription);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public final class Subscription implements AutoCloseable {
+
+        // ArrayBlockingQueue is a fixed ring buffer; offers to it fail instead of growing
+        private final BlockingQueue<TaskEvent> buffer;
+        private volatile boolean evicted;
+        private volatile boolean closed;
+
+        private Subscription(int capacity) {
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+        }
+
+        // Next event, waiting at most timeout; null when none arrived in time or the
+        // subscription has ended
+        public TaskEvent poll(Duration timeout) throws InterruptedException {
+            if (!isOpen()) {
+                return null;
+            }
+            return buffer.poll(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        public boolean isEvicted() {
+            return evicted;
+        }
+
+        public boolean isOpen() {
+            return !closed && !evicted;
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            unsubscribe(this);
+        }
+    }
+}
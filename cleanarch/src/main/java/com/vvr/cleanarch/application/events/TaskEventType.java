@@ -0,0 +1,11 @@
+package com.vvr.cleanarch.application.events;
+
+public enum TaskEventType {
+    CREATED,
+    UPDATED,
+    STATUS_CHANGED,
+    BULK_STATUS_CHANGED,
+    DELETED,
+    // The requested resume point is no longer known: the client must reload its tasks
+    RESET
+}
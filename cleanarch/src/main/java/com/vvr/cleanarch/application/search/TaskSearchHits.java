@@ -0,0 +1,23 @@
+package com.vvr.cleanarch.application.search;
+
+import java.util.List;
+
+// One page of ranked search results: task ids best match first, plus how many tasks matched in total
+public class TaskSearchHits {
+
+    private final List<Long> ids;
+    private final int total;
+
+    public TaskSearchHits(List<Long> ids, int total) {
+        this.ids = List.copyOf(ids);
+        this.total = total;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+}
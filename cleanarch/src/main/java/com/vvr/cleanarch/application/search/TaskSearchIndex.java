@@ -0,0 +1,286 @@
+package com.vvr.cleanarch.application.search;
+
+import com.vvr.cleanarch.application.events.TaskChangeListener;
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Inverted index over task titles and descriptions, kept in memory and updated by the use cases
+// on every write so a search never touches the database.
+//
+// Each term maps to the tasks containing it. Partial words are found through trigrams of the
+// vocabulary (not of the documents): a query fragment of three or more characters is looked up
+// as the intersection of its trigrams' term sets, and shorter fragments as a prefix range. Every
+// query term must match (AND); tasks are ranked by the sum over the query terms of tf * idf,
+// where title occurrences count more than description ones and exact terms more than partial ones.
+//
+// Writes to different tasks and terms proceed in parallel: the maps are concurrent and each
+// change is applied inside compute() on the key it touches. A search sees every write that
+// completed before it started and possibly part of one that is in flight.
+public class TaskSearchIndex implements TaskChangeListener {
+
+    static final int TITLE_WEIGHT = 3;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final int GRAM_LENGTH = 3;
+    // Bounds the work of a fragment that occurs in many terms ("a", "cao", ...)
+    private static final int MAX_EXPANSIONS = 256;
+
+    private static final double EXACT_MATCH = 1.0;
+    private static final double PREFIX_MATCH = 0.6;
+    private static final double INFIX_MATCH = 0.3;
+
+    // Best score first; ties go to the newest task
+    private static final Comparator<Map.Entry<Long, Double>> BEST_FIRST =
+            Map.Entry.<Long, Double>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed());
+
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+    // term -> task id -> weighted term frequency
+    private final Map<String, Map<Long, Integer>> postings = new ConcurrentHashMap<>();
+    // trigram -> terms containing it
+    private final Map<String, Set<String>> termsByGram = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<String> vocabulary = new ConcurrentSkipListSet<>();
+
+    // Reads every stored task once, in id order, without holding them all in memory
+    public static TaskSearchIndex initializedFrom(TaskRepository taskRepository) {
+        TaskSearchIndex index = new TaskSearchIndex();
+        taskRepository.forEachTask(null, index::index);
+        return index;
+    }
+
+    @Override
+    public void created(List<Task> tasks) {
+        tasks.forEach(this::index);
+    }
+
+    @Override
+    public void updated(Task task) {
+        index(task);
+    }
+
+    @Override
+    public void deleted(Long taskId) {
+        documents.computeIfPresent(taskId, (id, document) -> {
+            document.terms.keySet().forEach(term -> removePosting(term, id));
+            return null;
+        });
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public void index(Task task) {
+        long version = task.getVersion() != null ? task.getVersion() : -1;
+        documents.compute(task.getId(), (id, current) -> {
+            if (current != null && current.version > version) {
+                // A newer write of the same task was indexed first
+                return current;
+            }
+            Map<String, Integer> terms = termsOf(task);
+            if (current != null) {
+                if (current.terms.equals(terms)) {
+                    return new Document(version, current.terms);
+                }
+                for (String term : current.terms.keySet()) {
+                    if (!terms.containsKey(term)) {
+                        removePosting(term, id);
+                    }
+                }
+            }
+            terms.forEach((term, frequency) -> addPosting(term, id, frequency));
+            return new Document(version, terms);
+        });
+    }
+
+    // Empty when the query has no letters or digits
+    public TaskSearchHits search(String query, int offset, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(TaskTextAnalyzer.tokens(query));
+        Map<Long, Double> scores = null;
+        for (String queryTerm : queryTerms) {
+            Map<Long, Double> termScores = score(queryTerm);
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                Map<Long, Double> both = new HashMap<>();
+                for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+                    Double termScore = termScores.get(entry.getKey());
+                    if (termScore != null) {
+                        both.put(entry.getKey(), entry.getValue() + termScore);
+                    }
+                }
+                scores = both;
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        if (scores == null || scores.isEmpty()) {
+            return new TaskSearchHits(List.of(), 0);
+        }
+        return new TaskSearchHits(page(scores, offset, limit), scores.size());
+    }
+
+    // Best score per task for one query term over every indexed term it matches
+    private Map<Long, Double> score(String queryTerm) {
+        Map<Long, Double> scores = new HashMap<>();
+        int documentCount = Math.max(documents.size(), 1);
+        expand(queryTerm).forEach((term, matchWeight) -> {
+            Map<Long, Integer> taskFrequencies = postings.get(term);
+            if (taskFrequencies == null) {
+                return;
+            }
+            double idf = Math.log(1.0 + (double) documentCount / Math.max(taskFrequencies.size(), 1));
+            taskFrequencies.forEach((id, frequency) ->
+                    scores.merge(id, matchWeight * idf * Math.log1p(frequency), Math::max));
+        });
+        return scores;
+    }
+
+    // Indexed terms matching a query term, with how much a match through each of them is worth
+    private Map<String, Double> expand(String queryTerm) {
+        Map<String, Double> matches = new HashMap<>();
+        if (postings.containsKey(queryTerm)) {
+            matches.put(queryTerm, EXACT_MATCH);
+        }
+        if (queryTerm.length() < GRAM_LENGTH) {
+            for (String term : vocabulary.subSet(queryTerm, false, queryTerm + Character.MAX_VALUE, false)) {
+                if (matches.size() >= MAX_EXPANSIONS) {
+                    break;
+                }
+                matches.put(term, PREFIX_MATCH);
+            }
+            return matches;
+        }
+
+        // Start from the rarest trigram and keep the terms that really contain the fragment
+        Set<String> smallest = null;
+        for (String gram : grams(queryTerm)) {
+            Set<String> terms = termsByGram.get(gram);
+            if (terms == null) {
+                return matches;
+            }
+            if (smallest == null || terms.size() < smallest.size()) {
+                smallest = terms;
+            }
+        }
+        for (String term : smallest) {
+            if (matches.size() >= MAX_EXPANSIONS) {
+                break;
+            }
+            if (!term.equals(queryTerm) && term.contains(queryTerm)) {
+                matches.put(term, term.startsWith(queryTerm) ? PREFIX_MATCH : INFIX_MATCH);
+            }
+        }
+        return matches;
+    }
+
+    private static List<Long> page(Map<Long, Double> scores, int offset, int limit) {
+        int wanted = offset + limit;
+        if (offset >= scores.size()) {
+            return List.of();
+        }
+        // Keeps only the best offset + limit entries instead of sorting every match
+        PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(Math.min(wanted, scores.size()) + 1,
+                BEST_FIRST.reversed());
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            best.add(entry);
+            if (best.size() > wanted) {
+                best.poll();
+            }
+        }
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(best);
+        ranked.sort(BEST_FIRST);
+        List<Long> ids = new ArrayList<>(limit);
+        for (int i = offset; i < ranked.size(); i++) {
+            ids.add(ranked.get(i).getKey());
+        }
+        return ids;
+    }
+
+    private static Map<String, Integer> termsOf(Task task) {
+        Map<String, Integer> terms = new HashMap<>();
+        for (String token : TaskTextAnalyzer.tokens(task.getTitle())) {
+            terms.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : TaskTextAnalyzer.tokens(task.getDescription())) {
+            terms.merge(token, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        return terms;
+    }
+
+    private void addPosting(String term, Long id, int frequency) {
+        postings.compute(term, (key, taskFrequencies) -> {
+            if (taskFrequencies == null) {
+                taskFrequencies = new ConcurrentHashMap<>();
+                registerTerm(key);
+            }
+            taskFrequencies.put(id, frequency);
+            return taskFrequencies;
+        });
+    }
+
+    private void removePosting(String term, Long id) {
+        postings.computeIfPresent(term, (key, taskFrequencies) -> {
+            taskFrequencies.remove(id);
+            if (taskFrequencies.isEmpty()) {
+                unregisterTerm(key);
+                return null;
+            }
+            return taskFrequencies;
+        });
+    }
+
+    // Called while holding the term's postings entry, so registering and unregistering the same
+    // term never interleave
+    private void registerTerm(String term) {
+        vocabulary.add(term);
+        for (String gram : grams(term)) {
+            termsByGram.compute(gram, (key, terms) -> {
+                Set<String> updated = terms != null ? terms : ConcurrentHashMap.newKeySet();
+                updated.add(term);
+                return updated;
+            });
+        }
+    }
+
+    private void unregisterTerm(String term) {
+        vocabulary.remove(term);
+        for (String gram : grams(term)) {
+            termsByGram.computeIfPresent(gram, (key, terms) -> {
+                terms.remove(term);
+                return terms.isEmpty() ? null : terms;
+            });
+        }
+    }
+
+    private static Set<String> grams(String term) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= term.length(); i++) {
+            grams.add(term.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static final class Document {
+
+        private final long version;
+        private final Map<String, Integer> terms;
+
+        private Document(long version, Map<String, Integer> terms) {
+            this.version = version;
+            this.terms = terms;
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.vvr.cleanarch.application.search;
+
+import com.vvr.cleanarch.application.events.TaskChangeListener;
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Title autocomplete: a radix tree over normalized titles (folded like the search index, with
+// whitespace collapsed), one entry per distinct title. Chains of single-child nodes are merged
+// into one edge, so common prefixes are stored once. Every node also keeps the newest recency
+// found below it, which lets a lookup walk its subtree best-first and stop after K titles instead
+// of visiting every completion.
+//
+// A title's recency is the latest creation or title edit among the tasks carrying it; it does not
+// go back when the newest of them is renamed or deleted, and the title leaves the tree when no
+// task carries it anymore. Lookups share a read lock; writes take the write lock.
+//
+// Like the search index, a task reported with an older version than the one indexed is ignored,
+// so events delivered out of order cannot bring back an old title. A deleted task keeps a marker
+// newer than any version, since ids are never reused and a late update must not revive it.
+public class TitleSuggestionIndex implements TaskChangeListener {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Entry DELETED = new Entry(Long.MAX_VALUE, null);
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("", null);
+    // Version and title node of every indexed task, to find the old title when a task is renamed
+    // or deleted; DELETED once it is gone
+    private final Map<Long, Entry> titleByTask = new HashMap<>();
+    private int titles;
+
+    public static TitleSuggestionIndex initializedFrom(TaskRepository taskRepository) {
+        TitleSuggestionIndex index = new TitleSuggestionIndex();
+        taskRepository.forEachTask(null, index::index);
+        return index;
+    }
+
+    @Override
+    public void created(List<Task> tasks) {
+        tasks.forEach(this::index);
+    }
+
+    @Override
+    public void updated(Task task) {
+        index(task);
+    }
+
+    @Override
+    public void deleted(Long taskId) {
+        lock.writeLock().lock();
+        try {
+            Entry entry = titleByTask.put(taskId, DELETED);
+            if (entry != null && entry.node != null) {
+                release(entry.node);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void index(Task task) {
+        String title = task.getTitle() != null ? task.getTitle().trim() : "";
+        String key = normalize(title, false);
+        long version = task.getVersion() != null ? task.getVersion() : -1;
+        lock.writeLock().lock();
+        try {
+            Entry entry = titleByTask.get(task.getId());
+            if (entry != null && entry.version > version) {
+                // A newer write of the same task, or its deletion, was indexed first
+                return;
+            }
+            Node current = entry != null ? entry.node : null;
+            if (current != null && normalize(current.title, false).equals(key)) {
+                // Same title (typically a status change): nothing to move
+                titleByTask.put(task.getId(), new Entry(version, current));
+                return;
+            }
+            if (current != null) {
+                release(current);
+            }
+            Node node = key.isEmpty() ? null : insert(key, title, recencyOf(task));
+            titleByTask.put(task.getId(), new Entry(version, node));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Distinct number of titles
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return titles;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Up to limit titles starting with prefix, most recent first; the prefix is normalized like
+    // the titles, keeping one trailing space so "comprar " does not suggest "comprarei"
+    public List<String> suggest(String prefix, int limit) {
+        String key = normalize(prefix, true);
+        lock.readLock().lock();
+        try {
+            Node start = find(key);
+            return start != null ? mostRecent(start, limit) : List.of();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            int index = childIndex(node, key.charAt(position));
+            if (index < 0) {
+                return null;
+            }
+            Node child = node.children[index];
+            int length = Math.min(child.edge.length(), key.length() - position);
+            if (!child.edge.regionMatches(0, key, position, length)) {
+                return null;
+            }
+            position += length;
+            node = child;
+        }
+        return node;
+    }
+
+    private static List<String> mostRecent(Node start, int limit) {
+        List<String> suggestions = new ArrayList<>(limit);
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>();
+        candidates.add(new Candidate(start, false, start.best));
+        while (!candidates.isEmpty() && suggestions.size() < limit) {
+            Candidate candidate = candidates.poll();
+            Node node = candidate.node;
+            if (candidate.title) {
+                suggestions.add(node.title);
+                continue;
+            }
+            if (node.title != null) {
+                candidates.add(new Candidate(node, true, node.recency));
+            }
+            for (Node child : node.children) {
+                candidates.add(new Candidate(child, false, child.best));
+            }
+        }
+        return suggestions;
+    }
+
+    private Node insert(String key, String title, long recency) {
+        Node node = root;
+        int position = 0;
+        while (true) {
+            node.best = Math.max(node.best, recency);
+            if (position == key.length()) {
+                if (node.title == null) {
+                    titles++;
+                }
+                if (node.title == null || recency >= node.recency) {
+                    node.title = title;
+                    node.recency = recency;
+                }
+                node.count++;
+                return node;
+            }
+            int index = childIndex(node, key.charAt(position));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(position), node);
+                leaf.best = recency;
+                node.children = inserted(node.children, -(index + 1), leaf);
+                node = leaf;
+                position = key.length();
+                continue;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.edge, key, position);
+            if (common < child.edge.length()) {
+                // The key leaves this edge halfway: split it, keeping the child object (tasks point to it)
+                Node middle = new Node(child.edge.substring(0, common), node);
+                child.edge = child.edge.substring(common);
+                child.parent = middle;
+                middle.children = new Node[]{child};
+                middle.best = child.best;
+                node.children[index] = middle;
+                child = middle;
+            }
+            node = child;
+            position += common;
+        }
+    }
+
+    // One task less carries the node's title; drop the title, and the nodes it alone needed, at zero
+    private void release(Node node) {
+        if (--node.count > 0) {
+            return;
+        }
+        titles--;
+        node.title = null;
+        node.recency = Long.MIN_VALUE;
+
+        Node changed = node;
+        if (node.children.length == 0) {
+            Node parent = node.parent;
+            parent.children = removed(parent.children, node);
+            changed = parent;
+        }
+        if (changed != root && changed.title == null && changed.children.length == 1) {
+            // A node without title and with one child is just an edge: fold it into the child
+            Node child = changed.children[0];
+            Node parent = changed.parent;
+            child.edge = changed.edge + child.edge;
+            child.parent = parent;
+            parent.children[childIndex(parent, child.edge.charAt(0))] = child;
+            changed = parent;
+        }
+        for (Node ancestor = changed; ancestor != null; ancestor = ancestor.parent) {
+            long best = ancestor.recency;
+            for (Node child : ancestor.children) {
+                best = Math.max(best, child.best);
+            }
+            ancestor.best = best;
+        }
+    }
+
+    // Children are kept sorted by their first character; edges of siblings never share it
+    private static int childIndex(Node node, char first) {
+        Node[] children = node.children;
+        int low = 0;
+        int high = children.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char candidate = children[middle].edge.charAt(0);
+            if (candidate < first) {
+                low = middle + 1;
+            } else if (candidate > first) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static Node[] inserted(Node[] children, int index, Node child) {
+        Node[] grown = Arrays.copyOf(children, children.length + 1);
+        System.arraycopy(children, index, grown, index + 1, children.length - index);
+        grown[index] = child;
+        return grown;
+    }
+
+    private static Node[] removed(Node[] children, Node child) {
+        if (children.length == 1) {
+            return NO_CHILDREN;
+        }
+        Node[] shrunk = new Node[children.length - 1];
+        int next = 0;
+        for (Node candidate : children) {
+            if (candidate != child) {
+                shrunk[next++] = candidate;
+            }
+        }
+        return shrunk;
+    }
+
+    private static int commonPrefix(String edge, String key, int position) {
+        int max = Math.min(edge.length(), key.length() - position);
+        int common = 0;
+        while (common < max && edge.charAt(common) == key.charAt(position + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    static String normalize(String text, boolean keepTrailingSpace) {
+        String folded = TaskTextAnalyzer.fold(text);
+        StringBuilder normalized = new StringBuilder(folded.length());
+        boolean space = false;
+        for (int i = 0; i < folded.length(); i++) {
+            char c = folded.charAt(i);
+            if (Character.isWhitespace(c)) {
+                space = normalized.length() > 0;
+            } else {
+                if (space) {
+                    normalized.append(' ');
+                    space = false;
+                }
+                normalized.append(c);
+            }
+        }
+        if (space && keepTrailingSpace) {
+            normalized.append(' ');
+        }
+        return normalized.toString();
+    }
+
+    private static long recencyOf(Task task) {
+        LocalDateTime time = task.getUpdatedAt() != null ? task.getUpdatedAt() : task.getCreatedAt();
+        if (time == null) {
+            return 0;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + time.getNano();
+    }
+
+    private static final class Node {
+
+        // Characters from the parent to this node
+        private String edge;
+        private Node parent;
+        private Node[] children = NO_CHILDREN;
+        // Set when a stored title ends here: the most recent original spelling and how many tasks carry it
+        private String title;
+        private int count;
+        private long recency = Long.MIN_VALUE;
+        // Newest recency in this subtree
+        private long best = Long.MIN_VALUE;
+
+        private Node(String edge, Node parent) {
+            this.edge = edge;
+            this.parent = parent;
+        }
+    }
+
+    private static final class Entry {
+
+        private final long version;
+        // Null when the task has no title to suggest
+        private final Node node;
+
+        private Entry(long version, Node node) {
+            this.version = version;
+            this.node = node;
+        }
+    }
+
+    // Newest first; at equal recency a title comes before a subtree that may still hold it
+    private static final class Candidate implements Comparable<Candidate> {
+
+        private final Node node;
+        private final boolean title;
+        private final long recency;
+
+        private Candidate(Node node, boolean title, long recency) {
+            this.node = node;
+            this.title = title;
+            this.recency = recency;
+        }
+
+        @Override
+        public int compareTo(Candidate other) {
+            int byRecency = Long.compare(other.recency, recency);
+            return byRecency != 0 ? byRecency : Boolean.compare(other.title, title);
+        }
+    }
+}
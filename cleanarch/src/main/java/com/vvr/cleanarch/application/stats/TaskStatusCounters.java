@@ -0,0 +1,57 @@
+package com.vvr.cleanarch.application.stats;
+
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Number of tasks per status, kept in memory and moved by the use cases on every write so that
+// reading the counts never touches the database. LongAdder stripes contended increments across
+// cells instead of making every writer CAS the same word.
+public class TaskStatusCounters {
+
+    // Filled once in the constructor and never modified afterwards, so reads need no locking
+    private final Map<TaskStatus, LongAdder> counters;
+
+    public TaskStatusCounters() {
+        Map<TaskStatus, LongAdder> adders = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            adders.put(status, new LongAdder());
+        }
+        this.counters = Collections.unmodifiableMap(adders);
+    }
+
+    // Seeds the counters with a single GROUP BY over the stored tasks
+    public static TaskStatusCounters initializedFrom(TaskRepository taskRepository) {
+        TaskStatusCounters statusCounters = new TaskStatusCounters();
+        taskRepository.countByStatus().forEach(statusCounters::created);
+        return statusCounters;
+    }
+
+    public void created(TaskStatus status, long count) {
+        counters.get(status).add(count);
+    }
+
+    public void changed(TaskStatus from, TaskStatus to, long count) {
+        if (from == to || count == 0) {
+            return;
+        }
+        counters.get(from).add(-count);
+        counters.get(to).add(count);
+    }
+
+    public void deleted(TaskStatus status) {
+        counters.get(status).decrement();
+    }
+
+    // Each count is exact on its own; a transition racing with the snapshot may be seen on one
+    // side only, so the total can be off by the number of in-flight writes
+    public Map<TaskStatus, Long> snapshot() {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        counters.forEach((status, adder) -> counts.put(status, adder.sum()));
+        return counts;
+    }
+}
@@ -0,0 +1,60 @@
+package com.vvr.cleanarch.application.usecases;
+
+import com.vvr.cleanarch.application.dto.BatchCreateTaskRequest;
+import com.vvr.cleanarch.application.dto.CreateTaskRequest;
+import com.vvr.cleanarch.application.events.TaskChangePublisher;
+import com.vvr.cleanarch.application.stats.TaskStatusCounters;
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.exceptions.InvalidTaskException;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchCreateTasksUseCase {
+
+    private final TaskRepository taskRepository;
+    private final TaskStatusCounters statusCounters;
+    private final TaskChangePublisher changePublisher;
+
+    public BatchCreateTasksUseCase(TaskRepository taskRepository, TaskStatusCounters statusCounters,
+                                   TaskChangePublisher changePublisher) {
+        this.taskRepository = taskRepository;
+        this.statusCounters = statusCounters;
+        this.changePublisher = changePublisher;
+    }
+
+    public List<Task> execute(BatchCreateTaskRequest request) {
+        List<CreateTaskRequest> requests = request.getTasks();
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidTaskException("At least one task is required");
+        }
+        if (requests.size() > BatchCreateTaskRequest.MAX_TASKS) {
+            throw new InvalidTaskException("At most " + BatchCreateTaskRequest.MAX_TASKS + " tasks can be created per batch");
+        }
+
+        // The batch is all-or-nothing, so validate everything before touching the repository
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> tasks = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            CreateTaskRequest taskRequest = requests.get(i);
+            if (taskRequest.getTitle() == null || taskRequest.getTitle().trim().isEmpty()) {
+                throw new InvalidTaskException("Title is mandatory and cannot be empty (task at index " + i + ")");
+            }
+
+            Task task = new Task();
+            task.setTitle(taskRequest.getTitle().trim());
+            task.setDescription(taskRequest.getDescription());
+            task.setStatus(TaskStatus.PENDING);
+            task.setCreatedAt(now);
+            tasks.add(task);
+        }
+
+        List<Task> saved = taskRepository.saveAll(tasks);
+        statusCounters.created(TaskStatus.PENDING, saved.size());
+        changePublisher.created(saved);
+        return saved;
+    }
+}
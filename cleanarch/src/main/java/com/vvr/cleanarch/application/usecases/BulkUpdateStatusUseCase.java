@@ -0,0 +1,115 @@
+package com.vvr.cleanarch.application.usecases;
+
+import com.vvr.cleanarch.application.dto.BulkStatusOutcome;
+import com.vvr.cleanarch.application.dto.BulkUpdateStatusRequest;
+import com.vvr.cleanarch.application.dto.BulkUpdateStatusResult;
+import com.vvr.cleanarch.application.events.TaskChangePublisher;
+import com.vvr.cleanarch.application.stats.TaskStatusCounters;
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.exceptions.InvalidTaskException;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class BulkUpdateStatusUseCase {
+
+    // Keeps the IN (...) lists of each statement at a size every database plans well
+    static final int CHUNK_SIZE = 500;
+
+    private static final Set<TaskStatus> CHANGEABLE_STATUSES = Task.statusesWhere(task -> !task.getStatus().isFinal());
+
+    private final TaskRepository taskRepository;
+    private final TaskStatusCounters statusCounters;
+    private final TaskChangePublisher changePublisher;
+
+    public BulkUpdateStatusUseCase(TaskRepository taskRepository, TaskStatusCounters statusCounters,
+                                   TaskChangePublisher changePublisher) {
+        this.taskRepository = taskRepository;
+        this.statusCounters = statusCounters;
+        this.changePublisher = changePublisher;
+    }
+
+    public BulkUpdateStatusResult execute(BulkUpdateStatusRequest request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        if (byIds == (request.getCurrentStatus() != null)) {
+            throw new InvalidTaskException("Provide either ids or currentStatus");
+        }
+        if (request.getStatus() == null) {
+            throw new InvalidTaskException("Status is required");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        if (!byIds) {
+            return updateByCurrentStatus(request.getCurrentStatus(), request.getStatus(), now);
+        }
+        if (request.getIds().size() > BulkUpdateStatusRequest.MAX_IDS) {
+            throw new InvalidTaskException("At most " + BulkUpdateStatusRequest.MAX_IDS + " ids can be updated per request");
+        }
+
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+        Map<Long, BulkStatusOutcome> outcomes = new LinkedHashMap<>();
+        List<Long> updatedIds = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            updateChunk(chunk, request.getStatus(), now, outcomes, updatedIds);
+        }
+
+        changePublisher.statusChangedInBulk(updatedIds, null, request.getStatus(), updatedIds.size());
+        return new BulkUpdateStatusResult(updatedIds.size(), outcomes);
+    }
+
+    private BulkUpdateStatusResult updateByCurrentStatus(TaskStatus currentStatus, TaskStatus status, LocalDateTime now) {
+        if (currentStatus.isFinal()) {
+            throw new InvalidTaskException(currentStatus + " tasks cannot change status");
+        }
+        int updated = taskRepository.updateStatusByStatus(currentStatus, status, now);
+        statusCounters.changed(currentStatus, status, updated);
+        changePublisher.statusChangedInBulk(List.of(), currentStatus, status, updated);
+        return new BulkUpdateStatusResult(updated, Map.of());
+    }
+
+    private void updateChunk(List<Long> chunk, TaskStatus status, LocalDateTime now,
+                             Map<Long, BulkStatusOutcome> outcomes, List<Long> updatedIds) {
+        // Holds every id's place in request order; an id stays CONFLICT unless changed or explained below
+        chunk.forEach(id -> outcomes.put(id, BulkStatusOutcome.CONFLICT));
+
+        // One guarded UPDATE per status a task can change from, without reading first: a chunk
+        // whose tasks share a status is a single statement. Each UPDATE only takes ids still in
+        // its source status and changed ids leave the pool, so no id is updated twice and the
+        // counters know exactly which status every change came from.
+        List<Long> remaining = chunk;
+        for (TaskStatus from : CHANGEABLE_STATUSES) {
+            List<Long> changed = taskRepository.updateStatusByIds(remaining, Set.of(from), status, now);
+            statusCounters.changed(from, status, changed.size());
+            changed.forEach(id -> outcomes.put(id, BulkStatusOutcome.UPDATED));
+            updatedIds.addAll(changed);
+            if (changed.size() == remaining.size()) {
+                return;
+            }
+            if (!changed.isEmpty()) {
+                Set<Long> changedIds = new HashSet<>(changed);
+                remaining = remaining.stream().filter(id -> !changedIds.contains(id)).toList();
+            }
+        }
+
+        // Only the leftovers are read, once, to report why; none is retried. One still in a
+        // changeable status (or already in the target one) was moved there by another writer.
+        Map<Long, TaskStatus> actualStatuses = taskRepository.findStatusesByIds(remaining);
+        for (Long id : remaining) {
+            TaskStatus actual = actualStatuses.get(id);
+            if (actual == null) {
+                outcomes.put(id, BulkStatusOutcome.NOT_FOUND);
+            } else if (actual.isFinal()) {
+                outcomes.put(id, BulkStatusOutcome.NOT_ALLOWED);
+            }
+        }
+    }
+}
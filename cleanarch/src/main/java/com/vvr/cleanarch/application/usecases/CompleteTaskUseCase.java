@@ -1,32 +1,63 @@
 package com.vvr.cleanarch.application.usecases;
 
+import com.vvr.cleanarch.application.events.TaskChangePublisher;
+import com.vvr.cleanarch.application.stats.TaskStatusCounters;
 import com.vvr.cleanarch.domain.entities.Task;
 import com.vvr.cleanarch.domain.entities.TaskStatus;
 import com.vvr.cleanarch.domain.exceptions.InvalidTaskException;
+import com.vvr.cleanarch.domain.exceptions.TaskConflictException;
 import com.vvr.cleanarch.domain.exceptions.TaskNotFoundException;
+import com.vvr.cleanarch.domain.exceptions.TaskVersionMismatchException;
 import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import com.vvr.cleanarch.domain.repositories.TaskStatusChange;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
 
 public class CompleteTaskUseCase {
 
+    // One guarded write over all of them; it reports the status the task left, so the counters move
+    // without reading the task beforehand
+    private static final Set<TaskStatus> COMPLETABLE_STATUSES = Task.statusesWhere(Task::canBeCompleted);
+
     private final TaskRepository taskRepository;
+    private final TaskStatusCounters statusCounters;
+    private final TaskChangePublisher changePublisher;
 
-    public CompleteTaskUseCase(TaskRepository taskRepository) {
+    public CompleteTaskUseCase(TaskRepository taskRepository, TaskStatusCounters statusCounters,
+                               TaskChangePublisher changePublisher) {
         this.taskRepository = taskRepository;
+        this.statusCounters = statusCounters;
+        this.changePublisher = changePublisher;
     }
 
     public Task execute(Long taskId) {
+        return execute(taskId, null);
+    }
+
+    // expectedVersion is optional; when given, the task must still be at that version
+    public Task execute(Long taskId, Long expectedVersion) {
+        Optional<TaskStatusChange> completed = taskRepository.updateStatusIfCurrentIn(
+                taskId, expectedVersion, COMPLETABLE_STATUSES, TaskStatus.COMPLETED, LocalDateTime.now());
+        if (completed.isPresent()) {
+            TaskStatusChange change = completed.get();
+            statusCounters.changed(change.getPreviousStatus(), TaskStatus.COMPLETED, 1);
+            changePublisher.statusChanged(change.getTask(), change.getPreviousStatus());
+            return change.getTask();
+        }
+
+        // Nothing was updated: a single probe tells a missing task from a stale version or a rule violation
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new TaskNotFoundException(taskId));
-
+        if (!task.hasVersion(expectedVersion)) {
+            throw new TaskVersionMismatchException(taskId, expectedVersion, task.getVersion());
+        }
         if (!task.canBeCompleted()) {
             throw new InvalidTaskException("Task cannot be completed. Current status: " + task.getStatus());
         }
-
-        task.setStatus(TaskStatus.COMPLETED);
-        task.setUpdatedAt(LocalDateTime.now());
-
-        return taskRepository.save(task);
+        // Only reachable if the task got back into a completable status after the guarded write
+        // missed it, which cannot happen while COMPLETED and CANCELLED are final
+        throw new TaskConflictException(taskId);
     }
 }
@@ -1,19 +1,27 @@
 package com.vvr.cleanarch.application.usecases;
 
 import com.vvr.cleanarch.application.dto.CreateTaskRequest;
+import com.vvr.cleanarch.application.events.TaskChangePublisher;
+import com.vvr.cleanarch.application.stats.TaskStatusCounters;
 import com.vvr.cleanarch.domain.entities.Task;
 import com.vvr.cleanarch.domain.entities.TaskStatus;
 import com.vvr.cleanarch.domain.exceptions.InvalidTaskException;
 import com.vvr.cleanarch.domain.repositories.TaskRepository;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class CreateTaskUseCase {
 
     private final TaskRepository taskRepository;
+    private final TaskStatusCounters statusCounters;
+    private final TaskChangePublisher changePublisher;
 
-    public CreateTaskUseCase(TaskRepository taskRepository) {
+    public CreateTaskUseCase(TaskRepository taskRepository, TaskStatusCounters statusCounters,
+                             TaskChangePublisher changePublisher) {
         this.taskRepository = taskRepository;
+        this.statusCounters = statusCounters;
+        this.changePublisher = changePublisher;
     }
 
     public Task execute(CreateTaskRequest request) {
@@ -28,6 +36,9 @@ public class CreateTaskUseCase {
         task.setStatus(TaskStatus.PENDING);
         task.setCreatedAt(LocalDateTime.now());
 
-        return taskRepository.save(task);
+        Task saved = taskRepository.save(task);
+        statusCounters.created(saved.getStatus(), 1);
+        changePublisher.created(List.of(saved));
+        return saved;
     }
 }
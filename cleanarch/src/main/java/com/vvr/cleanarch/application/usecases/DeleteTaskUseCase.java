@@ -1,26 +1,59 @@
 package com.vvr.cleanarch.application.usecases;
 
+import com.vvr.cleanarch.application.events.TaskChangePublisher;
+import com.vvr.cleanarch.application.stats.TaskStatusCounters;
 import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
 import com.vvr.cleanarch.domain.exceptions.TaskCannotBeDeletedException;
+import com.vvr.cleanarch.domain.exceptions.TaskConflictException;
 import com.vvr.cleanarch.domain.exceptions.TaskNotFoundException;
+import com.vvr.cleanarch.domain.exceptions.TaskVersionMismatchException;
 import com.vvr.cleanarch.domain.repositories.TaskRepository;
 
+import java.util.Optional;
+import java.util.Set;
+
 public class DeleteTaskUseCase {
 
+    // One guarded DELETE over all of them; it reports the status the task had, which tells which
+    // counter to move
+    private static final Set<TaskStatus> DELETABLE_STATUSES = Task.statusesWhere(Task::canBeDeleted);
+
     private final TaskRepository taskRepository;
+    private final TaskStatusCounters statusCounters;
+    private final TaskChangePublisher changePublisher;
 
-    public DeleteTaskUseCase(TaskRepository taskRepository) {
+    public DeleteTaskUseCase(TaskRepository taskRepository, TaskStatusCounters statusCounters,
+                             TaskChangePublisher changePublisher) {
         this.taskRepository = taskRepository;
+        this.statusCounters = statusCounters;
+        this.changePublisher = changePublisher;
     }
 
     public void execute(Long taskId) {
+        execute(taskId, null);
+    }
+
+    // expectedVersion is optional; when given, the task must still be at that version
+    public void execute(Long taskId, Long expectedVersion) {
+        Optional<TaskStatus> deleted = taskRepository.deleteIfCurrentIn(taskId, expectedVersion, DELETABLE_STATUSES);
+        if (deleted.isPresent()) {
+            statusCounters.deleted(deleted.get());
+            changePublisher.deleted(taskId);
+            return;
+        }
+
+        // Nothing was deleted: a single probe tells a missing task from a stale version or a completed one
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new TaskNotFoundException(taskId));
-
+        if (!task.hasVersion(expectedVersion)) {
+            throw new TaskVersionMismatchException(taskId, expectedVersion, task.getVersion());
+        }
         if (!task.canBeDeleted()) {
             throw new TaskCannotBeDeletedException(taskId);
         }
-
-        taskRepository.deleteById(taskId);
+        // Only reachable if the task got back into a deletable status after the guarded DELETE
+        // missed it, which cannot happen while COMPLETED is final
+        throw new TaskConflictException(taskId);
     }
 }
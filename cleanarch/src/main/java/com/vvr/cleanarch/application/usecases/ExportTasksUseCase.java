@@ -0,0 +1,21 @@
+package com.vvr.cleanarch.application.usecases;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+
+import java.util.function.Consumer;
+
+public class ExportTasksUseCase {
+
+    private final TaskRepository taskRepository;
+
+    public ExportTasksUseCase(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    // Tasks are handed to the sink one at a time, so the export never holds the whole table
+    public void execute(TaskStatus status, Consumer<Task> sink) {
+        taskRepository.forEachTask(status, sink);
+    }
+}
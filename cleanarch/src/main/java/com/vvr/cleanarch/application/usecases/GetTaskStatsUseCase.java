@@ -0,0 +1,20 @@
+package com.vvr.cleanarch.application.usecases;
+
+import com.vvr.cleanarch.application.stats.TaskStatusCounters;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+
+import java.util.Map;
+
+public class GetTaskStatsUseCase {
+
+    private final TaskStatusCounters statusCounters;
+
+    public GetTaskStatsUseCase(TaskStatusCounters statusCounters) {
+        this.statusCounters = statusCounters;
+    }
+
+    // Answered from the in-memory counters; every status is present, with zero when it has no tasks
+    public Map<TaskStatus, Long> execute() {
+        return statusCounters.snapshot();
+    }
+}
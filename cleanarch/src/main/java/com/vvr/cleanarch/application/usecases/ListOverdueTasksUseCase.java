@@ -0,0 +1,29 @@
+package com.vvr.cleanarch.application.usecases;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.exceptions.InvalidPageRequestException;
+import com.vvr.cleanarch.domain.repositories.TaskCursor;
+import com.vvr.cleanarch.domain.repositories.TaskPage;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+
+import java.time.LocalDateTime;
+
+public class ListOverdueTasksUseCase {
+
+    private final TaskRepository taskRepository;
+
+    public ListOverdueTasksUseCase(TaskRepository taskRepository) {
+        this.taskRepository = taskRepository;
+    }
+
+    // Overdue tasks as of now, oldest first. The rule from Task.isOverdue(now) becomes a range
+    // over the (status, createdAt) index, so only the returned rows are read.
+    public TaskPage execute(LocalDateTime now, TaskCursor after, Integer limit) {
+        int pageSize = limit != null ? limit : ListTasksUseCase.DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > ListTasksUseCase.MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException("Limit must be between 1 and " + ListTasksUseCase.MAX_PAGE_SIZE);
+        }
+        return taskRepository.findPageCreatedBefore(TaskStatus.PENDING, Task.overdueCutoff(now), after, pageSize);
+    }
+}
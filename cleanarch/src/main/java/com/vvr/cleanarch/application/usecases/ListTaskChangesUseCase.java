@@ -0,0 +1,62 @@
+package com.vvr.cleanarch.application.usecases;
+
+import com.vvr.cleanarch.application.dto.TaskChangesResult;
+import com.vvr.cleanarch.application.dto.TaskChangesToken;
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.exceptions.InvalidPageRequestException;
+import com.vvr.cleanarch.domain.exceptions.SyncTokenExpiredException;
+import com.vvr.cleanarch.domain.repositories.TaskChange;
+import com.vvr.cleanarch.domain.repositories.TaskChanges;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ListTaskChangesUseCase {
+
+    public static final int DEFAULT_PAGE_SIZE = ListTasksUseCase.MAX_PAGE_SIZE;
+    public static final int MAX_PAGE_SIZE = ListTasksUseCase.MAX_PAGE_SIZE;
+
+    private final TaskRepository taskRepository;
+    private final Duration tombstoneRetention;
+
+    public ListTaskChangesUseCase(TaskRepository taskRepository, Duration tombstoneRetention) {
+        this.taskRepository = taskRepository;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    // Tasks written and ids deleted after the position in since, or every task when since is null.
+    // Reads a range of the change log, so the cost follows the number of changes, not the table size.
+    public TaskChangesResult execute(String since, Integer limit, LocalDateTime now) {
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        TaskChangesToken token = since != null ? TaskChangesToken.decode(since) : TaskChangesToken.start(now);
+        if (token.getValidFrom().isBefore(now.minus(tombstoneRetention))) {
+            throw new SyncTokenExpiredException();
+        }
+
+        TaskChanges changes = taskRepository.findChangesSince(token.getCursor(), pageSize);
+        if (changes.getCompleteSince() != null && token.getValidFrom().isBefore(changes.getCompleteSince())) {
+            throw new SyncTokenExpiredException();
+        }
+
+        List<Task> tasks = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        for (TaskChange change : changes.getChanges()) {
+            if (change.isDeletion()) {
+                deletedIds.add(change.getTaskId());
+            } else {
+                tasks.add(change.getTask());
+            }
+        }
+        // A page that stops short of the stable end leaves deletions behind that may be as old as
+        // the client's starting point, so the next token keeps vouching only from there
+        LocalDateTime validFrom = changes.hasMore() ? token.getValidFrom() : now;
+        String nextToken = new TaskChangesToken(changes.getNext(), validFrom).encode();
+        return new TaskChangesResult(tasks, deletedIds, nextToken, changes.hasMore());
+    }
+}
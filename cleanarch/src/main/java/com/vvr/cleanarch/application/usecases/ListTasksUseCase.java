@@ -2,13 +2,21 @@ package com.vvr.cleanarch.application.usecases;
 
 import com.vvr.cleanarch.domain.entities.Task;
 import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.exceptions.InvalidPageRequestException;
+import com.vvr.cleanarch.domain.repositories.TaskCursor;
+import com.vvr.cleanarch.domain.repositories.TaskPage;
 import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import com.vvr.cleanarch.domain.repositories.TaskRow;
+import com.vvr.cleanarch.domain.repositories.TaskSort;
 
-import java.util.Comparator;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class ListTasksUseCase {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
     private final TaskRepository taskRepository;
 
     public ListTasksUseCase(TaskRepository taskRepository) {
@@ -16,18 +24,32 @@ public class ListTasksUseCase {
     }
 
     public List<Task> execute(TaskStatus status) {
-        List<Task> tasks;
+        return execute(status, TaskSort.CREATED_AT);
+    }
 
+    public List<Task> execute(TaskStatus status, TaskSort sort) {
+        // Ordering is done by the database, which can walk an index instead of sorting in memory
         if (status != null) {
-            tasks = taskRepository.findByStatus(status);
-        } else {
-            tasks = taskRepository.findAll();
+            return taskRepository.findByStatus(status, sort);
         }
+        return taskRepository.findAll(sort);
+    }
 
-        // Return ordered by createdAt descending
-        return tasks.stream()
-                .sorted(Comparator.comparing(Task::getCreatedAt, 
-                        Comparator.nullsLast(Comparator.reverseOrder())))
-                .toList();
+    // Rows are handed to the sink one at a time and are only valid during the call, so a whole
+    // listing can be written out without ever being held in memory
+    public void execute(TaskStatus status, TaskSort sort, Consumer<TaskRow> sink) {
+        taskRepository.forEachRow(status, sort, sink);
+    }
+
+    public TaskPage execute(TaskStatus status, TaskSort sort, TaskCursor after, Integer limit) {
+        // Cursors encode a (createdAt, id) position, so pages can only follow that ordering
+        if (sort != TaskSort.CREATED_AT) {
+            throw new InvalidPageRequestException("Cursor pagination only supports sort=createdAt");
+        }
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return taskRepository.findPage(status, after, pageSize);
     }
 }
@@ -0,0 +1,26 @@
+package com.vvr.cleanarch.application.usecases;
+
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public class PurgeDeletedTasksUseCase {
+
+    // Deletes still in flight when a sync token was issued are stamped a moment before it; keeping
+    // tombstones a little past the retention window covers them for as long as the token is accepted
+    static final Duration IN_FLIGHT_MARGIN = Duration.ofMinutes(5);
+
+    private final TaskRepository taskRepository;
+    private final Duration tombstoneRetention;
+
+    public PurgeDeletedTasksUseCase(TaskRepository taskRepository, Duration tombstoneRetention) {
+        this.taskRepository = taskRepository;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    // Drops tombstones no accepted sync token can still need; returns how many were removed
+    public int execute(LocalDateTime now) {
+        return taskRepository.purgeDeletionsBefore(now.minus(tombstoneRetention).minus(IN_FLIGHT_MARGIN));
+    }
+}
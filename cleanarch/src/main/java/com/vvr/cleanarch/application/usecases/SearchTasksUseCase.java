@@ -0,0 +1,63 @@
+package com.vvr.cleanarch.application.usecases;
+
+import com.vvr.cleanarch.application.dto.TaskSearchResult;
+import com.vvr.cleanarch.application.search.TaskSearchHits;
+import com.vvr.cleanarch.application.search.TaskSearchIndex;
+import com.vvr.cleanarch.application.search.TaskTextAnalyzer;
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.exceptions.InvalidPageRequestException;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SearchTasksUseCase {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    // Ranking keeps offset + limit candidates in memory, so deep pages are refused
+    public static final int MAX_OFFSET = 1000;
+
+    private final TaskSearchIndex searchIndex;
+    private final TaskRepository taskRepository;
+
+    public SearchTasksUseCase(TaskSearchIndex searchIndex, TaskRepository taskRepository) {
+        this.searchIndex = searchIndex;
+        this.taskRepository = taskRepository;
+    }
+
+    public TaskSearchResult execute(String query, Integer limit, Integer offset) {
+        if (TaskTextAnalyzer.tokens(query).isEmpty()) {
+            throw new InvalidPageRequestException("Search query must contain at least one letter or digit");
+        }
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > ListTasksUseCase.MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException("Limit must be between 1 and " + ListTasksUseCase.MAX_PAGE_SIZE);
+        }
+        int skip = offset != null ? offset : 0;
+        if (skip < 0 || skip > MAX_OFFSET) {
+            throw new InvalidPageRequestException("Offset must be between 0 and " + MAX_OFFSET);
+        }
+
+        TaskSearchHits hits = searchIndex.search(query, skip, pageSize);
+        if (hits.getIds().isEmpty()) {
+            return new TaskSearchResult(List.of(), hits.getTotal());
+        }
+
+        // One batch lookup (mostly cache hits) for the page, put back in ranking order. A task
+        // deleted since it was ranked is simply left out.
+        Map<Long, Task> byId = new HashMap<>();
+        for (Task task : taskRepository.findAllByIds(hits.getIds())) {
+            byId.put(task.getId(), task);
+        }
+        List<Task> tasks = new ArrayList<>(hits.getIds().size());
+        for (Long id : hits.getIds()) {
+            Task task = byId.get(id);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return new TaskSearchResult(tasks, hits.getTotal());
+    }
+}
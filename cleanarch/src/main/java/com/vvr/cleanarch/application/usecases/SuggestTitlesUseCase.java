@@ -0,0 +1,30 @@
+package com.vvr.cleanarch.application.usecases;
+
+import com.vvr.cleanarch.application.search.TitleSuggestionIndex;
+import com.vvr.cleanarch.domain.exceptions.InvalidPageRequestException;
+
+import java.util.List;
+
+public class SuggestTitlesUseCase {
+
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private final TitleSuggestionIndex suggestionIndex;
+
+    public SuggestTitlesUseCase(TitleSuggestionIndex suggestionIndex) {
+        this.suggestionIndex = suggestionIndex;
+    }
+
+    // Existing titles starting with prefix, most recently used first
+    public List<String> execute(String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new InvalidPageRequestException("Prefix must not be blank");
+        }
+        int max = limit != null ? limit : DEFAULT_LIMIT;
+        if (max < 1 || max > MAX_LIMIT) {
+            throw new InvalidPageRequestException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        return suggestionIndex.suggest(prefix, max);
+    }
+}
@@ -1,38 +1,67 @@
 package com.vvr.cleanarch.application.usecases;
 
 import com.vvr.cleanarch.application.dto.UpdateStatusRequest;
+import com.vvr.cleanarch.application.events.TaskChangePublisher;
+import com.vvr.cleanarch.application.stats.TaskStatusCounters;
 import com.vvr.cleanarch.domain.entities.Task;
 import com.vvr.cleanarch.domain.entities.TaskStatus;
 import com.vvr.cleanarch.domain.exceptions.InvalidTaskException;
+import com.vvr.cleanarch.domain.exceptions.TaskConflictException;
 import com.vvr.cleanarch.domain.exceptions.TaskNotFoundException;
+import com.vvr.cleanarch.domain.exceptions.TaskVersionMismatchException;
 import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import com.vvr.cleanarch.domain.repositories.TaskStatusChange;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
 
 public class UpdateStatusUseCase {
 
+    // Additional rule: besides cancelled ones, completed tasks cannot change to other statuses
+    private static final Set<TaskStatus> CHANGEABLE_STATUSES = Task.statusesWhere(
+            task -> task.canChangeStatus() && task.getStatus() != TaskStatus.COMPLETED);
+
     private final TaskRepository taskRepository;
+    private final TaskStatusCounters statusCounters;
+    private final TaskChangePublisher changePublisher;
 
-    public UpdateStatusUseCase(TaskRepository taskRepository) {
+    public UpdateStatusUseCase(TaskRepository taskRepository, TaskStatusCounters statusCounters,
+                               TaskChangePublisher changePublisher) {
         this.taskRepository = taskRepository;
+        this.statusCounters = statusCounters;
+        this.changePublisher = changePublisher;
     }
 
     public Task execute(Long taskId, UpdateStatusRequest request) {
+        return execute(taskId, request, null);
+    }
+
+    // expectedVersion is optional; when given, the task must still be at that version
+    public Task execute(Long taskId, UpdateStatusRequest request, Long expectedVersion) {
+        Optional<TaskStatusChange> updated = taskRepository.updateStatusIfCurrentIn(
+                taskId, expectedVersion, CHANGEABLE_STATUSES, request.getStatus(), LocalDateTime.now());
+        if (updated.isPresent()) {
+            TaskStatusChange change = updated.get();
+            statusCounters.changed(change.getPreviousStatus(), request.getStatus(), 1);
+            changePublisher.statusChanged(change.getTask(), change.getPreviousStatus());
+            return change.getTask();
+        }
+
+        // Nothing was updated: a single probe tells a missing task from a stale version or a rule violation
         Task task = taskRepository.findById(taskId)
                 .orElseThrow(() -> new TaskNotFoundException(taskId));
-
+        if (!task.hasVersion(expectedVersion)) {
+            throw new TaskVersionMismatchException(taskId, expectedVersion, task.getVersion());
+        }
         if (!task.canChangeStatus()) {
             throw new InvalidTaskException("Cancelled tasks cannot change status");
         }
-
-        // Additional rule: Completed tasks cannot change to other statuses
         if (task.getStatus() == TaskStatus.COMPLETED) {
             throw new InvalidTaskException("Completed tasks cannot change status");
         }
-
-        task.setStatus(request.getStatus());
-        task.setUpdatedAt(LocalDateTime.now());
-
-        return taskRepository.save(task);
+        // Only reachable if the task got back into a changeable status after the guarded write
+        // missed it, which cannot happen while COMPLETED and CANCELLED are final
+        throw new TaskConflictException(taskId);
     }
 }
@@ -1,33 +1,49 @@
 package com.vvr.cleanarch.application.usecases;
 
 import com.vvr.cleanarch.application.dto.UpdateTaskRequest;
+import com.vvr.cleanarch.application.events.TaskChangePublisher;
 import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
 import com.vvr.cleanarch.domain.exceptions.InvalidTaskException;
 import com.vvr.cleanarch.domain.exceptions.TaskNotFoundException;
+import com.vvr.cleanarch.domain.exceptions.TaskVersionMismatchException;
 import com.vvr.cleanarch.domain.repositories.TaskRepository;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.Set;
 
 public class UpdateTaskUseCase {
 
+    private static final Set<TaskStatus> UPDATABLE_STATUSES = Task.statusesWhere(Task::canChangeStatus);
+
     private final TaskRepository taskRepository;
+    private final TaskChangePublisher changePublisher;
 
-    public UpdateTaskUseCase(TaskRepository taskRepository) {
+    public UpdateTaskUseCase(TaskRepository taskRepository, TaskChangePublisher changePublisher) {
         this.taskRepository = taskRepository;
+        this.changePublisher = changePublisher;
     }
 
     public Task execute(Long taskId, UpdateTaskRequest request) {
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new TaskNotFoundException(taskId));
+        return execute(taskId, request, null);
+    }
 
-        if (!task.canChangeStatus()) {
-            throw new InvalidTaskException("Cancelled tasks cannot be updated");
+    // expectedVersion is optional; when given, the task must still be at that version
+    public Task execute(Long taskId, UpdateTaskRequest request, Long expectedVersion) {
+        Optional<Task> updated = taskRepository.updateDetailsIfCurrentIn(
+                taskId, expectedVersion, UPDATABLE_STATUSES, request.getTitle(), request.getDescription(), LocalDateTime.now());
+        if (updated.isPresent()) {
+            changePublisher.updated(updated.get());
+            return updated.get();
         }
 
-        task.setTitle(request.getTitle());
-        task.setDescription(request.getDescription());
-        task.setUpdatedAt(LocalDateTime.now());
-
-        return taskRepository.save(task);
+        // Nothing was updated: a single probe tells a missing task from a rule violation
+        Task task = taskRepository.findById(taskId)
+                .orElseThrow(() -> new TaskNotFoundException(taskId));
+        if (!task.hasVersion(expectedVersion)) {
+            throw new TaskVersionMismatchException(taskId, expectedVersion, task.getVersion());
+        }
+        throw new InvalidTaskException("Cancelled tasks cannot be updated");
     }
 }
@@ -0,0 +1,18 @@
+package com.vvr.cleanarch.config;
+
+import com.vvr.cleanarch.presentation.binary.TaskBinaryCodec;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class BinaryFormatsConfig {
+
+    // CBOR, Smile and Protobuf task bodies; epoch milliseconds are taken in the zone of the clock
+    // that stamps createdAt and updatedAt
+    @Bean
+    public TaskBinaryCodec taskBinaryCodec(Clock clock) {
+        return new TaskBinaryCodec(clock.getZone());
+    }
+}
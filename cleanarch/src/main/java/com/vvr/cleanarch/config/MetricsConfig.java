@@ -0,0 +1,122 @@
+package com.vvr.cleanarch.config;
+
+import com.vvr.cleanarch.application.events.TaskEventFeed;
+import com.vvr.cleanarch.application.stats.TaskStatusCounters;
+import com.vvr.cleanarch.application.usecases.CreateTaskUseCase;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import com.vvr.cleanarch.infrastructure.cache.CachingTaskRepository;
+import com.vvr.cleanarch.infrastructure.metrics.MeteredTaskRepository;
+import com.vvr.cleanarch.infrastructure.metrics.UseCaseMetricsInterceptor;
+import com.vvr.cleanarch.presentation.cache.TaskListResponseCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Metrics are added around the plain objects built in UseCaseConfig, never inside them: use cases
+// get a timing proxy and storage adapters a MeteredTaskRepository. Connection pool, Tomcat and JVM
+// metrics come from Spring Boot; everything is scraped at /actuator/prometheus.
+@Configuration
+@ConditionalOnProperty(prefix = "tasks.metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MetricsConfig {
+
+    private static final String USE_CASE_PACKAGE = CreateTaskUseCase.class.getPackageName();
+
+    // Wraps the storage adapter itself, so the cache in front of it and its hit rate stay visible separately
+    @Bean
+    public static BeanPostProcessor meteredTaskStore(ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof TaskRepository taskRepository && !(bean instanceof CachingTaskRepository)) {
+                    return new MeteredTaskRepository(taskRepository, registry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public static BeanPostProcessor meteredUseCases(ObjectProvider<MeterRegistry> registry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!bean.getClass().getPackageName().equals(USE_CASE_PACKAGE)) {
+                    return bean;
+                }
+                ProxyFactory proxyFactory = new ProxyFactory(bean);
+                proxyFactory.setProxyTargetClass(true);
+                proxyFactory.addAdvice(new UseCaseMetricsInterceptor(registry.getObject(), bean.getClass().getSimpleName()));
+                return proxyFactory.getProxy(bean.getClass().getClassLoader());
+            }
+        };
+    }
+
+    // Same meter names as Micrometer's own cache binders, tagged cache=tasks
+    @Bean
+    public MeterBinder taskCacheMetrics(ObjectProvider<CachingTaskRepository> cachingTaskRepository) {
+        return registry -> cachingTaskRepository.ifAvailable(cache -> {
+            FunctionCounter.builder("cache.gets", cache, c -> c.stats().hitCount())
+                    .tag("cache", "tasks").tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", cache, c -> c.stats().missCount())
+                    .tag("cache", "tasks").tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", cache, c -> c.stats().evictionCount())
+                    .tag("cache", "tasks")
+                    .register(registry);
+            Gauge.builder("cache.size", cache, CachingTaskRepository::estimatedSize)
+                    .tag("cache", "tasks")
+                    .register(registry);
+        });
+    }
+
+    @Bean
+    public MeterBinder taskListCacheMetrics(TaskListResponseCache taskListResponseCache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", taskListResponseCache, c -> c.stats().hitCount())
+                    .tag("cache", "task-lists").tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", taskListResponseCache, c -> c.stats().missCount())
+                    .tag("cache", "task-lists").tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", taskListResponseCache, c -> c.stats().evictionCount())
+                    .tag("cache", "task-lists")
+                    .register(registry);
+            Gauge.builder("cache.size", taskListResponseCache, TaskListResponseCache::estimatedSize)
+                    .tag("cache", "task-lists")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder taskStatusMetrics(TaskStatusCounters taskStatusCounters) {
+        return registry -> {
+            for (TaskStatus status : TaskStatus.values()) {
+                Gauge.builder("tasks.count", taskStatusCounters, counters -> counters.snapshot().get(status))
+                        .description("Tasks currently in each status")
+                        .tag("status", status.name())
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder taskEventMetrics(TaskEventFeed taskEventFeed) {
+        return registry -> {
+            Gauge.builder("tasks.events.subscribers", taskEventFeed, TaskEventFeed::subscriberCount)
+                    .description("Clients connected to the change feed")
+                    .register(registry);
+            FunctionCounter.builder("tasks.events.evictions", taskEventFeed, TaskEventFeed::evictionCount)
+                    .description("Change feed clients dropped for falling behind")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,55 @@
+package com.vvr.cleanarch.config;
+
+import com.vvr.cleanarch.infrastructure.diagnostics.QueryStatsListener;
+import com.vvr.cleanarch.infrastructure.diagnostics.ServerTimingFilter;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Per-request JDBC statistics: the DataSource is wrapped in a datasource-proxy that reports every
+// statement to QueryStatsListener, and ServerTimingFilter scopes and reports them per request.
+@Configuration
+@ConditionalOnProperty(prefix = "tasks.query-diagnostics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryDiagnosticsConfig {
+
+    @Bean
+    public QueryStatsListener queryStatsListener(
+            @Value("${tasks.query-diagnostics.slow-query-threshold:200ms}") Duration slowQueryThreshold) {
+        return new QueryStatsListener(slowQueryThreshold);
+    }
+
+    // Wraps the pool Spring Boot creates; JPA, Flyway and everything else then share the proxy
+    @Bean
+    public static BeanPostProcessor queryStatsDataSource(ObjectProvider<QueryStatsListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    QueryStatsListener queryStatsListener = listener.getObject();
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(queryStatsListener)
+                            .methodListener(queryStatsListener)
+                            .proxyResultSet()
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public ServerTimingFilter serverTimingFilter(
+            @Value("${tasks.query-diagnostics.server-timing:true}") boolean serverTimingHeader,
+            @Value("${tasks.query-diagnostics.repeated-statement-threshold:10}") int repeatedStatementThreshold) {
+        return new ServerTimingFilter(serverTimingHeader, repeatedStatementThreshold);
+    }
+}
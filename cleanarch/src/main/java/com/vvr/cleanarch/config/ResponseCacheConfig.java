@@ -0,0 +1,28 @@
+package com.vvr.cleanarch.config;
+
+import com.vvr.cleanarch.application.events.TaskDataVersion;
+import com.vvr.cleanarch.presentation.cache.TaskListResponseCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+
+@Configuration
+public class ResponseCacheConfig {
+
+    // Rendered pages of GET /api/tasks, reused until the next write. Sized by bytes held (JSON
+    // plus gzip); entries outdated by a write are never read again and are the first to go.
+    @Bean
+    public TaskListResponseCache taskListResponseCache(
+            TaskDataVersion taskDataVersion,
+            JsonMapper jsonMapper,
+            @Value("${tasks.list-cache.enabled:true}") boolean enabled,
+            @Value("${tasks.list-cache.maximum-size:32MB}") DataSize maximumSize,
+            @Value("${tasks.list-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        return new TaskListResponseCache(taskDataVersion, jsonMapper,
+                enabled ? maximumSize.toBytes() : 0, expireAfterWrite);
+    }
+}
@@ -0,0 +1,29 @@
+package com.vvr.cleanarch.config;
+
+import com.vvr.cleanarch.application.usecases.PurgeDeletedTasksUseCase;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    private final PurgeDeletedTasksUseCase purgeDeletedTasksUseCase;
+    private final Clock clock;
+
+    public SchedulingConfig(PurgeDeletedTasksUseCase purgeDeletedTasksUseCase, Clock clock) {
+        this.purgeDeletedTasksUseCase = purgeDeletedTasksUseCase;
+        this.clock = clock;
+    }
+
+    // Drops delete tombstones once they are past the delta sync retention window
+    @Scheduled(initialDelayString = "${tasks.changes.purge-interval:1h}",
+            fixedDelayString = "${tasks.changes.purge-interval:1h}")
+    public void purgeDeletedTasks() {
+        purgeDeletedTasksUseCase.execute(LocalDateTime.now(clock));
+    }
+}
@@ -1,32 +1,122 @@
 package com.vvr.cleanarch.config;
 
+import com.vvr.cleanarch.application.events.TaskChangeListener;
+import com.vvr.cleanarch.application.events.TaskChangePublisher;
+import com.vvr.cleanarch.application.events.TaskDataVersion;
+import com.vvr.cleanarch.application.events.TaskEventFeed;
+import com.vvr.cleanarch.application.search.TaskSearchIndex;
+import com.vvr.cleanarch.application.search.TitleSuggestionIndex;
+import com.vvr.cleanarch.application.stats.TaskStatusCounters;
+import com.vvr.cleanarch.application.usecases.BatchCreateTasksUseCase;
+import com.vvr.cleanarch.application.usecases.BulkUpdateStatusUseCase;
 import com.vvr.cleanarch.application.usecases.CompleteTaskUseCase;
 import com.vvr.cleanarch.application.usecases.CreateTaskUseCase;
 import com.vvr.cleanarch.application.usecases.DeleteTaskUseCase;
+import com.vvr.cleanarch.application.usecases.ExportTasksUseCase;
 import com.vvr.cleanarch.application.usecases.GetTaskByIdUseCase;
+import com.vvr.cleanarch.application.usecases.GetTaskStatsUseCase;
+import com.vvr.cleanarch.application.usecases.ListOverdueTasksUseCase;
+import com.vvr.cleanarch.application.usecases.ListTaskChangesUseCase;
 import com.vvr.cleanarch.application.usecases.ListTasksUseCase;
+import com.vvr.cleanarch.application.usecases.PurgeDeletedTasksUseCase;
+import com.vvr.cleanarch.application.usecases.SearchTasksUseCase;
+import com.vvr.cleanarch.application.usecases.SuggestTitlesUseCase;
 import com.vvr.cleanarch.application.usecases.UpdateStatusUseCase;
 import com.vvr.cleanarch.application.usecases.UpdateTaskUseCase;
 import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import com.vvr.cleanarch.infrastructure.cache.CachingTaskRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Clock;
+import java.time.Duration;
 
 @Configuration
 public class UseCaseConfig {
 
+    // Use cases see the cached repository; the storage adapter is registered as "taskStore"
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "tasks.cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public CachingTaskRepository cachingTaskRepository(
+            @Qualifier("taskStore") TaskRepository taskStore,
+            @Value("${tasks.cache.maximum-size:10000}") long maximumSize,
+            @Value("${tasks.cache.expire-after-write:10m}") Duration expireAfterWrite,
+            @Value("${tasks.cache.missing-expire-after-write:30s}") Duration missingExpireAfterWrite) {
+        return new CachingTaskRepository(taskStore, maximumSize, expireAfterWrite, missingExpireAfterWrite);
+    }
+
+    // Source of "now" for request handling; read once per request so every task in a response
+    // is judged against the same instant
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+
+    // Seeded once at startup with a GROUP BY, then kept current by the use cases that write
+    @Bean
+    public TaskStatusCounters taskStatusCounters(TaskRepository taskRepository) {
+        return TaskStatusCounters.initializedFrom(taskRepository);
+    }
+
+    // Built from a single pass over the stored tasks, then kept current through the change publisher
+    @Bean
+    public TaskSearchIndex taskSearchIndex(TaskRepository taskRepository) {
+        return TaskSearchIndex.initializedFrom(taskRepository);
+    }
+
+    @Bean
+    public TitleSuggestionIndex titleSuggestionIndex(TaskRepository taskRepository) {
+        return TitleSuggestionIndex.initializedFrom(taskRepository);
+    }
+
+    // Change feed streamed by GET /api/tasks/events
+    @Bean
+    public TaskEventFeed taskEventFeed(
+            @Value("${tasks.events.history-size:1000}") int historySize,
+            @Value("${tasks.events.subscriber-buffer-size:256}") int subscriberBufferSize,
+            @Value("${tasks.events.max-subscribers:1000}") int maxSubscribers) {
+        return new TaskEventFeed(historySize, subscriberBufferSize, maxSubscribers);
+    }
+
+    // Bumped by every write; lets derived views such as the list response cache tell they are outdated
+    @Bean
+    public TaskDataVersion taskDataVersion() {
+        return new TaskDataVersion();
+    }
+
+    // Every TaskChangeListener bean hears about the writes made by the use cases
+    @Bean
+    public TaskChangePublisher taskChangePublisher(ObjectProvider<TaskChangeListener> listeners) {
+        return new TaskChangePublisher(listeners.orderedStream().toList());
+    }
+
+    @Bean
+    public CreateTaskUseCase createTaskUseCase(TaskRepository taskRepository, TaskStatusCounters taskStatusCounters,
+                                               TaskChangePublisher taskChangePublisher) {
+        return new CreateTaskUseCase(taskRepository, taskStatusCounters, taskChangePublisher);
+    }
+
     @Bean
-    public CreateTaskUseCase createTaskUseCase(TaskRepository taskRepository) {
-        return new CreateTaskUseCase(taskRepository);
+    public BatchCreateTasksUseCase batchCreateTasksUseCase(TaskRepository taskRepository, TaskStatusCounters taskStatusCounters,
+                                                           TaskChangePublisher taskChangePublisher) {
+        return new BatchCreateTasksUseCase(taskRepository, taskStatusCounters, taskChangePublisher);
     }
 
     @Bean
-    public UpdateTaskUseCase updateTaskUseCase(TaskRepository taskRepository) {
-        return new UpdateTaskUseCase(taskRepository);
+    public UpdateTaskUseCase updateTaskUseCase(TaskRepository taskRepository, TaskChangePublisher taskChangePublisher) {
+        return new UpdateTaskUseCase(taskRepository, taskChangePublisher);
     }
 
     @Bean
-    public CompleteTaskUseCase completeTaskUseCase(TaskRepository taskRepository) {
-        return new CompleteTaskUseCase(taskRepository);
+    public CompleteTaskUseCase completeTaskUseCase(TaskRepository taskRepository, TaskStatusCounters taskStatusCounters,
+                                                   TaskChangePublisher taskChangePublisher) {
+        return new CompleteTaskUseCase(taskRepository, taskStatusCounters, taskChangePublisher);
     }
 
     @Bean
@@ -35,8 +125,38 @@ public class UseCaseConfig {
     }
 
     @Bean
-    public DeleteTaskUseCase deleteTaskUseCase(TaskRepository taskRepository) {
-        return new DeleteTaskUseCase(taskRepository);
+    public ListOverdueTasksUseCase listOverdueTasksUseCase(TaskRepository taskRepository) {
+        return new ListOverdueTasksUseCase(taskRepository);
+    }
+
+    @Bean
+    public ListTaskChangesUseCase listTaskChangesUseCase(
+            TaskRepository taskRepository,
+            @Value("${tasks.changes.tombstone-retention:30d}") Duration tombstoneRetention) {
+        return new ListTaskChangesUseCase(taskRepository, tombstoneRetention);
+    }
+
+    @Bean
+    public PurgeDeletedTasksUseCase purgeDeletedTasksUseCase(
+            TaskRepository taskRepository,
+            @Value("${tasks.changes.tombstone-retention:30d}") Duration tombstoneRetention) {
+        return new PurgeDeletedTasksUseCase(taskRepository, tombstoneRetention);
+    }
+
+    @Bean
+    public SearchTasksUseCase searchTasksUseCase(TaskSearchIndex taskSearchIndex, TaskRepository taskRepository) {
+        return new SearchTasksUseCase(taskSearchIndex, taskRepository);
+    }
+
+    @Bean
+    public SuggestTitlesUseCase suggestTitlesUseCase(TitleSuggestionIndex titleSuggestionIndex) {
+        return new SuggestTitlesUseCase(titleSuggestionIndex);
+    }
+
+    @Bean
+    public DeleteTaskUseCase deleteTaskUseCase(TaskRepository taskRepository, TaskStatusCounters taskStatusCounters,
+                                               TaskChangePublisher taskChangePublisher) {
+        return new DeleteTaskUseCase(taskRepository, taskStatusCounters, taskChangePublisher);
     }
 
     @Bean
@@ -45,7 +165,24 @@ public class UseCaseConfig {
     }
 
     @Bean
-    public UpdateStatusUseCase updateStatusUseCase(TaskRepository taskRepository) {
-        return new UpdateStatusUseCase(taskRepository);
+    public UpdateStatusUseCase updateStatusUseCase(TaskRepository taskRepository, TaskStatusCounters taskStatusCounters,
+                                                   TaskChangePublisher taskChangePublisher) {
+        return new UpdateStatusUseCase(taskRepository, taskStatusCounters, taskChangePublisher);
+    }
+
+    @Bean
+    public ExportTasksUseCase exportTasksUseCase(TaskRepository taskRepository) {
+        return new ExportTasksUseCase(taskRepository);
+    }
+
+    @Bean
+    public BulkUpdateStatusUseCase bulkUpdateStatusUseCase(TaskRepository taskRepository, TaskStatusCounters taskStatusCounters,
+                                                           TaskChangePublisher taskChangePublisher) {
+        return new BulkUpdateStatusUseCase(taskRepository, taskStatusCounters, taskChangePublisher);
+    }
+
+    @Bean
+    public GetTaskStatsUseCase getTaskStatsUseCase(TaskStatusCounters taskStatusCounters) {
+        return new GetTaskStatsUseCase(taskStatusCounters);
     }
 }
@@ -0,0 +1,24 @@
+package com.vvr.cleanarch.config;
+
+import com.vvr.cleanarch.infrastructure.diagnostics.VirtualThreadPinningMonitor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// Only relevant when Tomcat and the async executor run on virtual threads (the "virtual" profile)
+@Configuration
+@ConditionalOnProperty(prefix = "spring.threads.virtual", name = "enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "tasks.virtual-threads.pinning-monitor", name = "enabled",
+            havingValue = "true", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${tasks.virtual-threads.pinning-monitor.threshold:20ms}") Duration threshold,
+            @Value("${tasks.virtual-threads.pinning-monitor.stack-depth:12}") int stackDepth) {
+        return new VirtualThreadPinningMonitor(threshold, stackDepth);
+    }
+}
@@ -1,28 +1,50 @@
 package com.vvr.cleanarch.domain.entities;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Predicate;
 
 public class Task {
 
+    public static final Duration OVERDUE_AFTER = Duration.ofDays(7);
+
     private Long id;
     private String title;
     private String description;
     private TaskStatus status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
     public Task() {
     }
 
     public Task(Long id, String title, String description, TaskStatus status,
                 LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, title, description, status, createdAt, updatedAt, null);
+    }
+
+    public Task(Long id, String title, String description, TaskStatus status,
+                LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
         this.id = id;
         this.title = title;
         this.description = description;
         this.status = status;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.version = version;
+    }
+
+    // Task is mutable; stores that keep instances around hand out copies
+    public Task copy() {
+        return new Task(id, title, description, status, createdAt, updatedAt, version);
+    }
+
+    // Optimistic concurrency: a write carrying an expected version only applies to that version
+    public boolean hasVersion(Long expectedVersion) {
+        return expectedVersion == null || expectedVersion.equals(this.version);
     }
 
     // Business rule: Task can only be completed if status is PENDING or IN_PROGRESS
@@ -32,11 +54,22 @@ public class Task {
 
     // Business rule: Task is considered overdue if PENDING for more than 7 days
     public boolean isOverdue() {
-        if (this.status != TaskStatus.PENDING || this.createdAt == null) {
-            return false;
-        }
-        long daysSinceCreation = ChronoUnit.DAYS.between(this.createdAt, LocalDateTime.now());
-        return daysSinceCreation > 7;
+        return isOverdue(LocalDateTime.now());
+    }
+
+    // Same rule against a given instant, so a whole response can be evaluated against one clock read
+    public boolean isOverdue(LocalDateTime now) {
+        return isOverdue(this.status, this.createdAt, overdueCutoff(now));
+    }
+
+    // PENDING tasks created before this instant are overdue at now
+    public static LocalDateTime overdueCutoff(LocalDateTime now) {
+        return now.minus(OVERDUE_AFTER);
+    }
+
+    // The same rule on bare column values, for readers that never build a Task
+    public static boolean isOverdue(TaskStatus status, LocalDateTime createdAt, LocalDateTime cutoff) {
+        return status == TaskStatus.PENDING && createdAt != null && createdAt.isBefore(cutoff);
     }
 
     // Business rule: Once CANCELLED, task cannot change status
@@ -49,6 +82,20 @@ public class Task {
         return this.status != TaskStatus.COMPLETED;
     }
 
+    // Statuses for which a business rule holds, e.g. statusesWhere(Task::canBeCompleted).
+    // Lets a repository enforce the same rule inside a conditional write.
+    public static Set<TaskStatus> statusesWhere(Predicate<Task> rule) {
+        Set<TaskStatus> statuses = EnumSet.noneOf(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            Task probe = new Task();
+            probe.setStatus(status);
+            if (rule.test(probe)) {
+                statuses.add(status);
+            }
+        }
+        return statuses;
+    }
+
     // Getters and setters
     public Long getId() {
         return id;
@@ -97,4 +144,12 @@ public class Task {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
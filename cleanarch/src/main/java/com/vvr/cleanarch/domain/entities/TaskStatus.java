@@ -4,5 +4,10 @@ public enum TaskStatus {
     PENDING,
     IN_PROGRESS,
     COMPLETED,
-    CANCELLED
+    CANCELLED;
+
+    // Business rule: COMPLETED and CANCELLED tasks cannot change status anymore
+    public boolean isFinal() {
+        return this == COMPLETED || this == CANCELLED;
+    }
 }
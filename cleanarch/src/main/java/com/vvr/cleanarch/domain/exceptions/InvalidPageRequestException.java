@@ -0,0 +1,8 @@
+package com.vvr.cleanarch.domain.exceptions;
+
+public class InvalidPageRequestException extends RuntimeException {
+
+    public InvalidPageRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.vvr.cleanarch.domain.exceptions;
+
+public class SyncTokenExpiredException extends RuntimeException {
+
+    public SyncTokenExpiredException() {
+        super("Sync token expired, some deletions may be gone; start over without 'since'");
+    }
+}
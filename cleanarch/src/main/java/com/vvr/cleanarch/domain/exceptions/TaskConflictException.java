@@ -0,0 +1,12 @@
+package com.vvr.cleanarch.domain.exceptions;
+
+public class TaskConflictException extends RuntimeException {
+
+    public TaskConflictException(Long id) {
+        super("Task with id " + id + " was modified concurrently, please retry");
+    }
+
+    public TaskConflictException(String message) {
+        super(message);
+    }
+}
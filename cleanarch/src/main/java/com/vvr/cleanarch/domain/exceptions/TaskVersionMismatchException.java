@@ -0,0 +1,13 @@
+package com.vvr.cleanarch.domain.exceptions;
+
+public class TaskVersionMismatchException extends RuntimeException {
+
+    public TaskVersionMismatchException(Long id, Long expectedVersion, Long currentVersion) {
+        super("Task with id " + id + " is at version " + currentVersion
+                + " but version " + expectedVersion + " was expected");
+    }
+
+    public TaskVersionMismatchException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,41 @@
+package com.vvr.cleanarch.domain.repositories;
+
+import com.vvr.cleanarch.domain.entities.Task;
+
+// One entry of the change log: the current state of a task written at some sequence, or a
+// tombstone left by its deletion
+public final class TaskChange {
+
+    private final TaskChangeCursor cursor;
+    private final Task task;
+
+    private TaskChange(TaskChangeCursor cursor, Task task) {
+        this.cursor = cursor;
+        this.task = task;
+    }
+
+    public static TaskChange changed(long sequence, Task task) {
+        return new TaskChange(new TaskChangeCursor(sequence, task.getId()), task);
+    }
+
+    public static TaskChange deleted(long sequence, Long taskId) {
+        return new TaskChange(new TaskChangeCursor(sequence, taskId), null);
+    }
+
+    public TaskChangeCursor getCursor() {
+        return cursor;
+    }
+
+    public Long getTaskId() {
+        return cursor.getId();
+    }
+
+    public boolean isDeletion() {
+        return task == null;
+    }
+
+    // Null for a deletion
+    public Task getTask() {
+        return task;
+    }
+}
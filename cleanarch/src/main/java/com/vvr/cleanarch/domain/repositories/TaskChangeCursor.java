@@ -0,0 +1,38 @@
+package com.vvr.cleanarch.domain.repositories;
+
+import java.util.Comparator;
+
+/**
+ * Position in the change log, ordered by (sequence, id). Several tasks changed by one
+ * set-based update share a sequence, so the id breaks the tie.
+ */
+public final class TaskChangeCursor {
+
+    public static final Comparator<TaskChangeCursor> LOG_ORDER = Comparator
+            .comparingLong(TaskChangeCursor::getSequence)
+            .thenComparingLong(TaskChangeCursor::getId);
+
+    // Before every change, including rows that predate the change log and carry sequence 0
+    public static final TaskChangeCursor START = new TaskChangeCursor(0L, 0L);
+
+    private final long sequence;
+    private final long id;
+
+    public TaskChangeCursor(long sequence, long id) {
+        this.sequence = sequence;
+        this.id = id;
+    }
+
+    // Past every change with a sequence up to and including this one
+    public static TaskChangeCursor endOf(long sequence) {
+        return new TaskChangeCursor(sequence, Long.MAX_VALUE);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
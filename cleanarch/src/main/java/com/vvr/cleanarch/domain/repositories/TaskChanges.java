@@ -0,0 +1,50 @@
+package com.vvr.cleanarch.domain.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public final class TaskChanges {
+
+    private final List<TaskChange> changes;
+    private final TaskChangeCursor next;
+    private final boolean hasMore;
+    private final LocalDateTime completeSince;
+
+    public TaskChanges(List<TaskChange> changes, TaskChangeCursor next, boolean hasMore, LocalDateTime completeSince) {
+        this.changes = changes;
+        this.next = next;
+        this.hasMore = hasMore;
+        this.completeSince = completeSince;
+    }
+
+    // Builds a page from up to limit + 1 entries read in log order up to the stable sequence.
+    // Without a further entry everything up to stable has been read, so the next page starts past it.
+    public static TaskChanges page(List<TaskChange> entries, int limit, long stable, LocalDateTime completeSince) {
+        boolean hasMore = entries.size() > limit;
+        List<TaskChange> changes = hasMore ? entries.subList(0, limit) : entries;
+        TaskChangeCursor next = hasMore
+                ? changes.get(changes.size() - 1).getCursor()
+                : TaskChangeCursor.endOf(stable);
+        return new TaskChanges(changes, next, hasMore, completeSince);
+    }
+
+    // In log order
+    public List<TaskChange> getChanges() {
+        return changes;
+    }
+
+    public TaskChangeCursor getNext() {
+        return next;
+    }
+
+    // True when more changes were already stable when this page was read
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    // Stores that rebuild their change log on startup start it over: positions taken before this
+    // instant may have missed changes. Null when the log is as durable as the tasks themselves.
+    public LocalDateTime getCompleteSince() {
+        return completeSince;
+    }
+}
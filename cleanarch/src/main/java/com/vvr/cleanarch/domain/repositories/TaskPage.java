@@ -0,0 +1,26 @@
+package com.vvr.cleanarch.domain.repositories;
+
+import com.vvr.cleanarch.domain.entities.Task;
+
+import java.util.List;
+import java.util.Optional;
+
+public final class TaskPage {
+
+    private final List<Task> items;
+    private final TaskCursor nextCursor;
+
+    public TaskPage(List<Task> items, TaskCursor nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<Task> getItems() {
+        return items;
+    }
+
+    // Empty when this is the last page
+    public Optional<TaskCursor> getNextCursor() {
+        return Optional.ofNullable(nextCursor);
+    }
+}
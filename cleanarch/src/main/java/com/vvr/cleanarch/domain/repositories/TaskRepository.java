@@ -3,20 +3,87 @@ package com.vvr.cleanarch.domain.repositories;
 import com.vvr.cleanarch.domain.entities.Task;
 import com.vvr.cleanarch.domain.entities.TaskStatus;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TaskRepository {
 
     Task save(Task task);
 
+    // Persists all tasks in one transaction, in order; returns them with their generated ids
+    List<Task> saveAll(List<Task> tasks);
+
     Optional<Task> findById(Long id);
 
-    List<Task> findAll();
+    List<Task> findAll(TaskSort sort);
+
+    List<Task> findByStatus(TaskStatus status, TaskSort sort);
+
+    // Keyset page ordered by createdAt DESC, id DESC; status and after are optional
+    TaskPage findPage(TaskStatus status, TaskCursor after, int limit);
+
+    // Keyset page of the tasks in status created strictly before createdBefore, ordered by
+    // createdAt ASC, id ASC (oldest first); after is optional
+    TaskPage findPageCreatedBefore(TaskStatus status, LocalDateTime createdBefore, TaskCursor after, int limit);
+
+    // Visits every task (optionally filtered by status) in id order without loading them all at once
+    void forEachTask(TaskStatus status, Consumer<Task> action);
+
+    // Visits every task (optionally filtered by status) in the order of sort as TaskRow views,
+    // for reads that go straight to a response without building a Task per row
+    void forEachRow(TaskStatus status, TaskSort sort, Consumer<TaskRow> action);
+
+    // Conditional single-row updates: the change is applied only while the task's status is in
+    // expectedStatuses and, when expectedVersion is not null, its version still equals it.
+    // Every applied write increments the version. Empty when no row matched, either because
+    // the id does not exist or because a guard failed. A status update also reports the status
+    // the task left, so callers never have to try one source status at a time to learn it.
+
+    Optional<TaskStatusChange> updateStatusIfCurrentIn(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses,
+                                                       TaskStatus status, LocalDateTime updatedAt);
+
+    Optional<Task> updateDetailsIfCurrentIn(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses,
+                                            String title, String description, LocalDateTime updatedAt);
 
-    List<Task> findByStatus(TaskStatus status);
+    // Number of tasks per status in a single grouped query; statuses without tasks may be absent
+    Map<TaskStatus, Long> countByStatus();
+
+    // Existing tasks among ids in a single lookup, in no particular order; missing ids are skipped
+    List<Task> findAllByIds(Collection<Long> ids);
+
+    // Current status of each existing id; missing ids are absent from the map
+    Map<Long, TaskStatus> findStatusesByIds(Collection<Long> ids);
+
+    // Single set-based UPDATE touching only the (distinct) ids whose current status is in
+    // expectedStatuses; returns the ids it changed, in no particular order
+    List<Long> updateStatusByIds(Collection<Long> ids, Collection<TaskStatus> expectedStatuses,
+                                 TaskStatus status, LocalDateTime updatedAt);
+
+    // Single set-based UPDATE of every task currently in currentStatus; returns the number of rows changed
+    int updateStatusByStatus(TaskStatus currentStatus, TaskStatus status, LocalDateTime updatedAt);
 
     void deleteById(Long id);
 
+    // Single conditional DELETE applied only while the task's status is in expectedStatuses and,
+    // when not null, its version equals expectedVersion. Returns the status the deleted task had;
+    // empty when nothing was deleted, either because the id does not exist or because a guard failed
+    Optional<TaskStatus> deleteIfCurrentIn(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses);
+
     boolean existsById(Long id);
+
+    // Change log: every write stamps the task with the next change sequence and every delete leaves
+    // a tombstone stamped the same way. Sequences only grow; the tasks of one set-based update may
+    // share one.
+
+    // Up to limit changes after the cursor in log order, each task at its current state. Only
+    // sequences whose writes have all finished are read, so a write that commits late is never
+    // skipped: it shows up on a later page instead.
+    TaskChanges findChangesSince(TaskChangeCursor after, int limit);
+
+    // Drops the tombstones of deletions made before deletedBefore; returns how many were removed
+    int purgeDeletionsBefore(LocalDateTime deletedBefore);
 }
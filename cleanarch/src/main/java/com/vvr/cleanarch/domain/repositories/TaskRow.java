@@ -0,0 +1,65 @@
+package com.vvr.cleanarch.domain.repositories;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+
+import java.time.LocalDateTime;
+
+// Read-only view of one stored task during a row scan. Adapters may hand the same instance to
+// every callback with the next row's values, so a row is only valid until the callback returns;
+// copy whatever has to outlive it.
+public interface TaskRow {
+
+    long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    TaskStatus getStatus();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    long getVersion();
+
+    static TaskRow of(Task task) {
+        return new TaskRow() {
+            @Override
+            public long getId() {
+                return task.getId();
+            }
+
+            @Override
+            public String getTitle() {
+                return task.getTitle();
+            }
+
+            @Override
+            public String getDescription() {
+                return task.getDescription();
+            }
+
+            @Override
+            public TaskStatus getStatus() {
+                return task.getStatus();
+            }
+
+            @Override
+            public LocalDateTime getCreatedAt() {
+                return task.getCreatedAt();
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return task.getUpdatedAt();
+            }
+
+            @Override
+            public long getVersion() {
+                return task.getVersion();
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.vvr.cleanarch.domain.repositories;
+
+import com.vvr.cleanarch.domain.exceptions.InvalidPageRequestException;
+
+public enum TaskSort {
+    // Newest first
+    CREATED_AT("createdAt"),
+    // Most recently updated first, never-updated tasks last
+    UPDATED_AT("updatedAt"),
+    // Alphabetical
+    TITLE("title");
+
+    private final String key;
+
+    TaskSort(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public static TaskSort fromKey(String key) {
+        if (key == null || key.isBlank()) {
+            return CREATED_AT;
+        }
+        for (TaskSort sort : values()) {
+            if (sort.key.equals(key)) {
+                return sort;
+            }
+        }
+        throw new InvalidPageRequestException("Invalid sort: " + key + ". Use createdAt, updatedAt or title");
+    }
+}
@@ -0,0 +1,25 @@
+package com.vvr.cleanarch.domain.repositories;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+
+// A guarded status update that applied: the task as written and the status it left, both taken
+// from the same write
+public final class TaskStatusChange {
+
+    private final TaskStatus previousStatus;
+    private final Task task;
+
+    public TaskStatusChange(TaskStatus previousStatus, Task task) {
+        this.previousStatus = previousStatus;
+        this.task = task;
+    }
+
+    public TaskStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public Task getTask() {
+        return task;
+    }
+}
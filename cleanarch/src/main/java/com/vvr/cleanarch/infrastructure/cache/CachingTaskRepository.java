@@ -0,0 +1,232 @@
+package com.vvr.cleanarch.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskChangeCursor;
+import com.vvr.cleanarch.domain.repositories.TaskChanges;
+import com.vvr.cleanarch.domain.repositories.TaskCursor;
+import com.vvr.cleanarch.domain.repositories.TaskPage;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import com.vvr.cleanarch.domain.repositories.TaskRow;
+import com.vvr.cleanarch.domain.repositories.TaskSort;
+import com.vvr.cleanarch.domain.repositories.TaskStatusChange;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+// Read-through cache in front of another TaskRepository. Only lookups by id are cached; every
+// write invalidates the ids it may have touched once the delegate has returned (and committed).
+// A guarded write invalidates its id even when the guard fails: the failure usually means the
+// cached copy is stale, and the caller's next step is to read the task to find out why.
+// Invalidating instead of putting the new value means two racing writers can never leave the
+// older result behind: Caffeine makes an invalidation wait for an in-flight load of the same key.
+public class CachingTaskRepository implements TaskRepository {
+
+    private final TaskRepository delegate;
+    private final Cache<Long, Optional<Task>> cache;
+
+    public CachingTaskRepository(TaskRepository delegate, long maximumSize,
+                                 Duration expireAfterWrite, Duration missingExpireAfterWrite) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new FoundOrMissingExpiry(expireAfterWrite, missingExpireAfterWrite))
+                .recordStats()
+                .build();
+    }
+
+    // Hits, misses (including negative hits for missing ids) and evictions since startup
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        // Empty results are cached too, so polling an unknown id does not reach the database.
+        // Callers get copies: mutating a returned task must not change the cached one.
+        return cache.get(id, delegate::findById).map(Task::copy);
+    }
+
+    // Hits come from the cache and the misses from one delegate call. Bulk results are not put in
+    // the cache: unlike get, nothing would make a racing invalidation wait for them.
+    @Override
+    public List<Task> findAllByIds(Collection<Long> ids) {
+        Map<Long, Optional<Task>> cached = cache.getAllPresent(ids);
+        List<Task> found = new ArrayList<>(ids.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            Optional<Task> task = cached.get(id);
+            if (task == null) {
+                missing.add(id);
+            } else {
+                task.map(Task::copy).ifPresent(found::add);
+            }
+        }
+        if (!missing.isEmpty()) {
+            found.addAll(delegate.findAllByIds(missing));
+        }
+        return found;
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        Optional<Task> cached = cache.getIfPresent(id);
+        return cached != null ? cached.isPresent() : delegate.existsById(id);
+    }
+
+    @Override
+    public Task save(Task task) {
+        Task saved = delegate.save(task);
+        cache.invalidate(saved.getId());
+        return saved;
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        List<Task> saved = delegate.saveAll(tasks);
+        cache.invalidateAll(saved.stream().map(Task::getId).toList());
+        return saved;
+    }
+
+    @Override
+    public Optional<TaskStatusChange> updateStatusIfCurrentIn(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses,
+                                                              TaskStatus status, LocalDateTime updatedAt) {
+        Optional<TaskStatusChange> updated = delegate.updateStatusIfCurrentIn(id, expectedVersion, expectedStatuses, status, updatedAt);
+        cache.invalidate(id);
+        return updated;
+    }
+
+    @Override
+    public Optional<Task> updateDetailsIfCurrentIn(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses,
+                                                   String title, String description, LocalDateTime updatedAt) {
+        Optional<Task> updated = delegate.updateDetailsIfCurrentIn(
+                id, expectedVersion, expectedStatuses, title, description, updatedAt);
+        cache.invalidate(id);
+        return updated;
+    }
+
+    @Override
+    public List<Long> updateStatusByIds(Collection<Long> ids, Collection<TaskStatus> expectedStatuses,
+                                        TaskStatus status, LocalDateTime updatedAt) {
+        List<Long> updated = delegate.updateStatusByIds(ids, expectedStatuses, status, updatedAt);
+        cache.invalidateAll(ids);
+        return updated;
+    }
+
+    @Override
+    public int updateStatusByStatus(TaskStatus currentStatus, TaskStatus status, LocalDateTime updatedAt) {
+        int updated = delegate.updateStatusByStatus(currentStatus, status, updatedAt);
+        // The touched ids are unknown here, so drop everything rather than scan the cache
+        if (updated > 0) {
+            cache.invalidateAll();
+        }
+        return updated;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        cache.invalidate(id);
+    }
+
+    @Override
+    public Optional<TaskStatus> deleteIfCurrentIn(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses) {
+        Optional<TaskStatus> deleted = delegate.deleteIfCurrentIn(id, expectedVersion, expectedStatuses);
+        cache.invalidate(id);
+        return deleted;
+    }
+
+    // Listing queries are not cached
+
+    @Override
+    public List<Task> findAll(TaskSort sort) {
+        return delegate.findAll(sort);
+    }
+
+    @Override
+    public List<Task> findByStatus(TaskStatus status, TaskSort sort) {
+        return delegate.findByStatus(status, sort);
+    }
+
+    @Override
+    public TaskPage findPage(TaskStatus status, TaskCursor after, int limit) {
+        return delegate.findPage(status, after, limit);
+    }
+
+    @Override
+    public TaskPage findPageCreatedBefore(TaskStatus status, LocalDateTime createdBefore, TaskCursor after, int limit) {
+        return delegate.findPageCreatedBefore(status, createdBefore, after, limit);
+    }
+
+    @Override
+    public void forEachTask(TaskStatus status, Consumer<Task> action) {
+        delegate.forEachTask(status, action);
+    }
+
+    @Override
+    public void forEachRow(TaskStatus status, TaskSort sort, Consumer<TaskRow> action) {
+        delegate.forEachRow(status, sort, action);
+    }
+
+    @Override
+    public Map<TaskStatus, Long> countByStatus() {
+        return delegate.countByStatus();
+    }
+
+    @Override
+    public Map<Long, TaskStatus> findStatusesByIds(Collection<Long> ids) {
+        return delegate.findStatusesByIds(ids);
+    }
+
+    @Override
+    public TaskChanges findChangesSince(TaskChangeCursor after, int limit) {
+        return delegate.findChangesSince(after, limit);
+    }
+
+    // Tombstones are never cached
+    @Override
+    public int purgeDeletionsBefore(LocalDateTime deletedBefore) {
+        return delegate.purgeDeletionsBefore(deletedBefore);
+    }
+
+    // Missing ids get their own (normally shorter) lifetime so probes for unknown ids cannot pin cache space
+    private static final class FoundOrMissingExpiry implements Expiry<Long, Optional<Task>> {
+
+        private final long foundNanos;
+        private final long missingNanos;
+
+        FoundOrMissingExpiry(Duration found, Duration missing) {
+            this.foundNanos = found.toNanos();
+            this.missingNanos = missing.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Long id, Optional<Task> task, long currentTime) {
+            return task.isPresent() ? foundNanos : missingNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long id, Optional<Task> task, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, task, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long id, Optional<Task> task, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
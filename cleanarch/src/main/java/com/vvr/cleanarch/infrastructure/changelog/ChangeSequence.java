@@ -0,0 +1,79 @@
+package com.vvr.cleanarch.infrastructure.changelog;
+
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Hands out change sequences and tracks the writes that took one but have not finished yet.
+//
+// Sequences are taken in order but writes finish in any order, so a reader that saw sequence 11
+// could still miss 10 committing a moment later. stable() is the highest sequence with no write
+// still open at or below it; reading the log only up to it never skips anything.
+public final class ChangeSequence {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TreeSet<Long> open = new TreeSet<>();
+    private final LongSupplier lastUsed;
+    private long last;
+    private boolean seeded;
+
+    // lastUsed reads the highest sequence already stored; it is called once, on first use
+    public ChangeSequence(LongSupplier lastUsed) {
+        this.lastUsed = lastUsed;
+    }
+
+    // Next sequence, held open until end(sequence)
+    public long begin() {
+        lock.lock();
+        try {
+            long sequence = advance();
+            open.add(sequence);
+            return sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Next sequence for a further write of a transaction that already holds an earlier one from
+    // begin(); that one keeps stable() below both until the transaction ends
+    public long next() {
+        lock.lock();
+        try {
+            return advance();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Whether the write committed or not: an unused sequence is just a gap in the log
+    public void end(long sequence) {
+        lock.lock();
+        try {
+            open.remove(sequence);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long stable() {
+        lock.lock();
+        try {
+            seed();
+            return open.isEmpty() ? last : open.first() - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long advance() {
+        seed();
+        return ++last;
+    }
+
+    private void seed() {
+        if (!seeded) {
+            last = lastUsed.getAsLong();
+            seeded = true;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.vvr.cleanarch.infrastructure.diagnostics;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+// JDBC statements, rows and time spent by the code running on one thread between begin() and
+// close(): an HTTP request (ServerTimingFilter) or whatever a test wraps. Scopes nest, and a
+// closed scope adds its numbers to the one around it.
+//
+// Rows are the rows read through ResultSet.next() plus the update counts of writes. A JDBC batch
+// counts as one statement.
+public final class QueryStats implements AutoCloseable {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private final QueryStats outer;
+    private final Map<String, Integer> executionsBySql = new HashMap<>();
+    private int statements;
+    private long rows;
+    private long elapsedNanos;
+    private boolean closed;
+
+    private QueryStats(QueryStats outer) {
+        this.outer = outer;
+    }
+
+    // Starts counting on the calling thread; close the returned scope on the same thread
+    public static QueryStats begin() {
+        QueryStats stats = new QueryStats(CURRENT.get());
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    // The innermost open scope of the calling thread, or null when nothing is being counted
+    static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        if (CURRENT.get() != this) {
+            throw new IllegalStateException("QueryStats scopes must be closed on their thread, innermost first");
+        }
+        closed = true;
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+            outer.add(this);
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    // How many times each distinct SQL string was executed
+    public Map<String, Integer> getExecutionsBySql() {
+        return Collections.unmodifiableMap(executionsBySql);
+    }
+
+    // The SQL executed most often, or null when no statement ran
+    public String getMostRepeatedSql() {
+        String mostRepeated = null;
+        int most = 0;
+        for (Map.Entry<String, Integer> entry : executionsBySql.entrySet()) {
+            if (entry.getValue() > most) {
+                mostRepeated = entry.getKey();
+                most = entry.getValue();
+            }
+        }
+        return mostRepeated;
+    }
+
+    void recordStatement(String sql, long nanos) {
+        statements++;
+        elapsedNanos += nanos;
+        executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    void recordRows(long count) {
+        rows += count;
+    }
+
+    private void add(QueryStats inner) {
+        statements += inner.statements;
+        rows += inner.rows;
+        elapsedNanos += inner.elapsedNanos;
+        inner.executionsBySql.forEach((sql, count) -> executionsBySql.merge(sql, count, Integer::sum));
+    }
+
+    @Override
+    public String toString() {
+        return statements + " statements, " + rows + " rows, " + elapsedNanos / 1_000_000 + " ms";
+    }
+}
@@ -0,0 +1,97 @@
+package com.vvr.cleanarch.infrastructure.diagnostics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+
+// datasource-proxy listener that feeds the calling thread's QueryStats and logs slow statements.
+//
+// Replaces spring.jpa.show-sql: nothing is written for ordinary statements, only those slower
+// than the threshold are logged, and without their bind parameters.
+public class QueryStatsListener implements QueryExecutionListener, MethodExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryStatsListener.class);
+    private static final String STARTED_AT = QueryStatsListener.class.getName() + ".startedAt";
+
+    private final long slowQueryThresholdNanos;
+
+    public QueryStatsListener(Duration slowQueryThreshold) {
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(STARTED_AT, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long nanos = System.nanoTime() - execInfo.getCustomValue(STARTED_AT, Long.class);
+        String sql = sql(queryInfoList);
+        QueryStats stats = QueryStats.current();
+        if (stats != null) {
+            stats.recordStatement(sql, nanos);
+            stats.recordRows(updateCount(execInfo.getResult()));
+        }
+        if (nanos >= slowQueryThresholdNanos && log.isWarnEnabled()) {
+            log.warn("Slow query took {} ms{}: {}", nanos / 1_000_000,
+                    execInfo.isBatch() ? " (batch of " + execInfo.getBatchSize() + ")" : "", sql);
+        }
+    }
+
+    @Override
+    public void beforeMethod(MethodExecutionContext executionContext) {
+    }
+
+    // Rows read are counted as the application walks the ResultSet, which only works because the
+    // proxy wraps result sets as well
+    @Override
+    public void afterMethod(MethodExecutionContext executionContext) {
+        if (executionContext.getTarget() instanceof ResultSet
+                && Boolean.TRUE.equals(executionContext.getResult())
+                && "next".equals(executionContext.getMethod().getName())) {
+            QueryStats stats = QueryStats.current();
+            if (stats != null) {
+                stats.recordRows(1);
+            }
+        }
+    }
+
+    private static String sql(List<QueryInfo> queryInfoList) {
+        if (queryInfoList.size() == 1) {
+            return queryInfoList.get(0).getQuery();
+        }
+        StringBuilder sql = new StringBuilder();
+        for (QueryInfo queryInfo : queryInfoList) {
+            if (!sql.isEmpty()) {
+                sql.append("; ");
+            }
+            sql.append(queryInfo.getQuery());
+        }
+        return sql.toString();
+    }
+
+    // executeUpdate returns an int and executeBatch an int[]; queries return a ResultSet, counted row by row
+    private static long updateCount(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(0, count);
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                // Statement.SUCCESS_NO_INFO and EXECUTE_FAILED are negative
+                total += Math.max(0, count);
+            }
+            return total;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,91 @@
+package com.vvr.cleanarch.infrastructure.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Counts the JDBC work of every request in a QueryStats scope and reports it:
+//  - a Server-Timing header splitting the request into db (time inside JDBC statements),
+//    mapping (the rest of the handler: use case, entity and DTO mapping) and serialization
+//    (writing the body), which browser dev tools show next to the request;
+//  - a warning when one request runs the same statement many times, the signature of an N+1 query.
+//
+// Work done after the request went async (exports) is not counted.
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING = "Server-Timing";
+
+    private static final Logger log = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    private final boolean serverTimingHeader;
+    private final int repeatedStatementThreshold;
+
+    public ServerTimingFilter(boolean serverTimingHeader, int repeatedStatementThreshold) {
+        this.serverTimingHeader = serverTimingHeader;
+        this.repeatedStatementThreshold = repeatedStatementThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        QueryStats stats = QueryStats.begin();
+        ServerTimingResponse timedResponse = serverTimingHeader
+                ? new ServerTimingResponse(request, response, stats)
+                : null;
+        try {
+            filterChain.doFilter(request, timedResponse != null ? timedResponse : response);
+        } finally {
+            stats.close();
+            long end = System.nanoTime();
+            report(request, stats);
+            if (timedResponse != null && !request.isAsyncStarted()) {
+                timedResponse.finish(SERVER_TIMING, serverTiming(stats, start, end, timedResponse));
+            }
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryStats stats) {
+        if (log.isDebugEnabled()) {
+            log.debug("{} {}: {}", request.getMethod(), request.getRequestURI(), stats);
+        }
+        String sql = stats.getMostRepeatedSql();
+        if (sql == null) {
+            return;
+        }
+        int executions = stats.getExecutionsBySql().get(sql);
+        if (executions >= repeatedStatementThreshold && log.isWarnEnabled()) {
+            log.warn("{} {} ran the same statement {} times ({} statements in total), possibly an N+1 query: {}",
+                    request.getMethod(), request.getRequestURI(), executions, stats.getStatements(), sql);
+        }
+    }
+
+    static String serverTiming(QueryStats stats, long start, long end, ServerTimingResponse response) {
+        long db = stats.getElapsedNanos();
+        StringBuilder header = new StringBuilder(128);
+        metric(header, "db", db)
+                .append(";desc=\"").append(stats.getStatements()).append(" queries, ")
+                .append(stats.getRows()).append(" rows\"");
+        if (response.bodyStartedAt() != 0) {
+            long dbBeforeBody = response.dbNanosBeforeBody();
+            metric(header.append(", "), "mapping", response.bodyStartedAt() - start - dbBeforeBody);
+            metric(header.append(", "), "serialization", end - response.bodyStartedAt() - (db - dbBeforeBody));
+        } else {
+            metric(header.append(", "), "mapping", end - start - db);
+        }
+        metric(header.append(", "), "total", end - start);
+        return header.toString();
+    }
+
+    // Durations in milliseconds with one decimal, as Server-Timing expects
+    private static StringBuilder metric(StringBuilder header, String name, long nanos) {
+        long tenths = Math.max(0, nanos) / 100_000;
+        return header.append(name).append(";dur=").append(tenths / 10).append('.').append(tenths % 10);
+    }
+}
@@ -0,0 +1,139 @@
+package com.vvr.cleanarch.infrastructure.diagnostics;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+// Holds back a response body written on the request thread, so a header describing how long the
+// body took to write can still be added before anything is sent.
+//
+// Bodies written after the request went async (StreamingResponseBody exports) go straight to the
+// client: they can be arbitrarily large and outlive the filter anyway.
+final class ServerTimingResponse extends HttpServletResponseWrapper {
+
+    private static final int INITIAL_BUFFER_BYTES = 8 * 1024;
+
+    private final HttpServletRequest request;
+    private final QueryStats stats;
+    private ByteArrayOutputStream body;
+    private ServletOutputStream bodyStream;
+    private long bodyStartedAt;
+    private long dbNanosBeforeBody;
+
+    ServerTimingResponse(HttpServletRequest request, HttpServletResponse response, QueryStats stats) {
+        super(response);
+        this.request = request;
+        this.stats = stats;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (bodyStream != null) {
+            return bodyStream;
+        }
+        if (request.isAsyncStarted() || isCommitted()) {
+            return super.getOutputStream();
+        }
+        // Message converters ask for the stream right before they start serializing
+        bodyStartedAt = System.nanoTime();
+        dbNanosBeforeBody = stats.getElapsedNanos();
+        body = new ByteArrayOutputStream(INITIAL_BUFFER_BYTES);
+        bodyStream = new BufferStream(body);
+        return bodyStream;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (body == null) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        discardBody();
+        super.resetBuffer();
+    }
+
+    @Override
+    public void reset() {
+        discardBody();
+        super.reset();
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        discardBody();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        discardBody();
+        super.sendError(sc);
+    }
+
+    // System.nanoTime() when the body started, or 0 when nothing was buffered
+    long bodyStartedAt() {
+        return bodyStartedAt;
+    }
+
+    long dbNanosBeforeBody() {
+        return dbNanosBeforeBody;
+    }
+
+    // Adds the header, if still possible, and sends the held-back body
+    void finish(String headerName, String headerValue) throws IOException {
+        if (!isCommitted()) {
+            setHeader(headerName, headerValue);
+        }
+        if (body == null || body.size() == 0) {
+            return;
+        }
+        if (!isCommitted() && !containsHeader("Content-Length") && !containsHeader("Transfer-Encoding")) {
+            setContentLength(body.size());
+        }
+        body.writeTo(super.getOutputStream());
+        body = null;
+    }
+
+    private void discardBody() {
+        if (body != null) {
+            body.reset();
+        }
+    }
+
+    private static final class BufferStream extends ServletOutputStream {
+
+        private final ByteArrayOutputStream buffer;
+
+        BufferStream(ByteArrayOutputStream buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void write(int b) {
+            buffer.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            buffer.write(b, off, len);
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new IllegalStateException("Non-blocking writes are not supported on the request thread");
+        }
+    }
+}
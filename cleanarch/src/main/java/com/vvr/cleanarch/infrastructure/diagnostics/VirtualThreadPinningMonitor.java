@@ -0,0 +1,83 @@
+package com.vvr.cleanarch.infrastructure.diagnostics;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Reports virtual threads that stayed pinned to their carrier for longer than a threshold.
+//
+// A virtual thread that blocks inside a synchronized block or a native frame cannot unmount, so
+// it holds one of the few carrier threads for the whole wait. The JVM records each such wait as
+// a jdk.VirtualThreadPinned JFR event; this monitor streams those events in-process and logs
+// where they happened, which points at the synchronized code (H2, Hibernate, our own) to fix.
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private final RecordingStream stream;
+    private final int stackDepth;
+    private final LongAdder pinnedEvents = new LongAdder();
+    private final Consumer<RecordedEvent> listener;
+
+    public VirtualThreadPinningMonitor(Duration threshold, int stackDepth) {
+        this(threshold, stackDepth, event -> { });
+    }
+
+    VirtualThreadPinningMonitor(Duration threshold, int stackDepth, Consumer<RecordedEvent> listener) {
+        this.stackDepth = stackDepth;
+        this.listener = listener;
+        this.stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::report);
+        stream.startAsync();
+    }
+
+    // Pinned waits over the threshold seen since startup
+    public long pinnedCount() {
+        return pinnedEvents.sum();
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+
+    private void report(RecordedEvent event) {
+        pinnedEvents.increment();
+        if (log.isWarnEnabled()) {
+            log.warn("Virtual thread {} pinned its carrier for {} ms{}",
+                    event.getThread() == null ? "?" : event.getThread().getJavaName(),
+                    event.getDuration().toMillis(), describe(event.getStackTrace()));
+        }
+        listener.accept(event);
+    }
+
+    private String describe(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "";
+        }
+        StringBuilder description = new StringBuilder();
+        List<RecordedFrame> frames = stackTrace.getFrames();
+        for (int i = 0; i < Math.min(stackDepth, frames.size()); i++) {
+            RecordedFrame frame = frames.get(i);
+            description.append(System.lineSeparator())
+                    .append("\tat ")
+                    .append(frame.getMethod().getType().getName())
+                    .append('.')
+                    .append(frame.getMethod().getName())
+                    .append(':')
+                    .append(frame.getLineNumber());
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,461 @@
+package com.vvr.cleanarch.infrastructure.memory;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskChange;
+import com.vvr.cleanarch.domain.repositories.TaskChangeCursor;
+import com.vvr.cleanarch.domain.repositories.TaskChanges;
+import com.vvr.cleanarch.domain.repositories.TaskCursor;
+import com.vvr.cleanarch.domain.repositories.TaskPage;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import com.vvr.cleanarch.domain.repositories.TaskRow;
+import com.vvr.cleanarch.domain.repositories.TaskSort;
+import com.vvr.cleanarch.domain.repositories.TaskStatusChange;
+import com.vvr.cleanarch.infrastructure.changelog.ChangeSequence;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+// TaskRepository kept entirely in memory, for deployments that do not want JPA on the request path.
+//
+// Tasks live in a ConcurrentHashMap by id; reads never block. Each stored Task is a private copy
+// that is replaced, never mutated, so a reader always sees one consistent version. Every write to
+// an id runs inside that id's compute(), which serialises writers per task and keeps the guarded
+// updates atomic. Two skip-list indexes hold the listing order (createdAt DESC, id DESC), one over
+// all tasks and one per status, so listings walk an index instead of scanning the map. Listings
+// re-check each entry against the map and are weakly consistent, like a READ COMMITTED scan.
+//
+// The change log keeps one entry per id at the sequence of its latest write, either a pointer to
+// the live task or a tombstone. It lives in memory like everything else, so it starts over (and
+// says so through TaskChanges.getCompleteSince()) whenever the store is rebuilt.
+@Repository
+@Qualifier("taskStore")
+@Profile("inmemory")
+public class InMemoryTaskRepository implements TaskRepository {
+
+    private final Map<Long, Task> tasks = new ConcurrentHashMap<>();
+    private final AtomicLong lastId = new AtomicLong();
+    private final NavigableSet<TaskCursor> newestFirst = new ConcurrentSkipListSet<>(TaskCursor.NEWEST_FIRST);
+    private final Map<TaskStatus, NavigableSet<TaskCursor>> newestFirstByStatus;
+    private final ChangeSequence changeSequence = new ChangeSequence(() -> 0L);
+    private final NavigableMap<Long, LogEntry> changeLog = new ConcurrentSkipListMap<>();
+    private final Map<Long, Long> changeSequenceById = new ConcurrentHashMap<>();
+    private final LocalDateTime changeLogStartedAt = LocalDateTime.now();
+
+    public InMemoryTaskRepository() {
+        Map<TaskStatus, NavigableSet<TaskCursor>> byStatus = new EnumMap<>(TaskStatus.class);
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, new ConcurrentSkipListSet<>(TaskCursor.NEWEST_FIRST));
+        }
+        this.newestFirstByStatus = Collections.unmodifiableMap(byStatus);
+    }
+
+    @Override
+    public Task save(Task task) {
+        Long id = task.getId();
+        if (id == null) {
+            id = lastId.incrementAndGet();
+        } else {
+            // Never hand out an id that was stored explicitly
+            lastId.accumulateAndGet(id, Math::max);
+        }
+        Task[] previous = new Task[1];
+        long sequence = changeSequence.begin();
+        Task stored;
+        try {
+            stored = tasks.compute(id, (key, current) -> {
+                if (current != null && task.getVersion() != null && !task.getVersion().equals(current.getVersion())) {
+                    throw new OptimisticLockingFailureException("Task with id " + key + " was modified concurrently");
+                }
+                Task next = task.copy();
+                next.setId(key);
+                next.setVersion(current == null ? 0L : current.getVersion() + 1);
+                index(next);
+                logChange(sequence, key, null);
+                previous[0] = current;
+                return next;
+            });
+        } finally {
+            changeSequence.end(sequence);
+        }
+        dropStaleKeys(previous[0]);
+        return stored.copy();
+    }
+
+    // Stores a task exactly as given, version included; used to rebuild state from durable storage
+    public void restore(Task task) {
+        lastId.accumulateAndGet(task.getId(), Math::max);
+        Task[] previous = new Task[1];
+        long sequence = changeSequence.begin();
+        try {
+            tasks.compute(task.getId(), (key, current) -> {
+                Task next = task.copy();
+                index(next);
+                logChange(sequence, key, null);
+                previous[0] = current;
+                return next;
+            });
+        } finally {
+            changeSequence.end(sequence);
+        }
+        dropStaleKeys(previous[0]);
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        List<Task> saved = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            saved.add(save(task));
+        }
+        return saved;
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return Optional.ofNullable(tasks.get(id)).map(Task::copy);
+    }
+
+    @Override
+    public List<Task> findAll(TaskSort sort) {
+        return sorted(collect(newestFirst, null, Integer.MAX_VALUE), sort);
+    }
+
+    @Override
+    public List<Task> findByStatus(TaskStatus status, TaskSort sort) {
+        return sorted(collect(newestFirstByStatus.get(status), status, Integer.MAX_VALUE), sort);
+    }
+
+    @Override
+    public TaskPage findPage(TaskStatus status, TaskCursor after, int limit) {
+        NavigableSet<TaskCursor> index = status == null ? newestFirst : newestFirstByStatus.get(status);
+        if (after != null) {
+            index = index.tailSet(after, false);
+        }
+        List<Task> items = collect(index, status, limit + 1);
+        boolean hasNext = items.size() > limit;
+        if (hasNext) {
+            items = items.subList(0, limit);
+        }
+        TaskCursor nextCursor = hasNext ? TaskCursor.after(items.get(items.size() - 1)) : null;
+        return new TaskPage(items, nextCursor);
+    }
+
+    @Override
+    public TaskPage findPageCreatedBefore(TaskStatus status, LocalDateTime createdBefore, TaskCursor after, int limit) {
+        // In the newest-first index everything created before createdBefore sorts after the
+        // smallest possible key at createdBefore; walking that range backwards gives oldest first
+        NavigableSet<TaskCursor> index = newestFirstByStatus.get(status)
+                .tailSet(new TaskCursor(createdBefore, Long.MIN_VALUE), false);
+        if (after != null) {
+            index = index.headSet(after, false);
+        }
+        List<Task> items = collect(index.descendingSet(), status, limit + 1);
+        boolean hasNext = items.size() > limit;
+        if (hasNext) {
+            items = items.subList(0, limit);
+        }
+        TaskCursor nextCursor = hasNext ? TaskCursor.after(items.get(items.size() - 1)) : null;
+        return new TaskPage(items, nextCursor);
+    }
+
+    @Override
+    public void forEachTask(TaskStatus status, Consumer<Task> action) {
+        tasks.values().stream()
+                .filter(task -> status == null || task.getStatus() == status)
+                .sorted(Comparator.comparing(Task::getId))
+                .map(Task::copy)
+                .forEach(action);
+    }
+
+    // The tasks already live in memory, so rows are views over the same listing findAll returns
+    @Override
+    public void forEachRow(TaskStatus status, TaskSort sort, Consumer<TaskRow> action) {
+        for (Task task : status == null ? findAll(sort) : findByStatus(status, sort)) {
+            action.accept(TaskRow.of(task));
+        }
+    }
+
+    @Override
+    public Optional<TaskStatusChange> updateStatusIfCurrentIn(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses,
+                                                              TaskStatus status, LocalDateTime updatedAt) {
+        return compareAndSet(id, current -> matches(current, expectedVersion, expectedStatuses), next -> {
+            next.setStatus(status);
+            next.setUpdatedAt(updatedAt);
+            return next;
+        });
+    }
+
+    @Override
+    public Optional<Task> updateDetailsIfCurrentIn(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses,
+                                                   String title, String description, LocalDateTime updatedAt) {
+        return compareAndSet(id, current -> matches(current, expectedVersion, expectedStatuses), next -> {
+            next.setTitle(title);
+            next.setDescription(description);
+            next.setUpdatedAt(updatedAt);
+            return next;
+        }).map(TaskStatusChange::getTask);
+    }
+
+    @Override
+    public Map<TaskStatus, Long> countByStatus() {
+        Map<TaskStatus, Long> counts = new EnumMap<>(TaskStatus.class);
+        tasks.values().forEach(task -> counts.merge(task.getStatus(), 1L, Long::sum));
+        return counts;
+    }
+
+    @Override
+    public List<Task> findAllByIds(Collection<Long> ids) {
+        List<Task> found = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Task task = tasks.get(id);
+            if (task != null) {
+                found.add(task.copy());
+            }
+        }
+        return found;
+    }
+
+    @Override
+    public Map<Long, TaskStatus> findStatusesByIds(Collection<Long> ids) {
+        Map<Long, TaskStatus> statuses = new HashMap<>();
+        for (Long id : ids) {
+            Task task = tasks.get(id);
+            if (task != null) {
+                statuses.put(id, task.getStatus());
+            }
+        }
+        return statuses;
+    }
+
+    @Override
+    public List<Long> updateStatusByIds(Collection<Long> ids, Collection<TaskStatus> expectedStatuses,
+                                        TaskStatus status, LocalDateTime updatedAt) {
+        List<Long> updated = new ArrayList<>();
+        for (Long id : ids) {
+            if (updateStatusIfCurrentIn(id, null, expectedStatuses, status, updatedAt).isPresent()) {
+                updated.add(id);
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public int updateStatusByStatus(TaskStatus currentStatus, TaskStatus status, LocalDateTime updatedAt) {
+        // Iterating a skip list while it changes is safe; each id is still re-checked in compute()
+        int updated = 0;
+        for (TaskCursor key : newestFirstByStatus.get(currentStatus)) {
+            if (updateStatusIfCurrentIn(key.getId(), null, List.of(currentStatus), status, updatedAt).isPresent()) {
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        delete(id, current -> true);
+    }
+
+    @Override
+    public Optional<TaskStatus> deleteIfCurrentIn(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses) {
+        return delete(id, current -> matches(current, expectedVersion, expectedStatuses));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return tasks.containsKey(id);
+    }
+
+    @Override
+    public TaskChanges findChangesSince(TaskChangeCursor after, int limit) {
+        long stable = changeSequence.stable();
+        List<TaskChange> entries = new ArrayList<>();
+        if (after.getSequence() < stable) {
+            // Sequences are unique here, so the entry at the cursor's own sequence was already read
+            for (Map.Entry<Long, LogEntry> logged : changeLog.subMap(after.getSequence(), false, stable, true).entrySet()) {
+                if (entries.size() > limit) {
+                    break;
+                }
+                LogEntry entry = logged.getValue();
+                if (entry.deletedAt != null) {
+                    entries.add(TaskChange.deleted(logged.getKey(), entry.id));
+                    continue;
+                }
+                // Missing when a later delete already applied; its tombstone comes further on
+                Task task = tasks.get(entry.id);
+                if (task != null) {
+                    entries.add(TaskChange.changed(logged.getKey(), task.copy()));
+                }
+            }
+        }
+        return TaskChanges.page(entries, limit, stable, changeLogStartedAt);
+    }
+
+    @Override
+    public int purgeDeletionsBefore(LocalDateTime deletedBefore) {
+        // Walks the whole log; purges are rare and the log holds one entry per id
+        int purged = 0;
+        for (Map.Entry<Long, LogEntry> logged : changeLog.entrySet()) {
+            LogEntry entry = logged.getValue();
+            // Conditional removes: the id may be written again meanwhile
+            if (entry.deletedAt != null && entry.deletedAt.isBefore(deletedBefore)
+                    && changeLog.remove(logged.getKey(), entry)) {
+                changeSequenceById.remove(entry.id, logged.getKey());
+                purged++;
+            }
+        }
+        return purged;
+    }
+
+    private Optional<TaskStatus> delete(Long id, Predicate<Task> guard) {
+        Task[] deleted = new Task[1];
+        long sequence = changeSequence.begin();
+        try {
+            tasks.computeIfPresent(id, (key, current) -> {
+                if (!guard.test(current)) {
+                    return current;
+                }
+                logChange(sequence, key, LocalDateTime.now());
+                deleted[0] = current;
+                return null;
+            });
+        } finally {
+            changeSequence.end(sequence);
+        }
+        dropStaleKeys(deleted[0]);
+        return Optional.ofNullable(deleted[0]).map(Task::getStatus);
+    }
+
+    private Optional<TaskStatusChange> compareAndSet(Long id, Predicate<Task> guard, UnaryOperator<Task> change) {
+        Task[] previous = new Task[1];
+        Task[] changed = new Task[1];
+        long sequence = changeSequence.begin();
+        try {
+            tasks.computeIfPresent(id, (key, current) -> {
+                if (!guard.test(current)) {
+                    return current;
+                }
+                Task next = change.apply(current.copy());
+                next.setVersion(current.getVersion() + 1);
+                index(next);
+                logChange(sequence, key, null);
+                previous[0] = current;
+                changed[0] = next;
+                return next;
+            });
+        } finally {
+            changeSequence.end(sequence);
+        }
+        dropStaleKeys(previous[0]);
+        return changed[0] == null
+                ? Optional.empty()
+                : Optional.of(new TaskStatusChange(previous[0].getStatus(), changed[0].copy()));
+    }
+
+    private static boolean matches(Task task, Long expectedVersion, Collection<TaskStatus> expectedStatuses) {
+        return task.hasVersion(expectedVersion) && expectedStatuses.contains(task.getStatus());
+    }
+
+    // Index keys of a new version are added inside the compute() that stores it; the keys of the
+    // version it replaced are dropped only afterwards, in another compute() on the same id, once
+    // the map already returns the new version. A concurrent listing can therefore see a task
+    // under both keys for a moment (collect() keeps the one matching the map) but never under none.
+
+    private void index(Task task) {
+        TaskCursor key = TaskCursor.after(task);
+        newestFirst.add(key);
+        newestFirstByStatus.get(task.getStatus()).add(key);
+    }
+
+    private void dropStaleKeys(Task previous) {
+        if (previous == null) {
+            return;
+        }
+        TaskCursor key = TaskCursor.after(previous);
+        tasks.compute(previous.getId(), (id, current) -> {
+            // A later write may already have restored the same key; only drop what current does not use
+            boolean sameKey = current != null && TaskCursor.NEWEST_FIRST.compare(key, TaskCursor.after(current)) == 0;
+            if (!sameKey) {
+                newestFirst.remove(key);
+            }
+            if (!sameKey || current.getStatus() != previous.getStatus()) {
+                newestFirstByStatus.get(previous.getStatus()).remove(key);
+            }
+            return current;
+        });
+    }
+
+    // Runs inside the compute() that writes id, so entries for one id are replaced in write order.
+    // A sequence taken but not logged (a guard failed) is just a gap.
+    private void logChange(long sequence, Long id, LocalDateTime deletedAt) {
+        changeLog.put(sequence, new LogEntry(id, deletedAt));
+        Long replaced = changeSequenceById.put(id, sequence);
+        if (replaced != null) {
+            changeLog.remove(replaced);
+        }
+    }
+
+    private List<Task> collect(Iterable<TaskCursor> index, TaskStatus status, int limit) {
+        List<Task> result = new ArrayList<>();
+        for (TaskCursor key : index) {
+            if (result.size() >= limit) {
+                break;
+            }
+            Task task = tasks.get(key.getId());
+            if (task != null && task.getCreatedAt().equals(key.getCreatedAt())
+                    && (status == null || task.getStatus() == status)) {
+                result.add(task.copy());
+            }
+        }
+        return result;
+    }
+
+    // The indexes already yield CREATED_AT order; the other orderings sort the matching tasks,
+    // using the same tie-breakers as the JPA adapter
+    private static List<Task> sorted(List<Task> newestFirst, TaskSort sort) {
+        return switch (sort) {
+            case CREATED_AT -> newestFirst;
+            case UPDATED_AT -> newestFirst.stream()
+                    .sorted(Comparator.comparing(Task::getUpdatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                            .thenComparing(Task::getId, Comparator.reverseOrder()))
+                    .collect(Collectors.toList());
+            case TITLE -> newestFirst.stream()
+                    .sorted(Comparator.comparing(Task::getTitle).thenComparing(Task::getId))
+                    .collect(Collectors.toList());
+        };
+    }
+
+    private static final class LogEntry {
+
+        private final Long id;
+        // Null while the task exists
+        private final LocalDateTime deletedAt;
+
+        private LogEntry(Long id, LocalDateTime deletedAt) {
+            this.id = id;
+            this.deletedAt = deletedAt;
+        }
+    }
+}
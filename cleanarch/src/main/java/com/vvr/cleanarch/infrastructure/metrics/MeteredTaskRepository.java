@@ -0,0 +1,208 @@
+package com.vvr.cleanarch.infrastructure.metrics;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskChangeCursor;
+import com.vvr.cleanarch.domain.repositories.TaskChanges;
+import com.vvr.cleanarch.domain.repositories.TaskCursor;
+import com.vvr.cleanarch.domain.repositories.TaskPage;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import com.vvr.cleanarch.domain.repositories.TaskRow;
+import com.vvr.cleanarch.domain.repositories.TaskSort;
+import com.vvr.cleanarch.domain.repositories.TaskStatusChange;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Decorates a storage adapter with a latency histogram per repository method
+// (tasks.repository{method, outcome}) and the number of tasks each listing returned
+// (tasks.repository.result.size{method}).
+public class MeteredTaskRepository implements TaskRepository {
+
+    static final String TIMER = "tasks.repository";
+    static final String RESULT_SIZE = "tasks.repository.result.size";
+
+    private final TaskRepository delegate;
+    private final MeterRegistry registry;
+    private final String adapter;
+    private final Map<String, Timer> successTimers = new ConcurrentHashMap<>();
+    private final Map<String, DistributionSummary> resultSizes = new ConcurrentHashMap<>();
+
+    public MeteredTaskRepository(TaskRepository delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+        this.adapter = delegate.getClass().getSimpleName();
+    }
+
+    @Override
+    public Task save(Task task) {
+        return timed("save", () -> delegate.save(task));
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        return timed("saveAll", () -> delegate.saveAll(tasks));
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return timed("findById", () -> delegate.findById(id));
+    }
+
+    @Override
+    public List<Task> findAll(TaskSort sort) {
+        return sized("findAll", timed("findAll", () -> delegate.findAll(sort)));
+    }
+
+    @Override
+    public List<Task> findByStatus(TaskStatus status, TaskSort sort) {
+        return sized("findByStatus", timed("findByStatus", () -> delegate.findByStatus(status, sort)));
+    }
+
+    @Override
+    public TaskPage findPage(TaskStatus status, TaskCursor after, int limit) {
+        TaskPage page = timed("findPage", () -> delegate.findPage(status, after, limit));
+        sized("findPage", page.getItems());
+        return page;
+    }
+
+    @Override
+    public TaskPage findPageCreatedBefore(TaskStatus status, LocalDateTime createdBefore, TaskCursor after, int limit) {
+        TaskPage page = timed("findPageCreatedBefore",
+                () -> delegate.findPageCreatedBefore(status, createdBefore, after, limit));
+        sized("findPageCreatedBefore", page.getItems());
+        return page;
+    }
+
+    @Override
+    public void forEachTask(TaskStatus status, Consumer<Task> action) {
+        timed("forEachTask", () -> {
+            delegate.forEachTask(status, action);
+            return null;
+        });
+    }
+
+    @Override
+    public void forEachRow(TaskStatus status, TaskSort sort, Consumer<TaskRow> action) {
+        timed("forEachRow", () -> {
+            delegate.forEachRow(status, sort, action);
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<TaskStatusChange> updateStatusIfCurrentIn(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses,
+                                                              TaskStatus status, LocalDateTime updatedAt) {
+        return timed("updateStatusIfCurrentIn",
+                () -> delegate.updateStatusIfCurrentIn(id, expectedVersion, expectedStatuses, status, updatedAt));
+    }
+
+    @Override
+    public Optional<Task> updateDetailsIfCurrentIn(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses,
+                                                   String title, String description, LocalDateTime updatedAt) {
+        return timed("updateDetailsIfCurrentIn",
+                () -> delegate.updateDetailsIfCurrentIn(id, expectedVersion, expectedStatuses, title, description, updatedAt));
+    }
+
+    @Override
+    public Map<TaskStatus, Long> countByStatus() {
+        return timed("countByStatus", delegate::countByStatus);
+    }
+
+    @Override
+    public List<Task> findAllByIds(Collection<Long> ids) {
+        return sized("findAllByIds", timed("findAllByIds", () -> delegate.findAllByIds(ids)));
+    }
+
+    @Override
+    public Map<Long, TaskStatus> findStatusesByIds(Collection<Long> ids) {
+        return timed("findStatusesByIds", () -> delegate.findStatusesByIds(ids));
+    }
+
+    @Override
+    public List<Long> updateStatusByIds(Collection<Long> ids, Collection<TaskStatus> expectedStatuses,
+                                        TaskStatus status, LocalDateTime updatedAt) {
+        return timed("updateStatusByIds", () -> delegate.updateStatusByIds(ids, expectedStatuses, status, updatedAt));
+    }
+
+    @Override
+    public int updateStatusByStatus(TaskStatus currentStatus, TaskStatus status, LocalDateTime updatedAt) {
+        return timed("updateStatusByStatus", () -> delegate.updateStatusByStatus(currentStatus, status, updatedAt));
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        timed("deleteById", () -> {
+            delegate.deleteById(id);
+            return null;
+        });
+    }
+
+    @Override
+    public Optional<TaskStatus> deleteIfCurrentIn(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses) {
+        return timed("deleteIfCurrentIn", () -> delegate.deleteIfCurrentIn(id, expectedVersion, expectedStatuses));
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return timed("existsById", () -> delegate.existsById(id));
+    }
+
+    @Override
+    public TaskChanges findChangesSince(TaskChangeCursor after, int limit) {
+        TaskChanges changes = timed("findChangesSince", () -> delegate.findChangesSince(after, limit));
+        sized("findChangesSince", changes.getChanges());
+        return changes;
+    }
+
+    @Override
+    public int purgeDeletionsBefore(LocalDateTime deletedBefore) {
+        return timed("purgeDeletionsBefore", () -> delegate.purgeDeletionsBefore(deletedBefore));
+    }
+
+    private <T> T timed(String method, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            successTimers.computeIfAbsent(method, key -> timer(key, "success", "none"))
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            timer(method, "error", e.getClass().getSimpleName()).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private <T> List<T> sized(String method, List<T> tasks) {
+        resultSizes.computeIfAbsent(method, key -> DistributionSummary.builder(RESULT_SIZE)
+                        .description("Tasks returned by a repository listing")
+                        .baseUnit("tasks")
+                        .tag("adapter", adapter)
+                        .tag("method", key)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(tasks.size());
+        return tasks;
+    }
+
+    private Timer timer(String method, String outcome, String exception) {
+        return Timer.builder(TIMER)
+                .description("Latency of storage adapter calls")
+                .tag("adapter", adapter)
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
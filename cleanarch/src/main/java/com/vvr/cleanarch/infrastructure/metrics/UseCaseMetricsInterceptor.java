@@ -0,0 +1,61 @@
+package com.vvr.cleanarch.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.concurrent.TimeUnit;
+
+// Times every call into one use case (tasks.usecase{usecase, outcome, exception}) and counts the
+// failures (tasks.usecase.errors{usecase, exception}). Installed around the plain use case objects
+// by a proxy, so the application layer itself knows nothing about metrics.
+public class UseCaseMetricsInterceptor implements MethodInterceptor {
+
+    static final String TIMER = "tasks.usecase";
+    static final String ERRORS = "tasks.usecase.errors";
+
+    private final MeterRegistry registry;
+    private final String useCase;
+    private final Timer successTimer;
+
+    public UseCaseMetricsInterceptor(MeterRegistry registry, String useCase) {
+        this.registry = registry;
+        this.useCase = useCase;
+        this.successTimer = timer("success", "none");
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        if (invocation.getMethod().getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            Object result = invocation.proceed();
+            successTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (Throwable e) {
+            String exception = e.getClass().getSimpleName();
+            timer("error", exception).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            Counter.builder(ERRORS)
+                    .description("Use case calls that ended with an exception")
+                    .tag("usecase", useCase)
+                    .tag("exception", exception)
+                    .register(registry)
+                    .increment();
+            throw e;
+        }
+    }
+
+    private Timer timer(String outcome, String exception) {
+        return Timer.builder(TIMER)
+                .description("Latency of use case calls")
+                .tag("usecase", useCase)
+                .tag("outcome", outcome)
+                .tag("exception", exception)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
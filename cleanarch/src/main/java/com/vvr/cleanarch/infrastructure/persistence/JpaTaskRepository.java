@@ -1,13 +1,194 @@
 package com.vvr.cleanarch.infrastructure.persistence;
 
 import com.vvr.cleanarch.domain.entities.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface JpaTaskRepository extends JpaRepository<TaskEntity, Long> {
 
-    List<TaskEntity> findByStatus(TaskStatus status);
+    interface IdAndStatus {
+        Long getId();
+
+        TaskStatus getStatus();
+    }
+
+    interface StatusCount {
+        TaskStatus getStatus();
+
+        Long getCount();
+    }
+
+    List<TaskEntity> findByStatus(TaskStatus status, Sort sort);
+
+    // Keyset pagination over (createdAt DESC, id DESC). The redundant "createdAt <= :createdAt"
+    // bound gives the planner a range it can seek to instead of evaluating the OR per row.
+
+    @Query("SELECT t FROM TaskEntity t ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskEntity> findFirstPage(Limit limit);
+
+    @Query("SELECT t FROM TaskEntity t WHERE t.status = :status ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskEntity> findFirstPageByStatus(@Param("status") TaskStatus status, Limit limit);
+
+    @Query("SELECT t FROM TaskEntity t "
+            + "WHERE t.createdAt <= :createdAt AND (t.createdAt < :createdAt OR t.id < :id) "
+            + "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskEntity> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                   @Param("id") Long id,
+                                   Limit limit);
+
+    @Query("SELECT t FROM TaskEntity t "
+            + "WHERE t.status = :status "
+            + "AND t.createdAt <= :createdAt AND (t.createdAt < :createdAt OR t.id < :id) "
+            + "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaskEntity> findPageByStatusAfter(@Param("status") TaskStatus status,
+                                           @Param("createdAt") LocalDateTime createdAt,
+                                           @Param("id") Long id,
+                                           Limit limit);
+
+    // Oldest-first keyset pagination below a creation date cutoff (the overdue listing), a range
+    // scan of the (status, created_at, id) index; the same redundant bound as above applies
+
+    @Query("SELECT t FROM TaskEntity t "
+            + "WHERE t.status = :status AND t.createdAt < :createdBefore "
+            + "ORDER BY t.createdAt ASC, t.id ASC")
+    List<TaskEntity> findFirstPageCreatedBefore(@Param("status") TaskStatus status,
+                                                @Param("createdBefore") LocalDateTime createdBefore,
+                                                Limit limit);
+
+    @Query("SELECT t FROM TaskEntity t "
+            + "WHERE t.status = :status AND t.createdAt < :createdBefore "
+            + "AND t.createdAt >= :createdAt AND (t.createdAt > :createdAt OR t.id > :id) "
+            + "ORDER BY t.createdAt ASC, t.id ASC")
+    List<TaskEntity> findPageCreatedBeforeAfter(@Param("status") TaskStatus status,
+                                                @Param("createdBefore") LocalDateTime createdBefore,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Limit limit);
+
+    // Cursor-backed streams for exports: rows are fetched from the driver in chunks and
+    // loaded read-only so Hibernate keeps no dirty-checking snapshot per entity.
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM TaskEntity t ORDER BY t.id")
+    Stream<TaskEntity> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM TaskEntity t WHERE t.status = :status ORDER BY t.id")
+    Stream<TaskEntity> streamByStatus(@Param("status") TaskStatus status);
+
+    // Change log keyset over (changeSeq, id), a range scan of the (change_seq, id) index bounded
+    // above by the stable sequence; the same redundant lower bound as the listings applies
+
+    @Query("SELECT t FROM TaskEntity t "
+            + "WHERE t.changeSeq <= :upTo "
+            + "AND t.changeSeq >= :changeSeq AND (t.changeSeq > :changeSeq OR t.id > :id) "
+            + "ORDER BY t.changeSeq, t.id")
+    List<TaskEntity> findChangedAfter(@Param("changeSeq") long changeSeq,
+                                      @Param("id") long id,
+                                      @Param("upTo") long upTo,
+                                      Limit limit);
+
+    @Query("SELECT COALESCE(MAX(t.changeSeq), 0) FROM TaskEntity t")
+    long findMaxChangeSeq();
+
+    @Query("SELECT t.status AS status, COUNT(t) AS count FROM TaskEntity t GROUP BY t.status")
+    List<StatusCount> countGroupedByStatus();
+
+    @Query("SELECT t.id AS id, t.status AS status FROM TaskEntity t WHERE t.id IN :ids")
+    List<IdAndStatus> findStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT t.id FROM TaskEntity t WHERE t.id IN :ids AND t.changeSeq = :changeSeq")
+    List<Long> findIdsByIdInAndChangeSeq(@Param("ids") Collection<Long> ids, @Param("changeSeq") long changeSeq);
+
+    // Set-based status transitions: the guard on the current status lives in the WHERE clause,
+    // so the business rule holds even against concurrent writers. JPQL bulk statements skip
+    // @Version handling, so each one increments the version explicitly, and each stamps the
+    // change sequence handed in by TaskRepositoryImpl.
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TaskEntity t SET t.status = :status, t.updatedAt = :updatedAt, t.version = t.version + 1, "
+            + "t.changeSeq = :changeSeq "
+            + "WHERE t.id IN :ids AND t.status IN :expectedStatuses")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids,
+                           @Param("expectedStatuses") Collection<TaskStatus> expectedStatuses,
+                           @Param("status") TaskStatus status,
+                           @Param("updatedAt") LocalDateTime updatedAt,
+                           @Param("changeSeq") long changeSeq);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TaskEntity t SET t.status = :status, t.updatedAt = :updatedAt, t.version = t.version + 1, "
+            + "t.changeSeq = :changeSeq "
+            + "WHERE t.status = :currentStatus")
+    int updateStatusByStatus(@Param("currentStatus") TaskStatus currentStatus,
+                             @Param("status") TaskStatus status,
+                             @Param("updatedAt") LocalDateTime updatedAt,
+                             @Param("changeSeq") long changeSeq);
+
+    // Single-row variants also honour an optional expected version (null matches any version)
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE TaskEntity t SET t.title = :title, t.description = :description, t.updatedAt = :updatedAt, "
+            + "t.version = t.version + 1, t.changeSeq = :changeSeq "
+            + "WHERE t.id = :id AND t.status IN :expectedStatuses "
+            + "AND (:expectedVersion IS NULL OR t.version = :expectedVersion)")
+    int updateDetailsByIdIfCurrentIn(@Param("id") Long id,
+                                     @Param("expectedVersion") Long expectedVersion,
+                                     @Param("expectedStatuses") Collection<TaskStatus> expectedStatuses,
+                                     @Param("title") String title,
+                                     @Param("description") String description,
+                                     @Param("updatedAt") LocalDateTime updatedAt,
+                                     @Param("changeSeq") long changeSeq);
+
+    // The single-row status change and delete also need the status the row had, which JPQL
+    // cannot return. They are native H2 data change delta tables instead: the guarded statement
+    // and the read of its pre-image are one statement, so nothing can change the row in between.
+    // Statuses are passed by name, as the column stores them. These bypass the persistence
+    // context; TaskRepositoryImpl clears it afterwards, like clearAutomatically does.
+
+    @Transactional
+    @Query(value = "SELECT status FROM OLD TABLE ("
+            + "UPDATE tasks SET status = :status, updated_at = :updatedAt, version = version + 1, "
+            + "change_seq = :changeSeq "
+            + "WHERE id = :id AND status IN (:expectedStatuses) "
+            + "AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = :expectedVersion))",
+            nativeQuery = true)
+    List<String> updateStatusByIdIfCurrentInReturningPrevious(@Param("id") Long id,
+                                                              @Param("expectedVersion") Long expectedVersion,
+                                                              @Param("expectedStatuses") Collection<String> expectedStatuses,
+                                                              @Param("status") String status,
+                                                              @Param("updatedAt") LocalDateTime updatedAt,
+                                                              @Param("changeSeq") long changeSeq);
+
+    @Transactional
+    @Query(value = "SELECT status FROM OLD TABLE ("
+            + "DELETE FROM tasks WHERE id = :id AND status IN (:expectedStatuses) "
+            + "AND (CAST(:expectedVersion AS BIGINT) IS NULL OR version = :expectedVersion))",
+            nativeQuery = true)
+    List<String> deleteByIdIfCurrentInReturningPrevious(@Param("id") Long id,
+                                                        @Param("expectedVersion") Long expectedVersion,
+                                                        @Param("expectedStatuses") Collection<String> expectedStatuses);
 }
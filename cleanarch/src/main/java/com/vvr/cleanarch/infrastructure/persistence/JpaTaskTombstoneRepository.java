@@ -0,0 +1,37 @@
+package com.vvr.cleanarch.infrastructure.persistence;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface JpaTaskTombstoneRepository extends JpaRepository<TaskTombstoneEntity, Long> {
+
+    // Same keyset over (changeSeq, taskId) as JpaTaskRepository.findChangedAfter
+    @Query("SELECT t FROM TaskTombstoneEntity t "
+            + "WHERE t.changeSeq <= :upTo "
+            + "AND t.changeSeq >= :changeSeq AND (t.changeSeq > :changeSeq OR t.taskId > :taskId) "
+            + "ORDER BY t.changeSeq, t.taskId")
+    List<TaskTombstoneEntity> findDeletedAfter(@Param("changeSeq") long changeSeq,
+                                               @Param("taskId") long taskId,
+                                               @Param("upTo") long upTo,
+                                               Limit limit);
+
+    @Query("SELECT COALESCE(MAX(t.changeSeq), 0) FROM TaskTombstoneEntity t")
+    long findMaxChangeSeq();
+
+    // The newest tombstone always stays: its sequence may be the highest ever handed out, and the
+    // sequence resumes from the highest stored one after a restart
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM TaskTombstoneEntity t WHERE t.deletedAt < :deletedBefore "
+            + "AND t.changeSeq < (SELECT MAX(n.changeSeq) FROM TaskTombstoneEntity n)")
+    int deleteByDeletedAtBefore(@Param("deletedBefore") LocalDateTime deletedBefore);
+}
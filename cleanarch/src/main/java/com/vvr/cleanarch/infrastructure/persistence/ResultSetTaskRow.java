@@ -0,0 +1,68 @@
+package com.vvr.cleanarch.infrastructure.persistence;
+
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskRow;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+// One reusable TaskRow for a whole scan, loaded with the columns of each row in turn. Column
+// positions follow SELECT_COLUMNS.
+final class ResultSetTaskRow implements TaskRow {
+
+    static final String SELECT_COLUMNS = "id, title, description, status, created_at, updated_at, version";
+
+    private long id;
+    private String title;
+    private String description;
+    private TaskStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private long version;
+
+    void load(ResultSet rs) throws SQLException {
+        id = rs.getLong(1);
+        title = rs.getString(2);
+        description = rs.getString(3);
+        status = TaskStatus.valueOf(rs.getString(4));
+        createdAt = rs.getObject(5, LocalDateTime.class);
+        updatedAt = rs.getObject(6, LocalDateTime.class);
+        version = rs.getLong(7);
+    }
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String getTitle() {
+        return title;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    @Override
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+}
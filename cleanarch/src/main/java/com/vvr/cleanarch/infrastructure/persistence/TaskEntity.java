@@ -8,16 +8,26 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_status_created_at_id", columnList = "status, created_at, id"),
+        @Index(name = "idx_tasks_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_tasks_change_seq_id", columnList = "change_seq, id")
+})
 public class TaskEntity {
 
+    // A pooled sequence hands out ids without a round trip per row; IDENTITY would
+    // force Hibernate to execute each INSERT immediately and disable JDBC batching.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -36,17 +46,29 @@ public class TaskEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Checked by Hibernate on merge; the bulk and guarded JPQL updates in JpaTaskRepository
+    // bypass that check and must increment it themselves
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    // Position of the latest write in the change log; set by TaskRepositoryImpl on every write,
+    // the JPQL updates included
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
     public TaskEntity() {
     }
 
     public TaskEntity(Long id, String title, String description, TaskStatus status,
-                      LocalDateTime createdAt, LocalDateTime updatedAt) {
+                      LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
         this.id = id;
         this.title = title;
         this.description = description;
         this.status = status;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.version = version;
     }
 
     public Long getId() {
@@ -96,4 +118,20 @@ public class TaskEntity {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
 }
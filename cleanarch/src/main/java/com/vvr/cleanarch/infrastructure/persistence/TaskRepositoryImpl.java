@@ -2,31 +2,105 @@ package com.vvr.cleanarch.infrastructure.persistence;
 
 import com.vvr.cleanarch.domain.entities.Task;
 import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskChange;
+import com.vvr.cleanarch.domain.repositories.TaskChangeCursor;
+import com.vvr.cleanarch.domain.repositories.TaskChanges;
+import com.vvr.cleanarch.domain.repositories.TaskCursor;
+import com.vvr.cleanarch.domain.repositories.TaskPage;
 import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import com.vvr.cleanarch.domain.repositories.TaskRow;
+import com.vvr.cleanarch.domain.repositories.TaskSort;
+import com.vvr.cleanarch.domain.repositories.TaskStatusChange;
+import com.vvr.cleanarch.infrastructure.changelog.ChangeSequence;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
+@Qualifier("taskStore")
+@Profile("!inmemory & !wal")
 public class TaskRepositoryImpl implements TaskRepository {
 
+    // Keep in sync with spring.jpa.properties.hibernate.jdbc.batch_size
+    private static final int BATCH_SIZE = 50;
+    // Rows the driver fetches per round trip during row scans, like the export stream hints
+    private static final int SCAN_FETCH_SIZE = 500;
+    private static final String SELECT_ROWS = "SELECT " + ResultSetTaskRow.SELECT_COLUMNS + " FROM tasks";
+
     private final JpaTaskRepository jpaTaskRepository;
+    private final JpaTaskTombstoneRepository jpaTaskTombstoneRepository;
     private final TaskMapper taskMapper;
+    private final EntityManager entityManager;
+    // Plain JDBC for row scans: no entities, no persistence context, one reused row view
+    private final JdbcTemplate scanJdbcTemplate;
+    // Change sequences are handed out by this process, resuming from the highest one stored. Like
+    // the in-memory status counters, this assumes a single application instance writes the table.
+    private final ChangeSequence changeSequence;
 
-    public TaskRepositoryImpl(JpaTaskRepository jpaTaskRepository, TaskMapper taskMapper) {
+    public TaskRepositoryImpl(JpaTaskRepository jpaTaskRepository, JpaTaskTombstoneRepository jpaTaskTombstoneRepository,
+                              TaskMapper taskMapper, EntityManager entityManager, DataSource dataSource) {
         this.jpaTaskRepository = jpaTaskRepository;
+        this.jpaTaskTombstoneRepository = jpaTaskTombstoneRepository;
         this.taskMapper = taskMapper;
+        this.entityManager = entityManager;
+        this.scanJdbcTemplate = new JdbcTemplate(dataSource);
+        this.scanJdbcTemplate.setFetchSize(SCAN_FETCH_SIZE);
+        this.changeSequence = new ChangeSequence(() -> Math.max(
+                jpaTaskRepository.findMaxChangeSeq(), jpaTaskTombstoneRepository.findMaxChangeSeq()));
     }
 
     @Override
+    @Transactional
     public Task save(Task task) {
         TaskEntity entity = taskMapper.toEntity(task);
+        entity.setChangeSeq(nextChangeSeq());
         TaskEntity savedEntity = jpaTaskRepository.save(entity);
         return taskMapper.toDomain(savedEntity);
     }
 
+    @Override
+    @Transactional
+    public List<Task> saveAll(List<Task> tasks) {
+        List<Task> saved = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            TaskEntity entity = taskMapper.toEntity(tasks.get(i));
+            entity.setChangeSeq(nextChangeSeq());
+            if (entity.getId() == null) {
+                entityManager.persist(entity);
+            } else {
+                entity = entityManager.merge(entity);
+            }
+            saved.add(taskMapper.toDomain(entity));
+
+            // Send each full JDBC batch and drop it from the persistence context
+            if ((i + 1) % BATCH_SIZE == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        return saved;
+    }
+
     @Override
     public Optional<Task> findById(Long id) {
         return jpaTaskRepository.findById(id)
@@ -34,26 +108,256 @@ public class TaskRepositoryImpl implements TaskRepository {
     }
 
     @Override
-    public List<Task> findAll() {
-        return jpaTaskRepository.findAll().stream()
+    public List<Task> findAll(TaskSort sort) {
+        return jpaTaskRepository.findAll(toJpaSort(sort)).stream()
                 .map(taskMapper::toDomain)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<Task> findByStatus(TaskStatus status) {
-        return jpaTaskRepository.findByStatus(status).stream()
+    public List<Task> findByStatus(TaskStatus status, TaskSort sort) {
+        return jpaTaskRepository.findByStatus(status, toJpaSort(sort)).stream()
                 .map(taskMapper::toDomain)
                 .collect(Collectors.toList());
     }
 
     @Override
+    public TaskPage findPage(TaskStatus status, TaskCursor after, int limit) {
+        // Fetch one extra row to know whether another page follows without a COUNT query
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<TaskEntity> entities;
+        if (after == null) {
+            entities = status == null
+                    ? jpaTaskRepository.findFirstPage(fetchLimit)
+                    : jpaTaskRepository.findFirstPageByStatus(status, fetchLimit);
+        } else {
+            entities = status == null
+                    ? jpaTaskRepository.findPageAfter(after.getCreatedAt(), after.getId(), fetchLimit)
+                    : jpaTaskRepository.findPageByStatusAfter(status, after.getCreatedAt(), after.getId(), fetchLimit);
+        }
+
+        boolean hasNext = entities.size() > limit;
+        List<Task> items = entities.stream()
+                .limit(limit)
+                .map(taskMapper::toDomain)
+                .toList();
+        TaskCursor nextCursor = hasNext ? TaskCursor.after(items.get(items.size() - 1)) : null;
+        return new TaskPage(items, nextCursor);
+    }
+
+    @Override
+    public TaskPage findPageCreatedBefore(TaskStatus status, LocalDateTime createdBefore, TaskCursor after, int limit) {
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<TaskEntity> entities = after == null
+                ? jpaTaskRepository.findFirstPageCreatedBefore(status, createdBefore, fetchLimit)
+                : jpaTaskRepository.findPageCreatedBeforeAfter(status, createdBefore,
+                        after.getCreatedAt(), after.getId(), fetchLimit);
+
+        boolean hasNext = entities.size() > limit;
+        List<Task> items = entities.stream()
+                .limit(limit)
+                .map(taskMapper::toDomain)
+                .toList();
+        TaskCursor nextCursor = hasNext ? TaskCursor.after(items.get(items.size() - 1)) : null;
+        return new TaskPage(items, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachTask(TaskStatus status, Consumer<Task> action) {
+        try (Stream<TaskEntity> entities = status == null
+                ? jpaTaskRepository.streamAll()
+                : jpaTaskRepository.streamByStatus(status)) {
+            entities.forEach(entity -> {
+                action.accept(taskMapper.toDomain(entity));
+                // Keep the persistence context from growing with every row visited
+                entityManager.detach(entity);
+            });
+        }
+    }
+
+    @Override
+    public void forEachRow(TaskStatus status, TaskSort sort, Consumer<TaskRow> action) {
+        ResultSetTaskRow row = new ResultSetTaskRow();
+        RowCallbackHandler handler = rs -> {
+            row.load(rs);
+            action.accept(row);
+        };
+        if (status == null) {
+            scanJdbcTemplate.query(SELECT_ROWS + " ORDER BY " + toSqlOrderBy(sort), handler);
+        } else {
+            scanJdbcTemplate.query(SELECT_ROWS + " WHERE status = ? ORDER BY " + toSqlOrderBy(sort),
+                    handler, status.name());
+        }
+    }
+
+    // The guarded UPDATE returns at most the row's previous status, so after a successful one the
+    // new state is read back by primary key in the same transaction: two statements instead of
+    // SELECT + merge (another SELECT) + UPDATE.
+
+    @Override
+    @Transactional
+    public Optional<TaskStatusChange> updateStatusIfCurrentIn(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses,
+                                                              TaskStatus status, LocalDateTime updatedAt) {
+        List<String> previous = jpaTaskRepository.updateStatusByIdIfCurrentInReturningPrevious(
+                id, expectedVersion, names(expectedStatuses), status.name(), updatedAt, nextChangeSeq());
+        entityManager.clear();
+        if (previous.isEmpty()) {
+            return Optional.empty();
+        }
+        TaskStatus previousStatus = TaskStatus.valueOf(previous.get(0));
+        return findById(id).map(task -> new TaskStatusChange(previousStatus, task));
+    }
+
+    @Override
+    @Transactional
+    public Optional<Task> updateDetailsIfCurrentIn(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses,
+                                                   String title, String description, LocalDateTime updatedAt) {
+        if (jpaTaskRepository.updateDetailsByIdIfCurrentIn(
+                id, expectedVersion, expectedStatuses, title, description, updatedAt, nextChangeSeq()) == 0) {
+            return Optional.empty();
+        }
+        return findById(id);
+    }
+
+    @Override
+    public Map<TaskStatus, Long> countByStatus() {
+        return jpaTaskRepository.countGroupedByStatus().stream()
+                .collect(Collectors.toMap(JpaTaskRepository.StatusCount::getStatus, JpaTaskRepository.StatusCount::getCount));
+    }
+
+    @Override
+    public List<Task> findAllByIds(Collection<Long> ids) {
+        return jpaTaskRepository.findAllById(ids).stream()
+                .map(taskMapper::toDomain)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Map<Long, TaskStatus> findStatusesByIds(Collection<Long> ids) {
+        return jpaTaskRepository.findStatusesByIdIn(ids).stream()
+                .collect(Collectors.toMap(JpaTaskRepository.IdAndStatus::getId, JpaTaskRepository.IdAndStatus::getStatus));
+    }
+
+    // Every row a set-based update touches gets the same change sequence
+
+    @Override
+    @Transactional
+    public List<Long> updateStatusByIds(Collection<Long> ids, Collection<TaskStatus> expectedStatuses,
+                                        TaskStatus status, LocalDateTime updatedAt) {
+        long changeSeq = nextChangeSeq();
+        int updated = jpaTaskRepository.updateStatusByIdIn(ids, expectedStatuses, status, updatedAt, changeSeq);
+        if (updated == ids.size()) {
+            return List.copyOf(ids);
+        }
+        if (updated == 0) {
+            return List.of();
+        }
+        // Only a partial update needs a second statement: the changed rows carry this change sequence
+        return jpaTaskRepository.findIdsByIdInAndChangeSeq(ids, changeSeq);
+    }
+
+    @Override
+    @Transactional
+    public int updateStatusByStatus(TaskStatus currentStatus, TaskStatus status, LocalDateTime updatedAt) {
+        return jpaTaskRepository.updateStatusByStatus(currentStatus, status, updatedAt, nextChangeSeq());
+    }
+
+    @Override
+    @Transactional
     public void deleteById(Long id) {
-        jpaTaskRepository.deleteById(id);
+        jpaTaskRepository.findById(id).ifPresent(entity -> {
+            jpaTaskRepository.delete(entity);
+            leaveTombstone(id);
+        });
+    }
+
+    @Override
+    @Transactional
+    public Optional<TaskStatus> deleteIfCurrentIn(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses) {
+        // Unlike deleteById, this does not load the entity first and leaves no window for a
+        // concurrent status change between the check and the delete
+        List<String> previous = jpaTaskRepository.deleteByIdIfCurrentInReturningPrevious(
+                id, expectedVersion, names(expectedStatuses));
+        entityManager.clear();
+        if (previous.isEmpty()) {
+            return Optional.empty();
+        }
+        leaveTombstone(id);
+        return Optional.of(TaskStatus.valueOf(previous.get(0)));
     }
 
     @Override
     public boolean existsById(Long id) {
         return jpaTaskRepository.existsById(id);
     }
+
+    @Override
+    public TaskChanges findChangesSince(TaskChangeCursor after, int limit) {
+        long stable = changeSequence.stable();
+        Limit fetchLimit = Limit.of(limit + 1);
+        List<TaskChange> entries = new ArrayList<>();
+        for (TaskEntity entity : jpaTaskRepository.findChangedAfter(after.getSequence(), after.getId(), stable, fetchLimit)) {
+            entries.add(TaskChange.changed(entity.getChangeSeq(), taskMapper.toDomain(entity)));
+        }
+        for (TaskTombstoneEntity tombstone : jpaTaskTombstoneRepository.findDeletedAfter(
+                after.getSequence(), after.getId(), stable, fetchLimit)) {
+            entries.add(TaskChange.deleted(tombstone.getChangeSeq(), tombstone.getTaskId()));
+        }
+        // Both runs stop at limit + 1, so the first limit + 1 of their merge are exact
+        entries.sort(Comparator.comparing(TaskChange::getCursor, TaskChangeCursor.LOG_ORDER));
+        return TaskChanges.page(entries.subList(0, Math.min(entries.size(), limit + 1)), limit, stable, null);
+    }
+
+    @Override
+    public int purgeDeletionsBefore(LocalDateTime deletedBefore) {
+        return jpaTaskTombstoneRepository.deleteByDeletedAtBefore(deletedBefore);
+    }
+
+    // persist() rather than save(): with an assigned id, save() would merge and SELECT first
+    private void leaveTombstone(Long taskId) {
+        entityManager.persist(new TaskTombstoneEntity(taskId, nextChangeSeq(), LocalDateTime.now()));
+    }
+
+    // Change sequence for a write in the current transaction. The first one the transaction takes
+    // stays open in the ChangeSequence until the transaction completes, which keeps readers of the
+    // change log below every sequence the transaction uses until its rows are visible.
+    private long nextChangeSeq() {
+        if (TransactionSynchronizationManager.hasResource(changeSequence)) {
+            return changeSequence.next();
+        }
+        long first = changeSequence.begin();
+        TransactionSynchronizationManager.bindResource(changeSequence, first);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(changeSequence);
+                changeSequence.end(first);
+            }
+        });
+        return first;
+    }
+
+    // Status names as the status column stores them, for the native statements
+    private static List<String> names(Collection<TaskStatus> statuses) {
+        return statuses.stream().map(TaskStatus::name).toList();
+    }
+
+    // Every ordering ends with id so results are deterministic and match the (created_at, id) index
+    private static Sort toJpaSort(TaskSort sort) {
+        return switch (sort) {
+            case CREATED_AT -> Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+            case UPDATED_AT -> Sort.by(Sort.Order.desc("updatedAt").nullsLast(), Sort.Order.desc("id"));
+            case TITLE -> Sort.by(Sort.Order.asc("title"), Sort.Order.asc("id"));
+        };
+    }
+
+    // The orderings of toJpaSort for the plain SQL scans
+    private static String toSqlOrderBy(TaskSort sort) {
+        return switch (sort) {
+            case CREATED_AT -> "created_at DESC, id DESC";
+            case UPDATED_AT -> "updated_at DESC NULLS LAST, id DESC";
+            case TITLE -> "title ASC, id ASC";
+        };
+    }
 }
@@ -0,0 +1,42 @@
+package com.vvr.cleanarch.infrastructure.wal;
+
+import com.vvr.cleanarch.domain.entities.Task;
+
+// One logged mutation. The log stores after-images: a PUT carries the whole task as it is
+// after the write, so replaying a record never depends on the state it was applied to.
+public final class WalRecord {
+
+    public enum Type {
+        PUT, DELETE
+    }
+
+    private final Type type;
+    private final Long id;
+    private final Task task;
+
+    private WalRecord(Type type, Long id, Task task) {
+        this.type = type;
+        this.id = id;
+        this.task = task;
+    }
+
+    public static WalRecord put(Task task) {
+        return new WalRecord(Type.PUT, task.getId(), task.copy());
+    }
+
+    public static WalRecord delete(Long id) {
+        return new WalRecord(Type.DELETE, id, null);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Task getTask() {
+        return task == null ? null : task.copy();
+    }
+}
@@ -0,0 +1,108 @@
+package com.vvr.cleanarch.infrastructure.wal;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+// Binary layout of a record payload, shared by log segments and snapshots.
+// Statuses are written by name so reordering the enum never corrupts stored data.
+final class WalRecordCodec {
+
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+
+    private WalRecordCodec() {
+    }
+
+    static byte[] encode(WalRecord record) {
+        if (record.getType() == WalRecord.Type.DELETE) {
+            return ByteBuffer.allocate(1 + Long.BYTES).put(DELETE).putLong(record.getId()).array();
+        }
+        Task task = record.getTask();
+        byte[] title = utf8(task.getTitle());
+        byte[] description = utf8(task.getDescription());
+        byte[] status = utf8(task.getStatus().name());
+        int size = 1 + Long.BYTES * 2
+                + stringSize(title) + stringSize(description) + stringSize(status)
+                + timestampSize(task.getCreatedAt()) + timestampSize(task.getUpdatedAt());
+        ByteBuffer buffer = ByteBuffer.allocate(size)
+                .put(PUT)
+                .putLong(task.getId())
+                .putLong(task.getVersion());
+        putString(buffer, title);
+        putString(buffer, description);
+        putString(buffer, status);
+        putTimestamp(buffer, task.getCreatedAt());
+        putTimestamp(buffer, task.getUpdatedAt());
+        return buffer.array();
+    }
+
+    static WalRecord decode(ByteBuffer buffer) {
+        byte type = buffer.get();
+        if (type == DELETE) {
+            return WalRecord.delete(buffer.getLong());
+        }
+        if (type != PUT) {
+            throw new IllegalArgumentException("Unknown WAL record type: " + type);
+        }
+        long id = buffer.getLong();
+        long version = buffer.getLong();
+        String title = getString(buffer);
+        String description = getString(buffer);
+        TaskStatus status = TaskStatus.valueOf(getString(buffer));
+        LocalDateTime createdAt = getTimestamp(buffer);
+        LocalDateTime updatedAt = getTimestamp(buffer);
+        return WalRecord.put(new Task(id, title, description, status, createdAt, updatedAt, version));
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int stringSize(byte[] value) {
+        return Integer.BYTES + (value == null ? 0 : value.length);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length).put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int timestampSize(LocalDateTime value) {
+        return 1 + (value == null ? 0 : Long.BYTES + Integer.BYTES);
+    }
+
+    private static void putTimestamp(ByteBuffer buffer, LocalDateTime value) {
+        if (value == null) {
+            buffer.put((byte) 0);
+        } else {
+            buffer.put((byte) 1).putLong(value.toEpochSecond(ZoneOffset.UTC)).putInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime getTimestamp(ByteBuffer buffer) {
+        if (buffer.get() == 0) {
+            return null;
+        }
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+}
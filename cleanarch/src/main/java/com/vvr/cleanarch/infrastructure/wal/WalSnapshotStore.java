@@ -0,0 +1,176 @@
+package com.vvr.cleanarch.infrastructure.wal;
+
+import com.vvr.cleanarch.domain.entities.Task;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+// Compacted copies of the whole task set, so recovery replays only the log written after them.
+//
+// A snapshot file is [magic][lsn][last id] followed by one checksummed PUT payload per task and a
+// trailer with the task count. It is written to a temporary file, forced and atomically renamed,
+// so a crash leaves either the previous snapshot or the complete new one.
+final class WalSnapshotStore {
+
+    private static final int MAGIC = 0x54534E50; // "TSNP"
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+
+    private final Path directory;
+
+    WalSnapshotStore(Path directory) {
+        this.directory = directory;
+    }
+
+    static final class Snapshot {
+
+        private final long lsn;
+        private final long lastId;
+        private final List<Task> tasks;
+
+        Snapshot(long lsn, long lastId, List<Task> tasks) {
+            this.lsn = lsn;
+            this.lastId = lastId;
+            this.tasks = tasks;
+        }
+
+        long getLsn() {
+            return lsn;
+        }
+
+        long getLastId() {
+            return lastId;
+        }
+
+        List<Task> getTasks() {
+            return tasks;
+        }
+    }
+
+    // Writes every task the source hands out and removes older snapshots once the new one is durable
+    void write(long lsn, long lastId, Consumer<Consumer<Task>> source) throws IOException {
+        Path target = path(lsn);
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeLong(lsn);
+            out.writeLong(lastId);
+            CRC32C crc = new CRC32C();
+            int[] count = new int[1];
+            try {
+                source.accept(task -> {
+                    byte[] payload = WalRecordCodec.encode(WalRecord.put(task));
+                    crc.reset();
+                    crc.update(payload);
+                    try {
+                        out.writeInt(payload.length);
+                        out.writeInt((int) crc.getValue());
+                        out.write(payload);
+                    } catch (IOException e) {
+                        throw new SnapshotWriteException(e);
+                    }
+                    count[0]++;
+                });
+            } catch (SnapshotWriteException e) {
+                throw e.getCause();
+            }
+            out.writeInt(-1);
+            out.writeInt(count[0]);
+            out.writeInt(MAGIC);
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        // The rename is only durable once the directory is; older snapshots go after that
+        WriteAheadLog.forceDirectory(directory);
+
+        for (Path older : list().headMap(lsn).values()) {
+            Files.deleteIfExists(older);
+        }
+    }
+
+    // The most recent snapshot, or empty when none has been written yet
+    Optional<Snapshot> loadLatest() throws IOException {
+        TreeMap<Long, Path> snapshots = list();
+        if (snapshots.isEmpty()) {
+            return Optional.empty();
+        }
+        Path path = snapshots.lastEntry().getValue();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalStateException("Not a task snapshot: " + path);
+            }
+            long lsn = in.readLong();
+            long lastId = in.readLong();
+            List<Task> tasks = new ArrayList<>();
+            CRC32C crc = new CRC32C();
+            int length;
+            while ((length = in.readInt()) >= 0) {
+                int checksum = in.readInt();
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+                crc.reset();
+                crc.update(payload);
+                if ((int) crc.getValue() != checksum) {
+                    throw new IllegalStateException("Corrupt record in snapshot " + path);
+                }
+                tasks.add(WalRecordCodec.decode(ByteBuffer.wrap(payload)).getTask());
+            }
+            if (in.readInt() != tasks.size() || in.readInt() != MAGIC) {
+                throw new IllegalStateException("Incomplete snapshot " + path);
+            }
+            return Optional.of(new Snapshot(lsn, lastId, tasks));
+        } catch (EOFException e) {
+            throw new IllegalStateException("Truncated snapshot " + path, e);
+        }
+    }
+
+    private TreeMap<Long, Path> list() throws IOException {
+        TreeMap<Long, Path> snapshots = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                snapshots.put(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())), file);
+            }
+        }
+        return snapshots;
+    }
+
+    private Path path(long lsn) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, lsn, SUFFIX));
+    }
+
+    // Makes the rename itself durable. Not every platform allows opening a directory; there the
+    // rename is left to the file system's own ordering.
+    private static final class SnapshotWriteException extends RuntimeException {
+
+        SnapshotWriteException(IOException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized IOException getCause() {
+            return (IOException) super.getCause();
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package com.vvr.cleanarch.infrastructure.wal;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskChangeCursor;
+import com.vvr.cleanarch.domain.repositories.TaskChanges;
+import com.vvr.cleanarch.domain.repositories.TaskCursor;
+import com.vvr.cleanarch.domain.repositories.TaskPage;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import com.vvr.cleanarch.domain.repositories.TaskRow;
+import com.vvr.cleanarch.domain.repositories.TaskSort;
+import com.vvr.cleanarch.domain.repositories.TaskStatusChange;
+import com.vvr.cleanarch.infrastructure.memory.InMemoryTaskRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Durable TaskRepository: InMemoryTaskRepository serves every read, and each write is recorded in
+// a WriteAheadLog before the call returns.
+//
+// A write is applied in memory and appended to the log while holding the lock stripe of its id, so
+// the log holds the writes to one task in the order they were applied. If the append fails, the
+// write is undone before the stripe is released.
+//
+// The lock is released before waiting for the fsync, which lets concurrent writers share one group
+// commit. The trade-off is that readers can see a write for the few microseconds between its append
+// and the fsync that makes it durable. If that fsync fails, the log refuses every later append and
+// the store refuses every read, because memory may then hold writes that never became durable.
+// A restart recovers the durable state.
+//
+// The change log is not logged: it is rebuilt from the replay, so clients holding a sync position
+// from before a restart start over.
+//
+// Every snapshotEveryRecords appends a background snapshot of the whole state is taken and the
+// log segments it covers are deleted. Startup loads the latest snapshot and replays the log after it.
+@Repository
+@Qualifier("taskStore")
+@Profile("wal")
+public class WalTaskRepository implements TaskRepository, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(WalTaskRepository.class);
+    private static final int LOCK_STRIPES = 256;
+    private static final long NOTHING_LOGGED = 0L;
+
+    private final InMemoryTaskRepository state = new InMemoryTaskRepository();
+    private final ReentrantLock[] stripes = new ReentrantLock[LOCK_STRIPES];
+    private final AtomicLong lastId = new AtomicLong();
+    private final WalSnapshotStore snapshots;
+    private final WriteAheadLog wal;
+    private final long snapshotEveryRecords;
+    private final AtomicLong appendsSinceSnapshot = new AtomicLong();
+    private final AtomicBoolean snapshotRunning = new AtomicBoolean();
+    private final ExecutorService snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "wal-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public WalTaskRepository(@Value("${tasks.wal.directory:./data/wal}") Path directory,
+                             @Value("${tasks.wal.segment-size:64MB}") DataSize segmentSize,
+                             @Value("${tasks.wal.snapshot-every-records:100000}") long snapshotEveryRecords) throws IOException {
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.snapshotEveryRecords = snapshotEveryRecords;
+        this.snapshots = new WalSnapshotStore(directory);
+
+        long snapshotLsn = 0L;
+        Files.createDirectories(directory);
+        Optional<WalSnapshotStore.Snapshot> snapshot = snapshots.loadLatest();
+        if (snapshot.isPresent()) {
+            snapshotLsn = snapshot.get().getLsn();
+            lastId.set(snapshot.get().getLastId());
+            snapshot.get().getTasks().forEach(state::restore);
+        }
+        this.wal = WriteAheadLog.open(directory, Math.toIntExact(segmentSize.toBytes()), snapshotLsn, this::replay);
+    }
+
+    @Override
+    public Task save(Task task) {
+        Task toStore = task.copy();
+        if (toStore.getId() == null) {
+            // Ids are assigned before the write, so the stripe lock is held from the first moment the task exists
+            toStore.setId(lastId.incrementAndGet());
+        } else {
+            lastId.accumulateAndGet(toStore.getId(), Math::max);
+        }
+        Task[] saved = new Task[1];
+        long lsn = logged(toStore.getId(), () -> {
+            saved[0] = state.save(toStore);
+            return WalRecord.put(saved[0]);
+        });
+        durable(lsn, 1);
+        return saved[0];
+    }
+
+    @Override
+    public List<Task> saveAll(List<Task> tasks) {
+        List<Task> saved = new ArrayList<>(tasks.size());
+        long lsn = NOTHING_LOGGED;
+        for (Task task : tasks) {
+            Task toStore = task.copy();
+            if (toStore.getId() == null) {
+                toStore.setId(lastId.incrementAndGet());
+            } else {
+                lastId.accumulateAndGet(toStore.getId(), Math::max);
+            }
+            lsn = logged(toStore.getId(), () -> {
+                Task stored = state.save(toStore);
+                saved.add(stored);
+                return WalRecord.put(stored);
+            });
+        }
+        // One wait for the whole batch; the flusher forces it in as few syncs as it can
+        durable(lsn, tasks.size());
+        return saved;
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return readable().findById(id);
+    }
+
+    @Override
+    public List<Task> findAll(TaskSort sort) {
+        return readable().findAll(sort);
+    }
+
+    @Override
+    public List<Task> findByStatus(TaskStatus status, TaskSort sort) {
+        return readable().findByStatus(status, sort);
+    }
+
+    @Override
+    public TaskPage findPage(TaskStatus status, TaskCursor after, int limit) {
+        return readable().findPage(status, after, limit);
+    }
+
+    @Override
+    public TaskPage findPageCreatedBefore(TaskStatus status, LocalDateTime createdBefore, TaskCursor after, int limit) {
+        return readable().findPageCreatedBefore(status, createdBefore, after, limit);
+    }
+
+    @Override
+    public void forEachTask(TaskStatus status, Consumer<Task> action) {
+        readable().forEachTask(status, action);
+    }
+
+    @Override
+    public void forEachRow(TaskStatus status, TaskSort sort, Consumer<TaskRow> action) {
+        readable().forEachRow(status, sort, action);
+    }
+
+    @Override
+    public Optional<TaskStatusChange> updateStatusIfCurrentIn(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses,
+                                                              TaskStatus status, LocalDateTime updatedAt) {
+        return loggedWrite(id, () -> state.updateStatusIfCurrentIn(id, expectedVersion, expectedStatuses, status, updatedAt),
+                TaskStatusChange::getTask);
+    }
+
+    @Override
+    public Optional<Task> updateDetailsIfCurrentIn(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses,
+                                                   String title, String description, LocalDateTime updatedAt) {
+        return loggedWrite(id, () ->
+                state.updateDetailsIfCurrentIn(id, expectedVersion, expectedStatuses, title, description, updatedAt),
+                Function.identity());
+    }
+
+    @Override
+    public Map<TaskStatus, Long> countByStatus() {
+        return readable().countByStatus();
+    }
+
+    @Override
+    public List<Task> findAllByIds(Collection<Long> ids) {
+        return readable().findAllByIds(ids);
+    }
+
+    @Override
+    public Map<Long, TaskStatus> findStatusesByIds(Collection<Long> ids) {
+        return readable().findStatusesByIds(ids);
+    }
+
+    @Override
+    public List<Long> updateStatusByIds(Collection<Long> ids, Collection<TaskStatus> expectedStatuses,
+                                        TaskStatus status, LocalDateTime updatedAt) {
+        return updateEach(ids, expectedStatuses, status, updatedAt);
+    }
+
+    @Override
+    public int updateStatusByStatus(TaskStatus currentStatus, TaskStatus status, LocalDateTime updatedAt) {
+        List<Long> ids = new ArrayList<>();
+        state.forEachTask(currentStatus, task -> ids.add(task.getId()));
+        return updateEach(ids, List.of(currentStatus), status, updatedAt).size();
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        long lsn = logged(id, () -> {
+            if (!state.existsById(id)) {
+                return null;
+            }
+            state.deleteById(id);
+            return WalRecord.delete(id);
+        });
+        durable(lsn, 1);
+    }
+
+    @Override
+    public Optional<TaskStatus> deleteIfCurrentIn(Long id, Long expectedVersion, Collection<TaskStatus> expectedStatuses) {
+        return loggedWrite(id, () -> state.deleteIfCurrentIn(id, expectedVersion, expectedStatuses),
+                previousStatus -> null);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return readable().existsById(id);
+    }
+
+    @Override
+    public TaskChanges findChangesSince(TaskChangeCursor after, int limit) {
+        return readable().findChangesSince(after, limit);
+    }
+
+    @Override
+    public int purgeDeletionsBefore(LocalDateTime deletedBefore) {
+        return state.purgeDeletionsBefore(deletedBefore);
+    }
+
+    @Override
+    public void close() throws IOException {
+        snapshotExecutor.shutdown();
+        try {
+            snapshotExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        wal.close();
+    }
+
+    // Takes a snapshot now, on the calling thread
+    void snapshot() throws IOException {
+        if (wal.hasFailed()) {
+            // Memory may hold writes the log never made durable; a snapshot would persist them
+            return;
+        }
+        // Every record up to lsn was applied in memory before it was appended, so the state read
+        // below contains all of them; later writes it happens to include are replayed idempotently
+        long lsn = wal.lastAppendedLsn();
+        long highestId = lastId.get();
+        appendsSinceSnapshot.set(0);
+        snapshots.write(lsn, highestId, action -> state.forEachTask(null, action));
+        wal.deleteSegmentsCoveredBy(lsn);
+    }
+
+    private List<Long> updateEach(Collection<Long> ids, Collection<TaskStatus> expectedStatuses,
+                                  TaskStatus status, LocalDateTime updatedAt) {
+        List<Long> updated = new ArrayList<>();
+        long lsn = NOTHING_LOGGED;
+        for (Long id : ids) {
+            long appended = logged(id, () -> state.updateStatusIfCurrentIn(id, null, expectedStatuses, status, updatedAt)
+                    .map(change -> WalRecord.put(change.getTask()))
+                    .orElse(null));
+            if (appended != NOTHING_LOGGED) {
+                lsn = appended;
+                updated.add(id);
+            }
+        }
+        durable(lsn, updated.size());
+        return updated;
+    }
+
+    // Logs a single-row write whose result carries what it wrote: written maps that result to the
+    // task to put, or to null when the write was a delete
+    private <T> Optional<T> loggedWrite(Long id, Supplier<Optional<T>> update, Function<T, Task> written) {
+        List<T> result = new ArrayList<>(1);
+        long lsn = logged(id, () -> {
+            Optional<T> applied = update.get();
+            if (applied.isEmpty()) {
+                return null;
+            }
+            result.add(applied.get());
+            Task task = written.apply(applied.get());
+            return task == null ? WalRecord.delete(id) : WalRecord.put(task);
+        });
+        durable(lsn, 1);
+        return result.stream().findFirst();
+    }
+
+    // Runs a write under its id's stripe and appends the record it returns; a null record means
+    // nothing changed. A failed append undoes the write before the stripe is released.
+    // Returns the record's LSN, or NOTHING_LOGGED.
+    private long logged(Long id, Supplier<WalRecord> write) {
+        ReentrantLock stripe = stripes[Math.floorMod(Long.hashCode(id), LOCK_STRIPES)];
+        stripe.lock();
+        try {
+            Optional<Task> previous = state.findById(id);
+            WalRecord record = write.get();
+            if (record == null) {
+                return NOTHING_LOGGED;
+            }
+            try {
+                return wal.append(record);
+            } catch (RuntimeException e) {
+                if (previous.isPresent()) {
+                    state.restore(previous.get());
+                } else {
+                    state.deleteById(id);
+                }
+                throw e;
+            }
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    private InMemoryTaskRepository readable() {
+        if (wal.hasFailed()) {
+            throw new IllegalStateException("The task log failed to sync; restart to recover the durable state");
+        }
+        return state;
+    }
+
+    private void durable(long lsn, int appends) {
+        if (lsn == NOTHING_LOGGED) {
+            return;
+        }
+        wal.awaitDurable(lsn);
+        if (appendsSinceSnapshot.addAndGet(appends) >= snapshotEveryRecords
+                && snapshotRunning.compareAndSet(false, true)) {
+            snapshotExecutor.execute(() -> {
+                try {
+                    snapshot();
+                } catch (IOException | RuntimeException e) {
+                    // The log still holds everything; the next threshold retries
+                    log.warn("Task snapshot failed", e);
+                } finally {
+                    snapshotRunning.set(false);
+                }
+            });
+        }
+    }
+
+    private void replay(WalRecord record) {
+        lastId.accumulateAndGet(record.getId(), Math::max);
+        if (record.getType() == WalRecord.Type.PUT) {
+            state.restore(record.getTask());
+        } else {
+            state.deleteById(record.getId());
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.vvr.cleanarch.infrastructure.wal;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+// Segmented append-only log of WalRecords, written through memory-mapped files.
+//
+// Every record gets the next log sequence number (LSN) and is framed as
+// [payload length][CRC32C of lsn + payload][lsn][payload]. Segments are preallocated, zero-filled
+// files named after the first LSN they hold; a zero length marks the end of the written part.
+//
+// append() only copies the frame into the mapped segment. A single flusher thread forces the
+// dirty range to disk and then publishes the highest durable LSN, so every writer that appended
+// while the previous force was running is covered by the next one (group commit).
+// Callers wait for durability with awaitDurable().
+public final class WriteAheadLog implements AutoCloseable {
+
+    static final int FRAME_HEADER_BYTES = Integer.BYTES * 2 + Long.BYTES;
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final NavigableMap<Long, Path> segments;
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final Condition appended = appendLock.newCondition();
+    private final ReentrantLock durableLock = new ReentrantLock();
+    private final Condition durable = durableLock.newCondition();
+    private final CRC32C crc = new CRC32C();
+    private final ByteBuffer lsnBytes = ByteBuffer.allocate(Long.BYTES);
+    private final Thread flusher;
+
+    // Guarded by appendLock
+    private FileChannel channel;
+    private MappedByteBuffer segment;
+    private long lastAppendedLsn;
+    private int unforcedFrom;
+    private boolean closed;
+
+    private volatile long durableLsn;
+    private volatile RuntimeException failure;
+
+    private WriteAheadLog(Path directory, int segmentSize, NavigableMap<Long, Path> segments,
+                          FileChannel channel, MappedByteBuffer segment, long lastLsn) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.segments = segments;
+        this.channel = channel;
+        this.segment = segment;
+        this.lastAppendedLsn = lastLsn;
+        this.unforcedFrom = segment.position();
+        this.durableLsn = lastLsn;
+        this.flusher = new Thread(this::flushLoop, "wal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    // Opens the log in directory, handing every valid record with an LSN above afterLsn to replay,
+    // in LSN order. A torn or corrupt frame at the end of the last segment is the remains of a write
+    // that was never acknowledged; it is truncated and appending resumes in its place.
+    public static WriteAheadLog open(Path directory, int segmentSize, long afterLsn,
+                                     Consumer<WalRecord> replay) throws IOException {
+        if (segmentSize < FRAME_HEADER_BYTES * 2) {
+            throw new IllegalArgumentException("WAL segment size is too small: " + segmentSize);
+        }
+        Files.createDirectories(directory);
+        NavigableMap<Long, Path> segments = listSegments(directory);
+        if (!segments.isEmpty() && segments.firstKey() > afterLsn + 1) {
+            throw new IllegalStateException("WAL starts at LSN " + segments.firstKey()
+                    + " but the snapshot only covers up to " + afterLsn);
+        }
+
+        long nextLsn = segments.isEmpty() ? afterLsn + 1 : segments.firstKey();
+        FileChannel channel = null;
+        MappedByteBuffer segment = null;
+        for (Map.Entry<Long, Path> entry : segments.entrySet()) {
+            if (entry.getKey() != nextLsn) {
+                throw new IllegalStateException("WAL segment " + entry.getValue() + " does not continue at LSN " + nextLsn);
+            }
+            boolean last = entry.getKey().equals(segments.lastKey());
+            FileChannel segmentChannel = FileChannel.open(entry.getValue(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            MappedByteBuffer mapped = segmentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentChannel.size());
+            nextLsn = replaySegment(mapped, nextLsn, afterLsn, replay);
+            if (mapped.remaining() >= Integer.BYTES && mapped.getInt(mapped.position()) != 0) {
+                if (!last) {
+                    segmentChannel.close();
+                    throw new IllegalStateException("Corrupt record in WAL segment " + entry.getValue()
+                            + " at offset " + mapped.position());
+                }
+                truncate(mapped);
+            }
+            if (last) {
+                channel = segmentChannel;
+                segment = mapped;
+            } else {
+                segmentChannel.close();
+            }
+        }
+
+        long lastLsn = Math.max(nextLsn - 1, afterLsn);
+        if (segment == null) {
+            Path path = segmentPath(directory, lastLsn + 1);
+            channel = createSegment(path);
+            segment = mapNewSegment(channel, directory, segmentSize);
+            segments.put(lastLsn + 1, path);
+        }
+        return new WriteAheadLog(directory, segmentSize, segments, channel, segment, lastLsn);
+    }
+
+    // Appends a record and returns its LSN. The record is not durable until awaitDurable(lsn) returns.
+    public long append(WalRecord record) {
+        byte[] payload = WalRecordCodec.encode(record);
+        int frameSize = FRAME_HEADER_BYTES + payload.length;
+        if (frameSize > segmentSize) {
+            throw new IllegalArgumentException("WAL record of " + frameSize + " bytes does not fit in a segment");
+        }
+        appendLock.lock();
+        try {
+            ensureWritable();
+            long lsn = lastAppendedLsn + 1;
+            if (segment.remaining() < frameSize) {
+                roll(lsn);
+            }
+            lsnBytes.clear();
+            lsnBytes.putLong(0, lsn);
+            crc.reset();
+            crc.update(lsnBytes);
+            crc.update(payload);
+            segment.putInt(payload.length)
+                    .putInt((int) crc.getValue())
+                    .putLong(lsn)
+                    .put(payload);
+            lastAppendedLsn = lsn;
+            appended.signal();
+            return lsn;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Blocks until every record up to lsn has been forced to disk
+    public void awaitDurable(long lsn) {
+        if (durableLsn >= lsn) {
+            return;
+        }
+        durableLock.lock();
+        try {
+            while (durableLsn < lsn) {
+                if (failure != null) {
+                    throw failure;
+                }
+                durable.awaitUninterruptibly();
+            }
+        } finally {
+            durableLock.unlock();
+        }
+    }
+
+    // True once a force or a segment roll failed; the log accepts no more appends after that
+    public boolean hasFailed() {
+        return failure != null;
+    }
+
+    public long lastAppendedLsn() {
+        appendLock.lock();
+        try {
+            return lastAppendedLsn;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    // Deletes the segments whose records all have an LSN up to lsn, i.e. that a durable
+    // snapshot taken at lsn made redundant. The segment being written is always kept.
+    public void deleteSegmentsCoveredBy(long lsn) throws IOException {
+        List<Path> covered = new ArrayList<>();
+        appendLock.lock();
+        try {
+            Long next = segments.higherKey(segments.firstKey());
+            while (next != null && next <= lsn + 1) {
+                covered.add(segments.pollFirstEntry().getValue());
+                next = segments.higherKey(segments.firstKey());
+            }
+        } finally {
+            appendLock.unlock();
+        }
+        for (Path path : covered) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        appendLock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            appended.signal();
+        } finally {
+            appendLock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        appendLock.lock();
+        try {
+            segment.force();
+            channel.close();
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            MappedByteBuffer target;
+            int from;
+            int to;
+            long lsn;
+            appendLock.lock();
+            try {
+                while (lastAppendedLsn == durableLsn && !closed) {
+                    appended.awaitUninterruptibly();
+                }
+                if (lastAppendedLsn == durableLsn) {
+                    return;
+                }
+                target = segment;
+                from = unforcedFrom;
+                to = segment.position();
+                lsn = lastAppendedLsn;
+                unforcedFrom = to;
+            } finally {
+                appendLock.unlock();
+            }
+            try {
+                if (to > from) {
+                    target.force(from, to - from);
+                }
+            } catch (UncheckedIOException e) {
+                failure = e;
+            }
+            durableLock.lock();
+            try {
+                if (failure == null) {
+                    durableLsn = lsn;
+                }
+                durable.signalAll();
+            } finally {
+                durableLock.unlock();
+            }
+            if (failure != null) {
+                return;
+            }
+        }
+    }
+
+    // Called with appendLock held. The full segment is forced here, so records in it are durable
+    // regardless of what the flusher has captured.
+    private void roll(long firstLsn) {
+        try {
+            segment.force();
+            channel.close();
+            Path path = segmentPath(directory, firstLsn);
+            channel = createSegment(path);
+            segment = mapNewSegment(channel, directory, segmentSize);
+            segments.put(firstLsn, path);
+            unforcedFrom = 0;
+        } catch (IOException e) {
+            failure = new UncheckedIOException("Could not roll WAL segment", e);
+            throw failure;
+        }
+    }
+
+    private void ensureWritable() {
+        if (closed) {
+            throw new IllegalStateException("WAL is closed");
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    // Replays the valid frames of one segment and leaves the buffer positioned after the last one.
+    // Returns the LSN the next frame is expected to carry.
+    private static long replaySegment(MappedByteBuffer mapped, long nextLsn, long afterLsn,
+                                      Consumer<WalRecord> replay) {
+        CRC32C crc = new CRC32C();
+        while (mapped.remaining() >= FRAME_HEADER_BYTES) {
+            int start = mapped.position();
+            int length = mapped.getInt(start);
+            if (length <= 0 || length > mapped.remaining() - FRAME_HEADER_BYTES) {
+                break;
+            }
+            int checksum = mapped.getInt(start + Integer.BYTES);
+            long lsn = mapped.getLong(start + Integer.BYTES * 2);
+            ByteBuffer covered = mapped.slice(start + Integer.BYTES * 2, Long.BYTES + length);
+            crc.reset();
+            crc.update(covered);
+            if ((int) crc.getValue() != checksum || lsn != nextLsn) {
+                break;
+            }
+            if (lsn > afterLsn) {
+                replay.accept(WalRecordCodec.decode(mapped.slice(start + FRAME_HEADER_BYTES, length)));
+            }
+            mapped.position(start + FRAME_HEADER_BYTES + length);
+            nextLsn++;
+        }
+        return nextLsn;
+    }
+
+    // Zeroes everything from the buffer position on, so the next append starts from a clean tail
+    private static void truncate(MappedByteBuffer mapped) {
+        int position = mapped.position();
+        byte[] zeros = new byte[Math.min(8192, mapped.remaining())];
+        while (mapped.hasRemaining()) {
+            mapped.put(zeros, 0, Math.min(zeros.length, mapped.remaining()));
+        }
+        mapped.force();
+        mapped.position(position);
+    }
+
+    private static FileChannel createSegment(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    // Mapping the full segment is what grows the new file, so its size is forced only afterwards,
+    // followed by the directory entry; otherwise a crash could lose the segment or leave it short
+    private static MappedByteBuffer mapNewSegment(FileChannel channel, Path directory, int segmentSize) throws IOException {
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        channel.force(true);
+        forceDirectory(directory);
+        return mapped;
+    }
+
+    // Makes file creations and renames in directory durable
+    static void forceDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (AccessDeniedException e) {
+            // Windows cannot open a directory; NTFS makes the entry durable with the file itself
+        }
+    }
+
+    private static NavigableMap<Long, Path> listSegments(Path directory) throws IOException {
+        NavigableMap<Long, Path> segments = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String lsn = name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length());
+                segments.put(Long.parseLong(lsn), file);
+            }
+        }
+        return segments;
+    }
+
+    private static Path segmentPath(Path directory, long firstLsn) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstLsn, SEGMENT_SUFFIX));
+    }
+}
@@ -1,8 +1,13 @@
 package com.vvr.cleanarch.presentation;
 
+import com.vvr.cleanarch.domain.exceptions.InvalidPageRequestException;
 import com.vvr.cleanarch.domain.exceptions.InvalidTaskException;
+import com.vvr.cleanarch.domain.exceptions.SyncTokenExpiredException;
 import com.vvr.cleanarch.domain.exceptions.TaskCannotBeDeletedException;
+import com.vvr.cleanarch.domain.exceptions.TaskConflictException;
 import com.vvr.cleanarch.domain.exceptions.TaskNotFoundException;
+import com.vvr.cleanarch.domain.exceptions.TaskVersionMismatchException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -35,6 +40,38 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
     }
 
+    @ExceptionHandler(InvalidPageRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleInvalidPageRequestException(InvalidPageRequestException ex) {
+        Map<String, Object> body = createErrorBody(HttpStatus.BAD_REQUEST, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    // The client must drop its copy and sync again from the start
+    @ExceptionHandler(SyncTokenExpiredException.class)
+    public ResponseEntity<Map<String, Object>> handleSyncTokenExpiredException(SyncTokenExpiredException ex) {
+        Map<String, Object> body = createErrorBody(HttpStatus.GONE, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.GONE).body(body);
+    }
+
+    @ExceptionHandler(TaskVersionMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleTaskVersionMismatchException(TaskVersionMismatchException ex) {
+        Map<String, Object> body = createErrorBody(HttpStatus.PRECONDITION_FAILED, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(body);
+    }
+
+    @ExceptionHandler(TaskConflictException.class)
+    public ResponseEntity<Map<String, Object>> handleTaskConflictException(TaskConflictException ex) {
+        Map<String, Object> body = createErrorBody(HttpStatus.CONFLICT, ex.getMessage());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
+    // Raised by Hibernate when a merged entity lost a race against another writer
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        Map<String, Object> body = createErrorBody(HttpStatus.CONFLICT, "Task was modified concurrently, please retry");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(body);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
         String errors = ex.getBindingResult().getFieldErrors().stream()
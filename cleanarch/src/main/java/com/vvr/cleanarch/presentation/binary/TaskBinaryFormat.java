@@ -0,0 +1,59 @@
+package com.vvr.cleanarch.presentation.binary;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Optional;
+
+// Compact encodings of task payloads for service-to-service consumers, picked from the Accept header
+public enum TaskBinaryFormat {
+    CBOR(MediaType.parseMediaType("application/cbor")),
+    SMILE(MediaType.parseMediaType("application/x-jackson-smile")),
+    PROTOBUF(MediaType.parseMediaType("application/x-protobuf"));
+
+    private final MediaType mediaType;
+
+    TaskBinaryFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    // The binary format the Accept header names with the highest quality, provided that is not
+    // below the quality it gives application/json. Wildcards never select a binary format, so
+    // browsers and clients that send */* keep getting JSON.
+    public static Optional<TaskBinaryFormat> negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return Optional.empty();
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return Optional.empty();
+        }
+        TaskBinaryFormat best = null;
+        double bestQuality = 0;
+        double jsonQuality = 0;
+        for (MediaType type : accepted) {
+            if (type.isWildcardType() || type.isWildcardSubtype()) {
+                continue;
+            }
+            double quality = type.getQualityValue();
+            if (type.equalsTypeAndSubtype(MediaType.APPLICATION_JSON)) {
+                jsonQuality = Math.max(jsonQuality, quality);
+                continue;
+            }
+            for (TaskBinaryFormat format : values()) {
+                if (format.mediaType.equalsTypeAndSubtype(type) && quality > bestQuality) {
+                    best = format;
+                    bestQuality = quality;
+                }
+            }
+        }
+        return best != null && bestQuality >= jsonQuality ? Optional.of(best) : Optional.empty();
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+}
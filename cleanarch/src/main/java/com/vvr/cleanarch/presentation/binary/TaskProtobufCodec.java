@@ -0,0 +1,187 @@
+package com.vvr.cleanarch.presentation.binary;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.presentation.dto.TaskResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+// The Task and TaskList messages of resources/proto/tasks.proto, written and read field by field
+// with the protobuf runtime instead of generated classes. Each message is sized first, so the
+// output goes into one exactly sized array. Proto3 defaults (0, "", false, the first enum value)
+// are left out, as generated code would do.
+final class TaskProtobufCodec {
+
+    private static final int TASK_LIST_TASKS = 1;
+
+    private static final int ID = 1;
+    private static final int TITLE = 2;
+    private static final int DESCRIPTION = 3;
+    private static final int STATUS = 4;
+    private static final int CREATED_AT = 5;
+    private static final int UPDATED_AT = 6;
+    private static final int VERSION = 7;
+    private static final int OVERDUE = 8;
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+
+    private final ZoneId zone;
+
+    TaskProtobufCodec(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    byte[] encode(TaskResponse task) {
+        byte[] bytes = new byte[taskSize(task)];
+        try {
+            CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+            writeTask(out, task);
+            out.checkNoSpaceLeft();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes;
+    }
+
+    byte[] encodeList(List<TaskResponse> tasks) {
+        int[] sizes = new int[tasks.size()];
+        int total = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = taskSize(tasks.get(i));
+            total += CodedOutputStream.computeTagSize(TASK_LIST_TASKS)
+                    + CodedOutputStream.computeUInt32SizeNoTag(sizes[i]) + sizes[i];
+        }
+        byte[] bytes = new byte[total];
+        try {
+            CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+            for (int i = 0; i < sizes.length; i++) {
+                out.writeTag(TASK_LIST_TASKS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+                out.writeUInt32NoTag(sizes[i]);
+                writeTask(out, tasks.get(i));
+            }
+            out.checkNoSpaceLeft();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return bytes;
+    }
+
+    TaskResponse decode(byte[] bytes) throws IOException {
+        return readTask(CodedInputStream.newInstance(bytes));
+    }
+
+    List<TaskResponse> decodeList(byte[] bytes) throws IOException {
+        CodedInputStream in = CodedInputStream.newInstance(bytes);
+        List<TaskResponse> tasks = new ArrayList<>();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            if (WireFormat.getTagFieldNumber(tag) == TASK_LIST_TASKS) {
+                int previousLimit = in.pushLimit(in.readRawVarint32());
+                tasks.add(readTask(in));
+                in.popLimit(previousLimit);
+            } else {
+                in.skipField(tag);
+            }
+        }
+        return tasks;
+    }
+
+    private int taskSize(TaskResponse task) {
+        int size = 0;
+        if (task.getId() != null && task.getId() != 0) {
+            size += CodedOutputStream.computeInt64Size(ID, task.getId());
+        }
+        if (task.getTitle() != null && !task.getTitle().isEmpty()) {
+            size += CodedOutputStream.computeStringSize(TITLE, task.getTitle());
+        }
+        if (task.getDescription() != null) {
+            size += CodedOutputStream.computeStringSize(DESCRIPTION, task.getDescription());
+        }
+        if (task.getStatus() != null && task.getStatus().ordinal() != 0) {
+            size += CodedOutputStream.computeEnumSize(STATUS, task.getStatus().ordinal());
+        }
+        if (task.getCreatedAt() != null) {
+            size += CodedOutputStream.computeInt64Size(CREATED_AT, toEpochMilli(task.getCreatedAt()));
+        }
+        if (task.getUpdatedAt() != null) {
+            size += CodedOutputStream.computeInt64Size(UPDATED_AT, toEpochMilli(task.getUpdatedAt()));
+        }
+        if (task.getVersion() != null && task.getVersion() != 0) {
+            size += CodedOutputStream.computeInt64Size(VERSION, task.getVersion());
+        }
+        if (task.isOverdue()) {
+            size += CodedOutputStream.computeBoolSize(OVERDUE, true);
+        }
+        return size;
+    }
+
+    // Must skip exactly the fields taskSize skips
+    private void writeTask(CodedOutputStream out, TaskResponse task) throws IOException {
+        if (task.getId() != null && task.getId() != 0) {
+            out.writeInt64(ID, task.getId());
+        }
+        if (task.getTitle() != null && !task.getTitle().isEmpty()) {
+            out.writeString(TITLE, task.getTitle());
+        }
+        if (task.getDescription() != null) {
+            out.writeString(DESCRIPTION, task.getDescription());
+        }
+        if (task.getStatus() != null && task.getStatus().ordinal() != 0) {
+            out.writeEnum(STATUS, task.getStatus().ordinal());
+        }
+        if (task.getCreatedAt() != null) {
+            out.writeInt64(CREATED_AT, toEpochMilli(task.getCreatedAt()));
+        }
+        if (task.getUpdatedAt() != null) {
+            out.writeInt64(UPDATED_AT, toEpochMilli(task.getUpdatedAt()));
+        }
+        if (task.getVersion() != null && task.getVersion() != 0) {
+            out.writeInt64(VERSION, task.getVersion());
+        }
+        if (task.isOverdue()) {
+            out.writeBool(OVERDUE, true);
+        }
+    }
+
+    private TaskResponse readTask(CodedInputStream in) throws IOException {
+        TaskResponse task = new TaskResponse(0L, "", null, STATUSES[0], toLocal(0), null, 0L, false);
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (WireFormat.getTagFieldNumber(tag)) {
+                case ID -> task.setId(in.readInt64());
+                case TITLE -> task.setTitle(in.readString());
+                case DESCRIPTION -> task.setDescription(in.readString());
+                case STATUS -> task.setStatus(status(in.readEnum()));
+                case CREATED_AT -> task.setCreatedAt(toLocal(in.readInt64()));
+                case UPDATED_AT -> task.setUpdatedAt(toLocal(in.readInt64()));
+                case VERSION -> task.setVersion(in.readInt64());
+                case OVERDUE -> task.setOverdue(in.readBool());
+                default -> in.skipField(tag);
+            }
+        }
+        return task;
+    }
+
+    private static TaskStatus status(int number) throws IOException {
+        if (number < 0 || number >= STATUSES.length) {
+            throw new IOException("Unknown task status number: " + number);
+        }
+        return STATUSES[number];
+    }
+
+    private long toEpochMilli(LocalDateTime value) {
+        return value.atZone(zone).toInstant().toEpochMilli();
+    }
+
+    private LocalDateTime toLocal(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), zone);
+    }
+}
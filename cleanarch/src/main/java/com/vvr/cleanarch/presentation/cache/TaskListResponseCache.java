@@ -0,0 +1,300 @@
+package com.vvr.cleanarch.presentation.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.vvr.cleanarch.application.events.TaskDataVersion;
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskCursor;
+import com.vvr.cleanarch.domain.repositories.TaskPage;
+import com.vvr.cleanarch.domain.repositories.TaskRow;
+import com.vvr.cleanarch.domain.repositories.TaskSort;
+import com.vvr.cleanarch.presentation.dto.TaskResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+// Ready-to-send pages of GET /api/tasks: the UTF-8 JSON and, when it pays off, a gzipped copy.
+// Entries are keyed by the query and by the TaskDataVersion read before running it. A write bumps
+// the version, so from then on every lookup builds a new key and no body read before the write
+// can be served; the old entries are never looked up again and age out by weight.
+//
+// The overdue flag in each task changes with time rather than with a write, so an entry also
+// goes stale once one of its PENDING tasks crosses the overdue cutoff.
+//
+// Whole (unpaged) listings are not rendered here: the controller streams them from the rows and
+// hands the bytes it wrote back through a Capture, so the next read is served like a page.
+public class TaskListResponseCache {
+
+    // Below this the gzip framing costs about as much as it saves
+    private static final int MIN_GZIP_SIZE = 512;
+    // A whole listing may take at most this share of the cache, so one large body cannot evict every page
+    private static final int MAX_CAPTURE_SHARE = 4;
+
+    private final TaskDataVersion dataVersion;
+    private final JsonMapper jsonMapper;
+    private final Cache<Key, CachedList> cache;
+    private final long maxCaptureSize;
+
+    // A maximumWeight of 0 disables caching: every body is rendered for its own request
+    public TaskListResponseCache(TaskDataVersion dataVersion, JsonMapper jsonMapper,
+                                 long maximumWeight, Duration expireAfterWrite) {
+        this.dataVersion = dataVersion;
+        this.jsonMapper = jsonMapper;
+        this.cache = maximumWeight > 0
+                ? Caffeine.newBuilder()
+                        .maximumWeight(maximumWeight)
+                        .weigher((Key key, CachedList list) -> list.weight())
+                        .expireAfterWrite(expireAfterWrite)
+                        .recordStats()
+                        .build()
+                : null;
+        this.maxCaptureSize = maximumWeight / MAX_CAPTURE_SHARE;
+    }
+
+    // Hits, misses and evictions since startup; empty stats when caching is disabled
+    public CacheStats stats() {
+        return cache != null ? cache.stats() : CacheStats.empty();
+    }
+
+    // Approximate number of bodies held, current and outdated
+    public long estimatedSize() {
+        return cache != null ? cache.estimatedSize() : 0;
+    }
+
+    // The body of the listing for (status, sort, after, limit), running query only on a miss.
+    // Concurrent misses on the same key share a single query.
+    public CachedList get(TaskStatus status, TaskSort sort, String after, Integer limit,
+                          LocalDateTime now, Supplier<TaskPage> query) {
+        if (cache == null) {
+            return render(query.get(), now);
+        }
+        Key key = new Key(dataVersion.current(), status, sort, after, limit, false);
+        CachedList list = cache.get(key, k -> render(query.get(), now));
+        if (list.isStaleAt(now)) {
+            cache.asMap().remove(key, list);
+            list = cache.get(key, k -> render(query.get(), now));
+        }
+        return list;
+    }
+
+    // The body of the whole listing for (status, sort) captured by an earlier request, or null
+    // when there is none for the current data version
+    public CachedList getWhole(TaskStatus status, TaskSort sort, LocalDateTime now) {
+        if (cache == null) {
+            return null;
+        }
+        Key key = new Key(dataVersion.current(), status, sort, null, null, true);
+        CachedList list = cache.getIfPresent(key);
+        if (list != null && list.isStaleAt(now)) {
+            cache.asMap().remove(key, list);
+            return null;
+        }
+        return list;
+    }
+
+    // Starts recording a whole listing about to be streamed. The data version is read here, before
+    // the rows are, so a write during the scan leaves the stored body under an outdated key.
+    public Capture capture(TaskStatus status, TaskSort sort, LocalDateTime now) {
+        Key key = cache != null ? new Key(dataVersion.current(), status, sort, null, null, true) : null;
+        return new Capture(key, now);
+    }
+
+    private CachedList render(TaskPage page, LocalDateTime now) {
+        List<TaskResponse> responses = page.getItems().stream()
+                .map(task -> TaskResponse.from(task, now))
+                .toList();
+        byte[] json = jsonMapper.writeValueAsBytes(responses);
+        String nextCursor = page.getNextCursor().map(TaskCursor::encode).orElse(null);
+        LocalDateTime staleAfter = null;
+        for (Task task : page.getItems()) {
+            staleAfter = earlierOverdueFlip(staleAfter, task.getStatus(), task.getCreatedAt(), now);
+        }
+        return cachedList(json, nextCursor, staleAfter);
+    }
+
+    private static CachedList cachedList(byte[] json, String nextCursor, LocalDateTime staleAfter) {
+        byte[] gzip = json.length >= MIN_GZIP_SIZE ? gzip(json) : null;
+        return new CachedList(json, gzip != null && gzip.length < json.length ? gzip : null, nextCursor, staleAfter);
+    }
+
+    // The earlier of next and the moment after now at which a task with this status and creation
+    // time turns overdue; next when it never will
+    private static LocalDateTime earlierOverdueFlip(LocalDateTime next, TaskStatus status,
+                                                    LocalDateTime createdAt, LocalDateTime now) {
+        if (status != TaskStatus.PENDING || createdAt == null
+                || Task.isOverdue(status, createdAt, Task.overdueCutoff(now))) {
+            return next;
+        }
+        LocalDateTime flip = createdAt.plus(Task.OVERDUE_AFTER);
+        return next == null || flip.isBefore(next) ? flip : next;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    // Copies what a whole listing writes to the response and stores it once the listing is complete,
+    // unless it grew past the capture limit. Used by the single request thread writing the body.
+    public final class Capture {
+
+        private final Key key;
+        private final LocalDateTime now;
+        private ByteArrayOutputStream copy;
+        private LocalDateTime staleAfter;
+
+        private Capture(Key key, LocalDateTime now) {
+            this.key = key;
+            this.now = now;
+            this.copy = key != null ? new ByteArrayOutputStream() : null;
+        }
+
+        // out, plus a copy of every byte written to it while the copy stays within the limit
+        public OutputStream tee(OutputStream out) {
+            if (copy == null) {
+                return out;
+            }
+            return new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    if (keep(1)) {
+                        copy.write(b);
+                    }
+                }
+
+                @Override
+                public void write(byte[] bytes, int offset, int length) throws IOException {
+                    out.write(bytes, offset, length);
+                    if (keep(length)) {
+                        copy.write(bytes, offset, length);
+                    }
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    out.flush();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    out.close();
+                }
+            };
+        }
+
+        // Called for every row written, to know when the body goes stale
+        public void observe(TaskRow row) {
+            if (copy != null) {
+                staleAfter = earlierOverdueFlip(staleAfter, row.getStatus(), row.getCreatedAt(), now);
+            }
+        }
+
+        // Stores the body once the listing has been written out in full
+        public void complete() {
+            if (copy != null) {
+                cache.put(key, cachedList(copy.toByteArray(), null, staleAfter));
+                copy = null;
+            }
+        }
+
+        private boolean keep(int length) {
+            if (copy != null && copy.size() + (long) length > maxCaptureSize) {
+                copy = null;
+            }
+            return copy != null;
+        }
+    }
+
+    // One rendered listing; the byte arrays are shared between requests and must not be modified
+    public static final class CachedList {
+
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String nextCursor;
+        private final LocalDateTime staleAfter;
+
+        CachedList(byte[] json, byte[] gzip, String nextCursor, LocalDateTime staleAfter) {
+            this.json = json;
+            this.gzip = gzip;
+            this.nextCursor = nextCursor;
+            this.staleAfter = staleAfter;
+        }
+
+        public byte[] getJson() {
+            return json;
+        }
+
+        // Null when the body is too small for compression to help
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        // Encoded cursor of the next page, or null on the last page and for unpaged listings
+        public String getNextCursor() {
+            return nextCursor;
+        }
+
+        boolean isStaleAt(LocalDateTime now) {
+            return staleAfter != null && now.isAfter(staleAfter);
+        }
+
+        int weight() {
+            return json.length + (gzip != null ? gzip.length : 0);
+        }
+    }
+
+    private static final class Key {
+
+        private final long version;
+        private final TaskStatus status;
+        private final TaskSort sort;
+        private final String after;
+        private final Integer limit;
+        // Whole listings and the default-sized first page have the same parameters otherwise
+        private final boolean whole;
+
+        Key(long version, TaskStatus status, TaskSort sort, String after, Integer limit, boolean whole) {
+            this.version = version;
+            this.status = status;
+            this.sort = sort;
+            this.after = after;
+            this.limit = limit;
+            this.whole = whole;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key other)) {
+                return false;
+            }
+            return version == other.version && status == other.status && sort == other.sort
+                    && Objects.equals(after, other.after) && Objects.equals(limit, other.limit)
+                    && whole == other.whole;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(version, status, sort, after, limit, whole);
+        }
+    }
+}
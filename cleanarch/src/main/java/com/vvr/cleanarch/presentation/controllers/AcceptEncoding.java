@@ -0,0 +1,49 @@
+package com.vvr.cleanarch.presentation.controllers;
+
+import java.util.Locale;
+
+// Reading of the Accept-Encoding request header, limited to what the controllers can send back
+final class AcceptEncoding {
+
+    private static final String GZIP = "gzip";
+    private static final String X_GZIP = "x-gzip";
+    private static final String ANY = "*";
+
+    private AcceptEncoding() {
+    }
+
+    // True when the header accepts gzip with a non-zero quality, named or through "*".
+    // An explicit "gzip;q=0" wins over "*".
+    static boolean allowsGzip(String header) {
+        if (header == null || header.isBlank()) {
+            return false;
+        }
+        Boolean named = null;
+        boolean any = false;
+        for (String coding : header.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = quality(parts) > 0;
+            if (name.equals(GZIP) || name.equals(X_GZIP)) {
+                named = named == null ? accepted : named || accepted;
+            } else if (name.equals(ANY)) {
+                any = accepted;
+            }
+        }
+        return named != null ? named : any;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.length() > 2 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q') && param.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
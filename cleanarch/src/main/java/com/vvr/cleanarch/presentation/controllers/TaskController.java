@@ -1,18 +1,43 @@
 package com.vvr.cleanarch.presentation.controllers;
 
+import com.vvr.cleanarch.application.dto.BatchCreateTaskRequest;
+import com.vvr.cleanarch.application.dto.BulkUpdateStatusRequest;
 import com.vvr.cleanarch.application.dto.CreateTaskRequest;
+import com.vvr.cleanarch.application.dto.TaskChangesResult;
+import com.vvr.cleanarch.application.dto.TaskSearchResult;
 import com.vvr.cleanarch.application.dto.UpdateStatusRequest;
 import com.vvr.cleanarch.application.dto.UpdateTaskRequest;
+import com.vvr.cleanarch.application.usecases.BatchCreateTasksUseCase;
+import com.vvr.cleanarch.application.usecases.BulkUpdateStatusUseCase;
 import com.vvr.cleanarch.application.usecases.CompleteTaskUseCase;
 import com.vvr.cleanarch.application.usecases.CreateTaskUseCase;
 import com.vvr.cleanarch.application.usecases.DeleteTaskUseCase;
+import com.vvr.cleanarch.application.usecases.ExportTasksUseCase;
 import com.vvr.cleanarch.application.usecases.GetTaskByIdUseCase;
+import com.vvr.cleanarch.application.usecases.GetTaskStatsUseCase;
+import com.vvr.cleanarch.application.usecases.ListOverdueTasksUseCase;
+import com.vvr.cleanarch.application.usecases.ListTaskChangesUseCase;
 import com.vvr.cleanarch.application.usecases.ListTasksUseCase;
+import com.vvr.cleanarch.application.usecases.SearchTasksUseCase;
+import com.vvr.cleanarch.application.usecases.SuggestTitlesUseCase;
 import com.vvr.cleanarch.application.usecases.UpdateStatusUseCase;
 import com.vvr.cleanarch.application.usecases.UpdateTaskUseCase;
 import com.vvr.cleanarch.domain.entities.Task;
 import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskCursor;
+import com.vvr.cleanarch.domain.repositories.TaskPage;
+import com.vvr.cleanarch.domain.repositories.TaskSort;
+import com.vvr.cleanarch.presentation.binary.TaskBinaryCodec;
+import com.vvr.cleanarch.presentation.binary.TaskBinaryFormat;
+import com.vvr.cleanarch.presentation.cache.TaskListResponseCache;
+import com.vvr.cleanarch.presentation.cache.TaskListResponseCache.CachedList;
+import com.vvr.cleanarch.presentation.dto.BulkUpdateStatusResponse;
+import com.vvr.cleanarch.presentation.dto.TaskChangesResponse;
 import com.vvr.cleanarch.presentation.dto.TaskResponse;
+import com.vvr.cleanarch.presentation.dto.TaskStatsResponse;
+import com.vvr.cleanarch.presentation.export.TaskExportFormat;
+import com.vvr.cleanarch.presentation.export.TaskExportWriter;
+import com.vvr.cleanarch.presentation.json.TaskJsonArrayWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -21,8 +46,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -30,39 +59,90 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/tasks")
 @Tag(name = "Tasks", description = "API para gerenciamento de tarefas")
 public class TaskController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    private static final String BINARY_FORMATS_DESCRIPTION = "Com Accept: application/cbor, "
+            + "application/x-jackson-smile ou application/x-protobuf, a resposta vem nesse formato binário, "
+            + "com datas em milissegundos desde a época e o status pelo número (esquema em proto/tasks.proto).";
+
     private final CreateTaskUseCase createTaskUseCase;
+    private final BatchCreateTasksUseCase batchCreateTasksUseCase;
     private final UpdateTaskUseCase updateTaskUseCase;
     private final CompleteTaskUseCase completeTaskUseCase;
     private final ListTasksUseCase listTasksUseCase;
+    private final ListOverdueTasksUseCase listOverdueTasksUseCase;
+    private final ListTaskChangesUseCase listTaskChangesUseCase;
+    private final SearchTasksUseCase searchTasksUseCase;
+    private final SuggestTitlesUseCase suggestTitlesUseCase;
     private final DeleteTaskUseCase deleteTaskUseCase;
     private final GetTaskByIdUseCase getTaskByIdUseCase;
     private final UpdateStatusUseCase updateStatusUseCase;
+    private final BulkUpdateStatusUseCase bulkUpdateStatusUseCase;
+    private final ExportTasksUseCase exportTasksUseCase;
+    private final GetTaskStatsUseCase getTaskStatsUseCase;
+    private final TaskListResponseCache taskListResponseCache;
+    private final TaskBinaryCodec taskBinaryCodec;
+    private final JsonMapper jsonMapper;
+    private final Clock clock;
 
     public TaskController(CreateTaskUseCase createTaskUseCase,
+                          BatchCreateTasksUseCase batchCreateTasksUseCase,
                           UpdateTaskUseCase updateTaskUseCase,
                           CompleteTaskUseCase completeTaskUseCase,
                           ListTasksUseCase listTasksUseCase,
+                          ListOverdueTasksUseCase listOverdueTasksUseCase,
+                          ListTaskChangesUseCase listTaskChangesUseCase,
+                          SearchTasksUseCase searchTasksUseCase,
+                          SuggestTitlesUseCase suggestTitlesUseCase,
                           DeleteTaskUseCase deleteTaskUseCase,
                           GetTaskByIdUseCase getTaskByIdUseCase,
-                          UpdateStatusUseCase updateStatusUseCase) {
+                          UpdateStatusUseCase updateStatusUseCase,
+                          BulkUpdateStatusUseCase bulkUpdateStatusUseCase,
+                          ExportTasksUseCase exportTasksUseCase,
+                          GetTaskStatsUseCase getTaskStatsUseCase,
+                          TaskListResponseCache taskListResponseCache,
+                          TaskBinaryCodec taskBinaryCodec,
+                          JsonMapper jsonMapper,
+                          Clock clock) {
         this.createTaskUseCase = createTaskUseCase;
+        this.batchCreateTasksUseCase = batchCreateTasksUseCase;
         this.updateTaskUseCase = updateTaskUseCase;
         this.completeTaskUseCase = completeTaskUseCase;
         this.listTasksUseCase = listTasksUseCase;
+        this.listOverdueTasksUseCase = listOverdueTasksUseCase;
+        this.listTaskChangesUseCase = listTaskChangesUseCase;
+        this.searchTasksUseCase = searchTasksUseCase;
+        this.suggestTitlesUseCase = suggestTitlesUseCase;
         this.deleteTaskUseCase = deleteTaskUseCase;
         this.getTaskByIdUseCase = getTaskByIdUseCase;
         this.updateStatusUseCase = updateStatusUseCase;
+        this.bulkUpdateStatusUseCase = bulkUpdateStatusUseCase;
+        this.exportTasksUseCase = exportTasksUseCase;
+        this.getTaskStatsUseCase = getTaskStatsUseCase;
+        this.taskListResponseCache = taskListResponseCache;
+        this.taskBinaryCodec = taskBinaryCodec;
+        this.jsonMapper = jsonMapper;
+        this.clock = clock;
     }
 
     @Operation(
@@ -79,46 +159,326 @@ public class TaskController {
     @PostMapping
     public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody CreateTaskRequest request) {
         Task task = createTaskUseCase.execute(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(TaskResponse.from(task));
+        LocalDateTime now = LocalDateTime.now(clock);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(TaskETags.of(task, now))
+                .body(TaskResponse.from(task, now));
+    }
+
+    @Operation(
+            summary = "Criar tarefas em lote",
+            description = "Cria até 10000 tarefas em uma única transação. Se alguma for inválida, nenhuma é criada."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Tarefas criadas com sucesso",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos",
+                    content = @Content)
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<List<TaskResponse>> createTasks(@Valid @RequestBody BatchCreateTaskRequest request) {
+        List<Task> tasks = batchCreateTasksUseCase.execute(request);
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<TaskResponse> responses = tasks.stream()
+                .map(task -> TaskResponse.from(task, now))
+                .toList();
+        return ResponseEntity.status(HttpStatus.CREATED).body(responses);
     }
 
     @Operation(
             summary = "Listar tarefas",
-            description = "Retorna a lista de todas as tarefas. Pode ser filtrada por status."
+            description = "Retorna a lista de todas as tarefas. Pode ser filtrada por status. "
+                    + "Quando 'limit' ou 'after' são informados, retorna uma página ordenada por data de criação "
+                    + "(mais recentes primeiro) e o cursor da próxima página no cabeçalho X-Next-Cursor. "
+                    + "Sem paginação, as linhas são escritas na resposta à medida que são lidas do banco. "
+                    + "Leituras repetidas da lista ou de uma página sem escrita entre elas recebem o JSON "
+                    + "já serializado (ou compactado com gzip, quando o cliente envia Accept-Encoding: gzip) "
+                    + "sem consultar o banco. "
+                    + BINARY_FORMATS_DESCRIPTION
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de tarefas retornada com sucesso",
                     content = @Content(mediaType = "application/json",
-                            schema = @Schema(implementation = TaskResponse.class)))
+                            schema = @Schema(implementation = TaskResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Ordenação, cursor ou limite inválido",
+                    content = @Content)
     })
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> listTasks(
+    public ResponseEntity<?> listTasks(
             @Parameter(description = "Filtrar por status da tarefa (PENDING, IN_PROGRESS, COMPLETED)")
-            @RequestParam(required = false) TaskStatus status) {
-        List<Task> tasks = listTasksUseCase.execute(status);
-        List<TaskResponse> responses = tasks.stream()
-                .map(TaskResponse::from)
+            @RequestParam(required = false) TaskStatus status,
+            @Parameter(description = "Ordenação: createdAt (padrão, mais recentes primeiro), updatedAt ou title")
+            @RequestParam(required = false) String sort,
+            @Parameter(description = "Quantidade máxima de tarefas na página (1-500, padrão 50)")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor opaco retornado no cabeçalho X-Next-Cursor da página anterior")
+            @RequestParam(required = false) String after,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        TaskSort taskSort = TaskSort.fromKey(sort);
+        LocalDateTime now = LocalDateTime.now(clock);
+        Optional<TaskBinaryFormat> binary = TaskBinaryFormat.negotiate(accept);
+        if (binary.isPresent()) {
+            // The cached and streamed bodies are JSON; binary clients get the tasks encoded per request
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            List<Task> tasks;
+            if (limit == null && after == null) {
+                tasks = listTasksUseCase.execute(status, taskSort);
+            } else {
+                TaskCursor cursor = after != null ? TaskCursor.decode(after) : null;
+                TaskPage page = listTasksUseCase.execute(status, taskSort, cursor, limit);
+                page.getNextCursor().ifPresent(next -> response.header(NEXT_CURSOR_HEADER, next.encode()));
+                tasks = page.getItems();
+            }
+            return binaryList(response, binary.get(), tasks, now);
+        }
+        if (limit == null && after == null) {
+            CachedList whole = taskListResponseCache.getWhole(status, taskSort, now);
+            if (whole != null) {
+                return cachedList(whole, acceptEncoding);
+            }
+            // A whole listing can be large: rows go from the query straight into the response, and
+            // a copy of the bytes, when small enough, serves the next reads until a write
+            TaskListResponseCache.Capture capture = taskListResponseCache.capture(status, taskSort, now);
+            StreamingResponseBody body = outputStream -> {
+                TaskJsonArrayWriter writer = TaskJsonArrayWriter.open(
+                        StreamUtils.nonClosing(capture.tee(outputStream)), jsonMapper, now);
+                listTasksUseCase.execute(status, taskSort, row -> {
+                    capture.observe(row);
+                    writer.write(row);
+                });
+                writer.finish();
+                capture.complete();
+            };
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                    .body(body);
+        }
+
+        TaskCursor cursor = after != null ? TaskCursor.decode(after) : null;
+        // Repeated page reads with no write in between are served from bytes rendered by an earlier request
+        CachedList list = taskListResponseCache.get(status, taskSort, after, limit, now,
+                () -> listTasksUseCase.execute(status, taskSort, cursor, limit));
+        return cachedList(list, acceptEncoding);
+    }
+
+    @Operation(
+            summary = "Listar tarefas atrasadas",
+            description = "Retorna as tarefas PENDING criadas há mais de 7 dias, das mais antigas para as mais recentes, "
+                    + "com paginação por cursor (cabeçalho X-Next-Cursor). A consulta percorre apenas o intervalo "
+                    + "do índice (status, created_at) que contém as tarefas atrasadas. "
+                    + BINARY_FORMATS_DESCRIPTION
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de tarefas atrasadas",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor ou limite inválido",
+                    content = @Content)
+    })
+    @GetMapping("/overdue")
+    public ResponseEntity<?> listOverdueTasks(
+            @Parameter(description = "Quantidade máxima de tarefas na página (1-500, padrão 50)")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor opaco retornado no cabeçalho X-Next-Cursor da página anterior")
+            @RequestParam(required = false) String after,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        TaskCursor cursor = after != null ? TaskCursor.decode(after) : null;
+        TaskPage page = listOverdueTasksUseCase.execute(now, cursor, limit);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        page.getNextCursor().ifPresent(next -> response.header(NEXT_CURSOR_HEADER, next.encode()));
+        Optional<TaskBinaryFormat> binary = TaskBinaryFormat.negotiate(accept);
+        if (binary.isPresent()) {
+            return binaryList(response, binary.get(), page.getItems(), now);
+        }
+        List<TaskResponse> responses = page.getItems().stream()
+                .map(task -> TaskResponse.from(task, now))
+                .toList();
+        return response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT).body(responses);
+    }
+
+    @Operation(
+            summary = "Sincronizar alterações",
+            description = "Retorna as tarefas criadas ou alteradas e os IDs excluídos depois da posição do token "
+                    + "'since', com o token da próxima sincronização. Sem 'since', retorna todas as tarefas. "
+                    + "A consulta percorre apenas o intervalo do índice de sequência de alterações, então o custo "
+                    + "acompanha o número de alterações, não o tamanho da tabela. Exclusões ficam registradas pelo "
+                    + "período de retenção; um token mais antigo que isso recebe 410 e o cliente deve recomeçar."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Alterações desde o token",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskChangesResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Token ou limite inválido",
+                    content = @Content),
+            @ApiResponse(responseCode = "410", description = "Token expirado: sincronize novamente sem 'since'",
+                    content = @Content)
+    })
+    @GetMapping("/changes")
+    public ResponseEntity<TaskChangesResponse> listChanges(
+            @Parameter(description = "Token retornado em 'next' na sincronização anterior")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Quantidade máxima de alterações na página (1-500, padrão 500)")
+            @RequestParam(required = false) Integer limit) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        TaskChangesResult result = listTaskChangesUseCase.execute(since, limit, now);
+        return ResponseEntity.ok(TaskChangesResponse.from(result, now));
+    }
+
+    @Operation(
+            summary = "Buscar tarefas",
+            description = "Busca textual no título e na descrição, sem diferenciar maiúsculas nem acentos "
+                    + "(\"acao\" encontra \"Ação\"). Todas as palavras precisam aparecer, inteiras ou em parte "
+                    + "(\"relat\" encontra \"relatório\"). Os resultados vêm do mais relevante para o menos "
+                    + "relevante, com o total de resultados no cabeçalho X-Total-Count."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de resultados",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Busca vazia ou paginação inválida",
+                    content = @Content)
+    })
+    @GetMapping("/search")
+    public ResponseEntity<List<TaskResponse>> searchTasks(
+            @Parameter(description = "Texto a buscar", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Quantidade máxima de tarefas na página (1-500, padrão 20)")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Quantidade de resultados a pular (0-1000, padrão 0)")
+            @RequestParam(required = false) Integer offset) {
+        TaskSearchResult result = searchTasksUseCase.execute(q, limit, offset);
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<TaskResponse> responses = result.getTasks().stream()
+                .map(task -> TaskResponse.from(task, now))
                 .toList();
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(result.getTotal()))
+                .body(responses);
+    }
+
+    @Operation(
+            summary = "Sugerir títulos",
+            description = "Retorna títulos de tarefas existentes que começam com o prefixo informado, dos usados "
+                    + "mais recentemente para os mais antigos, sem diferenciar maiúsculas nem acentos. "
+                    + "Pensado para o autocompletar do formulário de criação; responde da memória, sem consultar o banco."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Títulos sugeridos",
+                    content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Prefixo vazio ou limite inválido",
+                    content = @Content)
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<List<String>> suggestTitles(
+            @Parameter(description = "Início do título digitado", required = true)
+            @RequestParam String prefix,
+            @Parameter(description = "Quantidade máxima de sugestões (1-50, padrão 10)")
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(suggestTitlesUseCase.execute(prefix, limit));
+    }
+
+    @Operation(
+            summary = "Exportar tarefas",
+            description = "Exporta todas as tarefas (ou apenas as de um status) em NDJSON ou CSV. "
+                    + "As linhas são enviadas à medida que são lidas do banco, sem carregar a tabela inteira em memória."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Exportação iniciada",
+                    content = {@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv")}),
+            @ApiResponse(responseCode = "400", description = "Formato inválido",
+                    content = @Content)
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @Parameter(description = "Formato do arquivo: ndjson (padrão) ou csv")
+            @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Filtrar por status da tarefa (PENDING, IN_PROGRESS, COMPLETED)")
+            @RequestParam(required = false) TaskStatus status) {
+        TaskExportFormat exportFormat = TaskExportFormat.fromParam(format);
+        LocalDateTime now = LocalDateTime.now(clock);
+        StreamingResponseBody body = outputStream -> {
+            TaskExportWriter writer = exportFormat.createWriter(outputStream, jsonMapper, now);
+            try {
+                exportTasksUseCase.execute(status, task -> {
+                    try {
+                        writer.write(task);
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            } catch (UncheckedIOException ex) {
+                throw ex.getCause();
+            }
+            writer.finish();
+        };
+        ContentDisposition disposition = ContentDisposition.attachment()
+                .filename("tasks." + exportFormat.getExtension())
+                .build();
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, disposition.toString())
+                .body(body);
+    }
+
+    @Operation(
+            summary = "Contar tarefas por status",
+            description = "Retorna a quantidade de tarefas em cada status, mantida em memória e sem consultar o banco"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Contagem retornada com sucesso",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TaskStatsResponse.class)))
+    })
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> getTaskStats() {
+        return ResponseEntity.ok(TaskStatsResponse.from(getTaskStatsUseCase.execute()));
     }
 
     @Operation(
             summary = "Buscar tarefa por ID",
-            description = "Retorna os detalhes de uma tarefa específica pelo seu ID"
+            description = "Retorna os detalhes de uma tarefa específica pelo seu ID, com a versão no cabeçalho ETag. "
+                    + "Com If-None-Match igual à versão atual, responde 304 sem corpo. "
+                    + BINARY_FORMATS_DESCRIPTION
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tarefa encontrada",
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = TaskResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Tarefa não modificada desde a versão informada",
+                    content = @Content),
             @ApiResponse(responseCode = "404", description = "Tarefa não encontrada",
                     content = @Content)
     })
     @GetMapping("/{id}")
-    public ResponseEntity<TaskResponse> getTaskById(
+    public ResponseEntity<?> getTaskById(
             @Parameter(description = "ID da tarefa", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest) {
         Task task = getTaskByIdUseCase.execute(id);
-        return ResponseEntity.ok(TaskResponse.from(task));
+        LocalDateTime now = LocalDateTime.now(clock);
+        Optional<TaskBinaryFormat> binary = TaskBinaryFormat.negotiate(accept);
+        String eTag = binary.map(format -> TaskETags.of(task, now, format)).orElseGet(() -> TaskETags.of(task, now));
+        // Sets the 304 status and ETag header itself; returning null skips serialization entirely
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(eTag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (binary.isPresent()) {
+            byte[] body = taskBinaryCodec.encode(binary.get(), TaskResponse.from(task, now));
+            return response.contentType(binary.get().getMediaType()).body(body);
+        }
+        return response.body(TaskResponse.from(task, now));
     }
 
     @Operation(
@@ -132,15 +492,22 @@ public class TaskController {
             @ApiResponse(responseCode = "400", description = "Dados inválidos",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Tarefa não encontrada",
+                    content = @Content),
+            @ApiResponse(responseCode = "412", description = "A tarefa foi alterada desde a versão informada em If-Match",
                     content = @Content)
     })
     @PutMapping("/{id}")
     public ResponseEntity<TaskResponse> updateTask(
             @Parameter(description = "ID da tarefa", required = true)
             @PathVariable Long id,
+            @Parameter(description = "ETag da versão esperada; se a tarefa mudou, responde 412. \"*\" exige apenas que a tarefa exista")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateTaskRequest request) {
-        Task task = updateTaskUseCase.execute(id, request);
-        return ResponseEntity.ok(TaskResponse.from(task));
+        Task task = TaskETags.conditionally(ifMatch, version -> updateTaskUseCase.execute(id, request, version));
+        LocalDateTime now = LocalDateTime.now(clock);
+        return ResponseEntity.ok()
+                .eTag(TaskETags.of(task, now))
+                .body(TaskResponse.from(task, now));
     }
 
     @Operation(
@@ -152,14 +519,21 @@ public class TaskController {
                     content = @Content(mediaType = "application/json",
                             schema = @Schema(implementation = TaskResponse.class))),
             @ApiResponse(responseCode = "404", description = "Tarefa não encontrada",
+                    content = @Content),
+            @ApiResponse(responseCode = "412", description = "A tarefa foi alterada desde a versão informada em If-Match",
                     content = @Content)
     })
     @PatchMapping("/{id}/complete")
     public ResponseEntity<TaskResponse> completeTask(
             @Parameter(description = "ID da tarefa", required = true)
-            @PathVariable Long id) {
-        Task task = completeTaskUseCase.execute(id);
-        return ResponseEntity.ok(TaskResponse.from(task));
+            @PathVariable Long id,
+            @Parameter(description = "ETag da versão esperada; se a tarefa mudou, responde 412. \"*\" exige apenas que a tarefa exista")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Task task = TaskETags.conditionally(ifMatch, version -> completeTaskUseCase.execute(id, version));
+        LocalDateTime now = LocalDateTime.now(clock);
+        return ResponseEntity.ok()
+                .eTag(TaskETags.of(task, now))
+                .body(TaskResponse.from(task, now));
     }
 
     @Operation(
@@ -171,13 +545,20 @@ public class TaskController {
             @ApiResponse(responseCode = "404", description = "Tarefa não encontrada",
                     content = @Content),
             @ApiResponse(responseCode = "400", description = "Tarefa não pode ser excluída (status diferente de PENDING)",
+                    content = @Content),
+            @ApiResponse(responseCode = "412", description = "A tarefa foi alterada desde a versão informada em If-Match",
                     content = @Content)
     })
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTask(
             @Parameter(description = "ID da tarefa", required = true)
-            @PathVariable Long id) {
-        deleteTaskUseCase.execute(id);
+            @PathVariable Long id,
+            @Parameter(description = "ETag da versão esperada; se a tarefa mudou, responde 412. \"*\" exige apenas que a tarefa exista")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        TaskETags.conditionally(ifMatch, version -> {
+            deleteTaskUseCase.execute(id, version);
+            return null;
+        });
         return ResponseEntity.noContent().build();
     }
 
@@ -192,14 +573,64 @@ public class TaskController {
             @ApiResponse(responseCode = "400", description = "Status inválido ou transição não permitida",
                     content = @Content),
             @ApiResponse(responseCode = "404", description = "Tarefa não encontrada",
+                    content = @Content),
+            @ApiResponse(responseCode = "412", description = "A tarefa foi alterada desde a versão informada em If-Match",
                     content = @Content)
     })
     @PatchMapping("/{id}/status")
     public ResponseEntity<TaskResponse> updateStatus(
             @Parameter(description = "ID da tarefa", required = true)
             @PathVariable Long id,
+            @Parameter(description = "ETag da versão esperada; se a tarefa mudou, responde 412. \"*\" exige apenas que a tarefa exista")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateStatusRequest request) {
-        Task task = updateStatusUseCase.execute(id, request);
-        return ResponseEntity.ok(TaskResponse.from(task));
+        Task task = TaskETags.conditionally(ifMatch, version -> updateStatusUseCase.execute(id, request, version));
+        LocalDateTime now = LocalDateTime.now(clock);
+        return ResponseEntity.ok()
+                .eTag(TaskETags.of(task, now))
+                .body(TaskResponse.from(task, now));
+    }
+
+    @Operation(
+            summary = "Atualizar status de várias tarefas",
+            description = "Altera o status de uma lista de IDs ou de todas as tarefas em um status, "
+                    + "sem leitura prévia, com um UPDATE condicional por status de origem em cada bloco. "
+                    + "Tarefas concluídas ou canceladas não são alteradas."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultado por tarefa",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BulkUpdateStatusResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Requisição inválida",
+                    content = @Content)
+    })
+    @PatchMapping("/status")
+    public ResponseEntity<BulkUpdateStatusResponse> updateStatuses(
+            @Valid @RequestBody BulkUpdateStatusRequest request) {
+        return ResponseEntity.ok(BulkUpdateStatusResponse.from(bulkUpdateStatusUseCase.execute(request)));
+    }
+
+    private static ResponseEntity<byte[]> cachedList(CachedList list, String acceptEncoding) {
+        boolean gzip = list.getGzip() != null && AcceptEncoding.allowsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        if (list.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, list.getNextCursor());
+        }
+        return response.body(gzip ? list.getGzip() : list.getJson());
+    }
+
+    private ResponseEntity<byte[]> binaryList(ResponseEntity.BodyBuilder response, TaskBinaryFormat format,
+                                              List<Task> tasks, LocalDateTime now) {
+        List<TaskResponse> responses = tasks.stream()
+                .map(task -> TaskResponse.from(task, now))
+                .toList();
+        return response.contentType(format.getMediaType())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT)
+                .body(taskBinaryCodec.encode(format, responses));
     }
 }
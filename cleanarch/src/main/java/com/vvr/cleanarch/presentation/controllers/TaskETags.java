@@ -0,0 +1,92 @@
+package com.vvr.cleanarch.presentation.controllers;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.exceptions.TaskNotFoundException;
+import com.vvr.cleanarch.domain.exceptions.TaskVersionMismatchException;
+import com.vvr.cleanarch.presentation.binary.TaskBinaryFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.function.Function;
+
+// Strong entity tags derived from the task version: "<version>", or "<version>-overdue" once the
+// task has become overdue. The flag changes with time rather than with a write, and the suffix
+// keeps a cached copy from being revalidated with the old flag; writes only compare the version.
+// Binary variants add their format ("<version>-cbor"), since a strong tag identifies one exact
+// representation and a JSON copy must never revalidate a CBOR one.
+final class TaskETags {
+
+    // What "If-Match: *" requires: any current version, as long as the task exists
+    static final Long ANY_VERSION = -1L;
+
+    private static final String WILDCARD = "*";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String OVERDUE_SUFFIX = "-overdue";
+
+    private TaskETags() {
+    }
+
+    static String of(Task task, LocalDateTime now) {
+        return "\"" + task.getVersion() + (task.isOverdue(now) ? OVERDUE_SUFFIX : "") + "\"";
+    }
+
+    static String of(Task task, LocalDateTime now, TaskBinaryFormat format) {
+        String tag = of(task, now);
+        return tag.substring(0, tag.length() - 1) + formatSuffix(format) + "\"";
+    }
+
+    // Runs a write with the version an If-Match header requires. "*" needs no version check, but
+    // with no current task to match the answer is 412 rather than 404 (RFC 9110, section 13.1.1).
+    static <T> T conditionally(String ifMatch, Function<Long, T> write) {
+        Long expectedVersion = expectedVersion(ifMatch);
+        if (!ANY_VERSION.equals(expectedVersion)) {
+            return write.apply(expectedVersion);
+        }
+        try {
+            return write.apply(null);
+        } catch (TaskNotFoundException ex) {
+            throw new TaskVersionMismatchException("If-Match: * requires an existing task. " + ex.getMessage());
+        }
+    }
+
+    // Version an If-Match header requires, ANY_VERSION for "*", or null when the write is unconditional.
+    // Only a single tag is supported because the guarded writes compare against one version.
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.equals(WILDCARD)) {
+            return ANY_VERSION;
+        }
+        if (tag.indexOf(',') >= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "If-Match with more than one entity tag is not supported");
+        }
+        // If-Match uses strong comparison, so weak or malformed tags can never match
+        if (tag.startsWith(WEAK_PREFIX) || tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new TaskVersionMismatchException("If-Match does not match the current entity tag: " + tag);
+        }
+        String value = tag.substring(1, tag.length() - 1);
+        for (TaskBinaryFormat format : TaskBinaryFormat.values()) {
+            if (value.endsWith(formatSuffix(format))) {
+                value = value.substring(0, value.length() - formatSuffix(format).length());
+                break;
+            }
+        }
+        if (value.endsWith(OVERDUE_SUFFIX)) {
+            value = value.substring(0, value.length() - OVERDUE_SUFFIX.length());
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException ex) {
+            throw new TaskVersionMismatchException("If-Match does not match the current entity tag: " + tag);
+        }
+    }
+
+    private static String formatSuffix(TaskBinaryFormat format) {
+        return "-" + format.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,125 @@
+package com.vvr.cleanarch.presentation.controllers;
+
+import com.vvr.cleanarch.application.events.TaskEvent;
+import com.vvr.cleanarch.application.events.TaskEventFeed;
+import com.vvr.cleanarch.presentation.dto.TaskEventResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/tasks")
+@Tag(name = "Tasks", description = "API para gerenciamento de tarefas")
+public class TaskEventController {
+
+    // Delay the browser's EventSource waits before reconnecting after the stream ends
+    private static final long RECONNECT_MILLIS = 2_000;
+
+    private final TaskEventFeed eventFeed;
+    private final Clock clock;
+    private final Duration heartbeatInterval;
+    private final Duration streamTimeout;
+
+    public TaskEventController(TaskEventFeed eventFeed,
+                               Clock clock,
+                               @Value("${tasks.events.heartbeat-interval:15s}") Duration heartbeatInterval,
+                               @Value("${tasks.events.stream-timeout:30m}") Duration streamTimeout) {
+        this.eventFeed = eventFeed;
+        this.clock = clock;
+        this.heartbeatInterval = heartbeatInterval;
+        this.streamTimeout = streamTimeout;
+    }
+
+    @Operation(
+            summary = "Acompanhar alterações (SSE)",
+            description = "Abre um stream Server-Sent Events com os eventos created, updated, status-changed, "
+                    + "bulk-status-changed e deleted, para o cliente aplicar as mudanças sem recarregar a lista. "
+                    + "Ao reconectar com o cabeçalho Last-Event-ID, os eventos perdidos são reenviados a partir de um "
+                    + "histórico curto; se não estiverem mais disponíveis chega um evento reset e o cliente deve "
+                    + "recarregar as tarefas. Clientes que não acompanham o ritmo dos eventos são desconectados."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream de eventos",
+                    content = @Content(mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            schema = @Schema(implementation = TaskEventResponse.class))),
+            @ApiResponse(responseCode = "503", description = "Limite de clientes conectados atingido",
+                    content = @Content)
+    })
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @Parameter(description = "ID do último evento recebido, enviado automaticamente pelo EventSource ao reconectar")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        TaskEventFeed.Subscription subscription = eventFeed.subscribe(lastEventId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many event subscribers"));
+
+        // Each stream gets its own virtual thread: sending blocks while the client's socket is
+        // full, and a slow client must only ever hold up itself
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Thread sender = Thread.ofVirtual().name("task-events").unstarted(() -> send(subscription, emitter));
+        emitter.onCompletion(() -> {
+            subscription.close();
+            sender.interrupt();
+        });
+        emitter.onError(error -> {
+            subscription.close();
+            sender.interrupt();
+        });
+        // Ending the stream at the timeout lets the client reconnect with its Last-Event-ID
+        emitter.onTimeout(emitter::complete);
+        sender.start();
+        return emitter;
+    }
+
+    private void send(TaskEventFeed.Subscription subscription, SseEmitter emitter) {
+        try {
+            emitter.send(SseEmitter.event().reconnectTime(RECONNECT_MILLIS).comment("connected"));
+            while (subscription.isOpen()) {
+                TaskEvent event = subscription.poll(heartbeatInterval);
+                if (!subscription.isOpen()) {
+                    break;
+                }
+                if (event == null) {
+                    // Keeps proxies from closing an idle connection and reveals clients that are gone
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                    continue;
+                }
+                emitter.send(SseEmitter.event()
+                        .id(event.getId())
+                        .name(eventName(event))
+                        .data(TaskEventResponse.from(event, LocalDateTime.now(clock)), MediaType.APPLICATION_JSON));
+            }
+            // Evicted for falling behind: ending the stream makes the client reconnect and resume
+            emitter.complete();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the stream was already completed
+        } finally {
+            subscription.close();
+        }
+    }
+
+    // STATUS_CHANGED -> "status-changed"
+    private static String eventName(TaskEvent event) {
+        return event.getType().name().toLowerCase(Locale.ROOT).replace('_', '-');
+    }
+}
@@ -0,0 +1,82 @@
+package com.vvr.cleanarch.presentation.dto;
+
+import com.vvr.cleanarch.application.dto.BulkStatusOutcome;
+import com.vvr.cleanarch.application.dto.BulkUpdateStatusResult;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Resultado da alteração de status em lote")
+public class BulkUpdateStatusResponse {
+
+    @Schema(description = "Quantidade de tarefas alteradas", example = "2")
+    private int updated;
+
+    @Schema(description = "Resultado por ID (vazio quando a seleção foi feita por status)")
+    private List<Result> results;
+
+    public BulkUpdateStatusResponse() {
+    }
+
+    public BulkUpdateStatusResponse(int updated, List<Result> results) {
+        this.updated = updated;
+        this.results = results;
+    }
+
+    public static BulkUpdateStatusResponse from(BulkUpdateStatusResult result) {
+        List<Result> results = result.getOutcomes().entrySet().stream()
+                .map(entry -> new Result(entry.getKey(), entry.getValue()))
+                .toList();
+        return new BulkUpdateStatusResponse(result.getUpdatedCount(), results);
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public List<Result> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Result> results) {
+        this.results = results;
+    }
+
+    @Schema(description = "Resultado da alteração de uma tarefa")
+    public static class Result {
+
+        @Schema(description = "ID da tarefa", example = "1")
+        private Long id;
+
+        @Schema(description = "UPDATED, NOT_FOUND, NOT_ALLOWED (tarefa concluída ou cancelada) ou CONFLICT (status alterado por outra requisição)", example = "UPDATED")
+        private BulkStatusOutcome outcome;
+
+        public Result() {
+        }
+
+        public Result(Long id, BulkStatusOutcome outcome) {
+            this.id = id;
+            this.outcome = outcome;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public void setId(Long id) {
+            this.id = id;
+        }
+
+        public BulkStatusOutcome getOutcome() {
+            return outcome;
+        }
+
+        public void setOutcome(BulkStatusOutcome outcome) {
+            this.outcome = outcome;
+        }
+    }
+}
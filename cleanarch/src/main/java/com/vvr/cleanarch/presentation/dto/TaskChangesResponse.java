@@ -0,0 +1,72 @@
+package com.vvr.cleanarch.presentation.dto;
+
+import com.vvr.cleanarch.application.dto.TaskChangesResult;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "Alterações desde o token informado")
+public class TaskChangesResponse {
+
+    @Schema(description = "Estado atual das tarefas criadas ou alteradas, da alteração mais antiga para a mais recente")
+    private List<TaskResponse> tasks;
+
+    @Schema(description = "IDs das tarefas excluídas", example = "[7, 12]")
+    private List<Long> deleted;
+
+    @Schema(description = "Token a enviar em 'since' na próxima sincronização")
+    private String next;
+
+    @Schema(description = "Há mais alterações: peça a próxima página imediatamente", example = "false")
+    private boolean hasMore;
+
+    public TaskChangesResponse() {
+    }
+
+    public TaskChangesResponse(List<TaskResponse> tasks, List<Long> deleted, String next, boolean hasMore) {
+        this.tasks = tasks;
+        this.deleted = deleted;
+        this.next = next;
+        this.hasMore = hasMore;
+    }
+
+    public static TaskChangesResponse from(TaskChangesResult result, LocalDateTime now) {
+        List<TaskResponse> tasks = result.getTasks().stream()
+                .map(task -> TaskResponse.from(task, now))
+                .toList();
+        return new TaskChangesResponse(tasks, result.getDeletedIds(), result.getNextToken(), result.hasMore());
+    }
+
+    public List<TaskResponse> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<TaskResponse> tasks) {
+        this.tasks = tasks;
+    }
+
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(List<Long> deleted) {
+        this.deleted = deleted;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+}
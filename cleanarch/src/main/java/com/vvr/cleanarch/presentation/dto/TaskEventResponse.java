@@ -0,0 +1,99 @@
+package com.vvr.cleanarch.presentation.dto;
+
+import com.vvr.cleanarch.application.events.TaskEvent;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Schema(description = "Dados de um evento do feed de alterações (campos não usados pelo tipo do evento vêm nulos ou vazios)")
+public class TaskEventResponse {
+
+    @Schema(description = "Tarefas criadas (created) ou a tarefa alterada (updated, status-changed)")
+    private List<TaskResponse> tasks;
+
+    @Schema(description = "ID da tarefa excluída (deleted) ou alterada (updated, status-changed)", example = "1")
+    private Long taskId;
+
+    @Schema(description = "IDs alterados em lote (bulk-status-changed); vazio quando a seleção foi feita por status")
+    private List<Long> ids;
+
+    @Schema(description = "Status anterior (status-changed, e bulk-status-changed por status)", example = "PENDING")
+    private TaskStatus previousStatus;
+
+    @Schema(description = "Novo status", example = "IN_PROGRESS")
+    private TaskStatus status;
+
+    @Schema(description = "Quantidade de tarefas afetadas", example = "1")
+    private int count;
+
+    public TaskEventResponse() {
+    }
+
+    public TaskEventResponse(List<TaskResponse> tasks, Long taskId, List<Long> ids,
+                             TaskStatus previousStatus, TaskStatus status, int count) {
+        this.tasks = tasks;
+        this.taskId = taskId;
+        this.ids = ids;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.count = count;
+    }
+
+    public static TaskEventResponse from(TaskEvent event, LocalDateTime now) {
+        List<TaskResponse> tasks = event.getTasks().stream()
+                .map(task -> TaskResponse.from(task, now))
+                .toList();
+        return new TaskEventResponse(tasks, event.getTaskId(), event.getIds(),
+                event.getPreviousStatus(), event.getStatus(), event.getCount());
+    }
+
+    public List<TaskResponse> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<TaskResponse> tasks) {
+        this.tasks = tasks;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public void setTaskId(Long taskId) {
+        this.taskId = taskId;
+    }
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public TaskStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public void setPreviousStatus(TaskStatus previousStatus) {
+        this.previousStatus = previousStatus;
+    }
+
+    public TaskStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(TaskStatus status) {
+        this.status = status;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+}
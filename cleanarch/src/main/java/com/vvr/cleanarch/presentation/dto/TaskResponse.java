@@ -1,12 +1,15 @@
 package com.vvr.cleanarch.presentation.dto;
 
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.vvr.cleanarch.domain.entities.Task;
 import com.vvr.cleanarch.domain.entities.TaskStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.LocalDateTime;
 
+// Property order is pinned: TaskJsonArrayWriter writes the same document without going through this class
 @Schema(description = "Resposta contendo os dados de uma tarefa")
+@JsonPropertyOrder({"id", "title", "description", "status", "createdAt", "updatedAt", "version", "overdue"})
 public class TaskResponse {
 
     @Schema(description = "ID único da tarefa", example = "1")
@@ -27,27 +30,38 @@ public class TaskResponse {
     @Schema(description = "Data e hora da última atualização da tarefa", example = "2026-01-21T14:45:00")
     private LocalDateTime updatedAt;
 
+    @Schema(description = "Versão da tarefa, incrementada a cada alteração (também enviada no cabeçalho ETag)", example = "3")
+    private Long version;
+
+    @Schema(description = "Indica se a tarefa está atrasada (PENDING há mais de 7 dias)", example = "false")
+    private boolean overdue;
+
     public TaskResponse() {
     }
 
     public TaskResponse(Long id, String title, String description, TaskStatus status,
-                        LocalDateTime createdAt, LocalDateTime updatedAt) {
+                        LocalDateTime createdAt, LocalDateTime updatedAt, Long version, boolean overdue) {
         this.id = id;
         this.title = title;
         this.description = description;
         this.status = status;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.version = version;
+        this.overdue = overdue;
     }
 
-    public static TaskResponse from(Task task) {
+    // now is read once per request, so every task in one response is judged against the same instant
+    public static TaskResponse from(Task task, LocalDateTime now) {
         return new TaskResponse(
                 task.getId(),
                 task.getTitle(),
                 task.getDescription(),
                 task.getStatus(),
                 task.getCreatedAt(),
-                task.getUpdatedAt()
+                task.getUpdatedAt(),
+                task.getVersion(),
+                task.isOverdue(now)
         );
     }
 
@@ -98,4 +112,20 @@ public class TaskResponse {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public boolean isOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(boolean overdue) {
+        this.overdue = overdue;
+    }
 }
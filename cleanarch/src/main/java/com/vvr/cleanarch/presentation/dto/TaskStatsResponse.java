@@ -0,0 +1,48 @@
+package com.vvr.cleanarch.presentation.dto;
+
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.Map;
+
+@Schema(description = "Quantidade de tarefas por status")
+public class TaskStatsResponse {
+
+    @Schema(description = "Quantidade de tarefas em cada status",
+            example = "{\"PENDING\": 12, \"IN_PROGRESS\": 3, \"COMPLETED\": 40, \"CANCELLED\": 1}")
+    private Map<TaskStatus, Long> counts;
+
+    @Schema(description = "Total de tarefas", example = "56")
+    private long total;
+
+    public TaskStatsResponse() {
+    }
+
+    public TaskStatsResponse(Map<TaskStatus, Long> counts, long total) {
+        this.counts = counts;
+        this.total = total;
+    }
+
+    public static TaskStatsResponse from(Map<TaskStatus, Long> counts) {
+        long total = counts.values().stream()
+                .mapToLong(Long::longValue)
+                .sum();
+        return new TaskStatsResponse(counts, total);
+    }
+
+    public Map<TaskStatus, Long> getCounts() {
+        return counts;
+    }
+
+    public void setCounts(Map<TaskStatus, Long> counts) {
+        this.counts = counts;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public void setTotal(long total) {
+        this.total = total;
+    }
+}
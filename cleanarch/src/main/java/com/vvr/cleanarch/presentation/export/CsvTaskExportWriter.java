@@ -0,0 +1,84 @@
+package com.vvr.cleanarch.presentation.export;
+
+import com.vvr.cleanarch.domain.entities.Task;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+// RFC 4180 CSV with a header row
+class CsvTaskExportWriter implements TaskExportWriter {
+
+    private static final String HEADER = "id,title,description,status,createdAt,updatedAt";
+
+    private final Writer writer;
+    private boolean headerWritten;
+
+    CsvTaskExportWriter(OutputStream out) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void write(Task task) throws IOException {
+        if (!headerWritten) {
+            writeHeader();
+        }
+        writer.write(String.valueOf(task.getId()));
+        writer.write(',');
+        writeQuoted(task.getTitle());
+        writer.write(',');
+        writeQuoted(task.getDescription());
+        writer.write(',');
+        writer.write(task.getStatus().name());
+        writer.write(',');
+        writeNullable(task.getCreatedAt());
+        writer.write(',');
+        writeNullable(task.getUpdatedAt());
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (!headerWritten) {
+            writeHeader();
+        }
+        writer.flush();
+    }
+
+    private void writeHeader() throws IOException {
+        writer.write(HEADER);
+        writer.write("\r\n");
+        headerWritten = true;
+    }
+
+    private void writeNullable(Object value) throws IOException {
+        if (value != null) {
+            writer.write(value.toString());
+        }
+    }
+
+    private void writeQuoted(String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        writer.write('"');
+        if (startsLikeAFormula(value)) {
+            writer.write('\'');
+        }
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    // Spreadsheets evaluate a cell starting with one of these as a formula (CSV injection);
+    // a leading apostrophe makes them show it as text
+    private static boolean startsLikeAFormula(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char first = value.charAt(0);
+        return first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+    }
+}
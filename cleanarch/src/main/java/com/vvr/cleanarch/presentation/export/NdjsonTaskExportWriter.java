@@ -0,0 +1,35 @@
+package com.vvr.cleanarch.presentation.export;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.presentation.dto.TaskResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+// One TaskResponse JSON document per line
+class NdjsonTaskExportWriter implements TaskExportWriter {
+
+    private final OutputStream out;
+    private final JsonMapper jsonMapper;
+    private final LocalDateTime now;
+
+    NdjsonTaskExportWriter(OutputStream out, JsonMapper jsonMapper, LocalDateTime now) {
+        this.out = new BufferedOutputStream(out);
+        this.jsonMapper = jsonMapper;
+        this.now = now;
+    }
+
+    @Override
+    public void write(Task task) throws IOException {
+        out.write(jsonMapper.writeValueAsBytes(TaskResponse.from(task, now)));
+        out.write('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.flush();
+    }
+}
@@ -0,0 +1,48 @@
+package com.vvr.cleanarch.presentation.export;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public enum TaskExportFormat {
+    NDJSON("ndjson", MediaType.parseMediaType("application/x-ndjson")),
+    CSV("csv", MediaType.parseMediaType("text/csv;charset=UTF-8"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    TaskExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public static TaskExportFormat fromParam(String format) {
+        for (TaskExportFormat value : values()) {
+            if (value.extension.equalsIgnoreCase(format)) {
+                return value;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Invalid export format: " + format + ". Use ndjson or csv");
+    }
+
+    // now is the instant the export was requested; the overdue flag of every line is evaluated against it
+    public TaskExportWriter createWriter(OutputStream out, JsonMapper jsonMapper, LocalDateTime now) {
+        return switch (this) {
+            case NDJSON -> new NdjsonTaskExportWriter(out, jsonMapper, now);
+            case CSV -> new CsvTaskExportWriter(out);
+        };
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+}
@@ -0,0 +1,12 @@
+package com.vvr.cleanarch.presentation.export;
+
+import com.vvr.cleanarch.domain.entities.Task;
+
+import java.io.IOException;
+
+public interface TaskExportWriter {
+
+    void write(Task task) throws IOException;
+
+    void finish() throws IOException;
+}
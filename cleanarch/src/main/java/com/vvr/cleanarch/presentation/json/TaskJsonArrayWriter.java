@@ -0,0 +1,78 @@
+package com.vvr.cleanarch.presentation.json;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.repositories.TaskRow;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// Writes a JSON array of tasks from TaskRow views straight into a JsonGenerator. The document is
+// the one serializing TaskResponse.from for each task produces (same properties, order and date
+// format), without building a Task, a TaskResponse or a list, and without bean introspection.
+public final class TaskJsonArrayWriter {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString TITLE = new SerializedString("title");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializableString VERSION = new SerializedString("version");
+    private static final SerializableString OVERDUE = new SerializedString("overdue");
+
+    private final JsonGenerator generator;
+    private final LocalDateTime overdueCutoff;
+
+    // now is read once per request, so every task in the array is judged against the same instant
+    public TaskJsonArrayWriter(JsonGenerator generator, LocalDateTime now) {
+        this.generator = generator;
+        this.overdueCutoff = Task.overdueCutoff(now);
+        generator.writeStartArray();
+    }
+
+    // Closing the writer closes out, so callers pass a non-closing view of streams they do not own
+    public static TaskJsonArrayWriter open(OutputStream out, JsonMapper jsonMapper, LocalDateTime now) {
+        return new TaskJsonArrayWriter(jsonMapper.createGenerator(out), now);
+    }
+
+    public void write(TaskRow row) {
+        generator.writeStartObject();
+        generator.writeName(ID);
+        generator.writeNumber(row.getId());
+        generator.writeName(TITLE);
+        generator.writeString(row.getTitle());
+        generator.writeName(DESCRIPTION);
+        generator.writeString(row.getDescription());
+        generator.writeName(STATUS);
+        generator.writeString(row.getStatus().name());
+        generator.writeName(CREATED_AT);
+        writeDateTime(row.getCreatedAt());
+        generator.writeName(UPDATED_AT);
+        writeDateTime(row.getUpdatedAt());
+        generator.writeName(VERSION);
+        generator.writeNumber(row.getVersion());
+        generator.writeName(OVERDUE);
+        generator.writeBoolean(Task.isOverdue(row.getStatus(), row.getCreatedAt(), overdueCutoff));
+        generator.writeEndObject();
+    }
+
+    // Ends the array, flushes what is buffered and closes the generator
+    public void finish() {
+        generator.writeEndArray();
+        generator.close();
+    }
+
+    // Jackson's default for LocalDateTime, e.g. 2026-01-21T10:30:00
+    private void writeDateTime(LocalDateTime value) {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeString(value.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        }
+    }
+}
@@ -0,0 +1,5 @@
+-- Serves GET /api/tasks?status=... ordered by creation date
+CREATE INDEX idx_tasks_status_created_at ON tasks (status, created_at);
+
+-- Serves the unfiltered listing and the (created_at, id) keyset pagination
+CREATE INDEX idx_tasks_created_at_id ON tasks (created_at, id);
@@ -0,0 +1,3 @@
+-- Ids now come from a pooled sequence (see TaskEntity) so Hibernate can batch inserts.
+-- The increment must match the allocationSize of the @SequenceGenerator.
+CREATE SEQUENCE tasks_seq START WITH 1 INCREMENT BY 50;
@@ -0,0 +1,4 @@
+-- Serves the status listings and the overdue range scan (status = 'PENDING' AND created_at < cutoff)
+-- in index order, ties included, so neither needs a sort step. Supersedes idx_tasks_status_created_at.
+CREATE INDEX idx_tasks_status_created_at_id ON tasks (status, created_at, id);
+DROP INDEX idx_tasks_status_created_at;
@@ -0,0 +1,14 @@
+-- Delta sync (GET /api/tasks/changes): every write stamps the row with the next change sequence and
+-- every delete leaves a tombstone stamped the same way. Rows written before this migration keep
+-- sequence 0, so a sync from the start still returns them.
+ALTER TABLE tasks ADD COLUMN change_seq BIGINT DEFAULT 0 NOT NULL;
+CREATE INDEX idx_tasks_change_seq_id ON tasks (change_seq, id);
+
+CREATE TABLE task_tombstones (
+    task_id    BIGINT       PRIMARY KEY,
+    change_seq BIGINT       NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL
+);
+CREATE INDEX idx_task_tombstones_change_seq_task_id ON task_tombstones (change_seq, task_id);
+-- Range scanned by the periodic purge of tombstones older than the retention window
+CREATE INDEX idx_task_tombstones_deleted_at ON task_tombstones (deleted_at);
@@ -0,0 +1,139 @@
+package com.vvr.cleanarch.application.events;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskEventFeedTest {
+
+    private static final Duration NO_WAIT = Duration.ZERO;
+
+    private final TaskEventFeed feed = new TaskEventFeed(4, 3, 2);
+
+    @Test
+    void subscribers_receiveEventsInOrder() throws InterruptedException {
+        TaskEventFeed.Subscription subscription = feed.subscribe(null).orElseThrow();
+
+        feed.created(List.of(task(1L, TaskStatus.PENDING)));
+        feed.statusChanged(task(1L, TaskStatus.IN_PROGRESS), TaskStatus.PENDING);
+        feed.deleted(1L);
+
+        TaskEvent created = subscription.poll(NO_WAIT);
+        TaskEvent statusChanged = subscription.poll(NO_WAIT);
+        TaskEvent deleted = subscription.poll(NO_WAIT);
+        assertEquals(TaskEventType.CREATED, created.getType());
+        assertEquals(TaskEventType.STATUS_CHANGED, statusChanged.getType());
+        assertEquals(TaskStatus.PENDING, statusChanged.getPreviousStatus());
+        assertEquals(TaskStatus.IN_PROGRESS, statusChanged.getStatus());
+        assertEquals(TaskEventType.DELETED, deleted.getType());
+        assertEquals(1L, deleted.getTaskId());
+        assertNull(subscription.poll(NO_WAIT));
+    }
+
+    @Test
+    void events_holdCopiesOfTheTasks() throws InterruptedException {
+        TaskEventFeed.Subscription subscription = feed.subscribe(null).orElseThrow();
+        Task task = task(1L, TaskStatus.PENDING);
+
+        feed.updated(task);
+        task.setTitle("Changed afterwards");
+
+        assertEquals("Task 1", subscription.poll(NO_WAIT).getTasks().get(0).getTitle());
+    }
+
+    @Test
+    void subscribe_withLastEventId_replaysWhatWasMissed() throws InterruptedException {
+        TaskEventFeed.Subscription first = feed.subscribe(null).orElseThrow();
+        feed.deleted(1L);
+        feed.deleted(2L);
+        feed.deleted(3L);
+        String lastSeen = first.poll(NO_WAIT).getId();
+        first.close();
+
+        TaskEventFeed.Subscription resumed = feed.subscribe(lastSeen).orElseThrow();
+
+        assertEquals(2L, resumed.poll(NO_WAIT).getTaskId());
+        assertEquals(3L, resumed.poll(NO_WAIT).getTaskId());
+        assertNull(resumed.poll(NO_WAIT));
+    }
+
+    @Test
+    void subscribe_withAnIdNoLongerInTheHistory_getsAReset() throws InterruptedException {
+        TaskEventFeed.Subscription first = feed.subscribe(null).orElseThrow();
+        feed.deleted(1L);
+        String lastSeen = first.poll(NO_WAIT).getId();
+        first.close();
+        for (long id = 2; id <= 7; id++) {
+            feed.deleted(id);
+        }
+
+        TaskEventFeed.Subscription resumed = feed.subscribe(lastSeen).orElseThrow();
+
+        assertEquals(TaskEventType.RESET, resumed.poll(NO_WAIT).getType());
+        assertNull(resumed.poll(NO_WAIT));
+    }
+
+    @Test
+    void subscribe_withAnUnknownId_getsAReset() throws InterruptedException {
+        feed.deleted(1L);
+
+        assertEquals(TaskEventType.RESET, feed.subscribe("other-run-1").orElseThrow().poll(NO_WAIT).getType());
+        assertEquals(TaskEventType.RESET, feed.subscribe("garbage").orElseThrow().poll(NO_WAIT).getType());
+    }
+
+    @Test
+    void slowSubscriber_isEvictedWithoutBlockingThePublisher() throws InterruptedException {
+        TaskEventFeed.Subscription slow = feed.subscribe(null).orElseThrow();
+        TaskEventFeed.Subscription fast = feed.subscribe(null).orElseThrow();
+        List<TaskEvent> received = new ArrayList<>();
+
+        for (long id = 1; id <= 4; id++) {
+            feed.deleted(id);
+            received.add(fast.poll(NO_WAIT));
+        }
+
+        assertTrue(slow.isEvicted());
+        assertFalse(slow.isOpen());
+        assertNull(slow.poll(NO_WAIT));
+        assertTrue(fast.isOpen());
+        assertEquals(4, received.size());
+        assertEquals(1, feed.evictionCount());
+        assertEquals(1, feed.subscriberCount());
+    }
+
+    @Test
+    void subscribe_beyondTheLimit_isRefused() {
+        feed.subscribe(null).orElseThrow();
+        TaskEventFeed.Subscription second = feed.subscribe(null).orElseThrow();
+
+        assertTrue(feed.subscribe(null).isEmpty());
+
+        second.close();
+        assertTrue(feed.subscribe(null).isPresent());
+    }
+
+    @Test
+    void bulkStatusChange_carriesTheUpdatedIds() throws InterruptedException {
+        TaskEventFeed.Subscription subscription = feed.subscribe(null).orElseThrow();
+
+        feed.statusChangedInBulk(List.of(4L, 5L), null, TaskStatus.COMPLETED, 2);
+
+        TaskEvent event = subscription.poll(NO_WAIT);
+        assertEquals(TaskEventType.BULK_STATUS_CHANGED, event.getType());
+        assertEquals(List.of(4L, 5L), event.getIds());
+        assertEquals(TaskStatus.COMPLETED, event.getStatus());
+        assertEquals(2, event.getCount());
+    }
+
+    private static Task task(Long id, TaskStatus status) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Task(id, "Task " + id, null, status, now, now, 0L);
+    }
+}
@@ -0,0 +1,133 @@
+package com.vvr.cleanarch.application.search;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+class TaskSearchIndexTest {
+
+    private final TaskSearchIndex index = new TaskSearchIndex();
+
+    @Test
+    void tokens_areLowerCasedAndAccentFolded() {
+        assertEquals(List.of("revisao", "da", "acao", "item", "2"), TaskTextAnalyzer.tokens("Revisão da AÇÃO, item 2!"));
+    }
+
+    @Test
+    void search_ignoresCaseAndAccents() {
+        index.index(task(1L, "Revisão do relatório", null, 0L));
+
+        assertEquals(List.of(1L), index.search("REVISAO relatorio", 0, 10).getIds());
+        assertEquals(List.of(1L), index.search("revisão", 0, 10).getIds());
+    }
+
+    @Test
+    void search_matchesPartialWords() {
+        index.index(task(1L, "Relatório mensal", null, 0L));
+        index.index(task(2L, "Orçamento", "Planilha de custos", 0L));
+
+        assertEquals(List.of(1L), index.search("relat", 0, 10).getIds());
+        assertEquals(List.of(1L), index.search("re", 0, 10).getIds());
+        assertEquals(List.of(2L), index.search("camen", 0, 10).getIds());
+        assertEquals(List.of(2L), index.search("planilha cust", 0, 10).getIds());
+        assertTrue(index.search("mensalidade", 0, 10).getIds().isEmpty());
+    }
+
+    @Test
+    void search_requiresEveryQueryTerm() {
+        index.index(task(1L, "Comprar leite", null, 0L));
+        index.index(task(2L, "Comprar pão", null, 0L));
+
+        TaskSearchHits hits = index.search("comprar pao", 0, 10);
+
+        assertEquals(List.of(2L), hits.getIds());
+        assertEquals(1, hits.getTotal());
+    }
+
+    @Test
+    void search_ranksTitleAndExactMatchesFirst() {
+        index.index(task(1L, "Ligar para o cliente", "deploy", 0L));
+        index.index(task(2L, "Deploy da versão", null, 0L));
+        index.index(task(3L, "Deployment manual", null, 0L));
+
+        assertEquals(List.of(2L, 3L, 1L), index.search("deploy", 0, 10).getIds());
+    }
+
+    @Test
+    void search_pagesThroughTheRanking() {
+        for (long id = 1; id <= 5; id++) {
+            index.index(task(id, "Tarefa " + id, null, 0L));
+        }
+
+        TaskSearchHits page = index.search("tarefa", 2, 2);
+
+        // Equal scores: newest first
+        assertEquals(List.of(3L, 2L), page.getIds());
+        assertEquals(5, page.getTotal());
+        assertTrue(index.search("tarefa", 5, 2).getIds().isEmpty());
+    }
+
+    @Test
+    void updated_replacesTheIndexedText() {
+        index.index(task(1L, "Rascunho", null, 0L));
+
+        index.updated(task(1L, "Versão final", null, 1L));
+
+        assertTrue(index.search("rascunho", 0, 10).getIds().isEmpty());
+        assertEquals(List.of(1L), index.search("final", 0, 10).getIds());
+    }
+
+    @Test
+    void updated_withAnOlderVersion_isIgnored() {
+        index.index(task(1L, "Versão nova", null, 2L));
+
+        index.updated(task(1L, "Versão antiga", null, 1L));
+
+        assertEquals(List.of(1L), index.search("nova", 0, 10).getIds());
+        assertTrue(index.search("antiga", 0, 10).getIds().isEmpty());
+    }
+
+    @Test
+    void deleted_removesTheTaskAndItsTerms() {
+        index.created(List.of(task(1L, "Arquivar notas", null, 0L), task(2L, "Arquivar fotos", null, 0L)));
+
+        index.deleted(1L);
+
+        assertEquals(List.of(2L), index.search("arquivar", 0, 10).getIds());
+        assertTrue(index.search("notas", 0, 10).getIds().isEmpty());
+        assertTrue(index.search("not", 0, 10).getIds().isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void initializedFrom_indexesEveryStoredTask() {
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        doAnswer(invocation -> {
+            Consumer<Task> action = invocation.getArgument(1);
+            action.accept(task(1L, "Primeira", null, 0L));
+            action.accept(task(2L, "Segunda", "primeira revisão", 0L));
+            return null;
+        }).when(taskRepository).forEachTask(isNull(), any(Consumer.class));
+
+        TaskSearchIndex initialized = TaskSearchIndex.initializedFrom(taskRepository);
+
+        assertEquals(2, initialized.size());
+        assertEquals(List.of(1L, 2L), initialized.search("primeira", 0, 10).getIds());
+    }
+
+    private static Task task(Long id, String title, String description, Long version) {
+        LocalDateTime now = LocalDateTime.now();
+        return new Task(id, title, description, TaskStatus.PENDING, now, now, version);
+    }
+}
@@ -0,0 +1,169 @@
+package com.vvr.cleanarch.application.search;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleSuggestionIndexTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    private final TitleSuggestionIndex index = new TitleSuggestionIndex();
+
+    @Test
+    void suggest_returnsTitlesWithThePrefixMostRecentFirst() {
+        index.index(task(1L, "Comprar pão", 1));
+        index.index(task(2L, "Compras do mês", 3));
+        index.index(task(3L, "Comprar leite", 2));
+        index.index(task(4L, "Consertar torneira", 4));
+
+        assertEquals(List.of("Compras do mês", "Comprar leite", "Comprar pão"), index.suggest("compr", 10));
+        assertEquals(List.of("Compras do mês", "Comprar leite"), index.suggest("compr", 2));
+        assertEquals(List.of("Consertar torneira"), index.suggest("CONS", 10));
+        assertTrue(index.suggest("x", 10).isEmpty());
+    }
+
+    @Test
+    void suggest_ignoresAccentsAndExtraWhitespace() {
+        index.index(task(1L, "  Revisão   do contrato ", 1));
+        index.index(task(2L, "Revisar", 2));
+
+        assertEquals(List.of("Revisão   do contrato"), index.suggest("revisao do", 10));
+        assertEquals(List.of("Revisão   do contrato"), index.suggest("revisao ", 10));
+        assertEquals(List.of("Revisar", "Revisão   do contrato"), index.suggest("  revis", 10));
+    }
+
+    @Test
+    void tasksWithTheSameTitle_shareOneSuggestionUntilTheLastIsGone() {
+        index.index(task(1L, "Backup semanal", 1));
+        index.index(task(2L, "backup  SEMANAL", 2));
+
+        assertEquals(List.of("backup  SEMANAL"), index.suggest("back", 10));
+        assertEquals(1, index.size());
+
+        index.deleted(2L);
+        assertEquals(1, index.suggest("back", 10).size());
+
+        index.deleted(1L);
+        assertTrue(index.suggest("back", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void updated_movesARenamedTaskToItsNewTitle() {
+        index.index(task(1L, "Rascunho", 1));
+
+        index.updated(task(1L, "Relatório final", 2));
+
+        assertTrue(index.suggest("rasc", 10).isEmpty());
+        assertEquals(List.of("Relatório final"), index.suggest("r", 10));
+    }
+
+    @Test
+    void updated_withTheSameTitle_keepsTheSuggestion() {
+        index.index(task(1L, "Pagar fornecedor", 5));
+        index.index(task(2L, "Pagar aluguel", 3));
+
+        // A status change reports the task again with a newer updatedAt but the same title
+        index.updated(task(2L, "Pagar aluguel", 9));
+
+        assertEquals(List.of("Pagar fornecedor", "Pagar aluguel"), index.suggest("pagar", 10));
+    }
+
+    @Test
+    void updated_withAnOlderVersion_isIgnored() {
+        index.index(task(1L, "Versão nova", 2, 2L));
+
+        index.updated(task(1L, "Versão antiga", 1, 1L));
+
+        assertEquals(List.of("Versão nova"), index.suggest("versao", 10));
+    }
+
+    @Test
+    void updated_afterTheTaskWasDeleted_doesNotBringItBack() {
+        index.index(task(1L, "Descartar", 1, 0L));
+        index.deleted(1L);
+
+        // An update written before the delete, delivered after it
+        index.updated(task(1L, "Descartar rascunho", 2, 1L));
+
+        assertTrue(index.suggest("descartar", 10).isEmpty());
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void removingTitles_keepsTheOnesSharingTheirPrefix() {
+        index.index(task(1L, "Comprar", 1));
+        index.index(task(2L, "Comprar pão", 2));
+        index.index(task(3L, "Compras", 3));
+
+        index.deleted(1L);
+        assertEquals(List.of("Compras", "Comprar pão"), index.suggest("compra", 10));
+
+        index.deleted(3L);
+        assertEquals(List.of("Comprar pão"), index.suggest("c", 10));
+        assertEquals(List.of("Comprar pão"), index.suggest("comprar p", 10));
+    }
+
+    @Test
+    void randomWrites_matchABruteForceScan() {
+        Random random = new Random(7);
+        String[] words = {"ab", "abc", "abd", "b", "ba", "abc d", "a", "bab", "abcd"};
+        Map<Long, Task> tasks = new HashMap<>();
+        // Ids are never reused, so a deleted slot gets a fresh id
+        long[] ids = new long[40];
+        for (int slot = 0; slot < ids.length; slot++) {
+            ids[slot] = slot;
+        }
+        long nextId = ids.length;
+        for (int step = 0; step < 2_000; step++) {
+            int slot = random.nextInt(ids.length);
+            long id = ids[slot];
+            if (random.nextInt(4) == 0) {
+                tasks.remove(id);
+                index.deleted(id);
+                ids[slot] = nextId++;
+            } else {
+                Task task = task(id, words[random.nextInt(words.length)], step);
+                tasks.put(id, task);
+                index.updated(task);
+            }
+
+            String word = words[random.nextInt(words.length)];
+            String prefix = word.substring(0, 1 + random.nextInt(word.length()));
+            TreeSet<String> expected = new TreeSet<>();
+            for (Task task : tasks.values()) {
+                if (task.getTitle().startsWith(prefix)) {
+                    expected.add(task.getTitle());
+                }
+            }
+            assertEquals(expected, new TreeSet<>(index.suggest(prefix, 100)), "step " + step);
+            assertEquals(new TreeSet<>(titles(tasks)).size(), index.size(), "step " + step);
+        }
+    }
+
+    private static List<String> titles(Map<Long, Task> tasks) {
+        List<String> titles = new ArrayList<>();
+        tasks.values().forEach(task -> titles.add(task.getTitle()));
+        return titles;
+    }
+
+    private static Task task(Long id, String title, int minutes) {
+        return task(id, title, minutes, 0L);
+    }
+
+    private static Task task(Long id, String title, int minutes, Long version) {
+        LocalDateTime at = START.plusMinutes(minutes);
+        return new Task(id, title, null, TaskStatus.PENDING, START, at, version);
+    }
+}
@@ -0,0 +1,62 @@
+package com.vvr.cleanarch.application.stats;
+
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class TaskStatusCountersTest {
+
+    @Test
+    void initializedFrom_seedsCountsFromGroupedQuery() {
+        TaskRepository taskRepository = mock(TaskRepository.class);
+        when(taskRepository.countByStatus()).thenReturn(Map.of(TaskStatus.PENDING, 3L, TaskStatus.COMPLETED, 5L));
+
+        Map<TaskStatus, Long> counts = TaskStatusCounters.initializedFrom(taskRepository).snapshot();
+
+        assertEquals(3L, counts.get(TaskStatus.PENDING));
+        assertEquals(0L, counts.get(TaskStatus.IN_PROGRESS));
+        assertEquals(5L, counts.get(TaskStatus.COMPLETED));
+        assertEquals(0L, counts.get(TaskStatus.CANCELLED));
+        verify(taskRepository, times(1)).countByStatus();
+    }
+
+    @Test
+    void changed_movesCountBetweenStatuses() {
+        TaskStatusCounters statusCounters = new TaskStatusCounters();
+        statusCounters.created(TaskStatus.PENDING, 4);
+
+        statusCounters.changed(TaskStatus.PENDING, TaskStatus.IN_PROGRESS, 3);
+        statusCounters.changed(TaskStatus.IN_PROGRESS, TaskStatus.IN_PROGRESS, 1);
+        statusCounters.deleted(TaskStatus.PENDING);
+
+        Map<TaskStatus, Long> counts = statusCounters.snapshot();
+        assertEquals(0L, counts.get(TaskStatus.PENDING));
+        assertEquals(3L, counts.get(TaskStatus.IN_PROGRESS));
+    }
+
+    @Test
+    void concurrentTransitions_keepTotalsExact() throws InterruptedException {
+        TaskStatusCounters statusCounters = new TaskStatusCounters();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 10_000; i++) {
+            executor.execute(() -> {
+                statusCounters.created(TaskStatus.PENDING, 1);
+                statusCounters.changed(TaskStatus.PENDING, TaskStatus.COMPLETED, 1);
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        Map<TaskStatus, Long> counts = statusCounters.snapshot();
+        assertEquals(0L, counts.get(TaskStatus.PENDING));
+        assertEquals(10_000L, counts.get(TaskStatus.COMPLETED));
+    }
+}
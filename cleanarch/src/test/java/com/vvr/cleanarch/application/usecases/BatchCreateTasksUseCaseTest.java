@@ -0,0 +1,93 @@
+package com.vvr.cleanarch.application.usecases;
+
+import com.vvr.cleanarch.application.dto.BatchCreateTaskRequest;
+import com.vvr.cleanarch.application.dto.CreateTaskRequest;
+import com.vvr.cleanarch.application.events.TaskChangeListener;
+import com.vvr.cleanarch.application.events.TaskChangePublisher;
+import com.vvr.cleanarch.application.stats.TaskStatusCounters;
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.exceptions.InvalidTaskException;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchCreateTasksUseCaseTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskChangeListener changeListener;
+
+    private TaskStatusCounters statusCounters;
+
+    private BatchCreateTasksUseCase batchCreateTasksUseCase;
+
+    @BeforeEach
+    void setUp() {
+        statusCounters = new TaskStatusCounters();
+        batchCreateTasksUseCase = new BatchCreateTasksUseCase(taskRepository, statusCounters,
+                new TaskChangePublisher(List.of(changeListener)));
+    }
+
+    @Test
+    void execute_withValidRequests_savesAllAsPendingInOneCall() {
+        BatchCreateTaskRequest request = new BatchCreateTaskRequest(List.of(
+                new CreateTaskRequest("  First  ", "Description"),
+                new CreateTaskRequest("Second", null)));
+        when(taskRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Task> result = batchCreateTasksUseCase.execute(request);
+
+        assertEquals(2, result.size());
+        assertEquals("First", result.get(0).getTitle());
+        assertEquals("Second", result.get(1).getTitle());
+        assertTrue(result.stream().allMatch(task -> task.getStatus() == TaskStatus.PENDING));
+        assertTrue(result.stream().allMatch(task -> task.getCreatedAt() != null));
+        assertEquals(2L, statusCounters.snapshot().get(TaskStatus.PENDING));
+        verify(taskRepository, times(1)).saveAll(anyList());
+    }
+
+    @Test
+    void execute_withOneBlankTitle_throwsAndSavesNothing() {
+        BatchCreateTaskRequest request = new BatchCreateTaskRequest(List.of(
+                new CreateTaskRequest("First", null),
+                new CreateTaskRequest("   ", null)));
+
+        InvalidTaskException ex = assertThrows(InvalidTaskException.class,
+                () -> batchCreateTasksUseCase.execute(request));
+        assertTrue(ex.getMessage().contains("index 1"));
+        verify(taskRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void execute_withEmptyList_throwsInvalidTaskException() {
+        BatchCreateTaskRequest request = new BatchCreateTaskRequest(List.of());
+
+        assertThrows(InvalidTaskException.class, () -> batchCreateTasksUseCase.execute(request));
+        verify(taskRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void execute_withTooManyTasks_throwsInvalidTaskException() {
+        List<CreateTaskRequest> requests = new ArrayList<>(Collections.nCopies(
+                BatchCreateTaskRequest.MAX_TASKS + 1, new CreateTaskRequest("Title", null)));
+        BatchCreateTaskRequest request = new BatchCreateTaskRequest(requests);
+
+        assertThrows(InvalidTaskException.class, () -> batchCreateTasksUseCase.execute(request));
+        verify(taskRepository, never()).saveAll(anyList());
+    }
+}
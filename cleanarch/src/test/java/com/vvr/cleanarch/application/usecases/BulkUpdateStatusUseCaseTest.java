@@ -0,0 +1,169 @@
+package com.vvr.cleanarch.application.usecases;
+
+import com.vvr.cleanarch.application.dto.BulkStatusOutcome;
+import com.vvr.cleanarch.application.dto.BulkUpdateStatusRequest;
+import com.vvr.cleanarch.application.dto.BulkUpdateStatusResult;
+import com.vvr.cleanarch.application.events.TaskChangeListener;
+import com.vvr.cleanarch.application.events.TaskChangePublisher;
+import com.vvr.cleanarch.application.stats.TaskStatusCounters;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.exceptions.InvalidTaskException;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BulkUpdateStatusUseCaseTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskChangeListener changeListener;
+
+    private TaskStatusCounters statusCounters;
+
+    private BulkUpdateStatusUseCase bulkUpdateStatusUseCase;
+
+    @BeforeEach
+    void setUp() {
+        statusCounters = new TaskStatusCounters();
+        bulkUpdateStatusUseCase = new BulkUpdateStatusUseCase(taskRepository, statusCounters,
+                new TaskChangePublisher(List.of(changeListener)));
+    }
+
+    @Test
+    void execute_withIds_reportsOutcomePerId() {
+        BulkUpdateStatusRequest request = new BulkUpdateStatusRequest(
+                List.of(1L, 2L, 3L, 4L, 5L), null, TaskStatus.COMPLETED);
+        when(taskRepository.updateStatusByIds(eq(List.of(1L, 2L, 3L, 4L, 5L)), eq(Set.of(TaskStatus.PENDING)),
+                eq(TaskStatus.COMPLETED), any(LocalDateTime.class))).thenReturn(List.of(1L));
+        when(taskRepository.updateStatusByIds(eq(List.of(2L, 3L, 4L, 5L)), eq(Set.of(TaskStatus.IN_PROGRESS)),
+                eq(TaskStatus.COMPLETED), any(LocalDateTime.class))).thenReturn(List.of(2L));
+        when(taskRepository.findStatusesByIds(List.of(3L, 4L, 5L))).thenReturn(Map.of(
+                3L, TaskStatus.COMPLETED,
+                4L, TaskStatus.CANCELLED));
+
+        BulkUpdateStatusResult result = bulkUpdateStatusUseCase.execute(request);
+
+        assertEquals(2, result.getUpdatedCount());
+        assertEquals(2L, statusCounters.snapshot().get(TaskStatus.COMPLETED));
+        assertEquals(-1L, statusCounters.snapshot().get(TaskStatus.PENDING));
+        assertEquals(-1L, statusCounters.snapshot().get(TaskStatus.IN_PROGRESS));
+        assertEquals(BulkStatusOutcome.UPDATED, result.getOutcomes().get(1L));
+        assertEquals(BulkStatusOutcome.UPDATED, result.getOutcomes().get(2L));
+        assertEquals(BulkStatusOutcome.NOT_ALLOWED, result.getOutcomes().get(3L));
+        assertEquals(BulkStatusOutcome.NOT_ALLOWED, result.getOutcomes().get(4L));
+        assertEquals(BulkStatusOutcome.NOT_FOUND, result.getOutcomes().get(5L));
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), List.copyOf(result.getOutcomes().keySet()));
+        verify(changeListener).statusChangedInBulk(List.of(1L, 2L), null, TaskStatus.COMPLETED, 2);
+    }
+
+    @Test
+    void execute_whenEveryTaskChanges_runsOneGuardedUpdateAndNoRead() {
+        BulkUpdateStatusRequest request = new BulkUpdateStatusRequest(List.of(1L, 2L), null, TaskStatus.CANCELLED);
+        when(taskRepository.updateStatusByIds(anyCollection(), anyCollection(), any(), any())).thenReturn(List.of(1L, 2L));
+
+        BulkUpdateStatusResult result = bulkUpdateStatusUseCase.execute(request);
+
+        assertEquals(2, result.getUpdatedCount());
+        verify(taskRepository).updateStatusByIds(eq(List.of(1L, 2L)),
+                eq(Set.of(TaskStatus.PENDING)),
+                eq(TaskStatus.CANCELLED), any(LocalDateTime.class));
+        verify(taskRepository, never()).findStatusesByIds(anyCollection());
+    }
+
+    @Test
+    void execute_whenTaskChangesConcurrently_reportsActualState() {
+        BulkUpdateStatusRequest request = new BulkUpdateStatusRequest(List.of(1L, 2L, 3L), null, TaskStatus.IN_PROGRESS);
+        when(taskRepository.updateStatusByIds(eq(List.of(1L, 2L, 3L)), eq(Set.of(TaskStatus.PENDING)),
+                eq(TaskStatus.IN_PROGRESS), any(LocalDateTime.class))).thenReturn(List.of(1L));
+        when(taskRepository.updateStatusByIds(eq(List.of(2L, 3L)), eq(Set.of(TaskStatus.IN_PROGRESS)),
+                eq(TaskStatus.IN_PROGRESS), any(LocalDateTime.class))).thenReturn(List.of());
+        when(taskRepository.findStatusesByIds(List.of(2L, 3L))).thenReturn(Map.of(2L, TaskStatus.CANCELLED));
+
+        BulkUpdateStatusResult result = bulkUpdateStatusUseCase.execute(request);
+
+        assertEquals(1, result.getUpdatedCount());
+        assertEquals(BulkStatusOutcome.UPDATED, result.getOutcomes().get(1L));
+        assertEquals(BulkStatusOutcome.NOT_ALLOWED, result.getOutcomes().get(2L));
+        assertEquals(BulkStatusOutcome.NOT_FOUND, result.getOutcomes().get(3L));
+        verify(changeListener).statusChangedInBulk(List.of(1L), null, TaskStatus.IN_PROGRESS, 1);
+    }
+
+    @Test
+    void execute_whenAnotherWriterMovesATaskBetweenUpdates_reportsConflictWithoutRetrying() {
+        BulkUpdateStatusRequest request = new BulkUpdateStatusRequest(List.of(1L, 2L), null, TaskStatus.IN_PROGRESS);
+        when(taskRepository.updateStatusByIds(eq(List.of(1L, 2L)), eq(Set.of(TaskStatus.PENDING)),
+                eq(TaskStatus.IN_PROGRESS), any(LocalDateTime.class))).thenReturn(List.of(1L));
+        when(taskRepository.updateStatusByIds(eq(List.of(2L)), eq(Set.of(TaskStatus.IN_PROGRESS)),
+                eq(TaskStatus.IN_PROGRESS), any(LocalDateTime.class))).thenReturn(List.of());
+        when(taskRepository.findStatusesByIds(List.of(2L))).thenReturn(Map.of(2L, TaskStatus.PENDING));
+
+        BulkUpdateStatusResult result = bulkUpdateStatusUseCase.execute(request);
+
+        assertEquals(1, result.getUpdatedCount());
+        assertEquals(BulkStatusOutcome.UPDATED, result.getOutcomes().get(1L));
+        assertEquals(BulkStatusOutcome.CONFLICT, result.getOutcomes().get(2L));
+        assertEquals(1L, statusCounters.snapshot().get(TaskStatus.IN_PROGRESS));
+        verify(taskRepository, times(2)).updateStatusByIds(anyCollection(), anyCollection(), any(), any());
+        verify(changeListener).statusChangedInBulk(List.of(1L), null, TaskStatus.IN_PROGRESS, 1);
+    }
+
+    @Test
+    void execute_withManyIds_issuesOneUpdatePerChunk() {
+        List<Long> ids = LongStream.rangeClosed(1, BulkUpdateStatusUseCase.CHUNK_SIZE * 2L + 1).boxed().toList();
+        when(taskRepository.updateStatusByIds(anyCollection(), anyCollection(), any(), any()))
+                .thenAnswer(invocation -> List.copyOf(invocation.<Collection<Long>>getArgument(0)));
+
+        BulkUpdateStatusResult result = bulkUpdateStatusUseCase.execute(
+                new BulkUpdateStatusRequest(ids, null, TaskStatus.COMPLETED));
+
+        assertEquals(ids.size(), result.getUpdatedCount());
+        verify(taskRepository, times(3)).updateStatusByIds(anyCollection(), anyCollection(), any(), any());
+        verify(taskRepository, never()).findStatusesByIds(anyCollection());
+    }
+
+    @Test
+    void execute_withCurrentStatus_updatesByStatus() {
+        when(taskRepository.updateStatusByStatus(eq(TaskStatus.IN_PROGRESS), eq(TaskStatus.COMPLETED),
+                any(LocalDateTime.class))).thenReturn(7);
+
+        BulkUpdateStatusResult result = bulkUpdateStatusUseCase.execute(
+                new BulkUpdateStatusRequest(null, TaskStatus.IN_PROGRESS, TaskStatus.COMPLETED));
+
+        assertEquals(7, result.getUpdatedCount());
+        assertTrue(result.getOutcomes().isEmpty());
+        assertEquals(7L, statusCounters.snapshot().get(TaskStatus.COMPLETED));
+        assertEquals(-7L, statusCounters.snapshot().get(TaskStatus.IN_PROGRESS));
+        verify(changeListener).statusChangedInBulk(List.of(), TaskStatus.IN_PROGRESS, TaskStatus.COMPLETED, 7);
+    }
+
+    @Test
+    void execute_withFinalCurrentStatus_throwsInvalidTaskException() {
+        assertThrows(InvalidTaskException.class, () -> bulkUpdateStatusUseCase.execute(
+                new BulkUpdateStatusRequest(null, TaskStatus.CANCELLED, TaskStatus.PENDING)));
+        verify(taskRepository, never()).updateStatusByStatus(any(), any(), any());
+    }
+
+    @Test
+    void execute_withBothIdsAndCurrentStatus_throwsInvalidTaskException() {
+        assertThrows(InvalidTaskException.class, () -> bulkUpdateStatusUseCase.execute(
+                new BulkUpdateStatusRequest(List.of(1L), TaskStatus.PENDING, TaskStatus.COMPLETED)));
+        verifyNoInteractions(taskRepository);
+    }
+}
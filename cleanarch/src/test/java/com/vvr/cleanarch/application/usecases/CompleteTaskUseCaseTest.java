@@ -1,10 +1,16 @@
 package com.vvr.cleanarch.application.usecases;
 
+import com.vvr.cleanarch.application.events.TaskChangeListener;
+import com.vvr.cleanarch.application.events.TaskChangePublisher;
+import com.vvr.cleanarch.application.stats.TaskStatusCounters;
 import com.vvr.cleanarch.domain.entities.Task;
 import com.vvr.cleanarch.domain.entities.TaskStatus;
 import com.vvr.cleanarch.domain.exceptions.InvalidTaskException;
+import com.vvr.cleanarch.domain.exceptions.TaskConflictException;
 import com.vvr.cleanarch.domain.exceptions.TaskNotFoundException;
+import com.vvr.cleanarch.domain.exceptions.TaskVersionMismatchException;
 import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import com.vvr.cleanarch.domain.repositories.TaskStatusChange;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,73 +18,119 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class CompleteTaskUseCaseTest {
 
+    private static final Set<TaskStatus> COMPLETABLE = Set.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS);
+
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskChangeListener changeListener;
+
+    private TaskStatusCounters statusCounters;
+
     private CompleteTaskUseCase completeTaskUseCase;
 
     @BeforeEach
     void setUp() {
-        completeTaskUseCase = new CompleteTaskUseCase(taskRepository);
+        statusCounters = new TaskStatusCounters();
+        completeTaskUseCase = new CompleteTaskUseCase(taskRepository, statusCounters,
+                new TaskChangePublisher(List.of(changeListener)));
     }
 
     @Test
-    void execute_withPendingTask_completesTask() {
-        Task task = new Task(1L, "Title", "Description", TaskStatus.PENDING, LocalDateTime.now(), null);
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+    void execute_withPendingTask_completesWithASingleGuardedUpdate() {
+        statusCounters.created(TaskStatus.PENDING, 1);
+        Task completed = task(TaskStatus.COMPLETED, 1L);
+        when(taskRepository.updateStatusIfCurrentIn(eq(1L), isNull(), eq(COMPLETABLE),
+                eq(TaskStatus.COMPLETED), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(new TaskStatusChange(TaskStatus.PENDING, completed)));
 
         Task result = completeTaskUseCase.execute(1L);
 
         assertEquals(TaskStatus.COMPLETED, result.getStatus());
-        assertNotNull(result.getUpdatedAt());
-        verify(taskRepository, times(1)).save(task);
+        Map<TaskStatus, Long> counts = statusCounters.snapshot();
+        assertEquals(0L, counts.get(TaskStatus.PENDING));
+        assertEquals(1L, counts.get(TaskStatus.COMPLETED));
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).save(any(Task.class));
+        verify(changeListener).statusChanged(completed, TaskStatus.PENDING);
     }
 
     @Test
-    void execute_withInProgressTask_completesTask() {
-        Task task = new Task(1L, "Title", "Description", TaskStatus.IN_PROGRESS, LocalDateTime.now(), null);
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+    void execute_withInProgressTask_learnsThePreviousStatusFromTheSameWrite() {
+        Task completed = task(TaskStatus.COMPLETED, 2L);
+        when(taskRepository.updateStatusIfCurrentIn(eq(1L), isNull(), eq(COMPLETABLE), eq(TaskStatus.COMPLETED), any()))
+                .thenReturn(Optional.of(new TaskStatusChange(TaskStatus.IN_PROGRESS, completed)));
 
         Task result = completeTaskUseCase.execute(1L);
 
         assertEquals(TaskStatus.COMPLETED, result.getStatus());
-        verify(taskRepository, times(1)).save(task);
+        assertEquals(-1L, statusCounters.snapshot().get(TaskStatus.IN_PROGRESS));
+        assertEquals(0L, statusCounters.snapshot().get(TaskStatus.PENDING));
+        verify(taskRepository, times(1)).updateStatusIfCurrentIn(any(), any(), any(), any(), any());
+        verify(taskRepository, never()).findById(any());
+        verify(changeListener).statusChanged(completed, TaskStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void execute_whenTheProbeFindsACompletableTask_throwsTaskConflictException() {
+        when(taskRepository.updateStatusIfCurrentIn(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task(TaskStatus.PENDING, 3L)));
+
+        assertThrows(TaskConflictException.class, () -> completeTaskUseCase.execute(1L));
+        assertEquals(0L, statusCounters.snapshot().get(TaskStatus.COMPLETED));
     }
 
     @Test
     void execute_withAlreadyCompletedTask_throwsInvalidTaskException() {
-        Task task = new Task(1L, "Title", "Description", TaskStatus.COMPLETED, LocalDateTime.now(), null);
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.updateStatusIfCurrentIn(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task(TaskStatus.COMPLETED, 0L)));
 
         assertThrows(InvalidTaskException.class, () -> completeTaskUseCase.execute(1L));
-        verify(taskRepository, never()).save(any(Task.class));
+        assertEquals(0L, statusCounters.snapshot().get(TaskStatus.COMPLETED));
     }
 
     @Test
-    void execute_withCancelledTask_throwsInvalidTaskException() {
-        Task task = new Task(1L, "Title", "Description", TaskStatus.CANCELLED, LocalDateTime.now(), null);
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+    void execute_withCancelledTask_throwsInvalidTaskExceptionAfterOneWriteAndOneProbe() {
+        when(taskRepository.updateStatusIfCurrentIn(eq(1L), isNull(), eq(COMPLETABLE), any(), any()))
+                .thenReturn(Optional.empty());
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task(TaskStatus.CANCELLED, 0L)));
 
         assertThrows(InvalidTaskException.class, () -> completeTaskUseCase.execute(1L));
-        verify(taskRepository, never()).save(any(Task.class));
+        verify(taskRepository, times(1)).updateStatusIfCurrentIn(any(), any(), any(), any(), any());
     }
 
     @Test
     void execute_withNonExistentTask_throwsTaskNotFoundException() {
+        when(taskRepository.updateStatusIfCurrentIn(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
         when(taskRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(TaskNotFoundException.class, () -> completeTaskUseCase.execute(999L));
-        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void execute_withStaleVersion_throwsTaskVersionMismatchException() {
+        when(taskRepository.updateStatusIfCurrentIn(eq(1L), eq(1L), any(), any(), any())).thenReturn(Optional.empty());
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task(TaskStatus.IN_PROGRESS, 2L)));
+
+        assertThrows(TaskVersionMismatchException.class, () -> completeTaskUseCase.execute(1L, 1L));
+    }
+
+    private static Task task(TaskStatus status, Long version) {
+        return new Task(1L, "Title", "Description", status, LocalDateTime.now(), null, version);
     }
 }
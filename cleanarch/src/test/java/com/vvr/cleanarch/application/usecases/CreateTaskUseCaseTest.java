@@ -1,6 +1,9 @@
 package com.vvr.cleanarch.application.usecases;
 
 import com.vvr.cleanarch.application.dto.CreateTaskRequest;
+import com.vvr.cleanarch.application.events.TaskChangeListener;
+import com.vvr.cleanarch.application.events.TaskChangePublisher;
+import com.vvr.cleanarch.application.stats.TaskStatusCounters;
 import com.vvr.cleanarch.domain.entities.Task;
 import com.vvr.cleanarch.domain.entities.TaskStatus;
 import com.vvr.cleanarch.domain.exceptions.InvalidTaskException;
@@ -11,6 +14,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
@@ -21,11 +26,18 @@ class CreateTaskUseCaseTest {
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskChangeListener changeListener;
+
+    private TaskStatusCounters statusCounters;
+
     private CreateTaskUseCase createTaskUseCase;
 
     @BeforeEach
     void setUp() {
-        createTaskUseCase = new CreateTaskUseCase(taskRepository);
+        statusCounters = new TaskStatusCounters();
+        createTaskUseCase = new CreateTaskUseCase(taskRepository, statusCounters,
+                new TaskChangePublisher(List.of(changeListener)));
     }
 
     @Test
@@ -45,7 +57,9 @@ class CreateTaskUseCaseTest {
         assertEquals("Test Description", result.getDescription());
         assertEquals(TaskStatus.PENDING, result.getStatus());
         assertNotNull(result.getCreatedAt());
+        assertEquals(1L, statusCounters.snapshot().get(TaskStatus.PENDING));
         verify(taskRepository, times(1)).save(any(Task.class));
+        verify(changeListener).created(List.of(result));
     }
 
     @Test
@@ -54,6 +68,7 @@ class CreateTaskUseCaseTest {
 
         assertThrows(InvalidTaskException.class, () -> createTaskUseCase.execute(request));
         verify(taskRepository, never()).save(any(Task.class));
+        verifyNoInteractions(changeListener);
     }
 
     @Test
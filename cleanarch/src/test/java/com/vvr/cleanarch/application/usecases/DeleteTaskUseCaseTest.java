@@ -1,9 +1,14 @@
 package com.vvr.cleanarch.application.usecases;
 
+import com.vvr.cleanarch.application.events.TaskChangeListener;
+import com.vvr.cleanarch.application.events.TaskChangePublisher;
+import com.vvr.cleanarch.application.stats.TaskStatusCounters;
 import com.vvr.cleanarch.domain.entities.Task;
 import com.vvr.cleanarch.domain.entities.TaskStatus;
 import com.vvr.cleanarch.domain.exceptions.TaskCannotBeDeletedException;
+import com.vvr.cleanarch.domain.exceptions.TaskConflictException;
 import com.vvr.cleanarch.domain.exceptions.TaskNotFoundException;
+import com.vvr.cleanarch.domain.exceptions.TaskVersionMismatchException;
 import com.vvr.cleanarch.domain.repositories.TaskRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,65 +17,111 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class DeleteTaskUseCaseTest {
 
+    private static final Set<TaskStatus> DELETABLE =
+            Set.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS, TaskStatus.CANCELLED);
+
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskChangeListener changeListener;
+
+    private TaskStatusCounters statusCounters;
+
     private DeleteTaskUseCase deleteTaskUseCase;
 
     @BeforeEach
     void setUp() {
-        deleteTaskUseCase = new DeleteTaskUseCase(taskRepository);
+        statusCounters = new TaskStatusCounters();
+        deleteTaskUseCase = new DeleteTaskUseCase(taskRepository, statusCounters,
+                new TaskChangePublisher(List.of(changeListener)));
+    }
+
+    @Test
+    void execute_withPendingTask_deletesWithASingleGuardedDelete() {
+        statusCounters.created(TaskStatus.PENDING, 1);
+        when(taskRepository.deleteIfCurrentIn(1L, null, DELETABLE)).thenReturn(Optional.of(TaskStatus.PENDING));
+
+        assertDoesNotThrow(() -> deleteTaskUseCase.execute(1L));
+        assertEquals(0L, statusCounters.snapshot().get(TaskStatus.PENDING));
+        verify(taskRepository, never()).findById(any());
+        verify(taskRepository, never()).deleteById(any());
+        verify(changeListener).deleted(1L);
+    }
+
+    @Test
+    void execute_withInProgressTask_deletesWithASingleGuardedDelete() {
+        statusCounters.created(TaskStatus.IN_PROGRESS, 1);
+        when(taskRepository.deleteIfCurrentIn(1L, null, DELETABLE)).thenReturn(Optional.of(TaskStatus.IN_PROGRESS));
+
+        assertDoesNotThrow(() -> deleteTaskUseCase.execute(1L));
+        assertEquals(0L, statusCounters.snapshot().get(TaskStatus.IN_PROGRESS));
+        verify(taskRepository, times(1)).deleteIfCurrentIn(any(), any(), any());
+        verify(taskRepository, never()).findById(any());
+        verify(changeListener).deleted(1L);
     }
 
     @Test
-    void execute_withPendingTask_deletesTask() {
-        Task task = new Task(1L, "Title", "Description", TaskStatus.PENDING, LocalDateTime.now(), null);
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+    void execute_withCancelledTask_deletesWithASingleGuardedDelete() {
+        statusCounters.created(TaskStatus.CANCELLED, 1);
+        when(taskRepository.deleteIfCurrentIn(1L, null, DELETABLE)).thenReturn(Optional.of(TaskStatus.CANCELLED));
 
         assertDoesNotThrow(() -> deleteTaskUseCase.execute(1L));
-        verify(taskRepository, times(1)).deleteById(1L);
+        assertEquals(0L, statusCounters.snapshot().get(TaskStatus.CANCELLED));
+        verify(taskRepository, times(1)).deleteIfCurrentIn(any(), any(), any());
+        verify(taskRepository, never()).findById(any());
+        verify(changeListener).deleted(1L);
     }
 
     @Test
     void execute_withCompletedTask_throwsTaskCannotBeDeletedException() {
-        Task task = new Task(1L, "Title", "Description", TaskStatus.COMPLETED, LocalDateTime.now(), null);
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.deleteIfCurrentIn(1L, null, DELETABLE)).thenReturn(Optional.empty());
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task(TaskStatus.COMPLETED, 0L)));
 
         assertThrows(TaskCannotBeDeletedException.class, () -> deleteTaskUseCase.execute(1L));
-        verify(taskRepository, never()).deleteById(anyLong());
+        verify(taskRepository, times(1)).deleteIfCurrentIn(any(), any(), any());
+        verify(changeListener, never()).deleted(any());
     }
 
     @Test
-    void execute_withNonExistentTask_throwsTaskNotFoundException() {
-        when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+    void execute_whenTheProbeFindsADeletableTask_throwsTaskConflictException() {
+        when(taskRepository.deleteIfCurrentIn(any(), any(), any())).thenReturn(Optional.empty());
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task(TaskStatus.PENDING, 2L)));
 
-        assertThrows(TaskNotFoundException.class, () -> deleteTaskUseCase.execute(999L));
-        verify(taskRepository, never()).deleteById(anyLong());
+        assertThrows(TaskConflictException.class, () -> deleteTaskUseCase.execute(1L));
+        assertEquals(0L, statusCounters.snapshot().get(TaskStatus.PENDING));
     }
 
     @Test
-    void execute_withInProgressTask_deletesTask() {
-        Task task = new Task(1L, "Title", "Description", TaskStatus.IN_PROGRESS, LocalDateTime.now(), null);
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+    void execute_withNonExistentTask_throwsTaskNotFoundExceptionAfterOneDeleteAndOneProbe() {
+        when(taskRepository.deleteIfCurrentIn(999L, null, DELETABLE)).thenReturn(Optional.empty());
+        when(taskRepository.findById(999L)).thenReturn(Optional.empty());
 
-        assertDoesNotThrow(() -> deleteTaskUseCase.execute(1L));
-        verify(taskRepository, times(1)).deleteById(1L);
+        assertThrows(TaskNotFoundException.class, () -> deleteTaskUseCase.execute(999L));
+        verify(taskRepository, times(1)).deleteIfCurrentIn(any(), any(), any());
     }
 
     @Test
-    void execute_withCancelledTask_deletesTask() {
-        Task task = new Task(1L, "Title", "Description", TaskStatus.CANCELLED, LocalDateTime.now(), null);
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+    void execute_withStaleVersion_throwsTaskVersionMismatchException() {
+        when(taskRepository.deleteIfCurrentIn(eq(1L), eq(3L), any())).thenReturn(Optional.empty());
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task(TaskStatus.PENDING, 4L)));
 
-        assertDoesNotThrow(() -> deleteTaskUseCase.execute(1L));
-        verify(taskRepository, times(1)).deleteById(1L);
+        assertThrows(TaskVersionMismatchException.class, () -> deleteTaskUseCase.execute(1L, 3L));
+    }
+
+    private static Task task(TaskStatus status, Long version) {
+        return new Task(1L, "Title", "Description", status, LocalDateTime.now(), null, version);
     }
 }
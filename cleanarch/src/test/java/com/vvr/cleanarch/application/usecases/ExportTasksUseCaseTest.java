@@ -0,0 +1,53 @@
+package com.vvr.cleanarch.application.usecases;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportTasksUseCaseTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private ExportTasksUseCase exportTasksUseCase;
+
+    @BeforeEach
+    void setUp() {
+        exportTasksUseCase = new ExportTasksUseCase(taskRepository);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void execute_passesEveryVisitedTaskToSink() {
+        Task first = new Task(1L, "First", null, TaskStatus.PENDING, LocalDateTime.now(), null);
+        Task second = new Task(2L, "Second", null, TaskStatus.PENDING, LocalDateTime.now(), null);
+        doAnswer(invocation -> {
+            Consumer<Task> action = invocation.getArgument(1);
+            action.accept(first);
+            action.accept(second);
+            return null;
+        }).when(taskRepository).forEachTask(eq(TaskStatus.PENDING), any(Consumer.class));
+
+        List<Task> exported = new ArrayList<>();
+        exportTasksUseCase.execute(TaskStatus.PENDING, exported::add);
+
+        assertEquals(List.of(first, second), exported);
+        verify(taskRepository, never()).findByStatus(any(), any());
+    }
+}
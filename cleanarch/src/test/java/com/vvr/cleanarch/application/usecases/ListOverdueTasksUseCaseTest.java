@@ -0,0 +1,63 @@
+package com.vvr.cleanarch.application.usecases;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.exceptions.InvalidPageRequestException;
+import com.vvr.cleanarch.domain.repositories.TaskCursor;
+import com.vvr.cleanarch.domain.repositories.TaskPage;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListOverdueTasksUseCaseTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 21, 10, 0);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private ListOverdueTasksUseCase listOverdueTasksUseCase;
+
+    @BeforeEach
+    void setUp() {
+        listOverdueTasksUseCase = new ListOverdueTasksUseCase(taskRepository);
+    }
+
+    @Test
+    void execute_queriesPendingTasksCreatedBeforeTheCutoff() {
+        TaskCursor after = new TaskCursor(NOW.minusDays(30), 4L);
+        TaskPage page = new TaskPage(List.of(), null);
+        when(taskRepository.findPageCreatedBefore(TaskStatus.PENDING, NOW.minusDays(7), after, 20)).thenReturn(page);
+
+        assertSame(page, listOverdueTasksUseCase.execute(NOW, after, 20));
+    }
+
+    @Test
+    void execute_withoutLimit_usesTheDefaultPageSize() {
+        when(taskRepository.findPageCreatedBefore(any(), any(), isNull(), anyInt()))
+                .thenReturn(new TaskPage(List.<Task>of(), null));
+
+        listOverdueTasksUseCase.execute(NOW, null, null);
+
+        verify(taskRepository).findPageCreatedBefore(TaskStatus.PENDING, Task.overdueCutoff(NOW), null,
+                ListTasksUseCase.DEFAULT_PAGE_SIZE);
+    }
+
+    @Test
+    void execute_withLimitOutOfRange_throwsInvalidPageRequestException() {
+        assertThrows(InvalidPageRequestException.class,
+                () -> listOverdueTasksUseCase.execute(NOW, null, ListTasksUseCase.MAX_PAGE_SIZE + 1));
+        verifyNoInteractions(taskRepository);
+    }
+}
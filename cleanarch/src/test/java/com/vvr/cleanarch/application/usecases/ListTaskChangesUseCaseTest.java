@@ -0,0 +1,101 @@
+package com.vvr.cleanarch.application.usecases;
+
+import com.vvr.cleanarch.application.dto.TaskChangesResult;
+import com.vvr.cleanarch.application.dto.TaskChangesToken;
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.exceptions.InvalidPageRequestException;
+import com.vvr.cleanarch.domain.exceptions.SyncTokenExpiredException;
+import com.vvr.cleanarch.domain.repositories.TaskChange;
+import com.vvr.cleanarch.domain.repositories.TaskChangeCursor;
+import com.vvr.cleanarch.domain.repositories.TaskChanges;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListTaskChangesUseCaseTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 10, 0);
+    private static final Duration RETENTION = Duration.ofDays(30);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private ListTaskChangesUseCase listTaskChangesUseCase;
+
+    @BeforeEach
+    void setUp() {
+        listTaskChangesUseCase = new ListTaskChangesUseCase(taskRepository, RETENTION);
+    }
+
+    @Test
+    void execute_withoutSince_readsFromTheStartAndSplitsWritesFromDeletions() {
+        Task task = new Task(3L, "Title", null, TaskStatus.PENDING, NOW.minusDays(1), null, 0L);
+        when(taskRepository.findChangesSince(same(TaskChangeCursor.START), eq(ListTaskChangesUseCase.DEFAULT_PAGE_SIZE)))
+                .thenReturn(new TaskChanges(List.of(TaskChange.changed(5L, task), TaskChange.deleted(8L, 4L)),
+                        TaskChangeCursor.endOf(9L), false, null));
+
+        TaskChangesResult result = listTaskChangesUseCase.execute(null, null, NOW);
+
+        assertEquals(List.of(task), result.getTasks());
+        assertEquals(List.of(4L), result.getDeletedIds());
+        assertFalse(result.hasMore());
+        TaskChangesToken next = TaskChangesToken.decode(result.getNextToken());
+        assertEquals(9L, next.getCursor().getSequence());
+        assertEquals(NOW, next.getValidFrom());
+    }
+
+    @Test
+    void execute_onAPartialPage_keepsTheTokenStartingPoint() {
+        LocalDateTime startedAt = NOW.minusDays(2);
+        String since = new TaskChangesToken(new TaskChangeCursor(10L, 0L), startedAt).encode();
+        when(taskRepository.findChangesSince(any(), eq(2)))
+                .thenReturn(new TaskChanges(List.of(TaskChange.deleted(11L, 1L), TaskChange.deleted(12L, 2L)),
+                        new TaskChangeCursor(12L, 2L), true, null));
+
+        TaskChangesResult result = listTaskChangesUseCase.execute(since, 2, NOW);
+
+        assertTrue(result.hasMore());
+        TaskChangesToken next = TaskChangesToken.decode(result.getNextToken());
+        assertEquals(12L, next.getCursor().getSequence());
+        assertEquals(2L, next.getCursor().getId());
+        assertEquals(startedAt, next.getValidFrom());
+    }
+
+    @Test
+    void execute_withTokenOlderThanTheRetention_throwsSyncTokenExpiredException() {
+        String since = new TaskChangesToken(new TaskChangeCursor(10L, 0L), NOW.minusDays(31)).encode();
+
+        assertThrows(SyncTokenExpiredException.class, () -> listTaskChangesUseCase.execute(since, null, NOW));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void execute_withTokenFromBeforeTheChangeLogStarted_throwsSyncTokenExpiredException() {
+        String since = new TaskChangesToken(new TaskChangeCursor(10L, 0L), NOW.minusHours(2)).encode();
+        when(taskRepository.findChangesSince(any(), anyInt()))
+                .thenReturn(new TaskChanges(List.of(), TaskChangeCursor.endOf(3L), false, NOW.minusHours(1)));
+
+        assertThrows(SyncTokenExpiredException.class, () -> listTaskChangesUseCase.execute(since, null, NOW));
+    }
+
+    @Test
+    void execute_withMalformedTokenOrLimit_throwsInvalidPageRequestException() {
+        assertThrows(InvalidPageRequestException.class, () -> listTaskChangesUseCase.execute("not-a-token", null, NOW));
+        assertThrows(InvalidPageRequestException.class,
+                () -> listTaskChangesUseCase.execute(null, ListTaskChangesUseCase.MAX_PAGE_SIZE + 1, NOW));
+        verifyNoInteractions(taskRepository);
+    }
+}
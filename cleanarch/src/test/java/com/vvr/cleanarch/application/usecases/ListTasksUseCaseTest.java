@@ -0,0 +1,112 @@
+package com.vvr.cleanarch.application.usecases;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.exceptions.InvalidPageRequestException;
+import com.vvr.cleanarch.domain.repositories.TaskCursor;
+import com.vvr.cleanarch.domain.repositories.TaskPage;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import com.vvr.cleanarch.domain.repositories.TaskRow;
+import com.vvr.cleanarch.domain.repositories.TaskSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ListTasksUseCaseTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private ListTasksUseCase listTasksUseCase;
+
+    @BeforeEach
+    void setUp() {
+        listTasksUseCase = new ListTasksUseCase(taskRepository);
+    }
+
+    @Test
+    void execute_withStatus_delegatesSortToRepository() {
+        Task task = new Task(1L, "Title", "Description", TaskStatus.PENDING, LocalDateTime.now(), null);
+        when(taskRepository.findByStatus(TaskStatus.PENDING, TaskSort.TITLE)).thenReturn(List.of(task));
+
+        List<Task> result = listTasksUseCase.execute(TaskStatus.PENDING, TaskSort.TITLE);
+
+        assertEquals(List.of(task), result);
+        verify(taskRepository, never()).findAll(any());
+    }
+
+    @Test
+    void execute_withoutStatus_defaultsToCreatedAtOrder() {
+        when(taskRepository.findAll(TaskSort.CREATED_AT)).thenReturn(List.of());
+
+        List<Task> result = listTasksUseCase.execute(null);
+
+        assertTrue(result.isEmpty());
+        verify(taskRepository, times(1)).findAll(TaskSort.CREATED_AT);
+    }
+
+    @Test
+    void execute_withRowSink_streamsFromTheRepository() {
+        Consumer<TaskRow> sink = row -> { };
+
+        listTasksUseCase.execute(TaskStatus.PENDING, TaskSort.UPDATED_AT, sink);
+
+        verify(taskRepository).forEachRow(TaskStatus.PENDING, TaskSort.UPDATED_AT, sink);
+        verify(taskRepository, never()).findByStatus(any(), any());
+    }
+
+    @Test
+    void execute_pageWithNonCreatedAtSort_throwsInvalidPageRequestException() {
+        assertThrows(InvalidPageRequestException.class,
+                () -> listTasksUseCase.execute(null, TaskSort.TITLE, null, 10));
+        verify(taskRepository, never()).findPage(any(), any(), anyInt());
+    }
+
+    @Test
+    void execute_withoutLimit_usesDefaultPageSize() {
+        TaskPage page = new TaskPage(List.of(), null);
+        when(taskRepository.findPage(null, null, ListTasksUseCase.DEFAULT_PAGE_SIZE)).thenReturn(page);
+
+        TaskPage result = listTasksUseCase.execute(null, TaskSort.CREATED_AT, null, null);
+
+        assertSame(page, result);
+    }
+
+    @Test
+    void execute_withCursorAndStatus_delegatesToRepository() {
+        TaskCursor cursor = new TaskCursor(LocalDateTime.now(), 10L);
+        Task task = new Task(9L, "Title", "Description", TaskStatus.PENDING, LocalDateTime.now(), null);
+        TaskPage page = new TaskPage(List.of(task), TaskCursor.after(task));
+        when(taskRepository.findPage(TaskStatus.PENDING, cursor, 1)).thenReturn(page);
+
+        TaskPage result = listTasksUseCase.execute(TaskStatus.PENDING, TaskSort.CREATED_AT, cursor, 1);
+
+        assertEquals(1, result.getItems().size());
+        assertTrue(result.getNextCursor().isPresent());
+        assertEquals(9L, result.getNextCursor().get().getId());
+    }
+
+    @Test
+    void execute_withZeroLimit_throwsInvalidPageRequestException() {
+        assertThrows(InvalidPageRequestException.class, () -> listTasksUseCase.execute(null, TaskSort.CREATED_AT, null, 0));
+        verify(taskRepository, never()).findPage(any(), any(), anyInt());
+    }
+
+    @Test
+    void execute_withLimitAboveMaximum_throwsInvalidPageRequestException() {
+        assertThrows(InvalidPageRequestException.class,
+                () -> listTasksUseCase.execute(null, TaskSort.CREATED_AT, null, ListTasksUseCase.MAX_PAGE_SIZE + 1));
+        verify(taskRepository, never()).findPage(any(), any(), anyInt());
+    }
+}
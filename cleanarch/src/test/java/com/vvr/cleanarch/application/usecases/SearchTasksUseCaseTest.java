@@ -0,0 +1,84 @@
+package com.vvr.cleanarch.application.usecases;
+
+import com.vvr.cleanarch.application.dto.TaskSearchResult;
+import com.vvr.cleanarch.application.search.TaskSearchIndex;
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.exceptions.InvalidPageRequestException;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchTasksUseCaseTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private TaskSearchIndex searchIndex;
+
+    private SearchTasksUseCase searchTasksUseCase;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new TaskSearchIndex();
+        searchTasksUseCase = new SearchTasksUseCase(searchIndex, taskRepository);
+    }
+
+    @Test
+    void execute_loadsThePageInRankingOrder() {
+        Task exact = task(1L, "Deploy");
+        Task partial = task(2L, "Deployment");
+        searchIndex.created(List.of(exact, partial));
+        when(taskRepository.findAllByIds(List.of(1L, 2L))).thenReturn(List.of(partial, exact));
+
+        TaskSearchResult result = searchTasksUseCase.execute("deploy", null, null);
+
+        assertEquals(List.of(exact, partial), result.getTasks());
+        assertEquals(2, result.getTotal());
+    }
+
+    @Test
+    void execute_skipsTasksDeletedSinceTheyWereIndexed() {
+        searchIndex.created(List.of(task(1L, "Deploy"), task(2L, "Deploy")));
+        when(taskRepository.findAllByIds(List.of(2L, 1L))).thenReturn(List.of(task(1L, "Deploy")));
+
+        TaskSearchResult result = searchTasksUseCase.execute("deploy", 10, 0);
+
+        assertEquals(1, result.getTasks().size());
+        assertEquals(1L, result.getTasks().get(0).getId());
+    }
+
+    @Test
+    void execute_withoutMatches_doesNotTouchTheRepository() {
+        TaskSearchResult result = searchTasksUseCase.execute("nada", null, null);
+
+        assertTrue(result.getTasks().isEmpty());
+        assertEquals(0, result.getTotal());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void execute_withInvalidRequest_throwsInvalidPageRequestException() {
+        assertThrows(InvalidPageRequestException.class, () -> searchTasksUseCase.execute(" ?! ", null, null));
+        assertThrows(InvalidPageRequestException.class, () -> searchTasksUseCase.execute("x", 0, null));
+        assertThrows(InvalidPageRequestException.class, () -> searchTasksUseCase.execute("x", null, -1));
+        assertThrows(InvalidPageRequestException.class,
+                () -> searchTasksUseCase.execute("x", null, SearchTasksUseCase.MAX_OFFSET + 1));
+        verify(taskRepository, never()).findAllByIds(any());
+    }
+
+    private static Task task(Long id, String title) {
+        return new Task(id, title, null, TaskStatus.PENDING, LocalDateTime.now(), LocalDateTime.now(), 0L);
+    }
+}
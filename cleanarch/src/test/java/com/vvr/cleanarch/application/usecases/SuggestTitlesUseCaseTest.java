@@ -0,0 +1,44 @@
+package com.vvr.cleanarch.application.usecases;
+
+import com.vvr.cleanarch.application.search.TitleSuggestionIndex;
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.exceptions.InvalidPageRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestTitlesUseCaseTest {
+
+    private SuggestTitlesUseCase suggestTitlesUseCase;
+
+    @BeforeEach
+    void setUp() {
+        TitleSuggestionIndex suggestionIndex = new TitleSuggestionIndex();
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= 15; id++) {
+            suggestionIndex.index(new Task(id, "Tarefa " + id, null, TaskStatus.PENDING, now.plusMinutes(id), null, 0L));
+        }
+        suggestTitlesUseCase = new SuggestTitlesUseCase(suggestionIndex);
+    }
+
+    @Test
+    void execute_withoutLimit_returnsTheDefaultNumberOfSuggestions() {
+        List<String> suggestions = suggestTitlesUseCase.execute("tar", null);
+
+        assertEquals(SuggestTitlesUseCase.DEFAULT_LIMIT, suggestions.size());
+        assertEquals("Tarefa 15", suggestions.get(0));
+    }
+
+    @Test
+    void execute_withInvalidRequest_throwsInvalidPageRequestException() {
+        assertThrows(InvalidPageRequestException.class, () -> suggestTitlesUseCase.execute("  ", null));
+        assertThrows(InvalidPageRequestException.class, () -> suggestTitlesUseCase.execute("t", 0));
+        assertThrows(InvalidPageRequestException.class,
+                () -> suggestTitlesUseCase.execute("t", SuggestTitlesUseCase.MAX_LIMIT + 1));
+    }
+}
@@ -0,0 +1,139 @@
+package com.vvr.cleanarch.application.usecases;
+
+import com.vvr.cleanarch.application.dto.UpdateStatusRequest;
+import com.vvr.cleanarch.application.events.TaskChangeListener;
+import com.vvr.cleanarch.application.events.TaskChangePublisher;
+import com.vvr.cleanarch.application.stats.TaskStatusCounters;
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.exceptions.InvalidTaskException;
+import com.vvr.cleanarch.domain.exceptions.TaskConflictException;
+import com.vvr.cleanarch.domain.exceptions.TaskNotFoundException;
+import com.vvr.cleanarch.domain.exceptions.TaskVersionMismatchException;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import com.vvr.cleanarch.domain.repositories.TaskStatusChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UpdateStatusUseCaseTest {
+
+    private static final Set<TaskStatus> CHANGEABLE = Set.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskChangeListener changeListener;
+
+    private TaskStatusCounters statusCounters;
+
+    private UpdateStatusUseCase updateStatusUseCase;
+
+    @BeforeEach
+    void setUp() {
+        statusCounters = new TaskStatusCounters();
+        updateStatusUseCase = new UpdateStatusUseCase(taskRepository, statusCounters,
+                new TaskChangePublisher(List.of(changeListener)));
+    }
+
+    @Test
+    void execute_withPendingTask_updatesWithASingleGuardedUpdate() {
+        statusCounters.created(TaskStatus.PENDING, 1);
+        Task updated = new Task(1L, "Title", null, TaskStatus.IN_PROGRESS, LocalDateTime.now(), LocalDateTime.now());
+        when(taskRepository.updateStatusIfCurrentIn(eq(1L), isNull(), eq(CHANGEABLE),
+                eq(TaskStatus.IN_PROGRESS), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(new TaskStatusChange(TaskStatus.PENDING, updated)));
+
+        Task result = updateStatusUseCase.execute(1L, new UpdateStatusRequest(TaskStatus.IN_PROGRESS));
+
+        assertEquals(TaskStatus.IN_PROGRESS, result.getStatus());
+        assertEquals(0L, statusCounters.snapshot().get(TaskStatus.PENDING));
+        assertEquals(1L, statusCounters.snapshot().get(TaskStatus.IN_PROGRESS));
+        verify(taskRepository, never()).findById(any());
+        verify(changeListener).statusChanged(updated, TaskStatus.PENDING);
+    }
+
+    @Test
+    void execute_withInProgressTask_learnsThePreviousStatusFromTheSameWrite() {
+        statusCounters.created(TaskStatus.IN_PROGRESS, 1);
+        Task cancelled = task(TaskStatus.CANCELLED);
+        when(taskRepository.updateStatusIfCurrentIn(eq(1L), isNull(), eq(CHANGEABLE), eq(TaskStatus.CANCELLED), any()))
+                .thenReturn(Optional.of(new TaskStatusChange(TaskStatus.IN_PROGRESS, cancelled)));
+
+        updateStatusUseCase.execute(1L, new UpdateStatusRequest(TaskStatus.CANCELLED));
+
+        assertEquals(0L, statusCounters.snapshot().get(TaskStatus.IN_PROGRESS));
+        assertEquals(1L, statusCounters.snapshot().get(TaskStatus.CANCELLED));
+        verify(taskRepository, times(1)).updateStatusIfCurrentIn(any(), any(), any(), any(), any());
+        verify(taskRepository, never()).findById(any());
+        verify(changeListener).statusChanged(cancelled, TaskStatus.IN_PROGRESS);
+    }
+
+    @Test
+    void execute_withCancelledTask_throwsInvalidTaskExceptionAfterOneWriteAndOneProbe() {
+        when(taskRepository.updateStatusIfCurrentIn(eq(1L), isNull(), eq(CHANGEABLE), any(), any()))
+                .thenReturn(Optional.empty());
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task(TaskStatus.CANCELLED)));
+
+        InvalidTaskException ex = assertThrows(InvalidTaskException.class,
+                () -> updateStatusUseCase.execute(1L, new UpdateStatusRequest(TaskStatus.PENDING)));
+        assertEquals("Cancelled tasks cannot change status", ex.getMessage());
+        verify(taskRepository, times(1)).updateStatusIfCurrentIn(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void execute_withCompletedTask_throwsInvalidTaskException() {
+        when(taskRepository.updateStatusIfCurrentIn(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task(TaskStatus.COMPLETED)));
+
+        InvalidTaskException ex = assertThrows(InvalidTaskException.class,
+                () -> updateStatusUseCase.execute(1L, new UpdateStatusRequest(TaskStatus.PENDING)));
+        assertEquals("Completed tasks cannot change status", ex.getMessage());
+    }
+
+    @Test
+    void execute_whenTheProbeFindsAChangeableTask_throwsTaskConflictException() {
+        when(taskRepository.updateStatusIfCurrentIn(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task(TaskStatus.IN_PROGRESS)));
+
+        assertThrows(TaskConflictException.class,
+                () -> updateStatusUseCase.execute(1L, new UpdateStatusRequest(TaskStatus.COMPLETED)));
+    }
+
+    @Test
+    void execute_withNonExistentTask_throwsTaskNotFoundException() {
+        when(taskRepository.updateStatusIfCurrentIn(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(TaskNotFoundException.class,
+                () -> updateStatusUseCase.execute(999L, new UpdateStatusRequest(TaskStatus.PENDING)));
+    }
+
+    @Test
+    void execute_withStaleVersion_throwsTaskVersionMismatchException() {
+        when(taskRepository.updateStatusIfCurrentIn(eq(1L), eq(7L), any(), any(), any())).thenReturn(Optional.empty());
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task(TaskStatus.PENDING)));
+
+        assertThrows(TaskVersionMismatchException.class,
+                () -> updateStatusUseCase.execute(1L, new UpdateStatusRequest(TaskStatus.IN_PROGRESS), 7L));
+    }
+
+    private static Task task(TaskStatus status) {
+        return new Task(1L, "Title", null, status, LocalDateTime.now(), null, 0L);
+    }
+}
@@ -1,10 +1,13 @@
 package com.vvr.cleanarch.application.usecases;
 
 import com.vvr.cleanarch.application.dto.UpdateTaskRequest;
+import com.vvr.cleanarch.application.events.TaskChangeListener;
+import com.vvr.cleanarch.application.events.TaskChangePublisher;
 import com.vvr.cleanarch.domain.entities.Task;
 import com.vvr.cleanarch.domain.entities.TaskStatus;
 import com.vvr.cleanarch.domain.exceptions.InvalidTaskException;
 import com.vvr.cleanarch.domain.exceptions.TaskNotFoundException;
+import com.vvr.cleanarch.domain.exceptions.TaskVersionMismatchException;
 import com.vvr.cleanarch.domain.repositories.TaskRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,74 +16,86 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class UpdateTaskUseCaseTest {
 
+    private static final Set<TaskStatus> UPDATABLE =
+            Set.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS, TaskStatus.COMPLETED);
+
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private TaskChangeListener changeListener;
+
     private UpdateTaskUseCase updateTaskUseCase;
 
     @BeforeEach
     void setUp() {
-        updateTaskUseCase = new UpdateTaskUseCase(taskRepository);
+        updateTaskUseCase = new UpdateTaskUseCase(taskRepository, new TaskChangePublisher(List.of(changeListener)));
     }
 
     @Test
     void execute_withPendingTask_updatesTask() {
-        Task task = new Task(1L, "Old Title", "Old Description", TaskStatus.PENDING, LocalDateTime.now(), null);
+        Task updated = new Task(1L, "New Title", "New Description", TaskStatus.PENDING, LocalDateTime.now(), LocalDateTime.now());
         UpdateTaskRequest request = new UpdateTaskRequest("New Title", "New Description");
-        
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        when(taskRepository.updateDetailsIfCurrentIn(eq(1L), isNull(), eq(UPDATABLE), eq("New Title"), eq("New Description"),
+                any(LocalDateTime.class))).thenReturn(Optional.of(updated));
 
         Task result = updateTaskUseCase.execute(1L, request);
 
         assertEquals("New Title", result.getTitle());
         assertEquals("New Description", result.getDescription());
         assertNotNull(result.getUpdatedAt());
-        verify(taskRepository, times(1)).save(task);
+        verify(taskRepository, never()).findById(any());
+        verify(changeListener).updated(updated);
     }
 
     @Test
     void execute_withInProgressTask_updatesTask() {
-        Task task = new Task(1L, "Old Title", "Old Description", TaskStatus.IN_PROGRESS, LocalDateTime.now(), null);
+        Task updated = new Task(1L, "New Title", "New Description", TaskStatus.IN_PROGRESS, LocalDateTime.now(), LocalDateTime.now());
         UpdateTaskRequest request = new UpdateTaskRequest("New Title", "New Description");
-        
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        when(taskRepository.updateDetailsIfCurrentIn(eq(1L), isNull(), eq(UPDATABLE), any(), any(), any()))
+                .thenReturn(Optional.of(updated));
 
         Task result = updateTaskUseCase.execute(1L, request);
 
         assertEquals("New Title", result.getTitle());
-        verify(taskRepository, times(1)).save(task);
+        assertEquals(TaskStatus.IN_PROGRESS, result.getStatus());
     }
 
     @Test
     void execute_withCompletedTask_updatesTask() {
-        Task task = new Task(1L, "Old Title", "Old Description", TaskStatus.COMPLETED, LocalDateTime.now(), null);
+        Task updated = new Task(1L, "New Title", "New Description", TaskStatus.COMPLETED, LocalDateTime.now(), LocalDateTime.now());
         UpdateTaskRequest request = new UpdateTaskRequest("New Title", "New Description");
-        
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        // COMPLETED is part of the guard, so completed tasks can still be edited
+        when(taskRepository.updateDetailsIfCurrentIn(eq(1L), isNull(), eq(UPDATABLE), any(), any(), any()))
+                .thenReturn(Optional.of(updated));
 
         Task result = updateTaskUseCase.execute(1L, request);
 
         assertEquals("New Title", result.getTitle());
-        verify(taskRepository, times(1)).save(task);
     }
 
     @Test
     void execute_withCancelledTask_throwsInvalidTaskException() {
         Task task = new Task(1L, "Title", "Description", TaskStatus.CANCELLED, LocalDateTime.now(), null);
         UpdateTaskRequest request = new UpdateTaskRequest("New Title", "New Description");
-        
+
+        when(taskRepository.updateDetailsIfCurrentIn(any(), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
 
         assertThrows(InvalidTaskException.class, () -> updateTaskUseCase.execute(1L, request));
@@ -90,9 +105,44 @@ class UpdateTaskUseCaseTest {
     @Test
     void execute_withNonExistentTask_throwsTaskNotFoundException() {
         UpdateTaskRequest request = new UpdateTaskRequest("New Title", "New Description");
+        when(taskRepository.updateDetailsIfCurrentIn(any(), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
         when(taskRepository.findById(999L)).thenReturn(Optional.empty());
 
         assertThrows(TaskNotFoundException.class, () -> updateTaskUseCase.execute(999L, request));
         verify(taskRepository, never()).save(any(Task.class));
     }
+
+    @Test
+    void execute_withExpectedVersion_passesItToTheGuardedUpdate() {
+        Task updated = new Task(1L, "New Title", "New Description", TaskStatus.PENDING,
+                LocalDateTime.now(), LocalDateTime.now(), 4L);
+        UpdateTaskRequest request = new UpdateTaskRequest("New Title", "New Description");
+        when(taskRepository.updateDetailsIfCurrentIn(eq(1L), eq(3L), eq(UPDATABLE), any(), any(), any()))
+                .thenReturn(Optional.of(updated));
+
+        Task result = updateTaskUseCase.execute(1L, request, 3L);
+
+        assertEquals(4L, result.getVersion());
+        verify(taskRepository, never()).findById(any());
+    }
+
+    @Test
+    void execute_withStaleVersion_throwsTaskVersionMismatchException() {
+        Task current = new Task(1L, "Title", "Description", TaskStatus.PENDING, LocalDateTime.now(), null, 5L);
+        UpdateTaskRequest request = new UpdateTaskRequest("New Title", "New Description");
+        when(taskRepository.updateDetailsIfCurrentIn(any(), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(current));
+
+        assertThrows(TaskVersionMismatchException.class, () -> updateTaskUseCase.execute(1L, request, 3L));
+    }
+
+    @Test
+    void execute_withStaleVersionOnCancelledTask_reportsTheVersionMismatchFirst() {
+        Task current = new Task(1L, "Title", "Description", TaskStatus.CANCELLED, LocalDateTime.now(), null, 5L);
+        UpdateTaskRequest request = new UpdateTaskRequest("New Title", "New Description");
+        when(taskRepository.updateDetailsIfCurrentIn(any(), any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(current));
+
+        assertThrows(TaskVersionMismatchException.class, () -> updateTaskUseCase.execute(1L, request, 3L));
+    }
 }
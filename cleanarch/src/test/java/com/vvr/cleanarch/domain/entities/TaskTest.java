@@ -3,6 +3,7 @@ package com.vvr.cleanarch.domain.entities;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -67,6 +68,20 @@ class TaskTest {
         assertFalse(task.isOverdue());
     }
 
+    @Test
+    void isOverdue_againstAGivenInstant_usesTheSevenDayCutoff() {
+        LocalDateTime now = LocalDateTime.of(2026, 1, 10, 12, 0);
+        Task task = new Task();
+        task.setStatus(TaskStatus.PENDING);
+
+        task.setCreatedAt(now.minusDays(7).minusSeconds(1));
+        assertTrue(task.isOverdue(now));
+
+        task.setCreatedAt(now.minusDays(7));
+        assertFalse(task.isOverdue(now));
+        assertEquals(now.minusDays(7), Task.overdueCutoff(now));
+    }
+
     @Test
     void canChangeStatus_whenStatusIsCancelled_returnsFalse() {
         Task task = new Task();
@@ -98,4 +113,24 @@ class TaskTest {
         
         assertTrue(task.canBeDeleted());
     }
+
+    @Test
+    void statusesWhere_canBeCompleted_returnsPendingAndInProgress() {
+        assertEquals(Set.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS), Task.statusesWhere(Task::canBeCompleted));
+    }
+
+    @Test
+    void statusesWhere_canBeDeleted_excludesCompleted() {
+        assertEquals(Set.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS, TaskStatus.CANCELLED),
+                Task.statusesWhere(Task::canBeDeleted));
+    }
+
+    @Test
+    void hasVersion_withoutExpectedVersion_alwaysMatches() {
+        Task task = new Task(1L, "Title", "Description", TaskStatus.PENDING, LocalDateTime.now(), null, 2L);
+
+        assertTrue(task.hasVersion(null));
+        assertTrue(task.hasVersion(2L));
+        assertFalse(task.hasVersion(1L));
+    }
 }
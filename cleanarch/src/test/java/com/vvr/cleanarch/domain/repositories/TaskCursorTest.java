@@ -0,0 +1,35 @@
+package com.vvr.cleanarch.domain.repositories;
+
+import com.vvr.cleanarch.domain.exceptions.InvalidPageRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskCursorTest {
+
+    @Test
+    void decode_ofEncodedCursor_returnsSamePosition() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 21, 10, 30, 0, 123456000);
+        TaskCursor cursor = new TaskCursor(createdAt, 42L);
+
+        TaskCursor decoded = TaskCursor.decode(cursor.encode());
+
+        assertEquals(createdAt, decoded.getCreatedAt());
+        assertEquals(42L, decoded.getId());
+    }
+
+    @Test
+    void decode_withGarbage_throwsInvalidPageRequestException() {
+        assertThrows(InvalidPageRequestException.class, () -> TaskCursor.decode("not a cursor"));
+    }
+
+    @Test
+    void decode_withMissingSeparator_throwsInvalidPageRequestException() {
+        String token = Base64.getUrlEncoder().encodeToString("2026-01-21T10:30:00".getBytes());
+
+        assertThrows(InvalidPageRequestException.class, () -> TaskCursor.decode(token));
+    }
+}
@@ -0,0 +1,159 @@
+package com.vvr.cleanarch.infrastructure.cache;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import com.vvr.cleanarch.domain.repositories.TaskStatusChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingTaskRepositoryTest {
+
+    @Mock
+    private TaskRepository delegate;
+
+    private CachingTaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new CachingTaskRepository(delegate, 100, Duration.ofMinutes(10), Duration.ofSeconds(30));
+    }
+
+    @Test
+    void findById_secondLookup_isServedFromCache() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, 0L)));
+
+        repository.findById(1L);
+        Optional<Task> result = repository.findById(1L);
+
+        assertTrue(result.isPresent());
+        verify(delegate, times(1)).findById(1L);
+        assertEquals(1, repository.stats().hitCount());
+        assertEquals(1, repository.stats().missCount());
+    }
+
+    @Test
+    void findById_missingId_isCachedAsEmpty() {
+        when(delegate.findById(999L)).thenReturn(Optional.empty());
+
+        assertTrue(repository.findById(999L).isEmpty());
+        assertTrue(repository.findById(999L).isEmpty());
+        assertFalse(repository.existsById(999L));
+
+        verify(delegate, times(1)).findById(999L);
+        verify(delegate, never()).existsById(any());
+    }
+
+    @Test
+    void findById_returnsCopiesOfTheCachedTask() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, 0L)));
+
+        repository.findById(1L).orElseThrow().setTitle("Changed by caller");
+
+        assertEquals("Title", repository.findById(1L).orElseThrow().getTitle());
+    }
+
+    @Test
+    void findAllByIds_loadsOnlyTheMissesFromTheDelegate() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, 0L)));
+        when(delegate.findById(2L)).thenReturn(Optional.empty());
+        when(delegate.findAllByIds(List.of(3L))).thenReturn(List.of(task(3L, 0L)));
+        repository.findById(1L);
+        repository.findById(2L);
+
+        List<Task> found = repository.findAllByIds(List.of(1L, 2L, 3L));
+
+        assertEquals(List.of(1L, 3L), found.stream().map(Task::getId).toList());
+        verify(delegate, times(1)).findAllByIds(List.of(3L));
+    }
+
+    @Test
+    void save_invalidatesNegativeEntryForTheNewId() {
+        when(delegate.findById(1L)).thenReturn(Optional.empty(), Optional.of(task(1L, 0L)));
+        when(delegate.save(any(Task.class))).thenReturn(task(1L, 0L));
+
+        assertTrue(repository.findById(1L).isEmpty());
+        repository.save(new Task(null, "Title", null, TaskStatus.PENDING, LocalDateTime.now(), null));
+
+        assertTrue(repository.findById(1L).isPresent());
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void guardedUpdate_invalidatesTheUpdatedTask() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, 0L)), Optional.of(task(1L, 1L)));
+        when(delegate.updateStatusIfCurrentIn(any(), any(), any(), any(), any()))
+                .thenReturn(Optional.of(new TaskStatusChange(TaskStatus.PENDING, task(1L, 1L))));
+
+        repository.findById(1L);
+        repository.updateStatusIfCurrentIn(1L, null, Set.of(TaskStatus.PENDING), TaskStatus.COMPLETED, LocalDateTime.now());
+
+        assertEquals(1L, repository.findById(1L).orElseThrow().getVersion());
+    }
+
+    @Test
+    void failedGuardedUpdate_invalidatesTheTaskSoTheNextReadIsFresh() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, 0L)), Optional.of(task(1L, 4L)));
+        when(delegate.updateStatusIfCurrentIn(any(), any(), any(), any(), any())).thenReturn(Optional.empty());
+
+        repository.findById(1L);
+        repository.updateStatusIfCurrentIn(1L, 0L, Set.of(TaskStatus.PENDING), TaskStatus.COMPLETED, LocalDateTime.now());
+
+        assertEquals(4L, repository.findById(1L).orElseThrow().getVersion());
+    }
+
+    @Test
+    void failedGuardedDelete_invalidatesTheTask() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, 0L)), Optional.of(task(1L, 2L)));
+        when(delegate.deleteIfCurrentIn(1L, null, Set.of(TaskStatus.PENDING))).thenReturn(Optional.empty());
+
+        repository.findById(1L);
+        repository.deleteIfCurrentIn(1L, null, Set.of(TaskStatus.PENDING));
+
+        assertEquals(2L, repository.findById(1L).orElseThrow().getVersion());
+    }
+
+    @Test
+    void bulkUpdateByIds_invalidatesEveryGivenId() {
+        when(delegate.findById(any())).thenReturn(Optional.of(task(1L, 0L)));
+        when(delegate.updateStatusByIds(any(), any(), any(), any())).thenReturn(List.of(1L, 2L));
+
+        repository.findById(1L);
+        repository.findById(2L);
+        repository.updateStatusByIds(List.of(1L, 2L), Set.of(TaskStatus.PENDING), TaskStatus.COMPLETED, LocalDateTime.now());
+        repository.findById(1L);
+        repository.findById(2L);
+
+        verify(delegate, times(2)).findById(1L);
+        verify(delegate, times(2)).findById(2L);
+    }
+
+    @Test
+    void deleteIfCurrentIn_invalidatesTheDeletedTask() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(task(1L, 0L)), Optional.empty());
+        when(delegate.deleteIfCurrentIn(1L, null, Set.of(TaskStatus.PENDING))).thenReturn(Optional.of(TaskStatus.PENDING));
+
+        repository.findById(1L);
+        repository.deleteIfCurrentIn(1L, null, Set.of(TaskStatus.PENDING));
+
+        assertTrue(repository.findById(1L).isEmpty());
+    }
+
+    private static Task task(Long id, Long version) {
+        return new Task(id, "Title", "Description", TaskStatus.PENDING, LocalDateTime.now(), null, version);
+    }
+}
@@ -0,0 +1,54 @@
+package com.vvr.cleanarch.infrastructure.changelog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ChangeSequenceTest {
+
+    @Test
+    void sequences_resumeAfterTheHighestStoredOneReadOnce() {
+        AtomicInteger seedReads = new AtomicInteger();
+        ChangeSequence sequence = new ChangeSequence(() -> {
+            seedReads.incrementAndGet();
+            return 41L;
+        });
+
+        assertEquals(41L, sequence.stable());
+        assertEquals(42L, sequence.begin());
+        assertEquals(43L, sequence.next());
+        assertEquals(1, seedReads.get());
+    }
+
+    @Test
+    void stable_stopsBelowTheOldestOpenWrite() {
+        ChangeSequence sequence = new ChangeSequence(() -> 0L);
+        long first = sequence.begin();
+        long second = sequence.begin();
+        long third = sequence.begin();
+
+        sequence.end(third);
+        assertEquals(0L, sequence.stable());
+
+        sequence.end(first);
+        assertEquals(1L, sequence.stable());
+
+        sequence.end(second);
+        assertEquals(3L, sequence.stable());
+    }
+
+    @Test
+    void furtherSequencesOfATransaction_areHeldByItsFirstOne() {
+        ChangeSequence sequence = new ChangeSequence(() -> 0L);
+        long first = sequence.begin();
+        sequence.next();
+        sequence.next();
+
+        assertEquals(0L, sequence.stable());
+
+        sequence.end(first);
+        assertEquals(3L, sequence.stable());
+    }
+}
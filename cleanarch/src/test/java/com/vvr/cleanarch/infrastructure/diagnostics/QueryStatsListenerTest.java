@@ -0,0 +1,83 @@
+package com.vvr.cleanarch.infrastructure.diagnostics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class QueryStatsListenerTest {
+
+    private final QueryStatsListener listener = new QueryStatsListener(Duration.ofSeconds(1));
+
+    @Test
+    void statements_areCountedInTheCurrentScope() {
+        try (QueryStats stats = QueryStats.begin()) {
+            execute("update tasks set status = ?", 3);
+            execute("update tasks set status = ?", 2);
+            execute("select * from tasks", null);
+
+            assertEquals(3, stats.getStatements());
+            assertEquals(5, stats.getRows());
+            assertEquals(2, (int) stats.getExecutionsBySql().get("update tasks set status = ?"));
+            assertEquals("update tasks set status = ?", stats.getMostRepeatedSql());
+        }
+    }
+
+    @Test
+    void batchUpdateCounts_skipUnknownCounts() {
+        try (QueryStats stats = QueryStats.begin()) {
+            execute("insert into tasks values (?)", new int[]{1, 1, -2});
+
+            assertEquals(1, stats.getStatements());
+            assertEquals(2, stats.getRows());
+        }
+    }
+
+    @Test
+    void closingANestedScope_addsItsNumbersToTheOuterOne() {
+        try (QueryStats outer = QueryStats.begin()) {
+            execute("select 1", null);
+            try (QueryStats inner = QueryStats.begin()) {
+                execute("select 2", 4);
+                assertEquals(1, inner.getStatements());
+                assertEquals(1, outer.getStatements());
+            }
+            assertEquals(2, outer.getStatements());
+            assertEquals(4, outer.getRows());
+        }
+        assertNull(QueryStats.current());
+    }
+
+    @Test
+    void closingAnOuterScopeFirst_fails() {
+        QueryStats outer = QueryStats.begin();
+        QueryStats inner = QueryStats.begin();
+        try {
+            assertThrows(IllegalStateException.class, outer::close);
+        } finally {
+            inner.close();
+            outer.close();
+        }
+    }
+
+    @Test
+    void statementsOutsideAnyScope_areIgnored() {
+        execute("select 1", null);
+
+        assertNull(QueryStats.current());
+    }
+
+    private void execute(String sql, Object result) {
+        ExecutionInfo execInfo = new ExecutionInfo();
+        List<QueryInfo> queries = List.of(new QueryInfo(sql));
+        listener.beforeQuery(execInfo, queries);
+        execInfo.setResult(result);
+        listener.afterQuery(execInfo, queries);
+    }
+}
@@ -0,0 +1,72 @@
+package com.vvr.cleanarch.infrastructure.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerTimingFilterTest {
+
+    private final ServerTimingFilter filter = new ServerTimingFilter(true, 10);
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void bufferedBody_isSentAfterTheServerTimingHeader() throws Exception {
+        FilterChain chain = (req, res) -> {
+            QueryStats.current().recordStatement("select * from tasks", 2_000_000);
+            QueryStats.current().recordRows(3);
+            res.getOutputStream().write("[1,2,3]".getBytes(StandardCharsets.UTF_8));
+            res.flushBuffer();
+        };
+
+        filter.doFilter(request, response, chain);
+
+        String serverTiming = response.getHeader(ServerTimingFilter.SERVER_TIMING);
+        assertTrue(serverTiming.startsWith("db;dur=2.0;desc=\"1 queries, 3 rows\", mapping;dur="), serverTiming);
+        assertTrue(serverTiming.contains(", serialization;dur="), serverTiming);
+        assertTrue(serverTiming.contains(", total;dur="), serverTiming);
+        assertEquals("[1,2,3]", response.getContentAsString());
+        assertEquals(7, response.getContentLength());
+    }
+
+    @Test
+    void responseWithoutBody_stillGetsTheHeader() throws Exception {
+        filter.doFilter(request, response, (req, res) -> ((HttpServletResponse) res).setStatus(204));
+
+        String serverTiming = response.getHeader(ServerTimingFilter.SERVER_TIMING);
+        assertTrue(serverTiming.startsWith("db;dur=0.0;desc=\"0 queries, 0 rows\", mapping;dur="), serverTiming);
+        assertFalse(serverTiming.contains("serialization"), serverTiming);
+    }
+
+    @Test
+    void asyncBody_isWrittenThroughWithoutTheHeader() throws Exception {
+        request.setAsyncSupported(true);
+
+        filter.doFilter(request, response, (req, res) -> {
+            req.startAsync();
+            res.getOutputStream().write("streamed".getBytes(StandardCharsets.UTF_8));
+        });
+
+        assertEquals("streamed", response.getContentAsString());
+        assertNull(response.getHeader(ServerTimingFilter.SERVER_TIMING));
+    }
+
+    @Test
+    void disabledHeader_leavesTheResponseAlone() throws Exception {
+        new ServerTimingFilter(false, 10).doFilter(request, response,
+                (req, res) -> res.getOutputStream().write('x'));
+
+        assertEquals("x", response.getContentAsString());
+        assertNull(response.getHeader(ServerTimingFilter.SERVER_TIMING));
+        assertNull(QueryStats.current());
+    }
+}
@@ -0,0 +1,51 @@
+package com.vvr.cleanarch.infrastructure.diagnostics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class VirtualThreadPinningMonitorTest {
+
+    @Test
+    void reportsVirtualThreadBlockedInsideSynchronized() throws InterruptedException {
+        assumeTrue(Runtime.version().feature() < 24, "synchronized no longer pins virtual threads from JDK 24 on");
+        CountDownLatch reported = new CountDownLatch(1);
+        Object lock = new Object();
+
+        try (VirtualThreadPinningMonitor monitor =
+                     new VirtualThreadPinningMonitor(Duration.ofMillis(10), 5, event -> reported.countDown())) {
+            Thread.ofVirtual().start(() -> {
+                synchronized (lock) {
+                    sleep(Duration.ofMillis(50));
+                }
+            }).join();
+
+            assertTrue(reported.await(10, TimeUnit.SECONDS));
+            assertTrue(monitor.pinnedCount() >= 1);
+        }
+    }
+
+    @Test
+    void ignoresVirtualThreadsThatUnmountWhileWaiting() throws InterruptedException {
+        try (VirtualThreadPinningMonitor monitor = new VirtualThreadPinningMonitor(Duration.ofMillis(10), 5)) {
+            Thread.ofVirtual().start(() -> sleep(Duration.ofMillis(50))).join();
+
+            // Give the stream a flush period to deliver anything it might have recorded
+            Thread.sleep(1_500);
+            assertEquals(0, monitor.pinnedCount());
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
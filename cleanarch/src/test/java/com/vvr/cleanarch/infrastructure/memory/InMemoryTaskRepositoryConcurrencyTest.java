@@ -0,0 +1,168 @@
+package com.vvr.cleanarch.infrastructure.memory;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskSort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Stress tests: many threads released at once against one repository, then the map and both
+// indexes are checked against each other
+class InMemoryTaskRepositoryConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private InMemoryTaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTaskRepository();
+    }
+
+    @Test
+    void concurrentCreates_getUniqueIdsAndAreAllIndexed() throws Exception {
+        int perThread = 2_000;
+        List<Long> ids = runConcurrently(thread -> {
+            List<Long> created = new ArrayList<>(perThread);
+            for (int i = 0; i < perThread; i++) {
+                created.add(repository.save(newTask(i)).getId());
+            }
+            return created;
+        }).stream().flatMap(List::stream).toList();
+
+        assertEquals(THREADS * perThread, new HashSet<>(ids).size());
+        assertEquals(THREADS * perThread, repository.findAll(TaskSort.CREATED_AT).size());
+        assertEquals(THREADS * perThread, repository.findByStatus(TaskStatus.PENDING, TaskSort.CREATED_AT).size());
+    }
+
+    @RepeatedTest(5)
+    void racingGuardedUpdates_haveExactlyOneWinnerPerTask() throws Exception {
+        int taskCount = 500;
+        for (int i = 0; i < taskCount; i++) {
+            repository.save(newTask(i));
+        }
+
+        AtomicInteger wins = new AtomicInteger();
+        runConcurrently(thread -> {
+            for (long id = 1; id <= taskCount; id++) {
+                TaskStatus target = thread % 2 == 0 ? TaskStatus.COMPLETED : TaskStatus.CANCELLED;
+                if (repository.updateStatusIfCurrentIn(id, null, Set.of(TaskStatus.PENDING), target, BASE).isPresent()) {
+                    wins.incrementAndGet();
+                }
+            }
+            return null;
+        });
+
+        assertEquals(taskCount, wins.get());
+        Map<TaskStatus, Long> counts = repository.countByStatus();
+        assertNull(counts.get(TaskStatus.PENDING));
+        assertIndexesMatchMap();
+        // Exactly one write happened per task
+        repository.forEachTask(null, task -> assertEquals(1L, task.getVersion()));
+    }
+
+    @RepeatedTest(5)
+    void randomTransitionsAndDeletes_keepIndexesConsistent() throws Exception {
+        int taskCount = 1_000;
+        for (int i = 0; i < taskCount; i++) {
+            repository.save(newTask(i));
+        }
+
+        // Readers walk the indexes while writers move tasks around; no task may appear twice
+        CountDownLatch writersDone = new CountDownLatch(THREADS - 2);
+        runConcurrently(thread -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (thread < 2) {
+                while (writersDone.getCount() > 0) {
+                    List<Task> all = repository.findAll(TaskSort.CREATED_AT);
+                    assertEquals(all.size(), new HashSet<>(all.stream().map(Task::getId).toList()).size());
+                }
+                return null;
+            }
+            try {
+                for (int i = 0; i < 20_000; i++) {
+                    long id = random.nextLong(1, taskCount + 1);
+                    TaskStatus from = TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+                    if (random.nextInt(50) == 0) {
+                        repository.deleteIfCurrentIn(id, null, Set.of(from));
+                    } else {
+                        TaskStatus to = TaskStatus.values()[random.nextInt(TaskStatus.values().length)];
+                        repository.updateStatusIfCurrentIn(id, null, Set.of(from), to, BASE);
+                    }
+                }
+            } finally {
+                writersDone.countDown();
+            }
+            return null;
+        });
+
+        assertIndexesMatchMap();
+    }
+
+    private void assertIndexesMatchMap() {
+        List<Task> stored = new ArrayList<>();
+        repository.forEachTask(null, stored::add);
+
+        assertEquals(stored.size(), repository.findAll(TaskSort.CREATED_AT).size());
+        long indexed = 0;
+        for (TaskStatus status : TaskStatus.values()) {
+            List<Task> byStatus = repository.findByStatus(status, TaskSort.CREATED_AT);
+            assertTrue(byStatus.stream().allMatch(task -> task.getStatus() == status));
+            assertEquals(stored.stream().filter(task -> task.getStatus() == status).count(), byStatus.size());
+            indexed += byStatus.size();
+        }
+        assertEquals(stored.size(), indexed);
+    }
+
+    private <T> List<T> runConcurrently(ThreadBody<T> body) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int threadIndex = thread;
+                Callable<T> task = () -> {
+                    start.await();
+                    return body.run(threadIndex);
+                };
+                futures.add(executor.submit(task));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Task newTask(int minutesAfterBase) {
+        return new Task(null, "Task " + minutesAfterBase, null, TaskStatus.PENDING, BASE.plusMinutes(minutesAfterBase), null);
+    }
+
+    @FunctionalInterface
+    private interface ThreadBody<T> {
+        T run(int thread) throws Exception;
+    }
+}
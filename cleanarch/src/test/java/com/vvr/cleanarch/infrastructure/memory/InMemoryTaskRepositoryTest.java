@@ -0,0 +1,283 @@
+package com.vvr.cleanarch.infrastructure.memory;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskChange;
+import com.vvr.cleanarch.domain.repositories.TaskChangeCursor;
+import com.vvr.cleanarch.domain.repositories.TaskChanges;
+import com.vvr.cleanarch.domain.repositories.TaskPage;
+import com.vvr.cleanarch.domain.repositories.TaskSort;
+import com.vvr.cleanarch.domain.repositories.TaskStatusChange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryTaskRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private InMemoryTaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new InMemoryTaskRepository();
+    }
+
+    @Test
+    void save_assignsIdsAndInitialVersion() {
+        Task first = repository.save(newTask("First", 0));
+        Task second = repository.save(newTask("Second", 1));
+
+        assertEquals(1L, first.getId());
+        assertEquals(2L, second.getId());
+        assertEquals(0L, first.getVersion());
+        assertTrue(repository.existsById(2L));
+    }
+
+    @Test
+    void save_withStaleVersion_throwsOptimisticLockingFailure() {
+        Task saved = repository.save(newTask("Title", 0));
+        saved.setTitle("Changed");
+        repository.save(saved);
+
+        saved.setTitle("Stale write");
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.save(saved));
+    }
+
+    @Test
+    void findById_returnsCopies() {
+        Task saved = repository.save(newTask("Title", 0));
+
+        repository.findById(saved.getId()).orElseThrow().setTitle("Changed by caller");
+
+        assertEquals("Title", repository.findById(saved.getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void findByStatus_returnsNewestFirstFromTheStatusIndex() {
+        Task older = repository.save(newTask("Older", 0));
+        Task newer = repository.save(newTask("Newer", 5));
+        Task completed = repository.save(newTask("Completed", 3));
+        repository.updateStatusIfCurrentIn(completed.getId(), null, Set.of(TaskStatus.PENDING),
+                TaskStatus.COMPLETED, BASE);
+
+        List<Task> pending = repository.findByStatus(TaskStatus.PENDING, TaskSort.CREATED_AT);
+
+        assertEquals(List.of(newer.getId(), older.getId()), ids(pending));
+        assertEquals(List.of(completed.getId()), ids(repository.findByStatus(TaskStatus.COMPLETED, TaskSort.CREATED_AT)));
+    }
+
+    @Test
+    void findAll_byTitle_sortsAscending() {
+        repository.save(newTask("b", 0));
+        repository.save(newTask("a", 1));
+        repository.save(newTask("c", 2));
+
+        List<String> titles = repository.findAll(TaskSort.TITLE).stream().map(Task::getTitle).toList();
+
+        assertEquals(List.of("a", "b", "c"), titles);
+    }
+
+    @Test
+    void findPage_walksTheIndexWithKeysetCursor() {
+        for (int i = 0; i < 5; i++) {
+            repository.save(newTask("Task " + i, i));
+        }
+
+        TaskPage first = repository.findPage(null, null, 2);
+        TaskPage second = repository.findPage(null, first.getNextCursor().orElseThrow(), 2);
+        TaskPage last = repository.findPage(null, second.getNextCursor().orElseThrow(), 2);
+
+        assertEquals(List.of(5L, 4L), ids(first.getItems()));
+        assertEquals(List.of(3L, 2L), ids(second.getItems()));
+        assertEquals(List.of(1L), ids(last.getItems()));
+        assertTrue(last.getNextCursor().isEmpty());
+    }
+
+    @Test
+    void updateStatusIfCurrentIn_appliesOnlyWhenGuardsHold() {
+        Task saved = repository.save(newTask("Title", 0));
+
+        Optional<TaskStatusChange> wrongStatus = repository.updateStatusIfCurrentIn(saved.getId(), null,
+                Set.of(TaskStatus.IN_PROGRESS), TaskStatus.COMPLETED, BASE);
+        Optional<TaskStatusChange> wrongVersion = repository.updateStatusIfCurrentIn(saved.getId(), 7L,
+                Set.of(TaskStatus.PENDING), TaskStatus.COMPLETED, BASE);
+        Optional<TaskStatusChange> applied = repository.updateStatusIfCurrentIn(saved.getId(), 0L,
+                Set.of(TaskStatus.PENDING, TaskStatus.IN_PROGRESS), TaskStatus.COMPLETED, BASE);
+
+        assertTrue(wrongStatus.isEmpty());
+        assertTrue(wrongVersion.isEmpty());
+        assertEquals(TaskStatus.PENDING, applied.orElseThrow().getPreviousStatus());
+        assertEquals(TaskStatus.COMPLETED, applied.orElseThrow().getTask().getStatus());
+        assertEquals(1L, applied.orElseThrow().getTask().getVersion());
+        assertTrue(repository.updateStatusIfCurrentIn(99L, null, Set.of(TaskStatus.PENDING),
+                TaskStatus.COMPLETED, BASE).isEmpty());
+    }
+
+    @Test
+    void updateStatusByStatus_movesEveryMatchingTask() {
+        repository.save(newTask("One", 0));
+        repository.save(newTask("Two", 1));
+        Task other = repository.save(newTask("Other", 2));
+        repository.updateStatusIfCurrentIn(other.getId(), null, Set.of(TaskStatus.PENDING), TaskStatus.IN_PROGRESS, BASE);
+
+        int updated = repository.updateStatusByStatus(TaskStatus.PENDING, TaskStatus.CANCELLED, BASE);
+
+        assertEquals(2, updated);
+        assertEquals(Map.of(TaskStatus.CANCELLED, 2L, TaskStatus.IN_PROGRESS, 1L), repository.countByStatus());
+        assertTrue(repository.findByStatus(TaskStatus.PENDING, TaskSort.CREATED_AT).isEmpty());
+    }
+
+    @Test
+    void deleteIfCurrentIn_removesTaskFromEveryIndex() {
+        Task saved = repository.save(newTask("Title", 0));
+
+        assertTrue(repository.deleteIfCurrentIn(saved.getId(), null, Set.of(TaskStatus.COMPLETED)).isEmpty());
+        assertEquals(Optional.of(TaskStatus.PENDING),
+                repository.deleteIfCurrentIn(saved.getId(), null, Set.of(TaskStatus.PENDING, TaskStatus.CANCELLED)));
+
+        assertFalse(repository.existsById(saved.getId()));
+        assertTrue(repository.findAll(TaskSort.CREATED_AT).isEmpty());
+        assertTrue(repository.findByStatus(TaskStatus.PENDING, TaskSort.CREATED_AT).isEmpty());
+    }
+
+    @Test
+    void forEachTask_visitsInIdOrder() {
+        repository.save(newTask("First", 5));
+        repository.save(newTask("Second", 0));
+
+        List<Long> visited = new ArrayList<>();
+        repository.forEachTask(null, task -> visited.add(task.getId()));
+
+        assertEquals(List.of(1L, 2L), visited);
+    }
+
+    @Test
+    void forEachRow_visitsTheStatusInSortOrder() {
+        repository.save(newTask("b", 0));
+        repository.save(newTask("a", 1));
+        Task completed = repository.save(newTask("c", 2));
+        repository.updateStatusIfCurrentIn(completed.getId(), null, Set.of(TaskStatus.PENDING),
+                TaskStatus.COMPLETED, BASE);
+
+        List<String> visited = new ArrayList<>();
+        repository.forEachRow(TaskStatus.PENDING, TaskSort.TITLE, row -> visited.add(row.getTitle()));
+
+        assertEquals(List.of("a", "b"), visited);
+    }
+
+    @Test
+    void findPageCreatedBefore_walksOldestFirstBelowTheCutoff() {
+        for (int i = 0; i < 5; i++) {
+            repository.save(newTask("Task " + i, i));
+        }
+        repository.updateStatusIfCurrentIn(2L, null, Set.of(TaskStatus.PENDING), TaskStatus.COMPLETED, BASE);
+        LocalDateTime cutoff = BASE.plusMinutes(4);
+
+        TaskPage first = repository.findPageCreatedBefore(TaskStatus.PENDING, cutoff, null, 2);
+        TaskPage last = repository.findPageCreatedBefore(TaskStatus.PENDING, cutoff, first.getNextCursor().orElseThrow(), 2);
+
+        // Task 5 is at the cutoff itself and task 2 is no longer pending
+        assertEquals(List.of(1L, 3L), ids(first.getItems()));
+        assertEquals(List.of(4L), ids(last.getItems()));
+        assertTrue(last.getNextCursor().isEmpty());
+    }
+
+    @Test
+    void restore_keepsTheGivenVersionAndReindexes() {
+        repository.save(newTask("Title", 0));
+        Task restored = new Task(1L, "Restored", null, TaskStatus.COMPLETED, BASE, null, 7L);
+
+        repository.restore(restored);
+
+        assertEquals(7L, repository.findById(1L).orElseThrow().getVersion());
+        assertTrue(repository.findByStatus(TaskStatus.PENDING, TaskSort.CREATED_AT).isEmpty());
+        assertEquals(List.of(1L), ids(repository.findByStatus(TaskStatus.COMPLETED, TaskSort.CREATED_AT)));
+        assertEquals(2L, repository.save(newTask("Next", 1)).getId());
+    }
+
+    @Test
+    void findChangesSince_returnsWritesAndDeletionsInLogOrder() {
+        Task first = repository.save(newTask("First", 0));
+        repository.save(newTask("Second", 1));
+        repository.updateDetailsIfCurrentIn(first.getId(), null, Set.of(TaskStatus.PENDING), "First, renamed", null, BASE);
+        repository.deleteIfCurrentIn(2L, null, Set.of(TaskStatus.PENDING));
+
+        TaskChanges changes = repository.findChangesSince(TaskChangeCursor.START, 10);
+
+        // Each id appears once, at its latest write
+        List<TaskChange> entries = changes.getChanges();
+        assertEquals(2, entries.size());
+        assertEquals("First, renamed", entries.get(0).getTask().getTitle());
+        assertTrue(entries.get(1).isDeletion());
+        assertEquals(2L, entries.get(1).getTaskId());
+        assertFalse(changes.hasMore());
+        assertNotNull(changes.getCompleteSince());
+    }
+
+    @Test
+    void findChangesSince_resumesFromTheNextCursor() {
+        for (int i = 0; i < 5; i++) {
+            repository.save(newTask("Task " + i, i));
+        }
+
+        TaskChanges firstPage = repository.findChangesSince(TaskChangeCursor.START, 3);
+        TaskChanges secondPage = repository.findChangesSince(firstPage.getNext(), 3);
+        repository.updateStatusIfCurrentIn(1L, null, Set.of(TaskStatus.PENDING), TaskStatus.COMPLETED, BASE);
+        TaskChanges thirdPage = repository.findChangesSince(secondPage.getNext(), 3);
+
+        assertEquals(List.of(1L, 2L, 3L), changedIds(firstPage));
+        assertTrue(firstPage.hasMore());
+        assertEquals(List.of(4L, 5L), changedIds(secondPage));
+        assertFalse(secondPage.hasMore());
+        assertEquals(List.of(1L), changedIds(thirdPage));
+        assertEquals(TaskStatus.COMPLETED, thirdPage.getChanges().get(0).getTask().getStatus());
+        assertTrue(repository.findChangesSince(thirdPage.getNext(), 3).getChanges().isEmpty());
+    }
+
+    @Test
+    void findChangesSince_skipsWritesThatChangeNothing() {
+        repository.save(newTask("Title", 0));
+        TaskChanges caughtUp = repository.findChangesSince(TaskChangeCursor.START, 10);
+
+        repository.updateStatusIfCurrentIn(1L, 99L, Set.of(TaskStatus.PENDING), TaskStatus.COMPLETED, BASE);
+        repository.deleteIfCurrentIn(1L, null, Set.of(TaskStatus.COMPLETED));
+
+        assertTrue(repository.findChangesSince(caughtUp.getNext(), 10).getChanges().isEmpty());
+    }
+
+    @Test
+    void purgeDeletionsBefore_dropsOnlyOldTombstones() {
+        repository.save(newTask("Kept", 0));
+        repository.save(newTask("Deleted", 1));
+        repository.deleteById(2L);
+
+        assertEquals(0, repository.purgeDeletionsBefore(LocalDateTime.now().minusDays(1)));
+        assertEquals(1, repository.purgeDeletionsBefore(LocalDateTime.now().plusSeconds(1)));
+
+        TaskChanges changes = repository.findChangesSince(TaskChangeCursor.START, 10);
+        assertEquals(List.of(1L), changedIds(changes));
+        assertEquals(1, changes.getChanges().size());
+    }
+
+    private static Task newTask(String title, int minutesAfterBase) {
+        return new Task(null, title, null, TaskStatus.PENDING, BASE.plusMinutes(minutesAfterBase), null);
+    }
+
+    private static List<Long> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+
+    private static List<Long> changedIds(TaskChanges changes) {
+        return changes.getChanges().stream().map(TaskChange::getTaskId).toList();
+    }
+}
@@ -0,0 +1,85 @@
+package com.vvr.cleanarch.infrastructure.metrics;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskRepository;
+import com.vvr.cleanarch.domain.repositories.TaskSort;
+import com.vvr.cleanarch.infrastructure.memory.InMemoryTaskRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MeteredTaskRepositoryTest {
+
+    private SimpleMeterRegistry registry;
+    private MeteredTaskRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repository = new MeteredTaskRepository(new InMemoryTaskRepository(), registry);
+    }
+
+    @Test
+    void successfulCalls_areTimedPerMethod() {
+        Task saved = repository.save(newTask("First"));
+        repository.findById(saved.getId());
+        repository.findById(saved.getId());
+
+        assertEquals(1, timer("save", "success").count());
+        assertEquals(2, timer("findById", "success").count());
+        assertEquals("InMemoryTaskRepository", timer("findById", "success").getId().getTag("adapter"));
+    }
+
+    @Test
+    void listings_recordHowManyTasksTheyReturned() {
+        repository.save(newTask("First"));
+        repository.save(newTask("Second"));
+
+        List<Task> tasks = repository.findAll(TaskSort.CREATED_AT);
+        repository.findByStatus(TaskStatus.COMPLETED, TaskSort.CREATED_AT);
+
+        assertEquals(2, tasks.size());
+        assertEquals(2.0, resultSize("findAll").totalAmount());
+        assertEquals(0.0, resultSize("findByStatus").totalAmount());
+        assertEquals(1, resultSize("findByStatus").count());
+    }
+
+    @Test
+    void failedCalls_areTimedAsErrorsAndRethrown() {
+        TaskRepository failing = mock(TaskRepository.class);
+        when(failing.findById(any())).thenThrow(new IllegalStateException("database down"));
+        MeteredTaskRepository metered = new MeteredTaskRepository(failing, registry);
+
+        assertThrows(IllegalStateException.class, () -> metered.findById(1L));
+
+        Timer errors = registry.get(MeteredTaskRepository.TIMER)
+                .tag("method", "findById")
+                .tag("outcome", "error")
+                .tag("exception", "IllegalStateException")
+                .timer();
+        assertEquals(1, errors.count());
+    }
+
+    private Timer timer(String method, String outcome) {
+        return registry.get(MeteredTaskRepository.TIMER).tag("method", method).tag("outcome", outcome).timer();
+    }
+
+    private DistributionSummary resultSize(String method) {
+        return registry.get(MeteredTaskRepository.RESULT_SIZE).tag("method", method).summary();
+    }
+
+    private static Task newTask(String title) {
+        return new Task(null, title, null, TaskStatus.PENDING, LocalDateTime.now(), null);
+    }
+}
@@ -0,0 +1,54 @@
+package com.vvr.cleanarch.infrastructure.metrics;
+
+import com.vvr.cleanarch.application.usecases.GetTaskByIdUseCase;
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.exceptions.TaskNotFoundException;
+import com.vvr.cleanarch.infrastructure.memory.InMemoryTaskRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UseCaseMetricsInterceptorTest {
+
+    private SimpleMeterRegistry registry;
+    private InMemoryTaskRepository taskRepository;
+    private GetTaskByIdUseCase getTaskByIdUseCase;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        taskRepository = new InMemoryTaskRepository();
+        ProxyFactory proxyFactory = new ProxyFactory(new GetTaskByIdUseCase(taskRepository));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(new UseCaseMetricsInterceptor(registry, "GetTaskByIdUseCase"));
+        getTaskByIdUseCase = (GetTaskByIdUseCase) proxyFactory.getProxy();
+    }
+
+    @Test
+    void execute_recordsSuccessfulCalls() {
+        Task saved = taskRepository.save(new Task(null, "Title", null, TaskStatus.PENDING, LocalDateTime.now(), null));
+
+        assertEquals("Title", getTaskByIdUseCase.execute(saved.getId()).getTitle());
+
+        assertEquals(1, registry.get(UseCaseMetricsInterceptor.TIMER)
+                .tag("usecase", "GetTaskByIdUseCase").tag("outcome", "success").timer().count());
+        assertTrue(registry.find(UseCaseMetricsInterceptor.ERRORS).counters().isEmpty());
+    }
+
+    @Test
+    void execute_countsFailuresByExceptionAndRethrows() {
+        assertThrows(TaskNotFoundException.class, () -> getTaskByIdUseCase.execute(99L));
+        assertThrows(TaskNotFoundException.class, () -> getTaskByIdUseCase.execute(98L));
+
+        assertEquals(2.0, registry.get(UseCaseMetricsInterceptor.ERRORS)
+                .tag("usecase", "GetTaskByIdUseCase").tag("exception", "TaskNotFoundException").counter().count());
+        assertEquals(2, registry.get(UseCaseMetricsInterceptor.TIMER)
+                .tag("outcome", "error").timer().count());
+    }
+}
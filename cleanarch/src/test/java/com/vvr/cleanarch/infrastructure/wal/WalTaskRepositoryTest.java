@@ -0,0 +1,156 @@
+package com.vvr.cleanarch.infrastructure.wal;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskSort;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WalTaskRepositoryTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void writes_surviveARestart() throws IOException {
+        try (WalTaskRepository repository = open(1_000)) {
+            repository.save(newTask("First", 0));
+            repository.save(newTask("Second", 1));
+            repository.save(newTask("Third", 2));
+            repository.updateStatusIfCurrentIn(1L, null, Set.of(TaskStatus.PENDING), TaskStatus.COMPLETED, BASE);
+            repository.updateDetailsIfCurrentIn(2L, 0L, Set.of(TaskStatus.PENDING), "Second, edited", null, BASE);
+            repository.deleteIfCurrentIn(3L, null, Set.of(TaskStatus.PENDING));
+        }
+
+        try (WalTaskRepository repository = open(1_000)) {
+            Task first = repository.findById(1L).orElseThrow();
+            Task second = repository.findById(2L).orElseThrow();
+            assertEquals(TaskStatus.COMPLETED, first.getStatus());
+            assertEquals(1L, first.getVersion());
+            assertEquals("Second, edited", second.getTitle());
+            assertNull(second.getDescription());
+            assertFalse(repository.existsById(3L));
+            assertEquals(List.of(2L, 1L), ids(repository.findAll(TaskSort.CREATED_AT)));
+        }
+    }
+
+    @Test
+    void save_afterRestart_neverReusesADeletedId() throws IOException {
+        try (WalTaskRepository repository = open(1_000)) {
+            repository.save(newTask("First", 0));
+            repository.save(newTask("Second", 1));
+            repository.deleteById(2L);
+        }
+
+        try (WalTaskRepository repository = open(1_000)) {
+            assertEquals(3L, repository.save(newTask("Third", 2)).getId());
+        }
+    }
+
+    @Test
+    void snapshot_compactsTheLogAndRecoveryReplaysOnlyTheTail() throws IOException {
+        try (WalTaskRepository repository = open(1_000)) {
+            for (int i = 0; i < 100; i++) {
+                repository.save(newTask("Task " + i, i));
+            }
+            repository.snapshot();
+            repository.updateStatusByStatus(TaskStatus.PENDING, TaskStatus.IN_PROGRESS, BASE);
+            repository.deleteById(1L);
+        }
+
+        assertEquals(1, files("snapshot-").size());
+        try (WalTaskRepository repository = open(1_000)) {
+            assertEquals(99L, repository.countByStatus().get(TaskStatus.IN_PROGRESS));
+            assertFalse(repository.existsById(1L));
+            assertEquals(101L, repository.save(newTask("Next", 100)).getId());
+        }
+    }
+
+    @Test
+    void saveAll_fromManyThreads_isFullyRecovered() throws Exception {
+        try (WalTaskRepository repository = open(500)) {
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            try {
+                List<Future<List<Task>>> batches = IntStream.range(0, 40)
+                        .mapToObj(batch -> executor.submit(() -> repository.saveAll(
+                                IntStream.range(0, 25).mapToObj(i -> newTask("Task " + batch + "-" + i, i)).toList())))
+                        .toList();
+                for (Future<List<Task>> batch : batches) {
+                    assertEquals(25, batch.get().size());
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        try (WalTaskRepository repository = open(500)) {
+            assertEquals(1_000L, repository.countByStatus().get(TaskStatus.PENDING));
+        }
+    }
+
+    @Test
+    void save_whenTheRecordCannotBeLogged_leavesNothingBehind() throws IOException {
+        try (WalTaskRepository repository = open(1_000)) {
+            Task tooLarge = newTask("Too large", 0);
+            tooLarge.setDescription("x".repeat(20_000));
+
+            assertThrows(IllegalArgumentException.class, () -> repository.save(tooLarge));
+
+            assertFalse(repository.existsById(1L));
+            assertTrue(repository.findAll(TaskSort.CREATED_AT).isEmpty());
+        }
+    }
+
+    @Test
+    void update_whenTheRecordCannotBeLogged_keepsThePreviousTask() throws IOException {
+        try (WalTaskRepository repository = open(1_000)) {
+            repository.save(newTask("First", 0));
+
+            assertThrows(IllegalArgumentException.class, () -> repository.updateDetailsIfCurrentIn(
+                    1L, 0L, Set.of(TaskStatus.PENDING), "First", "x".repeat(20_000), BASE));
+
+            Task first = repository.findById(1L).orElseThrow();
+            assertEquals("Description", first.getDescription());
+            assertEquals(0L, first.getVersion());
+        }
+
+        try (WalTaskRepository repository = open(1_000)) {
+            assertEquals("Description", repository.findById(1L).orElseThrow().getDescription());
+        }
+    }
+
+    private WalTaskRepository open(long snapshotEveryRecords) throws IOException {
+        return new WalTaskRepository(directory, DataSize.ofKilobytes(16), snapshotEveryRecords);
+    }
+
+    private List<Path> files(String prefix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith(prefix)).toList();
+        }
+    }
+
+    private static List<Long> ids(List<Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+
+    private static Task newTask(String title, int minutes) {
+        return new Task(null, title, "Description", TaskStatus.PENDING, BASE.plusMinutes(minutes), null);
+    }
+}
@@ -0,0 +1,142 @@
+package com.vvr.cleanarch.infrastructure.wal;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteAheadLogTest {
+
+    private static final int SEGMENT_SIZE = 4096;
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 1, 1, 12, 0, 0, 123_456_789);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void open_replaysAppendedRecordsInOrder() throws IOException {
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_SIZE, 0, record -> fail("empty log"))) {
+            log.append(WalRecord.put(task(1L, "First", 0L)));
+            log.append(WalRecord.put(task(1L, "First, edited", 1L)));
+            long lsn = log.append(WalRecord.delete(2L));
+            log.awaitDurable(lsn);
+            assertEquals(3L, lsn);
+        }
+
+        List<WalRecord> replayed = replay(0);
+
+        assertEquals(3, replayed.size());
+        assertEquals("First, edited", replayed.get(1).getTask().getTitle());
+        assertEquals(1L, replayed.get(1).getTask().getVersion());
+        assertEquals(CREATED_AT, replayed.get(1).getTask().getCreatedAt());
+        assertNull(replayed.get(1).getTask().getUpdatedAt());
+        assertEquals(WalRecord.Type.DELETE, replayed.get(2).getType());
+        assertEquals(2L, replayed.get(2).getId());
+    }
+
+    @Test
+    void open_skipsRecordsCoveredBySnapshot() throws IOException {
+        appendTasks(5);
+
+        List<WalRecord> replayed = replay(3);
+
+        assertEquals(List.of(4L, 5L), replayed.stream().map(WalRecord::getId).toList());
+    }
+
+    @Test
+    void append_rollsToANewSegmentWhenTheCurrentOneIsFull() throws IOException {
+        appendTasks(200);
+
+        assertTrue(segments().size() > 1);
+        assertEquals(200, replay(0).size());
+    }
+
+    @Test
+    void deleteSegmentsCoveredBy_keepsSegmentsWithNewerRecords() throws IOException {
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_SIZE, 0, record -> { })) {
+            for (long id = 1; id <= 200; id++) {
+                log.append(WalRecord.put(task(id, "Task " + id, 0L)));
+            }
+            log.deleteSegmentsCoveredBy(150);
+        }
+
+        List<WalRecord> replayed = replay(150);
+
+        assertEquals(50, replayed.size());
+        assertEquals(151L, replayed.get(0).getId());
+    }
+
+    @Test
+    void open_withCorruptLastRecord_truncatesItAndKeepsAppending() throws IOException {
+        appendTasks(3);
+        corruptLastRecord(segments().get(segments().size() - 1));
+
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_SIZE, 0, record -> { })) {
+            // The corrupt record's LSN is reused by the next append
+            assertEquals(3L, log.append(WalRecord.put(task(30L, "After recovery", 0L))));
+        }
+
+        List<WalRecord> replayed = replay(0);
+
+        assertEquals(List.of(1L, 2L, 30L), replayed.stream().map(WalRecord::getId).toList());
+    }
+
+    @Test
+    void open_withGapAfterSnapshot_fails() throws IOException {
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_SIZE, 10, record -> { })) {
+            log.append(WalRecord.delete(1L));
+        }
+
+        assertThrows(IllegalStateException.class, () -> WriteAheadLog.open(directory, SEGMENT_SIZE, 5, record -> { }));
+    }
+
+    private void appendTasks(int count) throws IOException {
+        try (WriteAheadLog log = WriteAheadLog.open(directory, SEGMENT_SIZE, 0, record -> { })) {
+            long lsn = 0;
+            for (long id = 1; id <= count; id++) {
+                lsn = log.append(WalRecord.put(task(id, "Task " + id, 0L)));
+            }
+            log.awaitDurable(lsn);
+        }
+    }
+
+    private List<WalRecord> replay(long afterLsn) throws IOException {
+        List<WalRecord> replayed = new ArrayList<>();
+        WriteAheadLog.open(directory, SEGMENT_SIZE, afterLsn, replayed::add).close();
+        return replayed;
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("wal-")).sorted().toList();
+        }
+    }
+
+    private static void corruptLastRecord(Path segment) throws IOException {
+        byte[] bytes = Files.readAllBytes(segment);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int position = 0;
+        int last = -1;
+        while (position + WriteAheadLog.FRAME_HEADER_BYTES <= bytes.length && buffer.getInt(position) > 0) {
+            last = position;
+            position += WriteAheadLog.FRAME_HEADER_BYTES + buffer.getInt(position);
+        }
+        bytes[last + WriteAheadLog.FRAME_HEADER_BYTES + 2] ^= 0x5A;
+        Files.write(segment, bytes);
+    }
+
+    private static Task task(Long id, String title, Long version) {
+        return new Task(id, title, "Description", TaskStatus.PENDING, CREATED_AT, null, version);
+    }
+}
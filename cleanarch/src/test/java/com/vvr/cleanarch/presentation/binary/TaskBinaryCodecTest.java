@@ -0,0 +1,103 @@
+package com.vvr.cleanarch.presentation.binary;
+
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.presentation.dto.TaskResponse;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskBinaryCodecTest {
+
+    // Millisecond precision: that is all the binary formats keep
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 1, 21, 10, 30, 0, 123_000_000);
+
+    private final TaskBinaryCodec codec = new TaskBinaryCodec(ZoneOffset.UTC);
+
+    @Test
+    void everyFormat_roundTripsTasksAndLists() {
+        TaskResponse full = new TaskResponse(7L, "Estudar", "Clean Architecture", TaskStatus.IN_PROGRESS,
+                CREATED_AT, CREATED_AT.plusHours(2), 3L, false);
+        TaskResponse sparse = new TaskResponse(8L, "Atrasada", null, TaskStatus.PENDING,
+                CREATED_AT.minusDays(9), null, 0L, true);
+
+        for (TaskBinaryFormat format : TaskBinaryFormat.values()) {
+            assertSameTask(full, codec.decode(format, codec.encode(format, full)));
+            List<TaskResponse> decoded = codec.decodeList(format, codec.encode(format, List.of(full, sparse)));
+            assertEquals(2, decoded.size(), format.name());
+            assertSameTask(full, decoded.get(0));
+            assertSameTask(sparse, decoded.get(1));
+        }
+    }
+
+    @Test
+    void emptyList_roundTrips() {
+        for (TaskBinaryFormat format : TaskBinaryFormat.values()) {
+            assertEquals(List.of(), codec.decodeList(format, codec.encode(format, List.of())));
+        }
+    }
+
+    @Test
+    void cbor_writesDatesAsEpochMillisAndStatusAsOrdinal() {
+        TaskResponse task = new TaskResponse(1L, "Concluída", null, TaskStatus.COMPLETED, CREATED_AT, null, 1L, false);
+
+        JsonNode tree = CBORMapper.builder().build().readTree(codec.encode(TaskBinaryFormat.CBOR, task));
+
+        assertEquals(CREATED_AT.toInstant(ZoneOffset.UTC).toEpochMilli(), tree.get("createdAt").asLong());
+        assertEquals(TaskStatus.COMPLETED.ordinal(), tree.get("status").asInt());
+    }
+
+    @Test
+    void protobuf_matchesTheWireFormatOfTasksProto() {
+        TaskResponse task = new TaskResponse(150L, "Ab", null, TaskStatus.IN_PROGRESS,
+                LocalDateTime.of(1970, 1, 1, 0, 0, 0, 1_000_000), null, 0L, false);
+
+        // id=150, title="Ab", status=1, created_at=1; version 0 and overdue false are proto3 defaults
+        byte[] expected = {0x08, (byte) 0x96, 0x01, 0x12, 0x02, 'A', 'b', 0x20, 0x01, 0x28, 0x01};
+        assertArrayEquals(expected, codec.encode(TaskBinaryFormat.PROTOBUF, task));
+    }
+
+    @Test
+    void protobuf_skipsFieldsItDoesNotKnow() {
+        TaskResponse task = new TaskResponse(2L, "Nova", "Campo futuro", TaskStatus.CANCELLED, CREATED_AT, null, 5L, false);
+        byte[] encoded = codec.encode(TaskBinaryFormat.PROTOBUF, task);
+        byte[] withUnknownField = Arrays.copyOf(encoded, encoded.length + 2);
+        withUnknownField[encoded.length] = (byte) (15 << 3); // field 15, varint
+        withUnknownField[encoded.length + 1] = 0x2A;
+
+        assertSameTask(task, codec.decode(TaskBinaryFormat.PROTOBUF, withUnknownField));
+    }
+
+    @Test
+    void everyFormat_isSmallerThanJson() {
+        List<TaskResponse> tasks = List.of(
+                new TaskResponse(1L, "Primeira", "Descrição", TaskStatus.PENDING, CREATED_AT, null, 0L, false),
+                new TaskResponse(2L, "Segunda", null, TaskStatus.COMPLETED, CREATED_AT, CREATED_AT.plusDays(1), 4L, false));
+        int json = JsonMapper.builder().build().writeValueAsBytes(tasks).length;
+
+        for (TaskBinaryFormat format : TaskBinaryFormat.values()) {
+            int binary = codec.encode(format, tasks).length;
+            assertTrue(binary < json, format + ": " + binary + " bytes, JSON " + json);
+        }
+    }
+
+    private static void assertSameTask(TaskResponse expected, TaskResponse actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getUpdatedAt(), actual.getUpdatedAt());
+        assertEquals(expected.getVersion(), actual.getVersion());
+        assertEquals(expected.isOverdue(), actual.isOverdue());
+    }
+}
@@ -0,0 +1,32 @@
+package com.vvr.cleanarch.presentation.binary;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskBinaryFormatTest {
+
+    @Test
+    void negotiate_picksTheNamedBinaryFormat() {
+        assertEquals(Optional.of(TaskBinaryFormat.CBOR), TaskBinaryFormat.negotiate("application/cbor"));
+        assertEquals(Optional.of(TaskBinaryFormat.SMILE), TaskBinaryFormat.negotiate("application/x-jackson-smile"));
+        assertEquals(Optional.of(TaskBinaryFormat.PROTOBUF),
+                TaskBinaryFormat.negotiate("application/json;q=0.5, application/x-protobuf"));
+        assertEquals(Optional.of(TaskBinaryFormat.SMILE),
+                TaskBinaryFormat.negotiate("application/cbor;q=0.4, application/x-jackson-smile;q=0.9"));
+    }
+
+    @Test
+    void negotiate_keepsJsonForWildcardsAndPreferredJson() {
+        assertEquals(Optional.empty(), TaskBinaryFormat.negotiate(null));
+        assertEquals(Optional.empty(), TaskBinaryFormat.negotiate(""));
+        assertEquals(Optional.empty(), TaskBinaryFormat.negotiate("*/*"));
+        assertEquals(Optional.empty(), TaskBinaryFormat.negotiate("application/*"));
+        assertEquals(Optional.empty(), TaskBinaryFormat.negotiate("application/json"));
+        assertEquals(Optional.empty(), TaskBinaryFormat.negotiate("application/cbor;q=0.5, application/json"));
+        assertEquals(Optional.empty(), TaskBinaryFormat.negotiate("application/x-protobuf;q=0"));
+        assertEquals(Optional.empty(), TaskBinaryFormat.negotiate("not a media type"));
+    }
+}
@@ -0,0 +1,207 @@
+package com.vvr.cleanarch.presentation.cache;
+
+import com.vvr.cleanarch.application.events.TaskDataVersion;
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskCursor;
+import com.vvr.cleanarch.domain.repositories.TaskPage;
+import com.vvr.cleanarch.domain.repositories.TaskRow;
+import com.vvr.cleanarch.domain.repositories.TaskSort;
+import com.vvr.cleanarch.presentation.cache.TaskListResponseCache.CachedList;
+import com.vvr.cleanarch.presentation.cache.TaskListResponseCache.Capture;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskListResponseCacheTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 21, 10, 0);
+
+    private final TaskDataVersion dataVersion = new TaskDataVersion();
+    private final TaskListResponseCache cache = new TaskListResponseCache(dataVersion, JsonMapper.builder().build(),
+            1024 * 1024, Duration.ofMinutes(10));
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @Test
+    void get_twiceWithoutAWrite_runsTheQueryOnceAndSharesTheBytes() {
+        CachedList first = cache.get(null, TaskSort.CREATED_AT, null, null, NOW, query(tasks(2)));
+        CachedList second = cache.get(null, TaskSort.CREATED_AT, null, null, NOW, query(tasks(2)));
+
+        assertEquals(1, queries.get());
+        assertSame(first.getJson(), second.getJson());
+    }
+
+    @Test
+    void get_afterAWrite_runsTheQueryAgain() {
+        cache.get(null, TaskSort.CREATED_AT, null, null, NOW, query(tasks(2)));
+        dataVersion.deleted(2L);
+
+        CachedList list = cache.get(null, TaskSort.CREATED_AT, null, null, NOW, query(tasks(1)));
+
+        assertEquals(2, queries.get());
+        assertFalse(new String(list.getJson()).contains("\"id\":2"));
+    }
+
+    @Test
+    void get_withOtherParameters_isCachedSeparately() {
+        cache.get(null, TaskSort.CREATED_AT, null, null, NOW, query(tasks(2)));
+        cache.get(TaskStatus.PENDING, TaskSort.CREATED_AT, null, null, NOW, query(tasks(2)));
+        cache.get(null, TaskSort.CREATED_AT, null, 10, NOW, query(tasks(2)));
+        cache.get(null, TaskSort.TITLE, null, null, NOW, query(tasks(2)));
+
+        assertEquals(4, queries.get());
+    }
+
+    @Test
+    void largeBody_carriesAGzippedCopyOfTheJson() throws IOException {
+        CachedList list = cache.get(null, TaskSort.CREATED_AT, null, null, NOW, query(tasks(50)));
+
+        assertNotNull(list.getGzip());
+        assertTrue(list.getGzip().length < list.getJson().length);
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(list.getGzip()))) {
+            assertArrayEquals(list.getJson(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void smallBody_isNotCompressed() {
+        CachedList list = cache.get(null, TaskSort.CREATED_AT, null, null, NOW, query(List.of()));
+
+        assertEquals("[]", new String(list.getJson()));
+        assertNull(list.getGzip());
+    }
+
+    @Test
+    void nextCursor_isKeptWithTheBody() {
+        TaskCursor next = new TaskCursor(NOW.minusDays(1), 7L);
+        CachedList list = cache.get(null, TaskSort.CREATED_AT, null, 1, NOW, () -> new TaskPage(tasks(1), next));
+
+        assertEquals(next.encode(), list.getNextCursor());
+    }
+
+    @Test
+    void bodyWithATaskAboutToTurnOverdue_isRenderedAgainOnceItDoes() {
+        Task pending = new Task(1L, "Title", null, TaskStatus.PENDING, NOW.minusDays(7).plusHours(1), null, 0L);
+        CachedList before = cache.get(null, TaskSort.CREATED_AT, null, null, NOW, query(List.of(pending)));
+        assertTrue(new String(before.getJson()).contains("\"overdue\":false"));
+
+        cache.get(null, TaskSort.CREATED_AT, null, null, NOW.plusMinutes(30), query(List.of(pending)));
+        assertEquals(1, queries.get());
+
+        CachedList after = cache.get(null, TaskSort.CREATED_AT, null, null, NOW.plusHours(2), query(List.of(pending)));
+        assertEquals(2, queries.get());
+        assertTrue(new String(after.getJson()).contains("\"overdue\":true"));
+    }
+
+    @Test
+    void disabledCache_runsTheQueryForEveryRequest() {
+        TaskListResponseCache disabled = new TaskListResponseCache(dataVersion, JsonMapper.builder().build(),
+                0, Duration.ofMinutes(10));
+
+        disabled.get(null, TaskSort.CREATED_AT, null, null, NOW, query(tasks(2)));
+        disabled.get(null, TaskSort.CREATED_AT, null, null, NOW, query(tasks(2)));
+
+        assertEquals(2, queries.get());
+        assertEquals(0, disabled.estimatedSize());
+    }
+
+    @Test
+    void wholeListing_capturedWhileStreamed_isServedUntilTheNextWrite() throws IOException {
+        byte[] body = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream sent = new ByteArrayOutputStream();
+        Capture capture = cache.capture(null, TaskSort.CREATED_AT, NOW);
+        capture.tee(sent).write(body);
+        capture.complete();
+
+        assertArrayEquals(body, sent.toByteArray());
+        assertArrayEquals(body, cache.getWhole(null, TaskSort.CREATED_AT, NOW).getJson());
+        assertNull(cache.getWhole(TaskStatus.PENDING, TaskSort.CREATED_AT, NOW));
+        // The default-sized first page has the same parameters but is a different body
+        cache.get(null, TaskSort.CREATED_AT, null, null, NOW, query(tasks(2)));
+        assertEquals(1, queries.get());
+
+        dataVersion.deleted(1L);
+        assertNull(cache.getWhole(null, TaskSort.CREATED_AT, NOW));
+    }
+
+    @Test
+    void wholeListing_whenAWriteLandsDuringTheScan_isNotServed() throws IOException {
+        Capture capture = cache.capture(null, TaskSort.CREATED_AT, NOW);
+        capture.tee(new ByteArrayOutputStream()).write("[]".getBytes(StandardCharsets.UTF_8));
+        dataVersion.deleted(1L);
+        capture.complete();
+
+        assertNull(cache.getWhole(null, TaskSort.CREATED_AT, NOW));
+    }
+
+    @Test
+    void wholeListing_largerThanAQuarterOfTheCache_isStreamedButNotKept() throws IOException {
+        byte[] body = new byte[320 * 1024];
+        ByteArrayOutputStream sent = new ByteArrayOutputStream();
+        Capture capture = cache.capture(null, TaskSort.CREATED_AT, NOW);
+        OutputStream out = capture.tee(sent);
+        for (int offset = 0; offset < body.length; offset += 8192) {
+            out.write(body, offset, 8192);
+        }
+        capture.complete();
+
+        assertEquals(body.length, sent.size());
+        assertNull(cache.getWhole(null, TaskSort.CREATED_AT, NOW));
+    }
+
+    @Test
+    void wholeListingWithATaskAboutToTurnOverdue_isDroppedOnceItDoes() throws IOException {
+        Task pending = new Task(1L, "Title", null, TaskStatus.PENDING, NOW.minusDays(7).plusHours(1), null, 0L);
+        Capture capture = cache.capture(null, TaskSort.CREATED_AT, NOW);
+        capture.observe(TaskRow.of(pending));
+        capture.tee(new ByteArrayOutputStream()).write("[]".getBytes(StandardCharsets.UTF_8));
+        capture.complete();
+
+        assertNotNull(cache.getWhole(null, TaskSort.CREATED_AT, NOW.plusMinutes(30)));
+        assertNull(cache.getWhole(null, TaskSort.CREATED_AT, NOW.plusHours(2)));
+    }
+
+    @Test
+    void disabledCache_neverCapturesAWholeListing() {
+        TaskListResponseCache disabled = new TaskListResponseCache(dataVersion, JsonMapper.builder().build(),
+                0, Duration.ofMinutes(10));
+        ByteArrayOutputStream sent = new ByteArrayOutputStream();
+
+        Capture capture = disabled.capture(null, TaskSort.CREATED_AT, NOW);
+        assertSame(sent, capture.tee(sent));
+        capture.complete();
+
+        assertNull(disabled.getWhole(null, TaskSort.CREATED_AT, NOW));
+    }
+
+    private Supplier<TaskPage> query(List<Task> tasks) {
+        return () -> {
+            queries.incrementAndGet();
+            return new TaskPage(tasks, null);
+        };
+    }
+
+    private static List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            tasks.add(new Task(id, "Task " + id, "Description of task " + id, TaskStatus.COMPLETED,
+                    NOW.minusDays(id), null, 0L));
+        }
+        return tasks;
+    }
+}
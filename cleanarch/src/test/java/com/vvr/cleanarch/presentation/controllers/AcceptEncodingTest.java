@@ -0,0 +1,28 @@
+package com.vvr.cleanarch.presentation.controllers;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AcceptEncodingTest {
+
+    @Test
+    void gzip_isAllowedWhenListed() {
+        assertTrue(AcceptEncoding.allowsGzip("gzip"));
+        assertTrue(AcceptEncoding.allowsGzip("br, GZIP;q=0.8, deflate"));
+        assertTrue(AcceptEncoding.allowsGzip("x-gzip"));
+        assertTrue(AcceptEncoding.allowsGzip("*"));
+    }
+
+    @Test
+    void gzip_isRefusedWhenAbsentOrWithZeroQuality() {
+        assertFalse(AcceptEncoding.allowsGzip(null));
+        assertFalse(AcceptEncoding.allowsGzip(""));
+        assertFalse(AcceptEncoding.allowsGzip("identity"));
+        assertFalse(AcceptEncoding.allowsGzip("br, deflate"));
+        assertFalse(AcceptEncoding.allowsGzip("gzip;q=0"));
+        assertFalse(AcceptEncoding.allowsGzip("*, gzip;q=0"));
+        assertFalse(AcceptEncoding.allowsGzip("*;q=0"));
+    }
+}
@@ -0,0 +1,248 @@
+package com.vvr.cleanarch.presentation.controllers;
+
+import com.vvr.cleanarch.infrastructure.diagnostics.ServerTimingFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import tools.jackson.databind.json.JsonMapper;
+
+import static com.vvr.cleanarch.support.QueryCountAssertions.assertMaxQueries;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+class TaskControllerQueryCountTest {
+
+    private static final long MISSING_ID = 999_999_999L;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private ServerTimingFilter serverTimingFilter;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+                .addFilters(serverTimingFilter)
+                .build();
+    }
+
+    @Test
+    void listPage_issuesASingleQuery() throws Throwable {
+        createTask("Listar");
+
+        assertMaxQueries(1, () -> mockMvc.perform(get("/api/tasks").param("limit", "20"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void create_issuesOneInsert() throws Throwable {
+        createTask("Aquecer a sequência");
+
+        // The sequence hands out 50 ids per call, so the next create is normally just the insert
+        assertMaxQueries(2, () -> createTask("Criar"));
+    }
+
+    @Test
+    void repeatedGet_isServedByTheCacheWithoutQueries() throws Throwable {
+        long id = createTask("Buscar");
+        mockMvc.perform(get("/api/tasks/{id}", id)).andExpect(status().isOk());
+
+        assertMaxQueries(0, () -> mockMvc.perform(get("/api/tasks/{id}", id))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void repeatedList_isServedFromTheRenderedBodyUntilTheNextWrite() throws Throwable {
+        createTask("Listar de novo");
+        mockMvc.perform(get("/api/tasks").param("limit", "10")).andExpect(status().isOk());
+
+        assertMaxQueries(0, () -> mockMvc.perform(get("/api/tasks").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Vary", "Accept, Accept-Encoding")));
+
+        createTask("Depois da escrita");
+        mockMvc.perform(get("/api/tasks").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("Depois da escrita"));
+    }
+
+    @Test
+    void repeatedWholeList_isServedFromTheStreamedCopyUntilTheNextWrite() throws Throwable {
+        createTask("Listar tudo");
+        MvcResult streamed = mockMvc.perform(get("/api/tasks"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(streamed)).andExpect(status().isOk());
+
+        // Served synchronously from the cached bytes: no rows are streamed on another thread
+        assertMaxQueries(0, () -> mockMvc.perform(get("/api/tasks"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(header().string("Vary", "Accept, Accept-Encoding"))
+                .andExpect(content().bytes(streamed.getResponse().getContentAsByteArray())));
+
+        createTask("Depois da escrita na lista");
+        mockMvc.perform(get("/api/tasks")).andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void complete_issuesTheGuardedUpdateAndOneReadBack() throws Throwable {
+        long id = createTask("Concluir");
+
+        assertMaxQueries(2, () -> mockMvc.perform(patch("/api/tasks/{id}/complete", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED")));
+    }
+
+    @Test
+    void updateStatus_issuesTheGuardedUpdateAndOneReadBack() throws Throwable {
+        long id = createTask("Iniciar");
+
+        assertMaxQueries(2, () -> mockMvc.perform(patch("/api/tasks/{id}/status", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"IN_PROGRESS\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("IN_PROGRESS")));
+    }
+
+    @Test
+    void delete_issuesTheGuardedDeleteAndTheTombstoneInsert() throws Throwable {
+        long id = createTask("Excluir");
+
+        assertMaxQueries(2, () -> mockMvc.perform(delete("/api/tasks/{id}", id))
+                .andExpect(status().isNoContent()));
+    }
+
+    // However many statuses a write accepts, it stays one guarded statement plus either the
+    // read-back, the tombstone or, when nothing matched, the single probe that picks the error
+
+    @Test
+    void complete_ofAnInProgressTask_issuesTheSameStatements() throws Throwable {
+        long id = createTask("Concluir em andamento");
+        changeStatus(id, "IN_PROGRESS");
+
+        assertMaxQueries(2, () -> mockMvc.perform(patch("/api/tasks/{id}/complete", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED")));
+    }
+
+    @Test
+    void complete_ofACancelledTask_issuesTheGuardedUpdateAndOneProbe() throws Throwable {
+        long id = createTask("Concluir cancelada");
+        changeStatus(id, "CANCELLED");
+
+        assertMaxQueries(2, () -> mockMvc.perform(patch("/api/tasks/{id}/complete", id))
+                .andExpect(status().isBadRequest()));
+    }
+
+    @Test
+    void complete_ofAMissingTask_issuesTheGuardedUpdateAndOneProbe() throws Throwable {
+        assertMaxQueries(2, () -> mockMvc.perform(patch("/api/tasks/{id}/complete", MISSING_ID))
+                .andExpect(status().isNotFound()));
+    }
+
+    @Test
+    void updateStatus_ofAnInProgressTask_issuesTheSameStatements() throws Throwable {
+        long id = createTask("Pausar");
+        changeStatus(id, "IN_PROGRESS");
+
+        assertMaxQueries(2, () -> mockMvc.perform(patch("/api/tasks/{id}/status", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"PENDING\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PENDING")));
+    }
+
+    @Test
+    void updateStatus_ofACancelledTask_issuesTheGuardedUpdateAndOneProbe() throws Throwable {
+        long id = createTask("Reabrir cancelada");
+        changeStatus(id, "CANCELLED");
+
+        assertMaxQueries(2, () -> mockMvc.perform(patch("/api/tasks/{id}/status", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"PENDING\"}"))
+                .andExpect(status().isBadRequest()));
+    }
+
+    @Test
+    void updateStatus_ofAMissingTask_issuesTheGuardedUpdateAndOneProbe() throws Throwable {
+        assertMaxQueries(2, () -> mockMvc.perform(patch("/api/tasks/{id}/status", MISSING_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"IN_PROGRESS\"}"))
+                .andExpect(status().isNotFound()));
+    }
+
+    @Test
+    void delete_ofAnInProgressTask_issuesTheSameStatements() throws Throwable {
+        long id = createTask("Excluir em andamento");
+        changeStatus(id, "IN_PROGRESS");
+
+        assertMaxQueries(2, () -> mockMvc.perform(delete("/api/tasks/{id}", id))
+                .andExpect(status().isNoContent()));
+    }
+
+    @Test
+    void delete_ofACancelledTask_issuesTheSameStatements() throws Throwable {
+        long id = createTask("Excluir cancelada");
+        changeStatus(id, "CANCELLED");
+
+        assertMaxQueries(2, () -> mockMvc.perform(delete("/api/tasks/{id}", id))
+                .andExpect(status().isNoContent()));
+    }
+
+    @Test
+    void delete_ofAMissingTask_issuesTheGuardedDeleteAndOneProbe() throws Throwable {
+        assertMaxQueries(2, () -> mockMvc.perform(delete("/api/tasks/{id}", MISSING_ID))
+                .andExpect(status().isNotFound()));
+    }
+
+    @Test
+    void changes_readOneRangePerLogTable() throws Throwable {
+        createTask("Sincronizar");
+
+        assertMaxQueries(2, () -> mockMvc.perform(get("/api/tasks/changes").param("limit", "20"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void responses_carryServerTiming() throws Exception {
+        mockMvc.perform(get("/api/tasks").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", startsWith("db;dur=")));
+    }
+
+    private void changeStatus(long id, String status) throws Exception {
+        mockMvc.perform(patch("/api/tasks/{id}/status", id)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"" + status + "\"}"))
+                .andExpect(status().isOk());
+    }
+
+    private long createTask(String title) throws Exception {
+        String body = mockMvc.perform(post("/api/tasks")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"" + title + "\"}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return JsonMapper.builder().build().readTree(body).get("id").asLong();
+    }
+}
@@ -0,0 +1,60 @@
+package com.vvr.cleanarch.presentation.controllers;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.exceptions.TaskNotFoundException;
+import com.vvr.cleanarch.domain.exceptions.TaskVersionMismatchException;
+import com.vvr.cleanarch.presentation.binary.TaskBinaryFormat;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskETagsTest {
+
+    @Test
+    void of_givesEachBinaryVariantItsOwnTag() {
+        LocalDateTime now = LocalDateTime.now();
+        Task task = new Task(1L, "Title", "Description", TaskStatus.PENDING, now, null, 3L);
+
+        assertEquals("\"3\"", TaskETags.of(task, now));
+        assertEquals("\"3-cbor\"", TaskETags.of(task, now, TaskBinaryFormat.CBOR));
+        assertEquals("\"3-protobuf\"", TaskETags.of(task, now, TaskBinaryFormat.PROTOBUF));
+    }
+
+    @Test
+    void expectedVersion_readsTheVersionOfAStrongTag() {
+        assertEquals(3L, TaskETags.expectedVersion("\"3\""));
+        assertEquals(3L, TaskETags.expectedVersion("\"3-overdue\""));
+        assertEquals(3L, TaskETags.expectedVersion("\"3-overdue-smile\""));
+        assertNull(TaskETags.expectedVersion(null));
+    }
+
+    @Test
+    void expectedVersion_withWildcard_requiresAnExistingTask() {
+        assertEquals(TaskETags.ANY_VERSION, TaskETags.expectedVersion(" * "));
+    }
+
+    @Test
+    void conditionally_withWildcard_writesWithoutAVersionCheck() {
+        assertEquals("written", TaskETags.conditionally("*", version -> {
+            assertNull(version);
+            return "written";
+        }));
+    }
+
+    @Test
+    void conditionally_withWildcardAndMissingTask_failsThePrecondition() {
+        assertThrows(TaskVersionMismatchException.class, () -> TaskETags.conditionally("*", version -> {
+            throw new TaskNotFoundException(1L);
+        }));
+    }
+
+    @Test
+    void conditionally_withoutIfMatch_keepsNotFound() {
+        assertThrows(TaskNotFoundException.class, () -> TaskETags.conditionally(null, version -> {
+            throw new TaskNotFoundException(1L);
+        }));
+    }
+}
@@ -0,0 +1,52 @@
+package com.vvr.cleanarch.presentation.export;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvTaskExportWriterTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    @Test
+    void write_quotesTextAndEscapesQuotes() throws IOException {
+        assertEquals("1,\"Say \"\"hi\"\"\",\"a, b\",PENDING,2026-01-01T12:00,\r\n",
+                firstRow(task("Say \"hi\"", "a, b")));
+    }
+
+    @Test
+    void write_prefixesCellsThatSpreadsheetsWouldEvaluate() throws IOException {
+        assertEquals("1,\"'=HYPERLINK(\"\"http://x\"\")\",\"'+1\",PENDING,2026-01-01T12:00,\r\n",
+                firstRow(task("=HYPERLINK(\"http://x\")", "+1")));
+        assertEquals("1,\"'-2\",\"'@SUM(A1)\",PENDING,2026-01-01T12:00,\r\n",
+                firstRow(task("-2", "@SUM(A1)")));
+        assertEquals("1,\"'\tTab\",\"'\rReturn\",PENDING,2026-01-01T12:00,\r\n",
+                firstRow(task("\tTab", "\rReturn")));
+    }
+
+    @Test
+    void write_leavesOtherCellsUntouched() throws IOException {
+        assertEquals("1,\"Buy milk\",\"1+1 = 2\",PENDING,2026-01-01T12:00,\r\n",
+                firstRow(task("Buy milk", "1+1 = 2")));
+    }
+
+    private static String firstRow(Task task) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        CsvTaskExportWriter writer = new CsvTaskExportWriter(out);
+        writer.write(task);
+        writer.finish();
+        String csv = out.toString(StandardCharsets.UTF_8);
+        return csv.substring(csv.indexOf("\r\n") + 2);
+    }
+
+    private static Task task(String title, String description) {
+        return new Task(1L, title, description, TaskStatus.PENDING, CREATED_AT, null);
+    }
+}
@@ -0,0 +1,49 @@
+package com.vvr.cleanarch.presentation.json;
+
+import com.vvr.cleanarch.domain.entities.Task;
+import com.vvr.cleanarch.domain.entities.TaskStatus;
+import com.vvr.cleanarch.domain.repositories.TaskRow;
+import com.vvr.cleanarch.presentation.dto.TaskResponse;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TaskJsonArrayWriterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 21, 10, 0);
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Test
+    void rows_areWrittenExactlyAsTheTaskResponsesWouldBe() {
+        List<Task> tasks = List.of(
+                new Task(1L, "Atrasada", "Criada há muito tempo", TaskStatus.PENDING,
+                        NOW.minusDays(8), null, 0L),
+                new Task(2L, "Sem descrição \"aspas\"", null, TaskStatus.IN_PROGRESS,
+                        NOW.minusDays(1), NOW.minusHours(2).plusNanos(5_000), 3L),
+                new Task(3L, "Concluída", "Pronta", TaskStatus.COMPLETED,
+                        NOW.minusDays(9), NOW.minusDays(2), 1L));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TaskJsonArrayWriter writer = TaskJsonArrayWriter.open(out, jsonMapper, NOW);
+        tasks.forEach(task -> writer.write(TaskRow.of(task)));
+        writer.finish();
+
+        byte[] expected = jsonMapper.writeValueAsBytes(tasks.stream().map(task -> TaskResponse.from(task, NOW)).toList());
+        assertEquals(new String(expected), out.toString());
+    }
+
+    @Test
+    void noRows_writeAnEmptyArray() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        TaskJsonArrayWriter.open(out, jsonMapper, NOW).finish();
+
+        assertEquals("[]", out.toString());
+    }
+}
@@ -0,0 +1,42 @@
+package com.vvr.cleanarch.support;
+
+import com.vvr.cleanarch.infrastructure.diagnostics.QueryStats;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+// Counts the JDBC statements an action issues on the calling thread, which includes a whole
+// MockMvc request:
+//
+//   assertMaxQueries(1, () -> mockMvc.perform(get("/api/tasks").param("limit", "20")));
+public final class QueryCountAssertions {
+
+    private QueryCountAssertions() {
+    }
+
+    public static QueryStats countQueries(Executable action) throws Throwable {
+        QueryStats stats = QueryStats.begin();
+        try {
+            action.execute();
+        } finally {
+            stats.close();
+        }
+        return stats;
+    }
+
+    public static QueryStats assertMaxQueries(int maxStatements, Executable action) throws Throwable {
+        QueryStats stats = countQueries(action);
+        if (stats.getStatements() > maxStatements) {
+            StringBuilder message = new StringBuilder()
+                    .append("Expected at most ").append(maxStatements).append(" statements but ")
+                    .append(stats.getStatements()).append(" ran:");
+            for (Map.Entry<String, Integer> execution : stats.getExecutionsBySql().entrySet()) {
+                message.append("\n  ").append(execution.getValue()).append("x ").append(execution.getKey());
+            }
+            fail(message.toString());
+        }
+        return stats;
+    }
+}